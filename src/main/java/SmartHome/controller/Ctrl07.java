@@ -1,10 +1,10 @@
 package SmartHome.controller;
 
+import SmartHome.domain.catalogue.CatalogueRegistry;
 import SmartHome.domain.device.Device;
 import SmartHome.domain.house.House;
 import SmartHome.domain.room.Room;
 import SmartHome.domain.values.ValueFactoryImpl;
-import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
 import SmartHome.dto.DeviceDTO;
 import SmartHome.dto.DeviceMapper;
@@ -15,8 +15,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import static SmartHome.domain.constants.Constants.SENSOR_CONFIG;
-
 /**
  * Controller class for managing room and device-related operations.
  * This class provides methods to retrieve information about existing rooms and devices within those rooms,
@@ -97,8 +95,7 @@ public class Ctrl07 {
     public boolean addSensorToDevice(DeviceDTO deviceDTO, String sensorModel, String name) {
         try {
             Device _device = _devicesDTOAndDevices.get(deviceDTO);
-            SensorCatalogue _sensorCatalogue = new SensorCatalogue(SENSOR_CONFIG);
-            return _device.addSensor(sensorModel, name, _sensorCatalogue, new ValueFactoryImpl()) != null;
+            return _device.addSensor(sensorModel, name, CatalogueRegistry.getSensorCatalogue(), new ValueFactoryImpl()) != null;
         } catch (NullPointerException e) {
             return false;
         }
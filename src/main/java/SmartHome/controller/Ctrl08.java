@@ -2,7 +2,6 @@ package SmartHome.controller;
 
 import SmartHome.domain.device.Device;
 import SmartHome.domain.house.House;
-import SmartHome.domain.room.Room;
 import SmartHome.dto.DeviceDTO;
 import SmartHome.dto.DeviceMapper;
 
@@ -32,18 +31,15 @@ public class Ctrl08 {
     }
 
     /**
-     * Retrieves a list of devices from the associated house and converts them into DeviceDTOs.
+     * Retrieves the devices of every room from the directory of the associated house and converts them into DeviceDTOs.
      * The mapping between DeviceDTOs and corresponding Device objects is maintained for future reference.
      *
      * @return a map of DeviceDTOs and corresponding Device objects representing the devices in the house
      */
 
     public Map<DeviceDTO, Device> getDevicesFromHouse() {
-        List<Room> rooms = _house.getRooms();
-        for (Room room : rooms) {
-            List<Device> devices = room.getDevices();
-            this._devicesDTOAndDevices = DeviceMapper.Domain2DTO(devices);
-        }
+        List<Device> devices = _house.getDeviceDirectory().getDevices();
+        this._devicesDTOAndDevices = DeviceMapper.Domain2DTO(devices);
 
         if (this._devicesDTOAndDevices == null || this._devicesDTOAndDevices.isEmpty())
             return Collections.emptyMap();
@@ -2,10 +2,13 @@ package SmartHome.controller;
 
 import SmartHome.domain.house.DevicesByFunctionality;
 import SmartHome.domain.house.House;
+import SmartHome.domain.house.ParallelDevicesByFunctionality;
 import SmartHome.dto.DeviceRoomDTO;
+import SmartHome.dto.FunctionalityPageDTO;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Flow;
 
 
 /**
@@ -26,12 +29,38 @@ public class Ctrl09 {
 
 
     /**
-     * Categorizes devices in the house based on their functionalities.
+     * Categorizes devices in the house based on their functionalities, reading the functionality index the house
+     * keeps up to date as devices and sensors are added.
      * The result is a map where room names are keys, and the corresponding values are lists of DeviceRoomDTOs representing devices in each room.
      *
      * @return a map where room names are keys, and the corresponding values are lists of DeviceRoomDTOs representing devices in each room
      */
     public Map<String, List<DeviceRoomDTO>> getDevicesByRoomAndFunctionality() {
-        return _house.getDevicesByRoomAndFunctionality(new DevicesByFunctionality(_house.getRooms()));
+        return _house.getDevicesByRoomAndFunctionality(new DevicesByFunctionality(_house.getFunctionalityIndex()));
+    }
+
+    /**
+     * Categorizes devices in the house based on their functionalities by walking the rooms on the common
+     * fork-join pool. Houses with at most as many rooms as the threshold are walked sequentially.
+     *
+     * @param threshold the largest number of rooms walked sequentially by a single task
+     * @return a map where functionality names are keys, and the corresponding values are lists of DeviceRoomDTOs
+     * representing the devices with that functionality and their rooms
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public Map<String, List<DeviceRoomDTO>> getDevicesByRoomAndFunctionality(int threshold) {
+        return _house.getDevicesByRoomAndFunctionality(new ParallelDevicesByFunctionality(_house.getRooms(), threshold));
+    }
+
+    /**
+     * Streams the devices in the house grouped by functionality, page by page. Pages are built only when the
+     * subscriber requests them, so memory use is bounded by the page size rather than by the size of the house.
+     *
+     * @param pageSize the largest number of devices in a page
+     * @return a publisher of pages of DeviceRoomDTOs, each labelled with its functionality
+     * @throws IllegalArgumentException if the page size is not positive
+     */
+    public Flow.Publisher<FunctionalityPageDTO> getDevicesByRoomAndFunctionalityPages(int pageSize) {
+        return _house.getFunctionalityIndex().publish(pageSize);
     }
 }
@@ -1,9 +1,9 @@
 package SmartHome.controller;
 
+import SmartHome.domain.catalogue.CatalogueRegistry;
 import SmartHome.domain.device.Device;
 import SmartHome.domain.house.House;
 import SmartHome.domain.room.Room;
-import SmartHome.domain.actuators.ActuatorCatalogue;
 import SmartHome.domain.actuators.ActuatorFunctionality;
 import SmartHome.domain.values.ValueFactory;
 import SmartHome.domain.values.ValueFactoryImpl;
@@ -18,8 +18,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import static SmartHome.domain.constants.Constants.ACTUATOR_CONFIG;
-
 /**
  * Controller class for managing device-related operations.
  * This class provides methods to retrieve information about existing rooms and devices within those rooms,
@@ -98,9 +96,8 @@ public class Ctrl12 {
     public boolean addActuatorToDevice(DeviceDTO deviceDTO, String actuatorModel, String name) {
         try {
             Device _device = _devicesDTOAndDevices.get(deviceDTO);
-            ActuatorCatalogue _actuatorCatalogue = new ActuatorCatalogue(ACTUATOR_CONFIG);
             ValueFactory valueFactory = new ValueFactoryImpl();
-            return _device.addActuator(actuatorModel, name, _actuatorCatalogue, valueFactory) != null;
+            return _device.addActuator(actuatorModel, name, CatalogueRegistry.getActuatorCatalogue(), valueFactory) != null;
         } catch (NullPointerException e) {
             return false;
         }
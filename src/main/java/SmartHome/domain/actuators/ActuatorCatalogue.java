@@ -5,10 +5,19 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.builder.fluent.Configurations;
 
 import java.io.File;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static SmartHome.domain.constants.Constants.ACTUATOR_PATH;
 
 
 /**
@@ -16,17 +25,31 @@ import java.util.Optional;
  * It provides methods to retrieve actuators from the catalogue.
  */
 public class ActuatorCatalogue {
+    private static final MethodType CONSTRUCTOR_TYPE =
+            MethodType.methodType(void.class, ActuatorCatalogue.class, String.class, ValueFactory.class);
+    private static final MethodType FACTORY_TYPE =
+            MethodType.methodType(Actuator.class, ActuatorCatalogue.class, String.class, ValueFactory.class);
 
     /**
      * A list of actuator names in the catalogue.
      */
     private final List<String> _catalogueActuators;
 
+    /**
+     * The actuator names in the catalogue, used for exact model lookups.
+     */
+    private final Set<String> _actuatorModels;
+
     /**
      * A list of actuator functionalities in the catalogue.
      */
     private final List<ActuatorFunctionality> _actuatorFunctionalities;
 
+    /**
+     * The constructors of the actuator models by fully qualified class name, resolved on first use.
+     */
+    private final Map<String, Optional<ActuatorConstructor>> _actuatorConstructors = new ConcurrentHashMap<>();
+
     /**
      * Constructs an ActuatorCatalogue with a given configuration.
      *
@@ -39,9 +62,25 @@ public class ActuatorCatalogue {
         }
         String[] actuators = config.getStringArray("actuator");
         this._catalogueActuators = List.of(actuators);
+        this._actuatorModels = Set.copyOf(this._catalogueActuators);
         this._actuatorFunctionalities =List.of(ActuatorFunctionality.values());;
     }
 
+    /**
+     * Constructs an ActuatorCatalogue from an already parsed list of actuator names.
+     *
+     * @param actuators The names of the actuators in the catalogue.
+     * @throws IllegalArgumentException if the list or any of its names is null
+     */
+    public ActuatorCatalogue(List<String> actuators) {
+        if (actuators == null || actuators.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Invalid arguments");
+        }
+        this._catalogueActuators = List.copyOf(actuators);
+        this._actuatorModels = Set.copyOf(this._catalogueActuators);
+        this._actuatorFunctionalities = List.of(ActuatorFunctionality.values());
+    }
+
     /**
      * Constructs an ActuatorCatalogue by reading configuration from the given file.
      *
@@ -57,6 +96,7 @@ public class ActuatorCatalogue {
             Configuration config = configs.properties(new File(fileName));
             String[] actuators = config.getStringArray("actuator");
             this._catalogueActuators = List.of(actuators);
+            this._actuatorModels = Set.copyOf(this._catalogueActuators);
             this._actuatorFunctionalities = List.of(ActuatorFunctionality.values());
         } catch (Exception exception) {
             String errorMessage = "Error occurred while reading the configuration file '" + fileName + "': " + exception.getMessage();
@@ -121,6 +161,8 @@ public class ActuatorCatalogue {
 
     /**
      * Retrieves an actuator from the catalogue by its name and path.
+     * The constructor of each model comes from the generated {@link ActuatorIndex} or is resolved once and cached,
+     * so calls neither scan the catalogue nor use reflection.
      *
      * @param actuatorModel The name of the actuator to retrieve.
      * @param actuatorPath  The path of the actuator to retrieve.
@@ -130,19 +172,67 @@ public class ActuatorCatalogue {
      */
 
     public Actuator getActuator(String actuatorModel, String actuatorPath, String name, ValueFactory valueFactory) {
-        Optional<String> actuator = this.getActuators().stream().filter(s -> s.contains(actuatorModel)).findFirst();
-
-        if (actuator.isPresent()) {
-            try {
-                String fullPath = actuatorPath + actuatorModel;
-                return (Actuator) Class.forName(fullPath)
-                        .getConstructor(ActuatorCatalogue.class, String.class, ValueFactory.class)
-                        .newInstance(this, name, valueFactory);
-            } catch (ClassNotFoundException | InstantiationException | NoSuchMethodException |
-                     InvocationTargetException | IllegalArgumentException | IllegalAccessException exception) {
-                return null;
-            }
-        } else return null;
+        ActuatorConstructor constructor = getActuatorConstructor(actuatorModel, actuatorPath);
+        if (constructor == null) return null;
+        try {
+            return constructor.create(this, name, valueFactory);
+        } catch (RuntimeException exception) {
+            return null;
+        }
     }
-}
 
+    /**
+     * Retrieves the descriptor of an actuator model in the catalogue, including its functionality and value type.
+     *
+     * @param actuatorModel The exact model name of the actuator.
+     * @return The descriptor of the model, or null if the model is not in the catalogue or not indexed.
+     */
+    public ActuatorDescriptor getActuatorDescriptor(String actuatorModel) {
+        if (actuatorModel == null || !_actuatorModels.contains(actuatorModel)) return null;
+        return ActuatorIndex.get(actuatorModel);
+    }
+
+    /**
+     * Retrieves the constructor of an actuator model. Models of the default package are taken from
+     * the generated {@link ActuatorIndex}; models of any other package are resolved on first use and
+     * cached by their fully qualified class name, so several packages can be used side by side.
+     *
+     * @param actuatorModel The exact model name of the actuator.
+     * @param actuatorPath  The package path of the actuator implementations.
+     * @return The constructor of the actuator model, or null if the model is not in the catalogue or cannot be built.
+     */
+    private ActuatorConstructor getActuatorConstructor(String actuatorModel, String actuatorPath) {
+        if (actuatorModel == null || actuatorPath == null || !_actuatorModels.contains(actuatorModel)) return null;
+        if (ACTUATOR_PATH.equals(actuatorPath)) {
+            ActuatorDescriptor descriptor = ActuatorIndex.get(actuatorModel);
+            return descriptor == null ? null : descriptor.getConstructor();
+        }
+
+        return _actuatorConstructors
+                .computeIfAbsent(actuatorPath + actuatorModel,
+                        fullPath -> Optional.ofNullable(resolveConstructor(fullPath)))
+                .orElse(null);
+    }
+
+    /**
+     * Builds a constructor for the given class name through a generated lambda.
+     *
+     * @param fullPath The fully qualified class name of the actuator.
+     * @return The constructor of the actuator, or null if the class is not an actuator or has no suitable constructor.
+     */
+    private static ActuatorConstructor resolveConstructor(String fullPath) {
+        try {
+            Class<?> actuatorClass = Class.forName(fullPath);
+            if (!Actuator.class.isAssignableFrom(actuatorClass)) return null;
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle constructor = lookup.findConstructor(actuatorClass, CONSTRUCTOR_TYPE);
+            return (ActuatorConstructor) LambdaMetafactory.metafactory(lookup, "create",
+                            MethodType.methodType(ActuatorConstructor.class), FACTORY_TYPE, constructor,
+                            constructor.type())
+                    .getTarget()
+                    .invoke();
+        } catch (Throwable exception) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package SmartHome.domain.actuators;
+
+import SmartHome.domain.values.ValueFactory;
+
+/**
+ * Functional interface representing the constructor of an actuator model. The {@link ActuatorCatalogue}
+ * resolves one instance per model and reuses it, so creating an actuator is a plain method call.
+ */
+@FunctionalInterface
+public interface ActuatorConstructor {
+
+    /**
+     * Creates a new actuator.
+     *
+     * @param catalogue    The actuator catalogue to which the actuator belongs.
+     * @param name         The name of the actuator.
+     * @param valueFactory The factory for creating actuator values.
+     * @return The created actuator.
+     * @throws IllegalArgumentException if the actuator rejects the given arguments.
+     */
+    Actuator create(ActuatorCatalogue catalogue, String name, ValueFactory valueFactory);
+}
@@ -0,0 +1,66 @@
+package SmartHome.domain.actuators;
+
+import SmartHome.domain.values.Value;
+
+/**
+ * Describes an actuator model recorded in the generated {@code ActuatorIndex}: its model name, functionality,
+ * value type and constructor.
+ */
+public final class ActuatorDescriptor {
+    private final String _model;
+    private final ActuatorFunctionality _functionality;
+    private final Class<? extends Value> _valueType;
+    private final ActuatorConstructor _constructor;
+
+    /**
+     * Constructs an ActuatorDescriptor with the provided parameters.
+     *
+     * @param model         The model name of the actuator.
+     * @param functionality The functionality of the actuator.
+     * @param valueType     The type of value controlled by the actuator.
+     * @param constructor   The constructor of the actuator.
+     */
+    public ActuatorDescriptor(String model, ActuatorFunctionality functionality, Class<? extends Value> valueType,
+                              ActuatorConstructor constructor) {
+        this._model = model;
+        this._functionality = functionality;
+        this._valueType = valueType;
+        this._constructor = constructor;
+    }
+
+    /**
+     * Gets the model name of the actuator.
+     *
+     * @return The model name.
+     */
+    public String getModel() {
+        return _model;
+    }
+
+    /**
+     * Gets the functionality of the actuator.
+     *
+     * @return The functionality.
+     */
+    public ActuatorFunctionality getFunctionality() {
+        return _functionality;
+    }
+
+    /**
+     * Gets the type of value controlled by the actuator.
+     *
+     * @return The value type, or {@link Value} itself if the actuator does not control a value.
+     */
+    public Class<? extends Value> getValueType() {
+        return _valueType;
+    }
+
+    /**
+     * Gets the constructor of the actuator.
+     *
+     * @return The constructor.
+     */
+    public ActuatorConstructor getConstructor() {
+        return _constructor;
+    }
+}
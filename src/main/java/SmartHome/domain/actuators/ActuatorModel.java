@@ -0,0 +1,34 @@
+package SmartHome.domain.actuators;
+
+import SmartHome.domain.values.Value;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@link Actuator} implementation as a catalogue model. At compile time every annotated class is
+ * recorded in the generated {@code ActuatorIndex}, which the {@link ActuatorCatalogue} uses to create
+ * actuators without looking classes up by name.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface ActuatorModel {
+
+    /**
+     * Gets the functionality provided by the actuator model.
+     *
+     * @return The functionality of the actuator model.
+     */
+    ActuatorFunctionality functionality();
+
+    /**
+     * Gets the type of value controlled by the actuator model.
+     *
+     * @return The value type, or {@link Value} itself if the actuator does not control a value.
+     */
+    Class<? extends Value> valueType() default Value.class;
+}
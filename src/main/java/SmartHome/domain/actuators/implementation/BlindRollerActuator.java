@@ -3,13 +3,16 @@ package SmartHome.domain.actuators.implementation;
 import SmartHome.domain.actuators.Actuator;
 import SmartHome.domain.actuators.ActuatorCatalogue;
 import SmartHome.domain.actuators.ActuatorFunctionality;
+import SmartHome.domain.actuators.ActuatorModel;
 import SmartHome.domain.values.Value;
 import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.PercentageValue;
 
 /**
  * Represents a blind roller actuator in a smart home system.
  * This actuator is designed to control blind rollers or similar devices.
  */
+@ActuatorModel(functionality = ActuatorFunctionality.BlindRoller, valueType = PercentageValue.class)
 public class BlindRollerActuator implements Actuator {
     /**
      * The name of the blind roller actuator.
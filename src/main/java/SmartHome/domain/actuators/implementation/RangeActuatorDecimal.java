@@ -3,14 +3,17 @@ package SmartHome.domain.actuators.implementation;
 import SmartHome.domain.actuators.Actuator;
 import SmartHome.domain.actuators.ActuatorCatalogue;
 import SmartHome.domain.actuators.ActuatorFunctionality;
+import SmartHome.domain.actuators.ActuatorModel;
 import SmartHome.domain.values.Value;
 import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.RangeActuatorFractionalValue;
 
 /**
  * Represents a range actuator for decimal values in a smart home system.
  * This actuator allows configuration of lower and upper limits, precision, and provides a decimal measurement.
  */
 
+@ActuatorModel(functionality = ActuatorFunctionality.Range, valueType = RangeActuatorFractionalValue.class)
 public class RangeActuatorDecimal implements Actuator {
     /**
      * The functionality of the range actuator for decimal values.
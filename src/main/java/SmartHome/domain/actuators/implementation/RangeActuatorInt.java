@@ -3,14 +3,17 @@ package SmartHome.domain.actuators.implementation;
 import SmartHome.domain.actuators.Actuator;
 import SmartHome.domain.actuators.ActuatorCatalogue;
 import SmartHome.domain.actuators.ActuatorFunctionality;
+import SmartHome.domain.actuators.ActuatorModel;
 import SmartHome.domain.values.Value;
 import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.RangeActuatorIntValue;
 
 /**
  * Represents a range actuator for integer values in a smart home system.
  * This actuator allows configuration of lower and upper limits and provides an integer measurement.
  */
 
+@ActuatorModel(functionality = ActuatorFunctionality.Range, valueType = RangeActuatorIntValue.class)
 public class RangeActuatorInt implements Actuator {
 
     /**
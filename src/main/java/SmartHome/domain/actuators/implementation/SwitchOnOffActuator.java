@@ -3,12 +3,14 @@ package SmartHome.domain.actuators.implementation;
 import SmartHome.domain.actuators.Actuator;
 import SmartHome.domain.actuators.ActuatorCatalogue;
 import SmartHome.domain.actuators.ActuatorFunctionality;
+import SmartHome.domain.actuators.ActuatorModel;
 import SmartHome.domain.values.ValueFactory;
 
 /**
  * Represents a switch actuator for turning on and off in a smart home system.
  * This actuator allows controlling the state of the switch (on or off).
  */
+@ActuatorModel(functionality = ActuatorFunctionality.On_Off)
 public class SwitchOnOffActuator implements Actuator {
 
     /**
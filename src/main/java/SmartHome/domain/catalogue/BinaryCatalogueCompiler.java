@@ -0,0 +1,138 @@
+package SmartHome.domain.catalogue;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Compiles the text catalogue configuration into the binary descriptor read by {@link BinaryCatalogueLoader}.
+ * The text files stay the source of truth: the descriptor records a SHA-256 hash of the content of each file,
+ * and the loader ignores the descriptor as soon as the content of either file changes.
+ *
+ * <p>The descriptor is laid out as follows, in big-endian order:</p>
+ * <pre>
+ * int   magic ("SHCB")
+ * short version
+ * byte[32] SHA-256 hash of the sensor file
+ * byte[32] SHA-256 hash of the actuator file
+ * int   sensor count, then each sensor name as (short length, UTF-8 bytes)
+ * int   actuator count, then each actuator name as (short length, UTF-8 bytes)
+ * </pre>
+ */
+public final class BinaryCatalogueCompiler {
+    static final int MAGIC = 0x53484342;
+    static final short VERSION = 2;
+    static final int HASH_LENGTH = 32;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private BinaryCatalogueCompiler() {
+    }
+
+    /**
+     * Compiles the catalogue configuration from the command line, as run by the build.
+     *
+     * @param args The sensor configuration file, the actuator configuration file and the output file.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3)
+            throw new IllegalArgumentException("Usage: BinaryCatalogueCompiler <sensor config> <actuator config> <output>");
+        compile(args[0], args[1], args[2]);
+    }
+
+    /**
+     * Reads both text configuration files and writes their binary descriptor.
+     *
+     * @param sensorConfig   The name of the sensor configuration file.
+     * @param actuatorConfig The name of the actuator configuration file.
+     * @param output         The name of the binary descriptor to write.
+     * @throws IOException              if the descriptor cannot be written.
+     * @throws IllegalArgumentException if a configuration file cannot be read.
+     */
+    public static void compile(String sensorConfig, String actuatorConfig, String output) throws IOException {
+        List<String> sensors = readNames(sensorConfig, "sensor");
+        List<String> actuators = readNames(actuatorConfig, "actuator");
+        Path outputPath = Path.of(output);
+        if (outputPath.getParent() != null) Files.createDirectories(outputPath.getParent());
+
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(outputPath))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            writeSource(out, Path.of(sensorConfig));
+            writeSource(out, Path.of(actuatorConfig));
+            writeNames(out, sensors);
+            writeNames(out, actuators);
+        }
+    }
+
+    /**
+     * Reads the values of a key from a text configuration file.
+     *
+     * @param fileName The name of the configuration file.
+     * @param key      The key whose values are read.
+     * @return The values of the key.
+     * @throws IllegalArgumentException if the file cannot be read.
+     */
+    private static List<String> readNames(String fileName, String key) {
+        try {
+            Configuration config = new Configurations().properties(new File(fileName));
+            return List.of(config.getStringArray(key));
+        } catch (Exception exception) {
+            String errorMessage = "Error occurred while reading the configuration file '" + fileName + "': " + exception.getMessage();
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
+    /**
+     * Writes the hash of the content of a source file.
+     *
+     * @param out  The descriptor stream.
+     * @param file The source file.
+     * @throws IOException if the file cannot be read or the hash cannot be written.
+     */
+    private static void writeSource(DataOutputStream out, Path file) throws IOException {
+        out.write(hash(file));
+    }
+
+    /**
+     * Computes the SHA-256 hash of the content of a file.
+     *
+     * @param file The file.
+     * @return The hash, {@value #HASH_LENGTH} bytes long.
+     * @throws IOException if the file cannot be read.
+     */
+    static byte[] hash(Path file) throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Writes a counted list of names.
+     *
+     * @param out   The descriptor stream.
+     * @param names The names to write.
+     * @throws IOException if the names cannot be written.
+     */
+    private static void writeNames(DataOutputStream out, List<String> names) throws IOException {
+        out.writeInt(names.size());
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package SmartHome.domain.catalogue;
+
+import SmartHome.domain.actuators.ActuatorCatalogue;
+import SmartHome.domain.sensors.SensorCatalogue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static SmartHome.domain.catalogue.BinaryCatalogueCompiler.HASH_LENGTH;
+import static SmartHome.domain.catalogue.BinaryCatalogueCompiler.MAGIC;
+import static SmartHome.domain.catalogue.BinaryCatalogueCompiler.VERSION;
+
+/**
+ * Loads catalogue snapshots from the binary descriptor written by {@link BinaryCatalogueCompiler}. The
+ * descriptor is memory-mapped, or read from the classpath when it is packaged in a jar, and decoded directly,
+ * without going through the configuration library.
+ */
+public final class BinaryCatalogueLoader {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private BinaryCatalogueLoader() {
+    }
+
+    /**
+     * Loads a catalogue snapshot from a binary descriptor.
+     *
+     * @param binaryFile The name of the binary descriptor.
+     * @return The snapshot described by the file.
+     * @throws IllegalArgumentException if the file cannot be read or is not a valid descriptor.
+     */
+    public static CatalogueSnapshot load(String binaryFile) {
+        ByteBuffer buffer = map(binaryFile);
+        skipSources(buffer);
+        return decodeSnapshot(buffer, binaryFile, null, null);
+    }
+
+    /**
+     * Loads a catalogue snapshot from a binary descriptor, provided it was compiled from the current content of
+     * both text configuration files. A text file that does not exist is not checked, since the descriptor is then
+     * the only copy of its configuration, as when the application runs from its jar.
+     *
+     * @param binaryFile     The name of the binary descriptor.
+     * @param sensorConfig   The name of the sensor configuration file the descriptor was compiled from.
+     * @param actuatorConfig The name of the actuator configuration file the descriptor was compiled from.
+     * @return The snapshot described by the file, or null if the descriptor is missing, invalid or out of date.
+     */
+    public static CatalogueSnapshot loadIfCurrent(String binaryFile, String sensorConfig, String actuatorConfig) {
+        if (!Files.isRegularFile(Path.of(binaryFile))) return null;
+        try {
+            return decodeIfCurrent(map(binaryFile), binaryFile, sensorConfig, actuatorConfig);
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Loads a catalogue snapshot from a binary descriptor on the classpath, such as the one the build packages
+     * with the classes, provided it was compiled from the current content of both text configuration files.
+     * A descriptor in a directory is memory-mapped; one inside a jar is read into memory.
+     *
+     * @param resource       The name of the descriptor resource.
+     * @param sensorConfig   The name of the sensor configuration file the descriptor was compiled from.
+     * @param actuatorConfig The name of the actuator configuration file the descriptor was compiled from.
+     * @return The snapshot described by the resource, or null if the resource is missing, invalid or out of date.
+     */
+    public static CatalogueSnapshot loadResourceIfCurrent(String resource, String sensorConfig, String actuatorConfig) {
+        URL url = BinaryCatalogueLoader.class.getClassLoader().getResource(resource);
+        if (url == null) return null;
+        try {
+            if ("file".equals(url.getProtocol()))
+                return loadIfCurrent(Path.of(url.toURI()).toString(), sensorConfig, actuatorConfig);
+            try (InputStream in = url.openStream()) {
+                ByteBuffer buffer = ByteBuffer.wrap(in.readAllBytes());
+                checkHeader(buffer, resource);
+                return decodeIfCurrent(buffer, resource, sensorConfig, actuatorConfig);
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Decodes a descriptor if it was compiled from the current content of both text configuration files.
+     *
+     * @param buffer         The descriptor, positioned after its header.
+     * @param name           The name of the descriptor, used in error messages.
+     * @param sensorConfig   The name of the sensor configuration file.
+     * @param actuatorConfig The name of the actuator configuration file.
+     * @return The decoded snapshot, recording the text files as its source, or null if either text file changed.
+     * @throws IllegalArgumentException if the descriptor is truncated.
+     */
+    private static CatalogueSnapshot decodeIfCurrent(ByteBuffer buffer, String name, String sensorConfig,
+                                                     String actuatorConfig) {
+        if (!isCurrent(buffer, Path.of(sensorConfig)) || !isCurrent(buffer, Path.of(actuatorConfig))) return null;
+        return decodeSnapshot(buffer, name, sensorConfig, actuatorConfig);
+    }
+
+    /**
+     * Maps a binary descriptor into memory and checks its header.
+     *
+     * @param binaryFile The name of the binary descriptor.
+     * @return The buffer positioned after the magic number and version.
+     * @throws IllegalArgumentException if the file cannot be mapped or has an unknown header.
+     */
+    private static ByteBuffer map(String binaryFile) {
+        try (FileChannel channel = FileChannel.open(Path.of(binaryFile), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            checkHeader(buffer, binaryFile);
+            return buffer;
+        } catch (IOException exception) {
+            throw new IllegalArgumentException("Error occurred while reading the catalogue descriptor '"
+                    + binaryFile + "': " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Checks the magic number and version of a descriptor.
+     *
+     * @param buffer The descriptor, positioned at its start; moved past the header.
+     * @param name   The name of the descriptor, used in error messages.
+     * @throws IllegalArgumentException if the header is unknown.
+     */
+    private static void checkHeader(ByteBuffer buffer, String name) {
+        if (buffer.remaining() < Integer.BYTES + Short.BYTES || buffer.getInt() != MAGIC || buffer.getShort() != VERSION)
+            throw new IllegalArgumentException("Invalid catalogue descriptor '" + name + "'");
+    }
+
+    /**
+     * Checks that a source file still has the content whose hash is recorded in the descriptor. A missing source
+     * file is accepted, leaving the descriptor as the only copy of its configuration.
+     *
+     * @param buffer The descriptor, positioned at the hash of the source file.
+     * @param source The source file.
+     * @return true if the source file is missing or unchanged, false otherwise.
+     */
+    private static boolean isCurrent(ByteBuffer buffer, Path source) {
+        try {
+            byte[] recorded = new byte[HASH_LENGTH];
+            buffer.get(recorded);
+            return !Files.exists(source) || Arrays.equals(recorded, BinaryCatalogueCompiler.hash(source));
+        } catch (IOException | BufferUnderflowException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Skips the source file records of a descriptor.
+     *
+     * @param buffer The descriptor, positioned at the first source file record.
+     */
+    private static void skipSources(ByteBuffer buffer) {
+        buffer.position(Math.min(buffer.limit(), buffer.position() + 2 * HASH_LENGTH));
+    }
+
+    /**
+     * Decodes the sensor and actuator names of a descriptor into a snapshot.
+     *
+     * @param buffer         The descriptor, positioned at the sensor count.
+     * @param binaryFile     The name of the descriptor, used in error messages.
+     * @param sensorConfig   The name of the sensor configuration file recorded as the source, or null.
+     * @param actuatorConfig The name of the actuator configuration file recorded as the source, or null.
+     * @return The decoded snapshot.
+     * @throws IllegalArgumentException if the descriptor is truncated.
+     */
+    private static CatalogueSnapshot decodeSnapshot(ByteBuffer buffer, String binaryFile, String sensorConfig,
+                                                    String actuatorConfig) {
+        try {
+            List<String> sensors = decodeNames(buffer);
+            List<String> actuators = decodeNames(buffer);
+            return new CatalogueSnapshot(new SensorCatalogue(sensors), new ActuatorCatalogue(actuators), sensorConfig,
+                    actuatorConfig);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException exception) {
+            throw new IllegalArgumentException("Invalid catalogue descriptor '" + binaryFile + "'");
+        }
+    }
+
+    /**
+     * Decodes a counted list of names.
+     *
+     * @param buffer The descriptor, positioned at the count.
+     * @return The decoded names.
+     */
+    private static List<String> decodeNames(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        List<String> names = new ArrayList<>(Math.max(0, Math.min(count, buffer.remaining())));
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(bytes);
+            names.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return names;
+    }
+}
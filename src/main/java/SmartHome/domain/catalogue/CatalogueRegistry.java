@@ -0,0 +1,127 @@
+package SmartHome.domain.catalogue;
+
+import SmartHome.domain.actuators.ActuatorCatalogue;
+import SmartHome.domain.sensors.SensorCatalogue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static SmartHome.domain.constants.Constants.ACTUATOR_CONFIG;
+import static SmartHome.domain.constants.Constants.CATALOGUE_BINARY;
+import static SmartHome.domain.constants.Constants.CATALOGUE_BINARY_PROPERTY;
+import static SmartHome.domain.constants.Constants.SENSOR_CONFIG;
+
+/**
+ * Process-wide registry of the sensor and actuator catalogues. The configuration is read once, on first use,
+ * and the resulting {@link CatalogueSnapshot} is shared by every device and controller. The configuration is
+ * taken from the binary descriptor compiled by the build when it is up to date, and from the text files otherwise.
+ * The descriptor is the {@value SmartHome.domain.constants.Constants#CATALOGUE_BINARY} resource packaged with the
+ * classes, unless the {@value SmartHome.domain.constants.Constants#CATALOGUE_BINARY_PROPERTY} system property names
+ * a descriptor file.
+ * The snapshot can be replaced atomically, for example by a {@link CatalogueWatcher}; callers that already
+ * hold a snapshot keep using it unchanged.
+ */
+public final class CatalogueRegistry {
+    private static final AtomicReference<CatalogueSnapshot> _snapshot = new AtomicReference<>();
+    private static final Object _firstLoadLock = new Object();
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private CatalogueRegistry() {
+    }
+
+    /**
+     * Gets the current catalogue snapshot, loading it from the default configuration if no
+     * snapshot has been published yet. Callers racing on the first use wait for a single load rather than each
+     * reading the configuration.
+     *
+     * @return The current catalogue snapshot.
+     * @throws IllegalArgumentException if the default configuration files cannot be read.
+     */
+    public static CatalogueSnapshot getSnapshot() {
+        CatalogueSnapshot snapshot = _snapshot.get();
+        if (snapshot != null) return snapshot;
+        synchronized (_firstLoadLock) {
+            if (_snapshot.get() == null) _snapshot.compareAndSet(null, loadDefault());
+        }
+        return _snapshot.get();
+    }
+
+    /**
+     * Gets the sensor catalogue of the current snapshot.
+     *
+     * @return The shared sensor catalogue.
+     */
+    public static SensorCatalogue getSensorCatalogue() {
+        return getSnapshot().getSensorCatalogue();
+    }
+
+    /**
+     * Gets the actuator catalogue of the current snapshot.
+     *
+     * @return The shared actuator catalogue.
+     */
+    public static ActuatorCatalogue getActuatorCatalogue() {
+        return getSnapshot().getActuatorCatalogue();
+    }
+
+    /**
+     * Atomically replaces the current snapshot.
+     *
+     * @param snapshot The snapshot to publish.
+     * @return The snapshot that was replaced, or {@code null} if none had been loaded yet.
+     * @throws IllegalArgumentException if the snapshot is null.
+     */
+    public static CatalogueSnapshot swap(CatalogueSnapshot snapshot) {
+        if (snapshot == null) throw new IllegalArgumentException("Snapshot cannot be null");
+        return _snapshot.getAndSet(snapshot);
+    }
+
+    /**
+     * Reads the configuration files of the current snapshot again and publishes the result as the current snapshot.
+     * A snapshot published by a {@link CatalogueWatcher} is thus reloaded from the files it watches; a snapshot built
+     * in memory, or no snapshot at all, is replaced by the default configuration.
+     *
+     * @return The newly published snapshot.
+     * @throws IllegalArgumentException if the configuration files cannot be read.
+     */
+    public static CatalogueSnapshot reload() {
+        CatalogueSnapshot current = _snapshot.get();
+        boolean fromFiles = current != null && current.getSensorConfig() != null && current.getActuatorConfig() != null;
+        boolean fromDefaultFiles = fromFiles && SENSOR_CONFIG.equals(current.getSensorConfig())
+                && ACTUATOR_CONFIG.equals(current.getActuatorConfig());
+        CatalogueSnapshot snapshot = fromFiles && !fromDefaultFiles
+                ? CatalogueSnapshot.load(current.getSensorConfig(), current.getActuatorConfig())
+                : loadDefault();
+        _snapshot.set(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Reads the default configuration again and publishes the result as the current snapshot, whatever files the
+     * current snapshot was read from.
+     *
+     * @return The newly published snapshot.
+     * @throws IllegalArgumentException if the default configuration files cannot be read.
+     */
+    public static CatalogueSnapshot reloadDefault() {
+        CatalogueSnapshot snapshot = loadDefault();
+        _snapshot.set(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Loads the default configuration, preferring the compiled binary descriptor when it matches the text files.
+     *
+     * @return The loaded snapshot.
+     * @throws IllegalArgumentException if the default configuration files cannot be read.
+     */
+    private static CatalogueSnapshot loadDefault() {
+        String binaryFile = System.getProperty(CATALOGUE_BINARY_PROPERTY);
+        CatalogueSnapshot snapshot = binaryFile != null
+                ? BinaryCatalogueLoader.loadIfCurrent(binaryFile, SENSOR_CONFIG, ACTUATOR_CONFIG)
+                : BinaryCatalogueLoader.loadResourceIfCurrent(CATALOGUE_BINARY, SENSOR_CONFIG, ACTUATOR_CONFIG);
+        if (snapshot != null) return snapshot;
+        return CatalogueSnapshot.load(SENSOR_CONFIG, ACTUATOR_CONFIG);
+    }
+}
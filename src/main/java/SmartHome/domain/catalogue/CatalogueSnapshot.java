@@ -0,0 +1,97 @@
+package SmartHome.domain.catalogue;
+
+import SmartHome.domain.actuators.ActuatorCatalogue;
+import SmartHome.domain.sensors.SensorCatalogue;
+
+/**
+ * Immutable pair of a {@link SensorCatalogue} and an {@link ActuatorCatalogue} that were loaded together.
+ * A snapshot is never modified after construction, so it can be shared freely between devices,
+ * controllers and threads, and replaced as a whole through the {@link CatalogueRegistry}. A snapshot read from
+ * configuration files remembers their names, so that the registry reloads the same files.
+ */
+public final class CatalogueSnapshot {
+    private final SensorCatalogue _sensorCatalogue;
+    private final ActuatorCatalogue _actuatorCatalogue;
+    private final String _sensorConfig;
+    private final String _actuatorConfig;
+
+    /**
+     * Constructs a CatalogueSnapshot from already loaded catalogues.
+     *
+     * @param sensorCatalogue   The sensor catalogue of the snapshot.
+     * @param actuatorCatalogue The actuator catalogue of the snapshot.
+     * @throws IllegalArgumentException if any of the catalogues is null.
+     */
+    public CatalogueSnapshot(SensorCatalogue sensorCatalogue, ActuatorCatalogue actuatorCatalogue) {
+        this(sensorCatalogue, actuatorCatalogue, null, null);
+    }
+
+    /**
+     * Constructs a CatalogueSnapshot from catalogues read from configuration files.
+     *
+     * @param sensorCatalogue   The sensor catalogue of the snapshot.
+     * @param actuatorCatalogue The actuator catalogue of the snapshot.
+     * @param sensorConfig      The name of the sensor configuration file, or null if the snapshot was built in memory.
+     * @param actuatorConfig    The name of the actuator configuration file, or null if the snapshot was built in
+     *                          memory.
+     * @throws IllegalArgumentException if any of the catalogues is null.
+     */
+    CatalogueSnapshot(SensorCatalogue sensorCatalogue, ActuatorCatalogue actuatorCatalogue, String sensorConfig,
+                      String actuatorConfig) {
+        if (sensorCatalogue == null) throw new IllegalArgumentException("Sensor catalogue cannot be null");
+        if (actuatorCatalogue == null) throw new IllegalArgumentException("Actuator catalogue cannot be null");
+        this._sensorCatalogue = sensorCatalogue;
+        this._actuatorCatalogue = actuatorCatalogue;
+        this._sensorConfig = sensorConfig;
+        this._actuatorConfig = actuatorConfig;
+    }
+
+    /**
+     * Loads a CatalogueSnapshot by reading both configuration files.
+     *
+     * @param sensorConfig   The name of the sensor configuration file.
+     * @param actuatorConfig The name of the actuator configuration file.
+     * @return A new snapshot holding the catalogues read from the given files.
+     * @throws IllegalArgumentException if any of the configuration files cannot be read.
+     */
+    public static CatalogueSnapshot load(String sensorConfig, String actuatorConfig) {
+        return new CatalogueSnapshot(new SensorCatalogue(sensorConfig), new ActuatorCatalogue(actuatorConfig),
+                sensorConfig, actuatorConfig);
+    }
+
+    /**
+     * Gets the sensor catalogue of this snapshot.
+     *
+     * @return The sensor catalogue.
+     */
+    public SensorCatalogue getSensorCatalogue() {
+        return _sensorCatalogue;
+    }
+
+    /**
+     * Gets the actuator catalogue of this snapshot.
+     *
+     * @return The actuator catalogue.
+     */
+    public ActuatorCatalogue getActuatorCatalogue() {
+        return _actuatorCatalogue;
+    }
+
+    /**
+     * Gets the name of the sensor configuration file this snapshot was read from.
+     *
+     * @return The file name, or null if the snapshot was built in memory.
+     */
+    String getSensorConfig() {
+        return _sensorConfig;
+    }
+
+    /**
+     * Gets the name of the actuator configuration file this snapshot was read from.
+     *
+     * @return The file name, or null if the snapshot was built in memory.
+     */
+    String getActuatorConfig() {
+        return _actuatorConfig;
+    }
+}
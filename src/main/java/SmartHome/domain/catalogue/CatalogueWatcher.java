@@ -0,0 +1,168 @@
+package SmartHome.domain.catalogue;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Watches the sensor and actuator configuration files and republishes the catalogues whenever either file
+ * changes. Each change rebuilds a complete {@link CatalogueSnapshot} and publishes it through
+ * {@link CatalogueRegistry#swap(CatalogueSnapshot)}, so readers never take a lock and never see a
+ * half-updated catalogue. If a changed file cannot be read, the previous snapshot stays in place.
+ *
+ * <p>Editors often truncate a file and write it again, and the intermediate content may still parse. A change is
+ * therefore only read once the files have been quiet for a short period, so a rewrite in progress is not published.
+ * Writers that need a hard guarantee should write to a temporary file and atomically move it into place, which the
+ * watcher sees as a single event.</p>
+ */
+public class CatalogueWatcher implements AutoCloseable {
+    private static final Duration DEFAULT_QUIET_PERIOD = Duration.ofMillis(250);
+
+    private final Path _sensorConfig;
+    private final Path _actuatorConfig;
+    private final long _quietPeriodNanos;
+    private WatchService _watchService;
+    private Thread _thread;
+
+    /**
+     * Constructs a CatalogueWatcher for the given configuration files.
+     *
+     * @param sensorConfig   The name of the sensor configuration file.
+     * @param actuatorConfig The name of the actuator configuration file.
+     * @throws IllegalArgumentException if any of the file names is null or blank.
+     */
+    public CatalogueWatcher(String sensorConfig, String actuatorConfig) {
+        this(sensorConfig, actuatorConfig, DEFAULT_QUIET_PERIOD);
+    }
+
+    /**
+     * Constructs a CatalogueWatcher for the given configuration files, reading a change once the files have been
+     * quiet for the given period.
+     *
+     * @param sensorConfig   The name of the sensor configuration file.
+     * @param actuatorConfig The name of the actuator configuration file.
+     * @param quietPeriod    The time without further changes to wait for before reading the files.
+     * @throws IllegalArgumentException if any of the file names is null or blank, or the period is null or negative.
+     */
+    public CatalogueWatcher(String sensorConfig, String actuatorConfig, Duration quietPeriod) {
+        if (sensorConfig == null || sensorConfig.isBlank() || actuatorConfig == null || actuatorConfig.isBlank()
+                || quietPeriod == null || quietPeriod.isNegative())
+            throw new IllegalArgumentException("Invalid arguments");
+        this._sensorConfig = Path.of(sensorConfig).toAbsolutePath();
+        this._actuatorConfig = Path.of(actuatorConfig).toAbsolutePath();
+        this._quietPeriodNanos = quietPeriod.toNanos();
+    }
+
+    /**
+     * Reads both configuration files and publishes the resulting snapshot. Later calls to
+     * {@link CatalogueRegistry#reload()} read the same files.
+     *
+     * @return true if a new snapshot was published, false if the files could not be read and the previous
+     * snapshot was kept.
+     */
+    public boolean refresh() {
+        try {
+            CatalogueRegistry.swap(CatalogueSnapshot.load(_sensorConfig.toString(), _actuatorConfig.toString()));
+            return true;
+        } catch (IllegalArgumentException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts watching the configuration files on a daemon thread. Calling this method on a watcher that is
+     * already running has no effect.
+     *
+     * @throws IllegalStateException if the file system cannot be watched.
+     */
+    public synchronized void start() {
+        if (_thread != null) return;
+        try {
+            _watchService = FileSystems.getDefault().newWatchService();
+            Set<Path> directories = new HashSet<>();
+            directories.add(_sensorConfig.getParent());
+            directories.add(_actuatorConfig.getParent());
+            for (Path directory : directories)
+                directory.register(_watchService, ENTRY_CREATE, ENTRY_MODIFY);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not watch the catalogue configuration: " + exception.getMessage());
+        }
+        _thread = new Thread(this::watch, "catalogue-watcher");
+        _thread.setDaemon(true);
+        _thread.start();
+    }
+
+    /**
+     * Waits for file system events and refreshes the catalogues once one of the configuration files changed and
+     * the files have then been quiet for the quiet period.
+     */
+    private void watch() {
+        try {
+            while (true) {
+                if (!isConfigurationChange(_watchService.take())) continue;
+                long deadline = System.nanoTime() + _quietPeriodNanos;
+                for (long remaining = _quietPeriodNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+                    WatchKey key = _watchService.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (key == null) break;
+                    if (isConfigurationChange(key)) deadline = System.nanoTime() + _quietPeriodNanos;
+                }
+                refresh();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Consumes the events of a watch key and resets it.
+     *
+     * @param key The signalled key.
+     * @return true if one of the events refers to a configuration file, false otherwise.
+     */
+    private boolean isConfigurationChange(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents())
+            changed |= isConfigurationFile((Path) key.watchable(), event.context());
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Checks whether a file system event refers to one of the watched configuration files.
+     *
+     * @param directory The directory in which the event happened.
+     * @param context   The context of the event, holding the relative file name.
+     * @return true if the event refers to a configuration file, false otherwise.
+     */
+    private boolean isConfigurationFile(Path directory, Object context) {
+        if (!(context instanceof Path)) return false;
+        Path file = directory.resolve((Path) context);
+        return file.equals(_sensorConfig) || file.equals(_actuatorConfig);
+    }
+
+    /**
+     * Stops watching the configuration files. The last published snapshot stays in place.
+     */
+    @Override
+    public synchronized void close() {
+        if (_thread == null) return;
+        try {
+            _watchService.close();
+        } catch (IOException exception) {
+            // The watch thread stops either way once the service is closed.
+        }
+        _thread.interrupt();
+        _thread = null;
+    }
+}
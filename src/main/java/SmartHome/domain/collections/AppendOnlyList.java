@@ -0,0 +1,128 @@
+package SmartHome.domain.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list that can only grow, used to hold the rooms of a house, the devices of a room and the sensors and
+ * actuators of a device. Read-only snapshots share the backing array instead of copying it: elements are
+ * only ever written past the size captured by existing snapshots, and growing the list moves it to a new
+ * array, so a snapshot never changes after it is taken. Repeated calls to {@link #snapshot()} without an
+ * intervening {@link #add(Object)} return the same snapshot.
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @param <E> The type of the elements.
+ */
+public final class AppendOnlyList<E> implements Iterable<E> {
+    private static final Object[] EMPTY = new Object[0];
+    private static final int INITIAL_CAPACITY = 4;
+
+    private Object[] _elements = EMPTY;
+    private int _size;
+    private List<E> _snapshot;
+
+    /**
+     * Appends an element to the end of the list.
+     *
+     * @param element The element to append.
+     */
+    public void add(E element) {
+        if (_size == _elements.length)
+            _elements = Arrays.copyOf(_elements, Math.max(INITIAL_CAPACITY, _size + (_size >> 1)));
+        _elements[_size++] = element;
+        _snapshot = null;
+    }
+
+    /**
+     * Gets the element at the given position.
+     *
+     * @param index The position of the element.
+     * @return The element at the position.
+     * @throws IndexOutOfBoundsException if the position is outside the list.
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= _size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _size);
+        return (E) _elements[index];
+    }
+
+    /**
+     * Gets the number of elements in the list.
+     *
+     * @return The number of elements.
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Checks whether the list has no elements.
+     *
+     * @return true if the list is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Gets a read-only view of the current elements. The view shares the backing array of this list and is not
+     * affected by elements appended afterwards.
+     *
+     * @return An unmodifiable list of the current elements.
+     */
+    public List<E> snapshot() {
+        if (_snapshot == null) _snapshot = new Snapshot<>(_elements, _size);
+        return _snapshot;
+    }
+
+    /**
+     * Iterates over the current elements.
+     *
+     * @return An iterator over the elements present when the iteration started.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+
+    /**
+     * Provides a string representation of the list, in the same format as {@link java.util.ArrayList}.
+     *
+     * @return A string representation of the elements.
+     */
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * Unmodifiable view of the first elements of a backing array.
+     *
+     * @param <E> The type of the elements.
+     */
+    private static final class Snapshot<E> extends AbstractList<E> implements RandomAccess {
+        private final Object[] _elements;
+        private final int _size;
+
+        private Snapshot(Object[] elements, int size) {
+            this._elements = elements;
+            this._size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            if (index < 0 || index >= _size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _size);
+            return (E) _elements[index];
+        }
+
+        @Override
+        public int size() {
+            return _size;
+        }
+    }
+}
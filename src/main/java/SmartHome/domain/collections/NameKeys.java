@@ -0,0 +1,27 @@
+package SmartHome.domain.collections;
+
+import java.util.Locale;
+
+/**
+ * Case-folding rule shared by the indexes that look rooms and devices up by name, such as the room index of a
+ * house, the device index of a room and the house-wide device directory. Keeping the rule in one place means a
+ * name found in one index is found under the same key in every other.
+ */
+public final class NameKeys {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private NameKeys() {
+    }
+
+    /**
+     * Folds a name into the key used by the name indexes, so that names differing only in case share a key.
+     *
+     * @param name The name to fold.
+     * @return The case-folded name, or {@code null} if the name is null.
+     */
+    public static String of(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,11 +2,18 @@ package SmartHome.domain.constants;
 
 /**
  * A utility class that defines constants for sensor and actuator configurations in a smart home system.
- * It includes paths for sensor and actuator packages and configuration keys.
+ * It includes paths for sensor and actuator packages, configuration keys, the classpath resource of the compiled
+ * catalogue descriptor and the system property that points to a descriptor file instead, and the size of the sensor
+ * histories.
  */
 public final class Constants {
     public static final String SENSOR_CONFIG = "config.sensorFunctionalities";
     public static final String ACTUATOR_CONFIG = "config.actuatorFunctionalities";
+    public static final String CATALOGUE_BINARY = "catalogue.bin";
+    public static final String CATALOGUE_BINARY_PROPERTY = "smarthome.catalogue.binary";
     public static final String SENSOR_PATH = "SmartHome.domain.sensors.implementation.";
     public static final String ACTUATOR_PATH = "SmartHome.domain.actuators.implementation.";
+    public static final int POWER_HISTORY_CAPACITY = 1440;
+    public static final int POWER_HISTORY_MAX_CAPACITY = 17_280;
+    public static final int POWER_HISTORY_DAYS = 7;
 }
@@ -3,10 +3,14 @@ package SmartHome.domain.device;
 import SmartHome.domain.actuators.Actuator;
 import SmartHome.domain.actuators.ActuatorCatalogue;
 import SmartHome.domain.actuators.ActuatorFunctionality;
+import SmartHome.domain.catalogue.CatalogueRegistry;
+import SmartHome.domain.collections.AppendOnlyList;
 import SmartHome.domain.values.ValueFactory;
 import SmartHome.domain.sensors.Sensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.history.HistoryBackend;
+import SmartHome.domain.sensors.history.QuantileSketch;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,36 +19,51 @@ import static SmartHome.domain.constants.Constants.*;
 
 /**
  * Represents a smart home device, managing its operational state, sensors, and actuators. It interacts
- * with a {@link Repository} to persist device information and utilizes {@link SensorCatalogue} and
- * {@link ActuatorCatalogue} for device capabilities. This class supports adding sensors and actuators,
+ * with a {@link Repository} to persist device information and utilizes the shared {@link SensorCatalogue} and
+ * {@link ActuatorCatalogue} published by the {@link CatalogueRegistry} for device capabilities. This class supports adding sensors and actuators,
  * toggling device active state, and querying device status and functionalities.
  */
 public class Device {
     private final String _name;
     private final String _deviceModel;
-    private final List<Sensor> _sensors;
-    private final List<Actuator> _actuators;
+    private final AppendOnlyList<Sensor> _sensors;
+    private final AppendOnlyList<Actuator> _actuators;
+    private final List<SensorListener> _sensorListeners = new ArrayList<>();
     private boolean _isActive;
-    private final ActuatorCatalogue _actuatorCatalogue = new ActuatorCatalogue(ACTUATOR_CONFIG);
-    private final SensorCatalogue _sensorCatalogue = new SensorCatalogue(SENSOR_CONFIG);
+    private String _roomName;
+    private final HistoryBackend _historyBackend;
 
     /**
      * Initializes a new Device with specified characteristics, setting it to an inactive state by default.
-     * Validates the provided name and device model to ensure they are not null or empty.
+     * Validates the provided name and device model to ensure they are not null or empty. The readings of its
+     * sensors are kept in compressed chunks on the heap.
      *
      * @param name        The human-readable name for the device.
      * @param deviceModel The model identifier of the device, representing its type and capabilities.
      * @throws IllegalArgumentException If either the name or deviceModel are null, empty, or otherwise invalid.
      */
     public Device(String name, String deviceModel) {
-        if (!validateArguments(name, deviceModel)) {
+        this(name, deviceModel, HistoryBackend.compressed());
+    }
+
+    /**
+     * Initializes a new inactive Device whose sensors keep their readings in the histories of a backend.
+     *
+     * @param name           The human-readable name for the device.
+     * @param deviceModel    The model identifier of the device, representing its type and capabilities.
+     * @param historyBackend The backend that creates the histories of the sensors of the device.
+     * @throws IllegalArgumentException If the name or deviceModel are null or empty, or the backend is null.
+     */
+    public Device(String name, String deviceModel, HistoryBackend historyBackend) {
+        if (!validateArguments(name, deviceModel) || historyBackend == null) {
             throw new IllegalArgumentException("Invalid arguments passed to constructor.");
         }
+        this._historyBackend = historyBackend;
         this._name = name;
         this._deviceModel = deviceModel;
         this._isActive = false;
-        this._sensors = new ArrayList<>();
-        this._actuators = new ArrayList<>();
+        this._sensors = new AppendOnlyList<>();
+        this._actuators = new AppendOnlyList<>();
     }
 
     /**
@@ -126,13 +145,17 @@ public class Device {
     }
 
     /**
-     * Adds a sensor to the device with the specified name and model, if it does not already exist.
+     * Adds a sensor to the device with the specified name and model, if it does not already exist. Once the sensor
+     * is accepted, its history is opened with the backend of the device, under the names of the room, the device
+     * and the sensor, so a rejected duplicate never touches the stored readings.
      *
      * @param strModel The model identifier of the sensor to add.
      * @param name The name of the sensor to add.
      * @param sensorCatalogue The catalogue of sensors to retrieve the sensor from.
      * @param valueFactory The factory for creating sensor values.
      * @return The sensor that was added, or {@code null} if a sensor with the specified name already exists.
+     * @throws IllegalStateException if the history of the sensor cannot be opened, for instance because another
+     *                               device already opened it; the sensor is not added.
      */
     public Sensor addSensor(String strModel, String name, SensorCatalogue sensorCatalogue, ValueFactory valueFactory) {
         Sensor sensor = sensorCatalogue.getSensor(strModel, SENSOR_PATH, name, valueFactory);
@@ -140,12 +163,58 @@ public class Device {
             return null;
 
         if (!sensorExists(name)) {
+            sensor.openHistory(_historyBackend, historyPath(name));
             this._sensors.add(sensor);
+            for (SensorListener listener : _sensorListeners)
+                listener.sensorAdded(this, sensor);
             return sensor;
         }
         return null;
     }
 
+    /**
+     * Builds the path that identifies the history of a sensor of the device.
+     *
+     * @param sensorName The name of the sensor.
+     * @return The names of the room, if the device is in one, the device and the sensor.
+     */
+    private String[] historyPath(String sensorName) {
+        if (_roomName == null) return new String[]{_name, sensorName};
+        return new String[]{_roomName, _name, sensorName};
+    }
+
+    /**
+     * Records the room the device was placed in, whose name then qualifies the histories of the sensors added
+     * from now on.
+     *
+     * @param roomName The name of the room.
+     * @throws IllegalArgumentException if the name is null or empty.
+     */
+    public void setRoomName(String roomName) {
+        if (roomName == null || roomName.trim().isEmpty()) throw new IllegalArgumentException("Invalid arguments");
+        this._roomName = roomName;
+    }
+
+    /**
+     * Closes the histories of the sensors of the device, releasing the files of persistent histories. The device
+     * is not used afterwards.
+     */
+    public void close() {
+        for (Sensor sensor : _sensors)
+            sensor.closeHistory();
+    }
+
+    /**
+     * Registers a listener to be notified of every sensor added to the device from now on.
+     *
+     * @param listener The listener to register.
+     * @throws IllegalArgumentException if the listener is null.
+     */
+    public void addSensorListener(SensorListener listener) {
+        if (listener == null) throw new IllegalArgumentException("Invalid arguments");
+        _sensorListeners.add(listener);
+    }
+
     /**
      * Adds an actuator to the device with the specified name and model, if it does not already exist.
      *
@@ -171,22 +240,51 @@ public class Device {
      * Provides a list of all sensors currently associated with this device. This includes both
      * active and inactive sensors.
      *
-     * @return A new list containing all sensors of the device. Modifications to this list will not
-     *         affect the device's internal sensors collection.
+     * @return A read-only snapshot of the sensors of the device, which shares storage with the device
+     *         instead of copying it and is not affected by sensors added later.
      */
     public List<Sensor> getSensors() {
-        return new ArrayList<>(_sensors);
+        return _sensors.snapshot();
+    }
+
+    /**
+     * Builds the sketch of the readings of the sensors of the device that have a functionality, from which the
+     * percentiles of the device are estimated.
+     *
+     * @param functionality The functionality of the sensors.
+     * @return The merged sketch, which is empty if the device has no such sensor or no readings.
+     * @throws IllegalArgumentException if the functionality is null.
+     */
+    public QuantileSketch getSketch(SensorFunctionality functionality) {
+        QuantileSketch sketch = new QuantileSketch();
+        mergeReadingsInto(functionality, sketch);
+        return sketch;
+    }
+
+    /**
+     * Merges the readings of the sensors of the device that have a functionality into a sketch, such as the sketch
+     * of a room, each sensor merging its own sketch directly.
+     *
+     * @param functionality The functionality of the sensors.
+     * @param sketch        The sketch to merge into.
+     * @throws IllegalArgumentException if the functionality or the sketch is null.
+     */
+    public void mergeReadingsInto(SensorFunctionality functionality, QuantileSketch sketch) {
+        if (functionality == null || sketch == null) throw new IllegalArgumentException("Invalid arguments");
+        for (Sensor sensor : _sensors)
+            if (sensor.getSensorFunctionality() == functionality)
+                sensor.mergeReadingsInto(sketch);
     }
 
     /**
      * Provides a list of all actuators currently associated with this device. Similar to sensors,
      * this includes actuators in any state.
      *
-     * @return A new list containing all actuators of the device. Modifications to this list will not
-     *         affect the device's internal actuators collection.
+     * @return A read-only snapshot of the actuators of the device, which shares storage with the device
+     *         instead of copying it and is not affected by actuators added later.
      */
     public List<Actuator> getActuators() {
-        return new ArrayList<>(_actuators);
+        return _actuators.snapshot();
     }
 
     /**
@@ -219,23 +317,23 @@ public class Device {
 
     /**
      * Retrieves a list of functionalities supported by the sensors associated with this device. This
-     * leverages the {@link SensorCatalogue} to enumerate possible sensor functionalities based on the
+     * leverages the shared {@link SensorCatalogue} to enumerate possible sensor functionalities based on the
      * device's configuration and capabilities.
      *
      * @return A list of {@link SensorFunctionality} instances representing the supported sensor functionalities.
      */
     public List<SensorFunctionality> getSensorFunctionalities() {
-        return _sensorCatalogue.getSensorFunctionalities();
+        return CatalogueRegistry.getSensorCatalogue().getSensorFunctionalities();
     }
 
     /**
      * Retrieves a list of functionalities supported by the actuators associated with this device. Utilizes
-     * the {@link ActuatorCatalogue} to list potential actuator functionalities, reflecting the device's
+     * the shared {@link ActuatorCatalogue} to list potential actuator functionalities, reflecting the device's
      * configuration and actuator capabilities.
      *
      * @return A list of {@link ActuatorFunctionality} instances representing the supported actuator functionalities.
      */
     public List<ActuatorFunctionality> getActuatorFunctionalities() {
-        return _actuatorCatalogue.getActuatorModels();
+        return CatalogueRegistry.getActuatorCatalogue().getActuatorModels();
     }
 }
@@ -1,12 +1,35 @@
 package SmartHome.domain.device;
 
-import SmartHome.domain.device.Device;
+import SmartHome.domain.catalogue.CatalogueRegistry;
+import SmartHome.domain.sensors.history.HistoryBackend;
 
 /**
  * A factory class responsible for creating instances of the Device class.
  * It provides a method to create a device with a specified name, device model, and repository.
+ * Created devices share the catalogues published by the {@link CatalogueRegistry}, so creating a device
+ * does not read any configuration file, and open the histories of their sensors with the {@link HistoryBackend}
+ * the factory was given.
  */
 public class DeviceFactory {
+    private final HistoryBackend _historyBackend;
+
+    /**
+     * Constructs a DeviceFactory whose devices keep the readings of their sensors in compressed chunks on the heap.
+     */
+    public DeviceFactory() {
+        this(HistoryBackend.compressed());
+    }
+
+    /**
+     * Constructs a DeviceFactory whose devices keep the readings of their sensors in the histories of a backend.
+     *
+     * @param historyBackend The backend that creates the histories of the sensors.
+     * @throws IllegalArgumentException if the backend is null.
+     */
+    public DeviceFactory(HistoryBackend historyBackend) {
+        if (historyBackend == null) throw new IllegalArgumentException("Invalid arguments");
+        this._historyBackend = historyBackend;
+    }
 
     /**
      * Creates a new device with the given name, device model, and repository.
@@ -16,6 +39,6 @@ public class DeviceFactory {
      * @return A new instance of the Device class.
      */
     public Device createDevice(String name, String deviceModel){
-        return new Device(name, deviceModel);
+        return new Device(name, deviceModel, _historyBackend);
     }
 }
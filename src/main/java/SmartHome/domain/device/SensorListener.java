@@ -0,0 +1,19 @@
+package SmartHome.domain.device;
+
+import SmartHome.domain.sensors.Sensor;
+
+/**
+ * Listener notified whenever a sensor is added to a device. It allows indexes kept outside the device,
+ * such as the functionality index of a house, to stay up to date without scanning the devices.
+ */
+@FunctionalInterface
+public interface SensorListener {
+
+    /**
+     * Called after a sensor has been added to a device.
+     *
+     * @param device The device the sensor was added to.
+     * @param sensor The sensor that was added.
+     */
+    void sensorAdded(Device device, Sensor sensor);
+}
@@ -0,0 +1,108 @@
+package SmartHome.domain.house;
+
+import SmartHome.domain.collections.NameKeys;
+import SmartHome.domain.device.Device;
+import SmartHome.domain.room.DeviceListener;
+import SmartHome.domain.room.Room;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * House-wide directory of devices. Every room of the house registers the directory as a {@link DeviceListener},
+ * so the directory is updated whenever {@link Room#addDevice(String, String)} succeeds. Devices can then be
+ * resolved by room and device name, or by device name alone, without walking the rooms.
+ *
+ * <p>Names are matched case-insensitively, as in {@link House#getRoom(String)} and {@link Room#getDevice(String)}.</p>
+ */
+public class DeviceDirectory implements DeviceListener {
+    private final List<DeviceLocation> _locations = new ArrayList<>();
+    private final Map<String, Map<String, DeviceLocation>> _locationsByRoom = new HashMap<>();
+    private final Map<String, List<DeviceLocation>> _locationsByDevice = new HashMap<>();
+
+    /**
+     * Starts tracking a room: the devices it already holds are recorded and the directory registers itself to be
+     * notified of the devices added later.
+     *
+     * @param room The room to track.
+     * @throws IllegalArgumentException if the room is null.
+     */
+    public void addRoom(Room room) {
+        if (room == null) throw new IllegalArgumentException("Invalid arguments");
+        for (Device device : room.getDevices())
+            deviceAdded(room, device);
+        room.addDeviceListener(this);
+    }
+
+    /**
+     * Records a device added to one of the tracked rooms.
+     *
+     * @param room   The room the device was added to.
+     * @param device The device that was added.
+     */
+    @Override
+    public void deviceAdded(Room room, Device device) {
+        DeviceLocation location = new DeviceLocation(room, device);
+        _locations.add(location);
+        _locationsByRoom.computeIfAbsent(NameKeys.of(room.getName()), key -> new HashMap<>())
+                .put(NameKeys.of(device.getName()), location);
+        _locationsByDevice.computeIfAbsent(NameKeys.of(device.getName()), key -> new ArrayList<>()).add(location);
+    }
+
+    /**
+     * Resolves a device by the name of its room and its own name.
+     *
+     * @param roomName   The name of the room.
+     * @param deviceName The name of the device.
+     * @return The location of the device, or {@code null} if no such device exists.
+     */
+    public DeviceLocation getDevice(String roomName, String deviceName) {
+        if (roomName == null || deviceName == null) return null;
+        Map<String, DeviceLocation> devices = _locationsByRoom.get(NameKeys.of(roomName));
+        return devices == null ? null : devices.get(NameKeys.of(deviceName));
+    }
+
+    /**
+     * Finds every device with the given name, whatever room it is in.
+     *
+     * @param deviceName The name of the device.
+     * @return A new list with the locations of the matching devices, in the order they were added.
+     */
+    public List<DeviceLocation> findDevices(String deviceName) {
+        if (deviceName == null) return new ArrayList<>();
+        List<DeviceLocation> locations = _locationsByDevice.get(NameKeys.of(deviceName));
+        return locations == null ? new ArrayList<>() : new ArrayList<>(locations);
+    }
+
+    /**
+     * Gets the location of every device in the house.
+     *
+     * @return A new list with the locations of all devices, in the order they were added.
+     */
+    public List<DeviceLocation> getLocations() {
+        return new ArrayList<>(_locations);
+    }
+
+    /**
+     * Gets every device in the house.
+     *
+     * @return A new list with all devices, in the order they were added.
+     */
+    public List<Device> getDevices() {
+        List<Device> devices = new ArrayList<>(_locations.size());
+        for (DeviceLocation location : _locations)
+            devices.add(location.getDevice());
+        return devices;
+    }
+
+    /**
+     * Gets the number of devices in the house.
+     *
+     * @return The number of devices.
+     */
+    public int size() {
+        return _locations.size();
+    }
+}
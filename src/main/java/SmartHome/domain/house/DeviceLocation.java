@@ -0,0 +1,43 @@
+package SmartHome.domain.house;
+
+import SmartHome.domain.device.Device;
+import SmartHome.domain.room.Room;
+
+/**
+ * An entry of the {@link DeviceDirectory}, pairing a device with the room that owns it.
+ */
+public final class DeviceLocation {
+    private final Room _room;
+    private final Device _device;
+
+    /**
+     * Constructs a DeviceLocation for a device and its room.
+     *
+     * @param room   The room that owns the device.
+     * @param device The device.
+     * @throws IllegalArgumentException if the room or the device is null.
+     */
+    public DeviceLocation(Room room, Device device) {
+        if (room == null || device == null) throw new IllegalArgumentException("Invalid arguments");
+        this._room = room;
+        this._device = device;
+    }
+
+    /**
+     * Gets the room that owns the device.
+     *
+     * @return The room of the device.
+     */
+    public Room getRoom() {
+        return _room;
+    }
+
+    /**
+     * Gets the device.
+     *
+     * @return The device.
+     */
+    public Device getDevice() {
+        return _device;
+    }
+}
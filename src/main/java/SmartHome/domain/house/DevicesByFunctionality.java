@@ -15,9 +15,11 @@ import java.util.Map;
  * Organizes devices within rooms based on their sensor functionalities. This class allows for the
  * grouping of devices by their specific sensor functionality and also identifies devices without any
  * sensor functionalities. Utilizes {@link Room} and {@link DeviceRoomDTO} to structure the grouping.
+ * When built from a {@link FunctionalityIndex}, the grouping is read from the index instead of walking the rooms.
  */
-public class DevicesByFunctionality {
+public class DevicesByFunctionality implements FunctionalityGrouping {
     private final List<Room> _rooms;
+    private final FunctionalityIndex _index;
     private final SensorFunctionality[] _sensorFunctionalities = SensorFunctionality.values();
     private List<DeviceRoomDTO> _devicesRoom;
     private final List<DeviceRoomDTO> _devicesRoomNoFunc = new ArrayList<>();
@@ -31,6 +33,20 @@ public class DevicesByFunctionality {
      */
     public DevicesByFunctionality(List<Room> _rooms) {
         this._rooms = _rooms;
+        this._index = null;
+    }
+
+    /**
+     * Constructs a new DevicesByFunctionality instance that reads the grouping from an incrementally maintained
+     * functionality index, so that the cost of the grouping is proportional to the size of the result.
+     *
+     * @param index The functionality index of a house.
+     * @throws IllegalArgumentException if the index is null.
+     */
+    public DevicesByFunctionality(FunctionalityIndex index) {
+        if (index == null) throw new IllegalArgumentException("Invalid arguments");
+        this._rooms = null;
+        this._index = index;
     }
 
     /**
@@ -42,7 +58,9 @@ public class DevicesByFunctionality {
      * representing the devices grouped by functionality. Returns {@code null} if no devices are found or
      * if rooms are empty.
      */
+    @Override
     public Map<String, List<DeviceRoomDTO>> getGroupedResult() {
+        if (_index != null) return _index.getGroupedResult();
         if (_rooms.isEmpty()) return null;
 
         for (SensorFunctionality sensorFunctionality : _sensorFunctionalities) {
@@ -104,7 +122,7 @@ public class DevicesByFunctionality {
                 List<Sensor> sensors = device.getSensors();
                 if (sensors.isEmpty()) {
                     _devicesRoomNoFunc.add(new DeviceRoomDTO(device.getName(), room.getName()));
-                    _map.put("Without functionality", _devicesRoomNoFunc);
+                    _map.put(FunctionalityIndex.WITHOUT_FUNCTIONALITY, _devicesRoomNoFunc);
                 }
             }
         }
@@ -0,0 +1,22 @@
+package SmartHome.domain.house;
+
+import SmartHome.dto.DeviceRoomDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strategy that groups the devices of a house by sensor functionality, implemented by walking the rooms
+ * sequentially or in parallel, or by reading the functionality index of the house.
+ */
+public interface FunctionalityGrouping {
+
+    /**
+     * Groups the devices by sensor functionality.
+     *
+     * @return A map with sensor functionality names as keys and lists of {@link DeviceRoomDTO} objects as values,
+     * devices without sensors grouped under {@value FunctionalityIndex#WITHOUT_FUNCTIONALITY}, or {@code null} if
+     * there are no rooms or a room has no devices.
+     */
+    Map<String, List<DeviceRoomDTO>> getGroupedResult();
+}
@@ -0,0 +1,255 @@
+package SmartHome.domain.house;
+
+import SmartHome.domain.device.Device;
+import SmartHome.domain.device.SensorListener;
+import SmartHome.domain.room.DeviceListener;
+import SmartHome.domain.room.Room;
+import SmartHome.domain.sensors.Sensor;
+import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.dto.DeviceRoomDTO;
+import SmartHome.dto.FunctionalityPageDTO;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+/**
+ * Inverted index from sensor functionality to the devices of a house. The index registers itself on every room
+ * and on every device of those rooms, so it is updated by {@link Room#addDevice(String, String)} and by
+ * {@link Device#addSensor} instead of being rebuilt from the rooms on each query.
+ *
+ * <p>The grouped result is the same one {@link DevicesByFunctionality} computes by walking the rooms: one entry per
+ * matching sensor, ordered by room, device and sensor insertion, devices without sensors grouped under
+ * {@value #WITHOUT_FUNCTIONALITY}, and {@code null} if the house has no rooms or a room has no devices.</p>
+ */
+public class FunctionalityIndex implements DeviceListener, SensorListener {
+    static final String WITHOUT_FUNCTIONALITY = "Without functionality";
+
+    private final Map<Room, RoomEntry> _rooms = new IdentityHashMap<>();
+    private final Map<Device, DeviceEntry> _devices = new IdentityHashMap<>();
+    private final Map<SensorFunctionality, TreeSet<SensorEntry>> _sensorsByFunctionality = new EnumMap<>(SensorFunctionality.class);
+    private final TreeSet<DeviceEntry> _devicesWithoutSensors = new TreeSet<>();
+    private int _emptyRooms;
+
+    /**
+     * Starts tracking a room: the devices and sensors it already holds are indexed and the index registers itself
+     * to be notified of the devices added later.
+     *
+     * @param room The room to track.
+     * @throws IllegalArgumentException if the room is null.
+     */
+    public void addRoom(Room room) {
+        if (room == null) throw new IllegalArgumentException("Invalid arguments");
+        if (_rooms.containsKey(room)) return;
+        _rooms.put(room, new RoomEntry(_rooms.size()));
+        _emptyRooms++;
+        for (Device device : room.getDevices())
+            deviceAdded(room, device);
+        room.addDeviceListener(this);
+    }
+
+    /**
+     * Indexes a device added to one of the tracked rooms, together with the sensors it already holds.
+     *
+     * @param room   The room the device was added to.
+     * @param device The device that was added.
+     */
+    @Override
+    public void deviceAdded(Room room, Device device) {
+        RoomEntry roomEntry = _rooms.get(room);
+        if (roomEntry == null || _devices.containsKey(device)) return;
+        if (roomEntry._devices++ == 0) _emptyRooms--;
+
+        DeviceEntry deviceEntry = new DeviceEntry(roomEntry._ordinal, roomEntry._devices,
+                new DeviceRoomDTO(device.getName(), room.getName()));
+        _devices.put(device, deviceEntry);
+        _devicesWithoutSensors.add(deviceEntry);
+        for (Sensor sensor : device.getSensors())
+            sensorAdded(device, sensor);
+        device.addSensorListener(this);
+    }
+
+    /**
+     * Indexes a sensor added to one of the tracked devices under its functionality.
+     *
+     * @param device The device the sensor was added to.
+     * @param sensor The sensor that was added.
+     */
+    @Override
+    public void sensorAdded(Device device, Sensor sensor) {
+        DeviceEntry deviceEntry = _devices.get(device);
+        if (deviceEntry == null) return;
+        if (deviceEntry._sensors++ == 0) _devicesWithoutSensors.remove(deviceEntry);
+
+        SensorFunctionality functionality = sensor.getSensorFunctionality();
+        if (functionality == null) return;
+        _sensorsByFunctionality.computeIfAbsent(functionality, key -> new TreeSet<>())
+                .add(new SensorEntry(deviceEntry, deviceEntry._sensors));
+    }
+
+    /**
+     * Gets the devices holding a sensor with the given functionality, one entry per matching sensor.
+     *
+     * @param functionality The sensor functionality.
+     * @return A new list of the matching devices and their rooms; an empty list if there are none.
+     */
+    public List<DeviceRoomDTO> getDevices(SensorFunctionality functionality) {
+        TreeSet<SensorEntry> sensors = functionality == null ? null : _sensorsByFunctionality.get(functionality);
+        if (sensors == null) return new ArrayList<>();
+        List<DeviceRoomDTO> devices = new ArrayList<>(sensors.size());
+        for (SensorEntry sensor : sensors)
+            devices.add(sensor._device._dto);
+        return devices;
+    }
+
+    /**
+     * Gets the devices that hold no sensor.
+     *
+     * @return A new list of the devices without sensors and their rooms; an empty list if there are none.
+     */
+    public List<DeviceRoomDTO> getDevicesWithoutFunctionality() {
+        List<DeviceRoomDTO> devices = new ArrayList<>(_devicesWithoutSensors.size());
+        for (DeviceEntry device : _devicesWithoutSensors)
+            devices.add(device._dto);
+        return devices;
+    }
+
+    /**
+     * Groups the devices of the house by sensor functionality. The cost is proportional to the size of the result.
+     *
+     * @return A map with sensor functionality names as keys and lists of {@link DeviceRoomDTO} objects as values, or
+     * {@code null} if the house has no rooms or any room has no devices.
+     */
+    public Map<String, List<DeviceRoomDTO>> getGroupedResult() {
+        if (_rooms.isEmpty() || _emptyRooms > 0) return null;
+
+        Map<String, List<DeviceRoomDTO>> result = new HashMap<>();
+        for (SensorFunctionality functionality : _sensorsByFunctionality.keySet())
+            result.put(functionality.name(), getDevices(functionality));
+        if (!_devicesWithoutSensors.isEmpty())
+            result.put(WITHOUT_FUNCTIONALITY, getDevicesWithoutFunctionality());
+        return result;
+    }
+
+    /**
+     * Publishes the grouping page by page, so that no more than one page is materialized at a time. Each subscriber
+     * walks the functionalities in declaration order and then the devices without sensors.
+     *
+     * @param pageSize The largest number of devices in a page.
+     * @return A publisher of the grouping pages.
+     * @throws IllegalArgumentException if the page size is not positive.
+     */
+    public Flow.Publisher<FunctionalityPageDTO> publish(int pageSize) {
+        return new FunctionalityPublisher(this, pageSize);
+    }
+
+    /**
+     * Checks whether the grouping is defined, that is, whether the house has rooms and every room has devices.
+     *
+     * @return true if {@link #getGroupedResult()} does not return {@code null}, false otherwise.
+     */
+    boolean hasGroupedResult() {
+        return !_rooms.isEmpty() && _emptyRooms == 0;
+    }
+
+    /**
+     * Fills a page with the devices of a group that come after a cursor. The cursor is the position returned for
+     * the previous page, so paging is not affected by devices and sensors added in between.
+     *
+     * @param functionality The functionality of the group, or {@code null} for the devices without sensors.
+     * @param after         The cursor returned for the previous page of the group, or {@code null} for the first page.
+     * @param size          The largest number of devices to add to the page.
+     * @param page          The list the devices are added to.
+     * @return The cursor of the last device added, or {@code null} if the group has no more devices.
+     */
+    Object fillPage(SensorFunctionality functionality, Object after, int size, List<DeviceRoomDTO> page) {
+        if (functionality == null)
+            return fill(_devicesWithoutSensors, (DeviceEntry) after, size, page, device -> device._dto);
+        TreeSet<SensorEntry> sensors = _sensorsByFunctionality.get(functionality);
+        if (sensors == null) return null;
+        return fill(sensors, (SensorEntry) after, size, page, sensor -> sensor._device._dto);
+    }
+
+    /**
+     * Adds to a page the DTOs of the entries of a sorted set that come after a cursor.
+     *
+     * @param entries The sorted entries of a group.
+     * @param after   The entry after which the page starts, or {@code null} to start at the first entry.
+     * @param size    The largest number of DTOs to add.
+     * @param page    The list the DTOs are added to.
+     * @param dto     Gets the DTO of an entry.
+     * @param <T>     The type of the entries.
+     * @return The last entry added, or {@code null} if no entry was added.
+     */
+    private static <T> T fill(NavigableSet<T> entries, T after, int size, List<DeviceRoomDTO> page,
+                              Function<T, DeviceRoomDTO> dto) {
+        T last = null;
+        for (T entry : after == null ? entries : entries.tailSet(after, false)) {
+            if (page.size() == size) break;
+            page.add(dto.apply(entry));
+            last = entry;
+        }
+        return last;
+    }
+
+    /**
+     * Position of a tracked room and the number of devices added to it.
+     */
+    private static final class RoomEntry {
+        private final int _ordinal;
+        private int _devices;
+
+        private RoomEntry(int ordinal) {
+            this._ordinal = ordinal;
+        }
+    }
+
+    /**
+     * Position of a tracked device, ordered by room and then by insertion within the room, with the DTO shared by
+     * every result that lists the device.
+     */
+    private static final class DeviceEntry implements Comparable<DeviceEntry> {
+        private final int _room;
+        private final int _ordinal;
+        private final DeviceRoomDTO _dto;
+        private int _sensors;
+
+        private DeviceEntry(int room, int ordinal, DeviceRoomDTO dto) {
+            this._room = room;
+            this._ordinal = ordinal;
+            this._dto = dto;
+        }
+
+        @Override
+        public int compareTo(DeviceEntry other) {
+            int byRoom = Integer.compare(_room, other._room);
+            return byRoom != 0 ? byRoom : Integer.compare(_ordinal, other._ordinal);
+        }
+    }
+
+    /**
+     * Position of a tracked sensor, ordered by device and then by insertion within the device.
+     */
+    private static final class SensorEntry implements Comparable<SensorEntry> {
+        private final DeviceEntry _device;
+        private final int _ordinal;
+
+        private SensorEntry(DeviceEntry device, int ordinal) {
+            this._device = device;
+            this._ordinal = ordinal;
+        }
+
+        @Override
+        public int compareTo(SensorEntry other) {
+            int byDevice = _device.compareTo(other._device);
+            return byDevice != 0 ? byDevice : Integer.compare(_ordinal, other._ordinal);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package SmartHome.domain.house;
+
+import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.dto.DeviceRoomDTO;
+import SmartHome.dto.FunctionalityPageDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * Publishes the grouping of a {@link FunctionalityIndex} as a stream of {@link FunctionalityPageDTO} pages. Pages are
+ * produced only when the subscriber requests them, using a cursor into the index, so memory use is bounded by the
+ * page size whatever the size of the house. Pages are emitted on the thread that calls
+ * {@link Flow.Subscription#request(long)}; the index must not be modified concurrently with a request.
+ *
+ * <p>A house whose grouping is undefined, because it has no rooms or a room has no devices, publishes no pages.</p>
+ */
+class FunctionalityPublisher implements Flow.Publisher<FunctionalityPageDTO> {
+    private static final SensorFunctionality[] FUNCTIONALITIES = SensorFunctionality.values();
+
+    private final FunctionalityIndex _index;
+    private final int _pageSize;
+
+    /**
+     * Constructs a FunctionalityPublisher for an index.
+     *
+     * @param index    The index to publish.
+     * @param pageSize The largest number of devices in a page.
+     * @throws IllegalArgumentException if the page size is not positive.
+     */
+    FunctionalityPublisher(FunctionalityIndex index, int pageSize) {
+        if (pageSize < 1) throw new IllegalArgumentException("Invalid arguments");
+        this._index = index;
+        this._pageSize = pageSize;
+    }
+
+    /**
+     * Subscribes to the pages of the grouping. Each subscriber gets its own walk over the index.
+     *
+     * @param subscriber The subscriber.
+     * @throws NullPointerException if the subscriber is null.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super FunctionalityPageDTO> subscriber) {
+        if (subscriber == null) throw new NullPointerException("Subscriber cannot be null");
+        PageSubscription subscription = new PageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    /**
+     * Subscription walking the groups of the index, one page per requested item.
+     */
+    private final class PageSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super FunctionalityPageDTO> _subscriber;
+        private int _group;
+        private Object _cursor;
+        private long _demand;
+        private boolean _emitting;
+        private boolean _done;
+
+        private PageSubscription(Flow.Subscriber<? super FunctionalityPageDTO> subscriber) {
+            this._subscriber = subscriber;
+            if (!_index.hasGroupedResult()) _group = FUNCTIONALITIES.length + 1;
+        }
+
+        /**
+         * Completes the subscription without waiting for demand if the grouping is undefined.
+         */
+        private void start() {
+            if (_group > FUNCTIONALITIES.length && finish()) _subscriber.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (finish()) _subscriber.onError(new IllegalArgumentException("Invalid arguments"));
+                return;
+            }
+            synchronized (this) {
+                if (_done) return;
+                _demand = _demand + n < 0 ? Long.MAX_VALUE : _demand + n;
+                if (_emitting) return;
+                _emitting = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            finish();
+        }
+
+        /**
+         * Emits pages while there is demand. Requests made from {@code onNext} only add demand, so the recursion
+         * depth stays constant.
+         */
+        private void drain() {
+            while (true) {
+                synchronized (this) {
+                    if (_done) return;
+                    if (_demand == 0) {
+                        _emitting = false;
+                        return;
+                    }
+                    _demand--;
+                }
+                FunctionalityPageDTO page = nextPage();
+                if (page == null) {
+                    if (finish()) _subscriber.onComplete();
+                    return;
+                }
+                _subscriber.onNext(page);
+            }
+        }
+
+        /**
+         * Builds the next page, moving to the next group when the current one is exhausted.
+         *
+         * @return The next page, or {@code null} if every group has been published.
+         */
+        private FunctionalityPageDTO nextPage() {
+            while (_group <= FUNCTIONALITIES.length) {
+                SensorFunctionality functionality = _group < FUNCTIONALITIES.length ? FUNCTIONALITIES[_group] : null;
+                List<DeviceRoomDTO> devices = new ArrayList<>(Math.min(_pageSize, 16));
+                Object last = _index.fillPage(functionality, _cursor, _pageSize, devices);
+                if (last == null) {
+                    _group++;
+                    _cursor = null;
+                    continue;
+                }
+                _cursor = last;
+                return new FunctionalityPageDTO(functionality == null
+                        ? FunctionalityIndex.WITHOUT_FUNCTIONALITY : functionality.name(), devices);
+            }
+            return null;
+        }
+
+        /**
+         * Marks the subscription as finished.
+         *
+         * @return true if this call finished the subscription, false if it was already finished.
+         */
+        private synchronized boolean finish() {
+            if (_done) return false;
+            _done = true;
+            return true;
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package SmartHome.domain.house;
 
+import SmartHome.domain.collections.AppendOnlyList;
+import SmartHome.domain.collections.NameKeys;
 import SmartHome.domain.room.DimensionsFactory;
 import SmartHome.domain.room.Room;
 import SmartHome.domain.device.DeviceFactory;
 import SmartHome.domain.room.RoomFactory;
+import SmartHome.domain.sensors.history.QuantileSketch;
 import SmartHome.dto.DeviceRoomDTO;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -14,12 +19,21 @@ import java.util.Map;
  * The House class represents a house with multiple rooms located in a specific location.
  * It manages the creation and management of rooms within the house, leveraging factories
  * for room and location creation to ensure consistency and validation of data.
+ *
+ * <p>Besides the ordered list of rooms, the house keeps a hash index of the rooms by case-folded name and
+ * an index of the rooms by floor, so that lookups and duplicate checks do not scan every room. A
+ * {@link DeviceDirectory} tracks the devices of every room and a {@link FunctionalityIndex} groups them by
+ * sensor functionality.</p>
  */
 public class House {
     private Location _location;
     private final LocationFactory _locationFactory;
     private final RoomFactory _roomFactory;
-    private final List<Room> _rooms = new ArrayList<>();
+    private final AppendOnlyList<Room> _rooms = new AppendOnlyList<>();
+    private final Map<String, Room> _roomsByName = new HashMap<>();
+    private final Map<String, AppendOnlyList<Room>> _roomsByFloor = new LinkedHashMap<>();
+    private final DeviceDirectory _deviceDirectory = new DeviceDirectory();
+    private final FunctionalityIndex _functionalityIndex = new FunctionalityIndex();
 
     /**
      * Constructs a new House object with the specified repository, location factory, and room factory.
@@ -79,6 +93,10 @@ public class House {
         try {
             Room myRoom = _roomFactory.createRoom(name, houseFloor, height, width, length, deviceFactory, dimensionsFactory);
             _rooms.add(myRoom);
+            _roomsByName.put(NameKeys.of(name), myRoom);
+            _roomsByFloor.computeIfAbsent(houseFloor, floor -> new AppendOnlyList<>()).add(myRoom);
+            _deviceDirectory.addRoom(myRoom);
+            _functionalityIndex.addRoom(myRoom);
             return true;
         } catch (IllegalArgumentException e) {
             return false;
@@ -92,19 +110,17 @@ public class House {
      * @return {@code true} if a room with the specified name exists, {@code false} otherwise.
      */
     private boolean roomExists(String name) {
-        for (Room room : _rooms)
-            if (room.getName().equalsIgnoreCase(name))
-                return true;
-        return false;
+        return name != null && _roomsByName.containsKey(NameKeys.of(name));
     }
 
+
     /**
      * Retrieves a list of rooms in the house.
      *
-     * @return A new list containing all rooms in the house.
+     * @return A read-only snapshot of the rooms in the house, which is not affected by rooms added later.
      */
     public List<Room> getRooms() {
-        return new ArrayList<>(_rooms);
+        return _rooms.snapshot();
     }
 
     /**
@@ -115,19 +131,68 @@ public class House {
      * @return The Room object matching the specified name; {@code null} if no such room exists within the house.
      */
     public Room getRoom(String name) {
-        for (Room room : _rooms)
-            if (room.getName().equalsIgnoreCase(name))
-                return room;
-        return null;
+        if (name == null) return null;
+        return _roomsByName.get(NameKeys.of(name));
     }
 
     /**
-     * Retrieves a mapping of devices grouped by room and functionality based on the provided DevicesByFunctionality object.
+     * Retrieves the rooms located on the specified floor, in the order they were added to the house.
      *
-     * @param devicesByFunctionality The DevicesByFunctionality object containing the grouped result.
+     * @param houseFloor The floor of the house.
+     * @return A read-only snapshot of the rooms on the floor; an empty list if there are none.
+     */
+    public List<Room> getRoomsOnFloor(String houseFloor) {
+        AppendOnlyList<Room> rooms = _roomsByFloor.get(houseFloor);
+        return rooms == null ? Collections.emptyList() : rooms.snapshot();
+    }
+
+    /**
+     * Builds the sketch of the power readings of the house by merging the sketches of its rooms.
+     *
+     * @return The merged sketch, which is empty if no room has power readings.
+     */
+    public QuantileSketch getPowerSketch() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (Room room : _rooms.snapshot())
+            sketch.merge(room.getPowerSketch());
+        return sketch;
+    }
+
+    /**
+     * Retrieves the directory of the devices in every room of the house. The directory is kept up to date as
+     * devices are added to the rooms.
+     *
+     * @return The device directory of the house.
+     */
+    public DeviceDirectory getDeviceDirectory() {
+        return _deviceDirectory;
+    }
+
+    /**
+     * Retrieves the index of the devices of the house by sensor functionality. The index is kept up to date as
+     * devices and sensors are added.
+     *
+     * @return The functionality index of the house.
+     */
+    public FunctionalityIndex getFunctionalityIndex() {
+        return _functionalityIndex;
+    }
+
+    /**
+     * Retrieves a mapping of devices grouped by room and functionality based on the provided grouping.
+     *
+     * @param devicesByFunctionality The grouping that computes the result.
      * @return A mapping of devices grouped by room and functionality.
      */
-    public Map<String, List<DeviceRoomDTO>> getDevicesByRoomAndFunctionality(DevicesByFunctionality devicesByFunctionality) {
+    public Map<String, List<DeviceRoomDTO>> getDevicesByRoomAndFunctionality(FunctionalityGrouping devicesByFunctionality) {
         return devicesByFunctionality.getGroupedResult();
     }
+
+    /**
+     * Closes the sensor histories of every room of the house, such as when the application shuts down.
+     */
+    public void close() {
+        for (Room room : _rooms.snapshot())
+            room.close();
+    }
 }
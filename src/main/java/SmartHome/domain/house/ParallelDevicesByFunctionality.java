@@ -0,0 +1,168 @@
+package SmartHome.domain.house;
+
+import SmartHome.domain.device.Device;
+import SmartHome.domain.room.Room;
+import SmartHome.domain.sensors.Sensor;
+import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.dto.DeviceRoomDTO;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Groups the devices of a list of rooms by sensor functionality on a {@link ForkJoinPool}. The rooms are split
+ * into ranges of at most {@code threshold} rooms, each range is grouped into an {@link EnumMap} on its own worker,
+ * and the partial results are merged in room order. Lists of at most {@code threshold} rooms are grouped
+ * sequentially on the calling thread.
+ *
+ * <p>The result is the same one {@link DevicesByFunctionality} computes: one entry per matching sensor, ordered by
+ * room, device and sensor, devices without sensors grouped under {@value FunctionalityIndex#WITHOUT_FUNCTIONALITY},
+ * and {@code null} if there are no rooms or a room has no devices. The rooms must not be modified while the
+ * grouping runs.</p>
+ */
+public class ParallelDevicesByFunctionality implements FunctionalityGrouping {
+    public static final int DEFAULT_THRESHOLD = 64;
+
+    private final List<Room> _rooms;
+    private final int _threshold;
+    private final ForkJoinPool _pool;
+
+    /**
+     * Constructs a ParallelDevicesByFunctionality that runs on the common pool with the default threshold.
+     *
+     * @param rooms The rooms whose devices are grouped.
+     * @throws IllegalArgumentException if the list of rooms is null.
+     */
+    public ParallelDevicesByFunctionality(List<Room> rooms) {
+        this(rooms, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a ParallelDevicesByFunctionality that runs on the common pool.
+     *
+     * @param rooms     The rooms whose devices are grouped.
+     * @param threshold The largest number of rooms grouped sequentially by a single task.
+     * @throws IllegalArgumentException if the list of rooms is null or the threshold is not positive.
+     */
+    public ParallelDevicesByFunctionality(List<Room> rooms, int threshold) {
+        this(rooms, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a ParallelDevicesByFunctionality that runs on the given pool.
+     *
+     * @param rooms     The rooms whose devices are grouped.
+     * @param threshold The largest number of rooms grouped sequentially by a single task.
+     * @param pool      The pool the grouping tasks run on.
+     * @throws IllegalArgumentException if the list of rooms or the pool is null, or the threshold is not positive.
+     */
+    public ParallelDevicesByFunctionality(List<Room> rooms, int threshold, ForkJoinPool pool) {
+        if (rooms == null || threshold < 1 || pool == null) throw new IllegalArgumentException("Invalid arguments");
+        this._rooms = rooms;
+        this._threshold = threshold;
+        this._pool = pool;
+    }
+
+    /**
+     * Groups the devices by sensor functionality, in parallel when there are more rooms than the threshold.
+     *
+     * @return A map with sensor functionality names as keys and lists of {@link DeviceRoomDTO} objects as values, or
+     * {@code null} if there are no rooms or any room has no devices.
+     */
+    @Override
+    public Map<String, List<DeviceRoomDTO>> getGroupedResult() {
+        if (_rooms.isEmpty()) return null;
+
+        GroupingTask task = new GroupingTask(_rooms, 0, _rooms.size(), _threshold);
+        PartialGrouping grouping = _rooms.size() <= _threshold ? task.compute() : _pool.invoke(task);
+        return grouping.toResult();
+    }
+
+    /**
+     * Groups a range of rooms, splitting it in halves until each half holds at most the threshold.
+     */
+    private static final class GroupingTask extends RecursiveTask<PartialGrouping> {
+        private final List<Room> _rooms;
+        private final int _from;
+        private final int _to;
+        private final int _threshold;
+
+        private GroupingTask(List<Room> rooms, int from, int to, int threshold) {
+            this._rooms = rooms;
+            this._from = from;
+            this._to = to;
+            this._threshold = threshold;
+        }
+
+        @Override
+        protected PartialGrouping compute() {
+            if (_to - _from <= _threshold) return groupSequentially();
+
+            int middle = (_from + _to) >>> 1;
+            GroupingTask left = new GroupingTask(_rooms, _from, middle, _threshold);
+            GroupingTask right = new GroupingTask(_rooms, middle, _to, _threshold);
+            left.fork();
+            PartialGrouping rightGrouping = right.compute();
+            return left.join().append(rightGrouping);
+        }
+
+        private PartialGrouping groupSequentially() {
+            PartialGrouping grouping = new PartialGrouping();
+            for (int i = _from; i < _to; i++) {
+                Room room = _rooms.get(i);
+                List<Device> devices = room.getDevices();
+                if (devices.isEmpty()) {
+                    grouping._hasEmptyRoom = true;
+                    return grouping;
+                }
+                for (Device device : devices)
+                    grouping.add(room, device);
+            }
+            return grouping;
+        }
+    }
+
+    /**
+     * Grouping of a range of rooms, keyed by functionality.
+     */
+    private static final class PartialGrouping {
+        private final Map<SensorFunctionality, List<DeviceRoomDTO>> _byFunctionality = new EnumMap<>(SensorFunctionality.class);
+        private final List<DeviceRoomDTO> _withoutFunctionality = new ArrayList<>();
+        private boolean _hasEmptyRoom;
+
+        private void add(Room room, Device device) {
+            List<Sensor> sensors = device.getSensors();
+            if (sensors.isEmpty()) {
+                _withoutFunctionality.add(new DeviceRoomDTO(device.getName(), room.getName()));
+                return;
+            }
+            for (Sensor sensor : sensors)
+                _byFunctionality.computeIfAbsent(sensor.getSensorFunctionality(), key -> new ArrayList<>())
+                        .add(new DeviceRoomDTO(device.getName(), room.getName()));
+        }
+
+        private PartialGrouping append(PartialGrouping next) {
+            _hasEmptyRoom |= next._hasEmptyRoom;
+            if (_hasEmptyRoom) return this;
+            for (Map.Entry<SensorFunctionality, List<DeviceRoomDTO>> entry : next._byFunctionality.entrySet())
+                _byFunctionality.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).addAll(entry.getValue());
+            _withoutFunctionality.addAll(next._withoutFunctionality);
+            return this;
+        }
+
+        private Map<String, List<DeviceRoomDTO>> toResult() {
+            if (_hasEmptyRoom) return null;
+            Map<String, List<DeviceRoomDTO>> result = new HashMap<>();
+            for (Map.Entry<SensorFunctionality, List<DeviceRoomDTO>> entry : _byFunctionality.entrySet())
+                result.put(entry.getKey().name(), entry.getValue());
+            if (!_withoutFunctionality.isEmpty())
+                result.put(FunctionalityIndex.WITHOUT_FUNCTIONALITY, _withoutFunctionality);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package SmartHome.domain.room;
+
+import SmartHome.domain.device.Device;
+
+/**
+ * Listener notified whenever a device is added to a room. It allows indexes kept outside the room,
+ * such as a house-wide device directory, to stay up to date without scanning the rooms.
+ */
+@FunctionalInterface
+public interface DeviceListener {
+
+    /**
+     * Called after a device has been added to a room.
+     *
+     * @param room   The room the device was added to.
+     * @param device The device that was added.
+     */
+    void deviceAdded(Room room, Device device);
+}
@@ -1,21 +1,31 @@
 package SmartHome.domain.room;
 
+import SmartHome.domain.collections.AppendOnlyList;
+import SmartHome.domain.collections.NameKeys;
 import SmartHome.domain.device.Device;
 import SmartHome.domain.device.DeviceFactory;
+import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.history.QuantileSketch;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a room within a house, characterized by a unique name, specific dimensions, and a collection of devices.
  * A room may belong to a specific floor and can contain zero or more devices managed through a device factory.
  * This class also supports dimension management through a dimensions factory.
+ * Devices are indexed by their case-folded name, and registered {@link DeviceListener}s are notified
+ * of every device added to the room.
  */
 public class Room {
     private String _name;
     private String _houseFloor;
     private Dimensions _dimensions;
-    private List<Device> _devices = new ArrayList<>();
+    private final AppendOnlyList<Device> _devices = new AppendOnlyList<>();
+    private final Map<String, Device> _devicesByName = new HashMap<>();
+    private final List<DeviceListener> _deviceListeners = new ArrayList<>();
     private final DeviceFactory _deviceFactory;
     private final DimensionsFactory _dimensionsFactory;
 
@@ -86,18 +96,36 @@ public class Room {
     *
     * @param name  The name of the device to be created.
     * @param model The model of the device to be created.
-    * @return true if the device was successfully created and added, false if the device already exists.
+    * @return true if the device was successfully created and added, false if the device already exists or the
+    *         factory created no device.
     //* @throws Ill if the device cannot be instantiated.
     */
    public boolean addDevice(String name, String model) {
       if (!deviceExists(name)) {
          Device device = _deviceFactory.createDevice(name, model);
+         if (device == null) return false;
+         device.setRoomName(_name);
          _devices.add(device);
+         _devicesByName.put(NameKeys.of(name), device);
+         for (DeviceListener listener : _deviceListeners)
+            listener.deviceAdded(this, device);
          return true;
       }
       return false;
    }
 
+   /**
+    * Registers a listener to be notified of every device added to the room from now on.
+    *
+    * @param listener The listener to register.
+    * @throws IllegalArgumentException if the listener is null.
+    */
+   public void addDeviceListener(DeviceListener listener) {
+      if (listener == null) throw new IllegalArgumentException("Invalid arguments");
+      _deviceListeners.add(listener);
+   }
+
+
    /**
     * Checks if a device with the specified name exists in the list of devices.
     *
@@ -105,9 +133,7 @@ public class Room {
     * @return True if the device exists, false otherwise.
     */
    private boolean deviceExists(String name) {
-      for (Device device : _devices)
-         if (device.getName().equalsIgnoreCase(name)) return true;
-       return false;
+      return name != null && _devicesByName.containsKey(NameKeys.of(name));
    }
 
     /**
@@ -117,18 +143,52 @@ public class Room {
      * @return The device with the specified name, or null if no such device exists.
      */
    public Device getDevice(String name) {
-      for (Device device : _devices)
-         if (device.getName().equalsIgnoreCase(name)) return device;
-       return null;
+      if (name == null) return null;
+      return _devicesByName.get(NameKeys.of(name));
    }
 
     /**
      * Gets the list of all devices in the room.
      *
-     * @return A list of devices in the room, which is empty if no devices are present.
+     * @return A read-only snapshot of the devices in the room, which is empty if no devices are present and is not
+     * affected by devices added later.
      */
    public List<Device> getDevices() {
-       return new ArrayList<>(_devices);
+       return _devices.snapshot();
+   }
+
+    /**
+     * Builds the sketch of the readings of every sensor with a functionality in the devices of the room. Each
+     * device merges the sketches of its sensors directly; no raw readings are read.
+     *
+     * @param functionality The functionality of the sensors.
+     * @return The merged sketch, which is empty if the room has no such sensor or no readings.
+     * @throws IllegalArgumentException if the functionality is null.
+     */
+   public QuantileSketch getSketch(SensorFunctionality functionality) {
+       if (functionality == null) throw new IllegalArgumentException("Invalid arguments");
+       QuantileSketch sketch = new QuantileSketch();
+       for (Device device : _devices.snapshot())
+          device.mergeReadingsInto(functionality, sketch);
+       return sketch;
+   }
+
+    /**
+     * Builds the sketch of the power readings of the room, instant and average, from every power consumption
+     * sensor of its devices.
+     *
+     * @return The merged sketch, which is empty if the room has no such sensor or no readings.
+     */
+   public QuantileSketch getPowerSketch() {
+       return getSketch(SensorFunctionality.Power_Consumption);
+   }
+
+    /**
+     * Closes the sensor histories of every device in the room.
+     */
+   public void close() {
+       for (Device device : _devices.snapshot())
+          device.close();
    }
 
     /**
@@ -0,0 +1,116 @@
+package SmartHome.domain.sensors;
+
+import SmartHome.domain.sensors.history.HistoryBackend;
+import SmartHome.domain.sensors.history.QuantileSketch;
+import SmartHome.domain.sensors.history.SampleConsumer;
+import SmartHome.domain.sensors.history.SensorHistory;
+import SmartHome.domain.values.Value;
+
+import java.time.Instant;
+
+/**
+ * Base of the sensors that measure a single value at a time, such as a temperature or an instant power. Readings
+ * are recorded and queried through one {@link SensorReadings}, so every such sensor stores its readings in the
+ * history opened by its device, feeds the same listeners and sketches, and answers percentiles the same way. A
+ * subclass only supplies the unit of its readings and keeps the current reading it reports.
+ *
+ * @param <V> The type of the readings of the sensor.
+ */
+public abstract class RecordingSensor<V extends Value> implements Sensor {
+    private final SensorReadings _readings = new SensorReadings();
+    private final String _measurementUnit;
+
+    /**
+     * Constructs a RecordingSensor whose readings are measured in a unit.
+     *
+     * @param measurementUnit The unit appended to the percentiles of the readings.
+     */
+    protected RecordingSensor(String measurementUnit) {
+        this._measurementUnit = measurementUnit;
+    }
+
+    /**
+     * Records a reading taken at an instant in the history of the sensor. Unless a later reading was recorded
+     * before, it becomes the current reading of the sensor.
+     *
+     * @param reading The reading.
+     * @param time    The instant at which the reading was taken.
+     * @return true if the reading was recorded, false if it or the instant is null or the history rejected it.
+     */
+    public boolean addReading(V reading, Instant time) {
+        if (!_readings.record(reading, time)) return false;
+        if (_readings.getLatest() == reading) currentReadingChanged(reading);
+        return true;
+    }
+
+    /**
+     * Makes a recorded reading the one the sensor reports as current.
+     *
+     * @param reading The reading with the latest time recorded so far.
+     */
+    protected abstract void currentReadingChanged(V reading);
+
+    /**
+     * Registers a listener to be passed every reading recorded from now on, with its time in epoch nanoseconds.
+     *
+     * @param listener The listener to register.
+     * @throws IllegalArgumentException if the listener is null.
+     */
+    public void addReadingListener(SampleConsumer listener) {
+        _readings.addListener(listener);
+    }
+
+    /**
+     * Gets a percentile of the readings, estimated within 1% of the true value.
+     *
+     * @param quantile The fraction of readings at or below the percentile, from 0 to 1.
+     * @return The percentile with its measurement unit, or "No readings to show" if there are no readings.
+     * @throws IllegalArgumentException if the quantile is not between 0 and 1.
+     */
+    public String getPercentileReading(double quantile) {
+        double percentile = _readings.getPercentile(quantile);
+        if (Double.isNaN(percentile)) return "No readings to show";
+        return percentile + " " + _measurementUnit;
+    }
+
+    /**
+     * Merges the sketch of the readings into another sketch.
+     *
+     * @param sketch The sketch to merge into.
+     * @throws IllegalArgumentException if the sketch is null.
+     */
+    @Override
+    public void mergeReadingsInto(QuantileSketch sketch) {
+        _readings.mergeInto(sketch);
+    }
+
+    /**
+     * Opens the history of the readings with a backend, moving the readings recorded so far into it.
+     *
+     * @param backend The backend that creates the history.
+     * @param path    The names that identify the sensor, outermost first.
+     * @throws IllegalStateException if the history was already opened, or the backend cannot open it.
+     */
+    @Override
+    public void openHistory(HistoryBackend backend, String... path) {
+        _readings.open(backend, path);
+    }
+
+    /**
+     * Closes the history of the readings.
+     */
+    @Override
+    public void closeHistory() {
+        _readings.close();
+    }
+
+    /**
+     * Gets the history of the readings, opened by the device of the sensor or, before that, kept on the heap.
+     *
+     * @return The history of the readings.
+     */
+    @Override
+    public SensorHistory getHistory() {
+        return _readings.getHistory();
+    }
+}
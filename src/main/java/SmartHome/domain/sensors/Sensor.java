@@ -1,5 +1,8 @@
 package SmartHome.domain.sensors;
 
+import SmartHome.domain.sensors.history.HistoryBackend;
+import SmartHome.domain.sensors.history.QuantileSketch;
+import SmartHome.domain.sensors.history.SensorHistory;
 
 /**
  * Interface representing a sensor in the Smart Home system.
@@ -21,4 +24,44 @@ public interface Sensor {
      */
     SensorFunctionality getSensorFunctionality();
 
+    /**
+     * Gets the history of the readings of the sensor, through which every sensor that keeps readings is queried
+     * the same way.
+     *
+     * @return The history of the readings, or {@code null} if the sensor keeps no readings.
+     */
+    default SensorHistory getHistory() {
+        return null;
+    }
+
+    /**
+     * Opens the history of the readings of the sensor with a backend, once its device has accepted it. Every
+     * sensor that keeps readings stores them in a history of the backend; sensors that keep no readings ignore it.
+     *
+     * @param backend The backend that creates the history.
+     * @param path    The names that identify the sensor, outermost first.
+     * @throws IllegalStateException if the history cannot be opened.
+     */
+    default void openHistory(HistoryBackend backend, String... path) {
+    }
+
+    /**
+     * Closes the history of the readings of the sensor when it is retired, releasing the files of a persistent
+     * history.
+     */
+    default void closeHistory() {
+    }
+
+    /**
+     * Merges the distribution of the readings of the sensor into a sketch, from which device, room and house
+     * percentiles are estimated. Sensors that keep no readings, or whose readings have no meaningful distribution,
+     * leave the sketch unchanged.
+     *
+     * @param sketch The sketch to merge into.
+     * @throws IllegalArgumentException if the sketch is null.
+     */
+    default void mergeReadingsInto(QuantileSketch sketch) {
+        if (sketch == null) throw new IllegalArgumentException("Invalid arguments");
+    }
+
 }
\ No newline at end of file
@@ -5,17 +5,33 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.builder.fluent.Configurations;
 
 import java.io.File;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static SmartHome.domain.constants.Constants.SENSOR_PATH;
 
 /**
  * Catalogue of sensors in the Smart Home system. It provides methods to retrieve sensors from the catalogue.
  */
 public class SensorCatalogue {
+    private static final MethodType CONSTRUCTOR_TYPE =
+            MethodType.methodType(void.class, SensorCatalogue.class, String.class, ValueFactory.class);
+    private static final MethodType FACTORY_TYPE =
+            MethodType.methodType(Sensor.class, SensorCatalogue.class, String.class, ValueFactory.class);
+
     private final List<String> _catalogueSensors;
+    private final Set<String> _sensorModels;
     private final List<SensorFunctionality> _sensorFunctionalities;
+    private final Map<String, Optional<SensorConstructor>> _sensorConstructors = new ConcurrentHashMap<>();
 
     /**
      * Constructs a SensorCatalogue with a given configuration.
@@ -29,6 +45,22 @@ public class SensorCatalogue {
         }
         String[] sensors = config.getStringArray("sensor");
         this._catalogueSensors = List.of(sensors);
+        this._sensorModels = Set.copyOf(this._catalogueSensors);
+        this._sensorFunctionalities = List.of(SensorFunctionality.values());
+    }
+
+    /**
+     * Constructs a SensorCatalogue from an already parsed list of sensor names.
+     *
+     * @param sensors The names of the sensors in the catalogue.
+     * @throws IllegalArgumentException if the list or any of its names is null.
+     */
+    public SensorCatalogue(List<String> sensors) {
+        if (sensors == null || sensors.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Invalid arguments");
+        }
+        this._catalogueSensors = List.copyOf(sensors);
+        this._sensorModels = Set.copyOf(this._catalogueSensors);
         this._sensorFunctionalities = List.of(SensorFunctionality.values());
     }
 
@@ -47,6 +79,7 @@ public class SensorCatalogue {
             Configuration config = configs.properties(new File(fileName));
             String[] sensors = config.getStringArray("sensor");
             this._catalogueSensors = List.of(sensors);
+            this._sensorModels = Set.copyOf(this._catalogueSensors);
             this._sensorFunctionalities = List.of(SensorFunctionality.values());
         } catch (Exception exception) {
             String errorMessage = "Error occurred while reading the configuration file '" + fileName + "': " + exception.getMessage();
@@ -101,6 +134,8 @@ public class SensorCatalogue {
 
     /**
      * Retrieves a sensor from the catalogue by its model, path, name, and value factory.
+     * The constructor of each model comes from the generated {@link SensorIndex} or is resolved once and cached,
+     * so calls neither scan the catalogue nor use reflection.
      *
      * @param sensorModel  The model of the sensor to retrieve.
      * @param sensorPath   The path of the sensor to retrieve.
@@ -109,23 +144,67 @@ public class SensorCatalogue {
      * @return The Sensor object corresponding to the given model, path, and name, or null if not found.
      */
     public Sensor getSensor(String sensorModel, String sensorPath, String name, ValueFactory valueFactory) {
-        Optional<String> sensor =
-              this.getSensors().stream()
-                    .filter(s -> s.contains(sensorModel))
-                    .findFirst();
+        SensorConstructor constructor = getSensorConstructor(sensorModel, sensorPath);
+        if (constructor == null) return null;
+        try {
+            return constructor.create(this, name, valueFactory);
+        } catch (RuntimeException exception) {
+            return null;
+        }
+    }
 
-        if (sensor.isPresent()) {
-            try {
-                String fullPath = sensorPath + sensorModel;
-                return (Sensor) Class.forName(fullPath)
-                        .getConstructor(SensorCatalogue.class, String.class, ValueFactory.class)
-                        .newInstance(this, name, valueFactory);
-            } catch (ClassNotFoundException | InstantiationException |
-                     NoSuchMethodException |
-                     InvocationTargetException | IllegalArgumentException |
-                     IllegalAccessException exception) {
-                return null;
-            }
-        } else return null;
+    /**
+     * Retrieves the descriptor of a sensor model in the catalogue, including its functionality and value type.
+     *
+     * @param sensorModel The exact model name of the sensor.
+     * @return The descriptor of the model, or null if the model is not in the catalogue or not indexed.
+     */
+    public SensorDescriptor getSensorDescriptor(String sensorModel) {
+        if (sensorModel == null || !_sensorModels.contains(sensorModel)) return null;
+        return SensorIndex.get(sensorModel);
+    }
+
+    /**
+     * Retrieves the constructor of a sensor model. Models of the default package are taken from
+     * the generated {@link SensorIndex}; models of any other package are resolved on first use and
+     * cached by their fully qualified class name, so several packages can be used side by side.
+     *
+     * @param sensorModel The exact model name of the sensor.
+     * @param sensorPath  The package path of the sensor implementations.
+     * @return The constructor of the sensor model, or null if the model is not in the catalogue or cannot be built.
+     */
+    private SensorConstructor getSensorConstructor(String sensorModel, String sensorPath) {
+        if (sensorModel == null || sensorPath == null || !_sensorModels.contains(sensorModel)) return null;
+        if (SENSOR_PATH.equals(sensorPath)) {
+            SensorDescriptor descriptor = SensorIndex.get(sensorModel);
+            return descriptor == null ? null : descriptor.getConstructor();
+        }
+
+        return _sensorConstructors
+                .computeIfAbsent(sensorPath + sensorModel,
+                        fullPath -> Optional.ofNullable(resolveConstructor(fullPath)))
+                .orElse(null);
+    }
+
+    /**
+     * Builds a constructor for the given class name through a generated lambda.
+     *
+     * @param fullPath The fully qualified class name of the sensor.
+     * @return The constructor of the sensor, or null if the class is not a sensor or has no suitable constructor.
+     */
+    private static SensorConstructor resolveConstructor(String fullPath) {
+        try {
+            Class<?> sensorClass = Class.forName(fullPath);
+            if (!Sensor.class.isAssignableFrom(sensorClass)) return null;
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle constructor = lookup.findConstructor(sensorClass, CONSTRUCTOR_TYPE);
+            return (SensorConstructor) LambdaMetafactory.metafactory(lookup, "create",
+                            MethodType.methodType(SensorConstructor.class), FACTORY_TYPE, constructor,
+                            constructor.type())
+                    .getTarget()
+                    .invoke();
+        } catch (Throwable exception) {
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
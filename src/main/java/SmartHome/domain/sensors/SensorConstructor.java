@@ -0,0 +1,22 @@
+package SmartHome.domain.sensors;
+
+import SmartHome.domain.values.ValueFactory;
+
+/**
+ * Functional interface representing the constructor of a sensor model. The {@link SensorCatalogue}
+ * resolves one instance per model and reuses it, so creating a sensor is a plain method call.
+ */
+@FunctionalInterface
+public interface SensorConstructor {
+
+    /**
+     * Creates a new sensor.
+     *
+     * @param catalogue    The sensor catalogue to which the sensor belongs.
+     * @param name         The name of the sensor.
+     * @param valueFactory The factory for creating sensor values.
+     * @return The created sensor.
+     * @throws IllegalArgumentException if the sensor rejects the given arguments.
+     */
+    Sensor create(SensorCatalogue catalogue, String name, ValueFactory valueFactory);
+}
@@ -0,0 +1,66 @@
+package SmartHome.domain.sensors;
+
+import SmartHome.domain.values.Value;
+
+/**
+ * Describes a sensor model recorded in the generated {@code SensorIndex}: its model name, functionality,
+ * value type and constructor.
+ */
+public final class SensorDescriptor {
+    private final String _model;
+    private final SensorFunctionality _functionality;
+    private final Class<? extends Value> _valueType;
+    private final SensorConstructor _constructor;
+
+    /**
+     * Constructs a SensorDescriptor with the provided parameters.
+     *
+     * @param model         The model name of the sensor.
+     * @param functionality The functionality of the sensor.
+     * @param valueType     The type of value measured by the sensor.
+     * @param constructor   The constructor of the sensor.
+     */
+    public SensorDescriptor(String model, SensorFunctionality functionality, Class<? extends Value> valueType,
+                            SensorConstructor constructor) {
+        this._model = model;
+        this._functionality = functionality;
+        this._valueType = valueType;
+        this._constructor = constructor;
+    }
+
+    /**
+     * Gets the model name of the sensor.
+     *
+     * @return The model name.
+     */
+    public String getModel() {
+        return _model;
+    }
+
+    /**
+     * Gets the functionality of the sensor.
+     *
+     * @return The functionality.
+     */
+    public SensorFunctionality getFunctionality() {
+        return _functionality;
+    }
+
+    /**
+     * Gets the type of value measured by the sensor.
+     *
+     * @return The value type, or {@link Value} itself if the sensor does not measure a value.
+     */
+    public Class<? extends Value> getValueType() {
+        return _valueType;
+    }
+
+    /**
+     * Gets the constructor of the sensor.
+     *
+     * @return The constructor.
+     */
+    public SensorConstructor getConstructor() {
+        return _constructor;
+    }
+}
@@ -0,0 +1,34 @@
+package SmartHome.domain.sensors;
+
+import SmartHome.domain.values.Value;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link Sensor} implementation as a catalogue model. At compile time every annotated class is
+ * recorded in the generated {@code SensorIndex}, which the {@link SensorCatalogue} uses to create sensors
+ * without looking classes up by name.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface SensorModel {
+
+    /**
+     * Gets the functionality provided by the sensor model.
+     *
+     * @return The functionality of the sensor model.
+     */
+    SensorFunctionality functionality();
+
+    /**
+     * Gets the type of value measured by the sensor model.
+     *
+     * @return The value type, or {@link Value} itself if the sensor does not measure a value.
+     */
+    Class<? extends Value> valueType() default Value.class;
+}
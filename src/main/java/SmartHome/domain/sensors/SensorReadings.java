@@ -0,0 +1,219 @@
+package SmartHome.domain.sensors;
+
+import SmartHome.domain.sensors.history.CompressedHistory;
+import SmartHome.domain.sensors.history.EpochNanos;
+import SmartHome.domain.sensors.history.HistoryBackend;
+import SmartHome.domain.sensors.history.IndexedHistory;
+import SmartHome.domain.sensors.history.QuantileSketch;
+import SmartHome.domain.sensors.history.SampleConsumer;
+import SmartHome.domain.sensors.history.SensorHistory;
+import SmartHome.domain.values.Value;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ingestion path shared by the sensors that keep readings. A reading is stored in the history of the sensor at its
+ * time in epoch nanoseconds and, once the history accepts it, passed to every registered listener, such as a
+ * window operator or an alert. The reading with the latest time is kept as the current reading of the sensor.
+ *
+ * <p>The history is opened with a {@link HistoryBackend} once the device has accepted the sensor, under the path
+ * that identifies it, and closed when the sensor is retired. Until then readings are kept in a
+ * {@link CompressedHistory} on the heap, and opening moves them into the history the backend creates.</p>
+ *
+ * <p>Percentiles come from a {@link QuantileSketch} that is updated with every reading as it is recorded, so a
+ * percentile query or a merge into the sketch of a device or a room never reads the history. The sketch covers every
+ * reading ingested, together with those a history already held when it was handed over or opened, such as a
+ * reopened file: a reading later pushed out of a bounded history, replaced by one at the same time or removed with
+ * {@link #removeBefore(long)} is still counted, since a sketch cannot forget a value. This class is not thread-safe.</p>
+ */
+public class SensorReadings {
+    private SensorHistory _history;
+    private final List<SampleConsumer> _listeners = new ArrayList<>();
+    private final QuantileSketch _sketch = new QuantileSketch();
+    private Value _latest;
+    private long _latestTime = Long.MIN_VALUE;
+    private boolean _open;
+
+    /**
+     * Constructs a SensorReadings whose history is opened later, with {@link #open(HistoryBackend, String...)}.
+     */
+    public SensorReadings() {
+    }
+
+    /**
+     * Constructs a SensorReadings over a history, counting the readings it already holds in the sketch.
+     *
+     * @param history The history that stores the readings.
+     * @throws IllegalArgumentException if the history is null.
+     */
+    public SensorReadings(SensorHistory history) {
+        if (history == null) throw new IllegalArgumentException("Invalid arguments");
+        this._history = history;
+        addToSketch(history);
+    }
+
+    /**
+     * Opens the history of the readings with a backend. Readings recorded before, which are kept on the heap, are
+     * appended to the opened history in time order; a history that already holds later readings, such as a
+     * reopened file, keeps those of them it accepts.
+     *
+     * @param backend The backend that creates the history.
+     * @param path    The names that identify the sensor, outermost first.
+     * @throws IllegalArgumentException if the backend is null.
+     * @throws IllegalStateException    if the history was already opened, or the backend cannot open it.
+     */
+    public void open(HistoryBackend backend, String... path) {
+        if (backend == null) throw new IllegalArgumentException("Invalid arguments");
+        if (_open) throw new IllegalStateException("The history of the readings is already open");
+        open(backend.create(path));
+    }
+
+    /**
+     * Moves the readings into a history opened by the sensor itself, such as an {@link IndexedHistory} over a
+     * store from a backend. The readings it already holds are counted in the sketch, then the readings recorded so
+     * far are appended to it in time order and the previous history is closed.
+     *
+     * @param history The opened history.
+     * @throws IllegalArgumentException if the history is null.
+     * @throws IllegalStateException    if the history was already opened.
+     */
+    public void open(SensorHistory history) {
+        if (history == null) throw new IllegalArgumentException("Invalid arguments");
+        if (_open) throw new IllegalStateException("The history of the readings is already open");
+        addToSketch(history);
+        if (_history != null) {
+            _history.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, history::append);
+            _history.close();
+        }
+        _history = history;
+        _open = true;
+    }
+
+    /**
+     * Closes the history of the readings, releasing the files of a persistent history.
+     */
+    public void close() {
+        if (_history != null) _history.close();
+    }
+
+    /**
+     * Gets the history of the readings, keeping them on the heap if no history was opened.
+     *
+     * @return The history.
+     */
+    private SensorHistory history() {
+        if (_history == null) _history = new CompressedHistory();
+        return _history;
+    }
+
+    /**
+     * Records the numeric part of a reading at an instant. A reading whose time is not before that of every
+     * reading recorded so far becomes the latest reading.
+     *
+     * @param reading The reading.
+     * @param time    The instant at which the reading was taken.
+     * @return true if the reading was stored, false if it or the instant is null or the history rejected it.
+     */
+    public boolean record(Value reading, Instant time) {
+        if (reading == null || time == null) return false;
+        long epochNanos = EpochNanos.of(time);
+        if (!record(epochNanos, reading.getDouble())) return false;
+        if (epochNanos >= _latestTime) {
+            _latest = reading;
+            _latestTime = epochNanos;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the reading with the latest time recorded through {@link #record(Value, Instant)}.
+     *
+     * @return The latest reading, or {@code null} if none was recorded.
+     */
+    public Value getLatest() {
+        return _latest;
+    }
+
+    /**
+     * Records a value at a time in epoch nanoseconds and, if the history accepts it, adds it to the sketch and passes
+     * it to the listeners.
+     *
+     * @param time  The time of the reading in epoch nanoseconds.
+     * @param value The value of the reading.
+     * @return true if the reading was stored, false if the history rejected it.
+     */
+    public boolean record(long time, double value) {
+        if (!history().append(time, value)) return false;
+        if (Double.isFinite(value)) _sketch.add(value);
+        for (SampleConsumer listener : _listeners)
+            listener.accept(time, value);
+        return true;
+    }
+
+    /**
+     * Registers a listener to be passed every reading recorded from now on, with its time in epoch nanoseconds.
+     *
+     * @param listener The listener to register.
+     * @throws IllegalArgumentException if the listener is null.
+     */
+    public void addListener(SampleConsumer listener) {
+        if (listener == null) throw new IllegalArgumentException("Invalid arguments");
+        _listeners.add(listener);
+    }
+
+    /**
+     * Removes the readings taken before a time in epoch nanoseconds from the history. The sketch keeps counting
+     * them.
+     *
+     * @param time The time before which readings are no longer needed.
+     */
+    public void removeBefore(long time) {
+        history().removeBefore(time);
+    }
+
+    /**
+     * Estimates a percentile of the readings ingested, within the accuracy of the sketch.
+     *
+     * @param quantile The fraction of readings at or below the percentile, from 0 to 1.
+     * @return The percentile, or {@link Double#NaN} if there are no readings.
+     * @throws IllegalArgumentException if the quantile is not between 0 and 1.
+     */
+    public double getPercentile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) throw new IllegalArgumentException("Invalid arguments");
+        return _sketch.getCount() == 0 ? Double.NaN : _sketch.getQuantile(quantile);
+    }
+
+    /**
+     * Merges the sketch of the readings ingested into another sketch, such as the sketch of a device or a room,
+     * without copying it first.
+     *
+     * @param target The sketch to merge into.
+     * @throws IllegalArgumentException if the target is null or has a different accuracy.
+     */
+    public void mergeInto(QuantileSketch target) {
+        if (target == null) throw new IllegalArgumentException("Invalid arguments");
+        target.merge(_sketch);
+    }
+
+    /**
+     * Counts the readings a history already holds in the sketch.
+     *
+     * @param history The history.
+     */
+    private void addToSketch(SensorHistory history) {
+        history.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, (time, value) -> {
+            if (Double.isFinite(value)) _sketch.add(value);
+        });
+    }
+
+    /**
+     * Gets the history that stores the readings.
+     *
+     * @return The history.
+     */
+    public SensorHistory getHistory() {
+        return history();
+    }
+}
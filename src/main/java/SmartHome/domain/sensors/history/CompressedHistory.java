@@ -0,0 +1,365 @@
+package SmartHome.domain.sensors.history;
+
+import java.util.Arrays;
+
+/**
+ * Append-only sensor history compressed in the Gorilla time-series format. Samples are grouped in chunks of
+ * {@value #CHUNK_SIZE}; within a chunk the first sample is stored in full, every following timestamp is stored as
+ * the change of the time step (the delta of the delta) in a variable-width bucket, and every following value is
+ * stored as the XOR of its bits with the previous value, keeping only the bits that differ. A steady sensor read
+ * at a fixed cadence therefore costs a few bits per sample instead of the tens of bytes taken by boxed samples.
+ *
+ * <p>Each chunk records the time of its first and last sample. A range query finds the first chunk it overlaps by
+ * binary search and decodes chunks as a stream, stopping at the end of the range, so only the chunks that overlap
+ * the range are decompressed. Old samples are released a whole chunk at a time by {@link #removeBefore(long)}.
+ * Timestamps must be strictly increasing. This class is not thread-safe.</p>
+ */
+public class CompressedHistory implements SensorHistory {
+    static final int CHUNK_SIZE = 512;
+
+    private Chunk[] _chunks = new Chunk[8];
+    private int _firstChunk;
+    private int _chunkCount;
+    private long _size;
+
+    private long _lastTime;
+    private long _lastDelta;
+    private long _lastValueBits;
+    private int _lastLeading = -1;
+    private int _lastTrailing;
+
+    /**
+     * Appends a sample. Samples must arrive in strictly increasing time order.
+     *
+     * @param timestamp The time of the sample, after the time of every stored sample.
+     * @param value     The value of the sample.
+     * @return true if the sample was stored, false if it is not newer than the last stored sample.
+     */
+    @Override
+    public boolean append(long timestamp, double value) {
+        if (_size > 0 && timestamp <= _lastTime) return false;
+        long valueBits = Double.doubleToRawLongBits(value);
+        Chunk chunk = _chunkCount == _firstChunk ? null : _chunks[_chunkCount - 1];
+        if (chunk == null || chunk._count == CHUNK_SIZE) {
+            if (chunk != null) chunk.trim();
+            chunk = openChunk(timestamp);
+            chunk.writeBits(timestamp, 64);
+            chunk.writeBits(valueBits, 64);
+            _lastDelta = 0;
+            _lastLeading = -1;
+        } else {
+            long delta = timestamp - _lastTime;
+            writeTimestamp(chunk, delta - _lastDelta);
+            writeValue(chunk, valueBits ^ _lastValueBits);
+            _lastDelta = delta;
+        }
+        chunk._count++;
+        chunk._lastTime = timestamp;
+        _lastTime = timestamp;
+        _lastValueBits = valueBits;
+        _size++;
+        return true;
+    }
+
+    /**
+     * Adds an empty chunk after the last one.
+     *
+     * @param timestamp The time of the first sample of the chunk.
+     * @return The new chunk.
+     */
+    private Chunk openChunk(long timestamp) {
+        if (_chunkCount == _chunks.length) {
+            int live = _chunkCount - _firstChunk;
+            Chunk[] chunks = live * 2 <= _chunks.length ? _chunks : new Chunk[_chunks.length * 2];
+            System.arraycopy(_chunks, _firstChunk, chunks, 0, live);
+            Arrays.fill(chunks, live, _chunks.length, null);
+            _chunks = chunks;
+            _chunkCount = live;
+            _firstChunk = 0;
+        }
+        Chunk chunk = new Chunk(timestamp);
+        _chunks[_chunkCount++] = chunk;
+        return chunk;
+    }
+
+    /**
+     * Writes the change of the time step in the smallest bucket that holds it: a single {@code 0} bit when the
+     * cadence is unchanged, or a prefix of ones naming a 7, 9, 12, 32 or 64 bit field.
+     *
+     * @param chunk         The chunk to write to.
+     * @param deltaOfDelta  The difference between this time step and the previous one.
+     */
+    private static void writeTimestamp(Chunk chunk, long deltaOfDelta) {
+        long encoded = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+        if (encoded == 0) {
+            chunk.writeBits(0, 1);
+        } else if (encoded >>> 7 == 0) {
+            chunk.writeBits(0b10, 2);
+            chunk.writeBits(encoded, 7);
+        } else if (encoded >>> 9 == 0) {
+            chunk.writeBits(0b110, 3);
+            chunk.writeBits(encoded, 9);
+        } else if (encoded >>> 12 == 0) {
+            chunk.writeBits(0b1110, 4);
+            chunk.writeBits(encoded, 12);
+        } else if (encoded >>> 32 == 0) {
+            chunk.writeBits(0b11110, 5);
+            chunk.writeBits(encoded, 32);
+        } else {
+            chunk.writeBits(0b11111, 5);
+            chunk.writeBits(encoded, 64);
+        }
+    }
+
+    /**
+     * Writes the XOR of a value with the previous one: a single {@code 0} bit when the value is unchanged, the
+     * differing bits alone when they fit in the window of the previous value, or a new window followed by its
+     * bits otherwise.
+     *
+     * @param chunk The chunk to write to.
+     * @param xor   The XOR of the bits of the value with the bits of the previous value.
+     */
+    private void writeValue(Chunk chunk, long xor) {
+        if (xor == 0) {
+            chunk.writeBits(0, 1);
+            return;
+        }
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (_lastLeading >= 0 && leading >= _lastLeading && trailing >= _lastTrailing) {
+            chunk.writeBits(0b10, 2);
+            chunk.writeBits(xor >>> _lastTrailing, 64 - _lastLeading - _lastTrailing);
+            return;
+        }
+        int meaningful = 64 - leading - trailing;
+        chunk.writeBits(0b11, 2);
+        chunk.writeBits(leading, 5);
+        chunk.writeBits(meaningful & 63, 6);
+        chunk.writeBits(xor >>> trailing, meaningful);
+        _lastLeading = leading;
+        _lastTrailing = trailing;
+    }
+
+    /**
+     * Gets the number of samples in the history.
+     *
+     * @return The number of samples.
+     */
+    @Override
+    public long size() {
+        return _size;
+    }
+
+    /**
+     * Gets the number of bytes used by the compressed chunks.
+     *
+     * @return The size of the compressed samples, in bytes.
+     */
+    public long encodedBytes() {
+        long bytes = 0;
+        for (int c = _firstChunk; c < _chunkCount; c++)
+            bytes += (_chunks[c]._bitLength + 7) / 8;
+        return bytes;
+    }
+
+    /**
+     * Releases every chunk whose samples were all taken before an instant. The chunk holding the first sample at
+     * or after the instant is kept whole, with any older samples it contains.
+     *
+     * @param timestamp The instant before which samples are no longer needed.
+     */
+    @Override
+    public void removeBefore(long timestamp) {
+        while (_firstChunk < _chunkCount - 1 && _chunks[_firstChunk]._lastTime < timestamp) {
+            _size -= _chunks[_firstChunk]._count;
+            _chunks[_firstChunk++] = null;
+        }
+        if (_firstChunk == _chunkCount - 1 && _chunks[_firstChunk]._lastTime < timestamp) {
+            _size = 0;
+            _chunks[_firstChunk] = null;
+            _firstChunk = 0;
+            _chunkCount = 0;
+        }
+    }
+
+    /**
+     * Passes the samples of a time range to a consumer, decompressing only the chunks the range overlaps.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the samples.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    @Override
+    public void forEachInRange(long from, long to, SampleConsumer consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Invalid arguments");
+        for (int c = firstChunkEndingAtOrAfter(from); c < _chunkCount && _chunks[c]._firstTime < to; c++)
+            decode(_chunks[c], from, to, consumer);
+    }
+
+    /**
+     * Finds the first chunk whose last sample is not before an instant.
+     *
+     * @param timestamp The instant.
+     * @return The index of the chunk, or the number of chunks if every chunk ends before the instant.
+     */
+    private int firstChunkEndingAtOrAfter(long timestamp) {
+        int low = _firstChunk;
+        int high = _chunkCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (_chunks[middle]._lastTime < timestamp) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Decodes a chunk and passes the samples that fall in a range to a consumer.
+     *
+     * @param chunk    The chunk to decode.
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the samples.
+     */
+    private static void decode(Chunk chunk, long from, long to, SampleConsumer consumer) {
+        ChunkReader reader = new ChunkReader(chunk._words);
+        long time = reader.readBits(64);
+        long valueBits = reader.readBits(64);
+        long delta = 0;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 0; ; i++) {
+            if (time >= to) return;
+            if (time >= from) consumer.accept(time, Double.longBitsToDouble(valueBits));
+            if (i + 1 == chunk._count) return;
+            delta += readDeltaOfDelta(reader);
+            time += delta;
+            if (reader.readBits(1) != 0) {
+                if (reader.readBits(1) != 0) {
+                    leading = (int) reader.readBits(5);
+                    int meaningful = (int) reader.readBits(6);
+                    if (meaningful == 0) meaningful = 64;
+                    trailing = 64 - leading - meaningful;
+                }
+                valueBits ^= reader.readBits(64 - leading - trailing) << trailing;
+            }
+        }
+    }
+
+    /**
+     * Reads the change of the time step written by {@link #writeTimestamp(Chunk, long)}.
+     *
+     * @param reader The reader positioned at the timestamp field.
+     * @return The difference between this time step and the previous one.
+     */
+    private static long readDeltaOfDelta(ChunkReader reader) {
+        int ones = 0;
+        while (ones < 5 && reader.readBits(1) != 0) ones++;
+        long encoded;
+        switch (ones) {
+            case 0:
+                return 0;
+            case 1:
+                encoded = reader.readBits(7);
+                break;
+            case 2:
+                encoded = reader.readBits(9);
+                break;
+            case 3:
+                encoded = reader.readBits(12);
+                break;
+            case 4:
+                encoded = reader.readBits(32);
+                break;
+            default:
+                encoded = reader.readBits(64);
+        }
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    /**
+     * A run of up to {@value #CHUNK_SIZE} compressed samples packed into a bit stream, most significant bit
+     * first.
+     */
+    private static final class Chunk {
+        private final long _firstTime;
+        private long _lastTime;
+        private int _count;
+        private long[] _words = new long[16];
+        private int _bitLength;
+
+        /**
+         * Constructs an empty Chunk.
+         *
+         * @param firstTime The time of the first sample of the chunk.
+         */
+        Chunk(long firstTime) {
+            this._firstTime = firstTime;
+            this._lastTime = firstTime;
+        }
+
+        /**
+         * Appends the low bits of a value to the bit stream.
+         *
+         * @param value The value whose low bits are written.
+         * @param bits  The number of bits to write, from 1 to 64.
+         */
+        void writeBits(long value, int bits) {
+            if (bits == 0) return;
+            if (_bitLength + bits > (long) _words.length * 64)
+                _words = Arrays.copyOf(_words, _words.length * 2);
+            if (bits < 64) value &= (1L << bits) - 1;
+            int word = _bitLength >>> 6;
+            int free = 64 - (_bitLength & 63);
+            if (bits <= free) {
+                _words[word] |= value << (free - bits);
+            } else {
+                _words[word] |= value >>> (bits - free);
+                _words[word + 1] |= value << (64 - (bits - free));
+            }
+            _bitLength += bits;
+        }
+
+        /**
+         * Releases the unused words of the bit stream once the chunk is full.
+         */
+        void trim() {
+            _words = Arrays.copyOf(_words, (_bitLength + 63) >>> 6);
+        }
+    }
+
+    /**
+     * Reads a chunk's bit stream in order.
+     */
+    private static final class ChunkReader {
+        private final long[] _words;
+        private int _position;
+
+        /**
+         * Constructs a ChunkReader positioned at the start of a bit stream.
+         *
+         * @param words The words of the bit stream.
+         */
+        ChunkReader(long[] words) {
+            this._words = words;
+        }
+
+        /**
+         * Reads the next bits of the stream.
+         *
+         * @param bits The number of bits to read, from 0 to 64.
+         * @return The bits read, in the low bits of the result.
+         */
+        long readBits(int bits) {
+            if (bits == 0) return 0;
+            int word = _position >>> 6;
+            int offset = _position & 63;
+            int free = 64 - offset;
+            long result = (_words[word] << offset) >>> (64 - bits);
+            if (bits > free) result |= _words[word + 1] >>> (64 - (bits - free));
+            _position += bits;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package SmartHome.domain.sensors.history;
+
+import java.util.Arrays;
+
+/**
+ * Append-only history of a cumulative energy meter. Each sample pairs a timestamp with the reading of a counter
+ * that never decreases, and the consumption between two instants is the difference of the counter at those
+ * instants, interpolated linearly between the surrounding samples.
+ *
+ * <p>The counter is kept in fixed point, in thousandths of the reading unit, and samples are grouped in blocks of
+ * {@value #BLOCK_SIZE}. A block stores its first sample in full; every following sample is encoded as the change
+ * of the time step (the delta of the delta of the timestamps) and the increase of the counter, both as variable
+ * length integers. A meter read at a steady cadence therefore costs one byte per sample for the time and one to
+ * three bytes for the counter, so years of one-second samples fit in memory. The first timestamp of every block
+ * is kept in a sorted array, so a lookup finds its block by binary search and decodes at most one block,
+ * which costs {@code O(log n)}.</p>
+ *
+ * <p>Timestamps carry no epoch: any strictly increasing {@code long} clock works. Old samples are released a whole
+ * block at a time. This class is not thread-safe.</p>
+ */
+public class EnergyMeterHistory implements SensorHistory {
+    static final int BLOCK_SIZE = 256;
+    private static final double COUNTER_SCALE = 1000;
+
+    private long[] _blockTimes = new long[16];
+    private long[] _blockCounters = new long[16];
+    private byte[][] _blockData = new byte[16][];
+    private int _blocks;
+    private int _lastBlockSize;
+    private byte[] _buffer = new byte[64];
+    private int _bufferLength;
+    private long _lastTime;
+    private long _lastCounter;
+    private long _lastStep;
+    private long _size;
+
+    /**
+     * Appends a sample. Samples must arrive in increasing time order with a counter that does not decrease.
+     *
+     * @param timestamp The time of the sample, after the time of every stored sample.
+     * @param counter   The reading of the counter, not below the last stored reading.
+     * @return true if the sample was stored, false if it is out of order, decreases the counter, or is not a
+     * finite non-negative reading.
+     */
+    @Override
+    public boolean append(long timestamp, double counter) {
+        if (!(counter >= 0) || Double.isInfinite(counter)) return false;
+        long scaled = Math.round(counter * COUNTER_SCALE);
+        if (_size > 0 && (timestamp <= _lastTime || scaled < _lastCounter)) return false;
+        if (_size == 0 || _lastBlockSize == BLOCK_SIZE) {
+            openBlock(timestamp, scaled);
+        } else {
+            long step = timestamp - _lastTime;
+            ensureBuffer(20);
+            writeVarLong(zigZag(step - _lastStep));
+            writeVarLong(scaled - _lastCounter);
+            _lastStep = step;
+            if (++_lastBlockSize == BLOCK_SIZE) sealBlock();
+        }
+        _lastTime = timestamp;
+        _lastCounter = scaled;
+        _size++;
+        return true;
+    }
+
+    /**
+     * Starts a new block whose first sample is stored in full.
+     *
+     * @param timestamp The time of the first sample of the block.
+     * @param counter   The fixed-point counter of the first sample of the block.
+     */
+    private void openBlock(long timestamp, long counter) {
+        if (_blocks == _blockTimes.length) {
+            int capacity = _blocks * 2;
+            _blockTimes = Arrays.copyOf(_blockTimes, capacity);
+            _blockCounters = Arrays.copyOf(_blockCounters, capacity);
+            _blockData = Arrays.copyOf(_blockData, capacity);
+        }
+        _blockTimes[_blocks] = timestamp;
+        _blockCounters[_blocks] = counter;
+        _blocks++;
+        _lastBlockSize = 1;
+        _lastStep = 0;
+        _bufferLength = 0;
+    }
+
+    /**
+     * Copies the encoded samples of the full last block out of the shared buffer.
+     */
+    private void sealBlock() {
+        _blockData[_blocks - 1] = Arrays.copyOf(_buffer, _bufferLength);
+        _bufferLength = 0;
+    }
+
+    /**
+     * Gets the number of samples in the history.
+     *
+     * @return The number of samples.
+     */
+    @Override
+    public long size() {
+        return _size;
+    }
+
+    /**
+     * Gets the time of the oldest sample.
+     *
+     * @return The time of the oldest sample.
+     * @throws IllegalStateException if the history is empty.
+     */
+    public long getFirstTimestamp() {
+        if (_size == 0) throw new IllegalStateException("History is empty");
+        return _blockTimes[0];
+    }
+
+    /**
+     * Gets the time of the newest sample.
+     *
+     * @return The time of the newest sample.
+     * @throws IllegalStateException if the history is empty.
+     */
+    public long getLastTimestamp() {
+        if (_size == 0) throw new IllegalStateException("History is empty");
+        return _lastTime;
+    }
+
+    /**
+     * Gets the number of bytes used by the encoded samples and the block index.
+     *
+     * @return The approximate memory footprint of the samples, in bytes.
+     */
+    public long encodedBytes() {
+        long bytes = (long) _blocks * (Long.BYTES * 2);
+        for (int b = 0; b < _blocks; b++)
+            bytes += _blockData[b] != null ? _blockData[b].length : _bufferLength;
+        return bytes;
+    }
+
+    /**
+     * Gets the energy consumed between two instants.
+     *
+     * @param from The start of the period, within the stored samples.
+     * @param to   The end of the period, within the stored samples and not before the start.
+     * @return The increase of the counter over the period, interpolated between samples.
+     * @throws IllegalArgumentException if the period is reversed or falls outside the stored samples.
+     */
+    public double consumption(long from, long to) {
+        if (from > to) throw new IllegalArgumentException("Invalid arguments");
+        return counterAt(to) - counterAt(from);
+    }
+
+    /**
+     * Gets the reading of the counter at an instant, interpolated linearly between the samples around it.
+     *
+     * @param timestamp The instant, within the stored samples.
+     * @return The reading of the counter at that instant.
+     * @throws IllegalArgumentException if the instant falls outside the stored samples.
+     */
+    public double counterAt(long timestamp) {
+        if (_size == 0 || timestamp < _blockTimes[0] || timestamp > _lastTime)
+            throw new IllegalArgumentException("Invalid arguments");
+        int block = findBlock(timestamp);
+        BlockReader reader = new BlockReader(_blockData[block] != null ? _blockData[block] : _buffer);
+        int samples = block == _blocks - 1 ? _lastBlockSize : BLOCK_SIZE;
+        long time = _blockTimes[block];
+        long counter = _blockCounters[block];
+        long step = 0;
+        for (int i = 1; i < samples && time < timestamp; i++) {
+            long previousTime = time;
+            long previousCounter = counter;
+            long encodedStep = reader.nextVarLong();
+            step += (encodedStep >>> 1) ^ -(encodedStep & 1);
+            time += step;
+            counter += reader.nextVarLong();
+            if (time > timestamp) return interpolate(previousTime, previousCounter, time, counter, timestamp);
+        }
+        if (time < timestamp)
+            return interpolate(time, counter, _blockTimes[block + 1], _blockCounters[block + 1], timestamp);
+        return counter / COUNTER_SCALE;
+    }
+
+    /**
+     * Passes the samples of a time range to a consumer, with their counter readings. Decoding starts at the block
+     * holding the start of the range.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the samples.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    @Override
+    public void forEachInRange(long from, long to, SampleConsumer consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Invalid arguments");
+        if (_size == 0 || from >= to) return;
+        for (int block = from <= _blockTimes[0] ? 0 : findBlock(from); block < _blocks; block++) {
+            BlockReader reader = new BlockReader(_blockData[block] != null ? _blockData[block] : _buffer);
+            int samples = block == _blocks - 1 ? _lastBlockSize : BLOCK_SIZE;
+            long time = _blockTimes[block];
+            long counter = _blockCounters[block];
+            long step = 0;
+            for (int i = 0; i < samples; i++) {
+                if (i > 0) {
+                    long encodedStep = reader.nextVarLong();
+                    step += (encodedStep >>> 1) ^ -(encodedStep & 1);
+                    time += step;
+                    counter += reader.nextVarLong();
+                }
+                if (time >= to) return;
+                if (time >= from) consumer.accept(time, counter / COUNTER_SCALE);
+            }
+        }
+    }
+
+    /**
+     * Drops the sealed blocks whose samples were all taken before an instant. The block holding the first sample
+     * at or after the instant is kept whole, as is the open block, so consumption can still be interpolated from
+     * the oldest remaining sample.
+     *
+     * @param timestamp The instant before which samples are no longer needed.
+     */
+    @Override
+    public void removeBefore(long timestamp) {
+        int removed = 0;
+        while (removed < _blocks - 1 && _blockTimes[removed + 1] <= timestamp)
+            removed++;
+        if (removed == 0) return;
+        System.arraycopy(_blockTimes, removed, _blockTimes, 0, _blocks - removed);
+        System.arraycopy(_blockCounters, removed, _blockCounters, 0, _blocks - removed);
+        System.arraycopy(_blockData, removed, _blockData, 0, _blocks - removed);
+        Arrays.fill(_blockData, _blocks - removed, _blocks, null);
+        _blocks -= removed;
+        _size -= (long) removed * BLOCK_SIZE;
+    }
+
+    /**
+     * Finds the last block that starts at or before an instant.
+     *
+     * @param timestamp The instant, not before the first sample.
+     * @return The index of the block.
+     */
+    private int findBlock(long timestamp) {
+        int low = 0;
+        int high = _blocks - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (_blockTimes[middle] <= timestamp) low = middle;
+            else high = middle - 1;
+        }
+        return low;
+    }
+
+    /**
+     * Interpolates the counter linearly between two samples.
+     *
+     * @param startTime    The time of the earlier sample.
+     * @param startCounter The fixed-point counter of the earlier sample.
+     * @param endTime      The time of the later sample.
+     * @param endCounter   The fixed-point counter of the later sample.
+     * @param timestamp    The instant between the two samples.
+     * @return The interpolated reading of the counter.
+     */
+    private static double interpolate(long startTime, long startCounter, long endTime, long endCounter, long timestamp) {
+        double fraction = (double) (timestamp - startTime) / (endTime - startTime);
+        return (startCounter + (endCounter - startCounter) * fraction) / COUNTER_SCALE;
+    }
+
+    /**
+     * Makes room in the buffer of the open block.
+     *
+     * @param bytes The number of bytes about to be written.
+     */
+    private void ensureBuffer(int bytes) {
+        if (_bufferLength + bytes > _buffer.length)
+            _buffer = Arrays.copyOf(_buffer, Math.max(_buffer.length * 2, _bufferLength + bytes));
+    }
+
+    /**
+     * Writes an unsigned variable length integer, seven bits per byte, to the buffer of the open block.
+     *
+     * @param value The value to write, read as unsigned.
+     */
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            _buffer[_bufferLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        _buffer[_bufferLength++] = (byte) value;
+    }
+
+    /**
+     * Maps a signed value to an unsigned one so that small magnitudes of either sign encode in few bytes.
+     *
+     * @param value The signed value.
+     * @return The zigzag encoding of the value.
+     */
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reads the variable length integers of an encoded block in order.
+     */
+    private static final class BlockReader {
+        private final byte[] _data;
+        private int _position;
+
+        /**
+         * Constructs a BlockReader positioned at the start of an encoded block.
+         *
+         * @param data The encoded samples of the block.
+         */
+        BlockReader(byte[] data) {
+            this._data = data;
+        }
+
+        /**
+         * Reads the next unsigned variable length integer.
+         *
+         * @return The value read.
+         */
+        long nextVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = _data[_position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package SmartHome.domain.sensors.history;
+
+import java.time.Instant;
+import java.time.LocalTime;
+
+/**
+ * Converts the time types used by the sensors to the nanosecond epoch clock of the sensor histories. A
+ * {@link LocalTime} has no date, so it is placed on the epoch day itself, 1970-01-01 UTC; readings recorded with
+ * a {@code LocalTime} therefore share a single reference day, while readings recorded with an {@link Instant}
+ * keep their real date.
+ */
+public final class EpochNanos {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private EpochNanos() {
+    }
+
+    /**
+     * Gets the nanoseconds between the epoch and an instant.
+     *
+     * @param instant The instant, between the years 1677 and 2262.
+     * @return The nanoseconds since 1970-01-01T00:00:00Z.
+     * @throws ArithmeticException if the instant is too far from the epoch to be counted in nanoseconds.
+     */
+    public static long of(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+    }
+
+    /**
+     * Gets the nanoseconds between the epoch and a time of day on the epoch day.
+     *
+     * @param time The time of day.
+     * @return The nanoseconds since 1970-01-01T00:00:00Z of that time on 1970-01-01.
+     */
+    public static long of(LocalTime time) {
+        return time.toNanoOfDay();
+    }
+}
@@ -0,0 +1,112 @@
+package SmartHome.domain.sensors.history;
+
+import java.nio.file.Path;
+
+/**
+ * Creates the {@link SensorHistory} in which a sensor keeps its readings, so that the storage of every sensor can be
+ * chosen in one place: primitive arrays on the heap, compressed chunks on the heap, or memory-mapped files on disk.
+ * Any of them can be wrapped in a {@link TieredHistory} that rolls the readings up for long-range reports, or put
+ * behind a {@link ReorderingHistory} for sensors whose readings arrive out of order.
+ */
+@FunctionalInterface
+public interface HistoryBackend {
+
+    /**
+     * Creates the history of a sensor. The sensor is identified by its path, such as the names of its room, its
+     * device and itself, which together identify it uniquely where a sensor name alone does not.
+     *
+     * @param path The names that identify the sensor, outermost first.
+     * @return A new, or for persistent backends reopened, history.
+     */
+    SensorHistory create(String... path);
+
+    /**
+     * Gets a backend that keeps the newest readings of each sensor in a {@link RingBufferHistory}.
+     *
+     * @param capacity The number of readings kept per sensor.
+     * @return The backend.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    static HistoryBackend inMemory(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Invalid arguments");
+        return path -> new RingBufferHistory(capacity);
+    }
+
+    /**
+     * Gets a backend that keeps every reading of each sensor in a {@link CompressedHistory}.
+     *
+     * @return The backend.
+     */
+    static HistoryBackend compressed() {
+        return path -> new CompressedHistory();
+    }
+
+    /**
+     * Gets a backend that keeps the readings of each sensor in a {@link MappedHistory}, in nested directories named
+     * after the names of its path. Letters, digits and dashes are kept in a directory name and every other
+     * character, the underscore included, is written as an underscore followed by its four-digit hexadecimal code,
+     * so that distinct names always get distinct directories and no name can reach outside the directory.
+     *
+     * @param directory The directory holding the directories of the sensors.
+     * @return The backend.
+     * @throws IllegalArgumentException if the directory is null.
+     */
+    static HistoryBackend mapped(Path directory) {
+        if (directory == null) throw new IllegalArgumentException("Invalid arguments");
+        return path -> {
+            if (path.length == 0) throw new IllegalArgumentException("Invalid arguments");
+            Path sensorDirectory = directory;
+            for (String name : path)
+                sensorDirectory = sensorDirectory.resolve(directoryName(name));
+            return new MappedHistory(sensorDirectory);
+        };
+    }
+
+    /**
+     * Encodes a name as a directory name made of letters, digits, dashes and escaped characters.
+     *
+     * @param name The name.
+     * @return The directory name.
+     * @throws IllegalArgumentException if the name is null or empty.
+     */
+    private static String directoryName(String name) {
+        if (name == null || name.isEmpty()) throw new IllegalArgumentException("Invalid arguments");
+        StringBuilder encoded = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-')
+                encoded.append(c);
+            else
+                encoded.append(String.format("_%04x", (int) c));
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Gets a backend that keeps the raw readings of each sensor in a history created by another backend and rolls
+     * them up into the default tiers of a {@link TieredHistory}: raw readings for a day, then minute, hour and day
+     * summaries.
+     *
+     * @param raw The backend that creates the histories of the raw readings.
+     * @return The backend.
+     * @throws IllegalArgumentException if the raw backend is null.
+     */
+    static HistoryBackend tiered(HistoryBackend raw) {
+        if (raw == null) throw new IllegalArgumentException("Invalid arguments");
+        return path -> TieredHistory.withDefaultTiers(raw.create(path));
+    }
+
+    /**
+     * Gets a backend that puts a {@link ReorderingHistory} in front of the history created by another backend, so
+     * that readings arriving up to the allowed lateness out of order reach the store in time order.
+     *
+     * @param store           The backend that creates the histories holding the final readings.
+     * @param allowedLateness How far behind the newest reading a reading may arrive, in nanoseconds.
+     * @return The backend.
+     * @throws IllegalArgumentException if the store backend is null or the lateness is negative.
+     */
+    static HistoryBackend reordering(HistoryBackend store, long allowedLateness) {
+        if (store == null || allowedLateness < 0) throw new IllegalArgumentException("Invalid arguments");
+        return path -> new ReorderingHistory(store.create(path), allowedLateness);
+    }
+}
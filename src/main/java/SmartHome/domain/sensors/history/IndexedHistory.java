@@ -0,0 +1,89 @@
+package SmartHome.domain.sensors.history;
+
+/**
+ * History kept in a store created by a {@link HistoryBackend}, with a specialised history on the heap in front of
+ * it that answers the queries, such as the running totals of a {@link RingBufferHistory} or the interpolated
+ * counter of an {@link EnergyMeterHistory}. The store holds the samples wherever the backend puts them, on disk for
+ * a mapped backend, and the index only adds the structure a sensor queries.
+ *
+ * <p>When the history is built, the samples the store already holds, such as those of a reopened file, are
+ * appended to the index. A sample is then appended to the index first and, once the index accepts it, to the
+ * store. A store that rejects a sample the index accepted, such as an append-only store given a sample at the time
+ * of an earlier one that the index replaced, keeps its earlier sample. Samples are read from the index and removed
+ * from both. Closing the history closes the store. This class is not thread-safe.</p>
+ */
+public class IndexedHistory implements SensorHistory {
+    private final SensorHistory _store;
+    private final SensorHistory _index;
+
+    /**
+     * Constructs an IndexedHistory over a store and an index, appending the samples of the store to the index.
+     *
+     * @param store The history created by the backend.
+     * @param index The history that answers the queries.
+     * @throws IllegalArgumentException if the store or the index is null, or they are the same history.
+     */
+    public IndexedHistory(SensorHistory store, SensorHistory index) {
+        if (store == null || index == null || store == index) throw new IllegalArgumentException("Invalid arguments");
+        this._store = store;
+        this._index = index;
+        store.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, index::append);
+    }
+
+    /**
+     * Appends a sample to the index and, if the index accepts it, to the store.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     * @return true if the index accepted the sample, false otherwise.
+     */
+    @Override
+    public boolean append(long timestamp, double value) {
+        if (!_index.append(timestamp, value)) return false;
+        _store.append(timestamp, value);
+        return true;
+    }
+
+    /**
+     * Gets the number of samples in the index.
+     *
+     * @return The number of samples.
+     */
+    @Override
+    public long size() {
+        return _index.size();
+    }
+
+    /**
+     * Passes the samples of the index in a time range to a consumer.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the samples.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    @Override
+    public void forEachInRange(long from, long to, SampleConsumer consumer) {
+        _index.forEachInRange(from, to, consumer);
+    }
+
+    /**
+     * Removes the samples taken before an instant from the index and from the store.
+     *
+     * @param timestamp The instant before which samples are no longer needed.
+     */
+    @Override
+    public void removeBefore(long timestamp) {
+        _index.removeBefore(timestamp);
+        _store.removeBefore(timestamp);
+    }
+
+    /**
+     * Closes the store and the index.
+     */
+    @Override
+    public void close() {
+        _index.close();
+        _store.close();
+    }
+}
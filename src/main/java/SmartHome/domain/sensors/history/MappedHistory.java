@@ -0,0 +1,455 @@
+package SmartHome.domain.sensors.history;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sensor history stored on disk in append-only segment files that are read and written through
+ * {@link MappedByteBuffer}s. Each segment file holds a fixed number of fixed-width records of a {@code long}
+ * timestamp and a {@code double} value, after a header that records the number of records the file was sized for
+ * and how many of them are in use. The samples live in the operating system's page cache rather than on the heap:
+ * the heap only holds the number, record count and last timestamp of every segment, so it stays flat however long
+ * the history grows.
+ *
+ * <p>Timestamps must be strictly increasing. A range query finds the first segment it overlaps and the first
+ * record in it by binary search over the mapped records. Old samples are released a whole segment at a time by
+ * unmapping and deleting its file. A history reopened on the same directory with the same segment size finds the
+ * samples written before; a different segment size is rejected. This class is not thread-safe.</p>
+ *
+ * <p>The count in the header is only updated by {@link #flush()}, {@link #close()} and when a segment fills up, and
+ * only after the records it covers have been forced to the file. After a crash, a reopened history therefore holds
+ * every sample up to the last of these points and never counts a record that was not written; samples appended
+ * after it are lost.</p>
+ */
+public class MappedHistory implements SensorHistory {
+    static final int RECORD_BYTES = Long.BYTES + Double.BYTES;
+    static final int HEADER_BYTES = Long.BYTES + 2 * Integer.BYTES;
+    private static final int MAGIC = 0x53484d48;
+    private static final int SEGMENT_SIZE_OFFSET = Long.BYTES;
+    private static final int MAGIC_OFFSET = Long.BYTES + Integer.BYTES;
+    private static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 16;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final Path _directory;
+    private final int _recordsPerSegment;
+    private final List<Segment> _segments = new ArrayList<>();
+    private long _nextSegmentNumber;
+    private long _size;
+
+    /**
+     * Constructs a MappedHistory on a directory, with segments of 65,536 records.
+     *
+     * @param directory The directory holding the segment files; it is created if it does not exist.
+     * @throws IllegalArgumentException if the directory is null.
+     * @throws IllegalStateException    if the directory or its segment files cannot be read.
+     */
+    public MappedHistory(Path directory) {
+        this(directory, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    /**
+     * Constructs a MappedHistory on a directory, reopening the segment files it already contains.
+     *
+     * @param directory         The directory holding the segment files; it is created if it does not exist.
+     * @param recordsPerSegment The number of records in a segment file.
+     * @throws IllegalArgumentException if the directory is null or the number of records is not positive or does
+     *                                  not fit in a single mapping.
+     * @throws IllegalStateException    if the directory or its segment files cannot be read.
+     */
+    public MappedHistory(Path directory, int recordsPerSegment) {
+        if (directory == null || recordsPerSegment < 1
+                || recordsPerSegment > (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES)
+            throw new IllegalArgumentException("Invalid arguments");
+        this._directory = directory;
+        this._recordsPerSegment = recordsPerSegment;
+        try {
+            Files.createDirectories(directory);
+            for (long number : existingSegmentNumbers()) {
+                _nextSegmentNumber = number + 1;
+                Segment segment = openSegment(number);
+                if (segment.count() == 0) {
+                    release(segment);
+                    continue;
+                }
+                _segments.add(segment);
+                _size += segment.count();
+            }
+        } catch (IOException exception) {
+            close();
+            throw new IllegalStateException("Could not open the sensor history: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Lists the numbers of the segment files in the directory, in increasing order.
+     *
+     * @return The segment numbers.
+     * @throws IOException if the directory cannot be listed.
+     */
+    private long[] existingSegmentNumbers() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(_directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String number = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                try {
+                    numbers.add(Long.parseLong(number));
+                } catch (NumberFormatException exception) {
+                    // Not a segment written by this class.
+                }
+            }
+        }
+        long[] sorted = numbers.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Gets the path of a segment file.
+     *
+     * @param number The number of the segment.
+     * @return The path of its file.
+     */
+    private Path segmentFile(long number) {
+        return _directory.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Gets the size of a segment file.
+     *
+     * @return The number of bytes of the header and the records.
+     */
+    private long segmentBytes() {
+        return HEADER_BYTES + (long) _recordsPerSegment * RECORD_BYTES;
+    }
+
+    /**
+     * Maps an existing segment file after checking that it was written with the segment size of this history.
+     *
+     * @param number The number of the segment.
+     * @return The segment.
+     * @throws IOException if the file cannot be mapped or was written with another segment size.
+     */
+    private Segment openSegment(long number) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile(number), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            if (channel.size() != segmentBytes())
+                throw new IOException("segment " + number + " does not match the segment size");
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes());
+            long count = buffer.getLong(0);
+            if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(SEGMENT_SIZE_OFFSET) != _recordsPerSegment
+                    || count < 0 || count > _recordsPerSegment) {
+                unmap(buffer);
+                throw new IOException("segment " + number + " does not match the segment size");
+            }
+            return new Segment(number, buffer);
+        }
+    }
+
+    /**
+     * Creates and maps a new, empty segment file at its full size.
+     *
+     * @param number The number of the segment.
+     * @return The segment.
+     * @throws IOException if the file already exists or cannot be created or mapped.
+     */
+    private Segment createSegment(long number) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile(number), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes());
+            buffer.putInt(SEGMENT_SIZE_OFFSET, _recordsPerSegment);
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            buffer.force();
+            return new Segment(number, buffer);
+        }
+    }
+
+    /**
+     * Appends a sample to the last segment, starting a new segment file when it is full.
+     *
+     * @param timestamp The time of the sample, after the time of every stored sample.
+     * @param value     The value of the sample.
+     * @return true if the sample was stored, false if it is not newer than the last stored sample.
+     * @throws IllegalStateException if a new segment file cannot be created.
+     */
+    @Override
+    public boolean append(long timestamp, double value) {
+        Segment last = _segments.isEmpty() ? null : _segments.get(_segments.size() - 1);
+        if (last != null && timestamp <= last._lastTime) return false;
+        if (last == null || last.count() == _recordsPerSegment) {
+            try {
+                last = createSegment(_nextSegmentNumber);
+            } catch (IOException exception) {
+                throw new IllegalStateException("Could not extend the sensor history: " + exception.getMessage());
+            }
+            _nextSegmentNumber++;
+            _segments.add(last);
+        }
+        last.append(timestamp, value);
+        if (last.count() == _recordsPerSegment) last.publish();
+        _size++;
+        return true;
+    }
+
+    /**
+     * Gets the number of samples in the history.
+     *
+     * @return The number of samples.
+     */
+    @Override
+    public long size() {
+        return _size;
+    }
+
+    /**
+     * Gets the number of segment files in use.
+     *
+     * @return The number of segments.
+     */
+    public int segmentCount() {
+        return _segments.size();
+    }
+
+    /**
+     * Passes the samples of a time range to a consumer, reading only the segments the range overlaps.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the samples.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    @Override
+    public void forEachInRange(long from, long to, SampleConsumer consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Invalid arguments");
+        for (int s = firstSegmentEndingAtOrAfter(from); s < _segments.size(); s++) {
+            Segment segment = _segments.get(s);
+            int count = segment.count();
+            for (int r = segment.ceilingRecord(from); r < count; r++) {
+                long timestamp = segment.timestamp(r);
+                if (timestamp >= to) return;
+                consumer.accept(timestamp, segment.value(r));
+            }
+        }
+    }
+
+    /**
+     * Finds the first segment whose last sample is not before an instant.
+     *
+     * @param timestamp The instant.
+     * @return The position of the segment, or the number of segments if every segment ends before the instant.
+     */
+    private int firstSegmentEndingAtOrAfter(long timestamp) {
+        int low = 0;
+        int high = _segments.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (_segments.get(middle)._lastTime < timestamp) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Unmaps and deletes every segment file whose samples were all taken before an instant. The segment holding the
+     * first sample at or after the instant is kept whole, with any older samples it contains.
+     *
+     * @param timestamp The instant before which samples are no longer needed.
+     * @throws IllegalStateException if a segment file cannot be deleted.
+     */
+    @Override
+    public void removeBefore(long timestamp) {
+        int removed = firstSegmentEndingAtOrAfter(timestamp);
+        for (int s = 0; s < removed; s++) {
+            Segment segment = _segments.remove(0);
+            _size -= segment.count();
+            release(segment);
+        }
+    }
+
+    /**
+     * Unmaps a segment that is no longer in the history and deletes its file.
+     *
+     * @param segment The segment.
+     * @throws IllegalStateException if the file cannot be deleted.
+     */
+    private void release(Segment segment) {
+        unmap(segment._buffer);
+        try {
+            Files.deleteIfExists(segmentFile(segment._number));
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not delete a sensor history segment: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Forces the records of every segment to its file, then records their count in the header, so that the
+     * samples appended so far survive a crash.
+     */
+    public void flush() {
+        for (Segment segment : _segments)
+            segment.publish();
+    }
+
+    /**
+     * Flushes every segment and unmaps it. The history holds no samples afterwards; reopening the directory finds
+     * them again.
+     */
+    @Override
+    public void close() {
+        flush();
+        for (Segment segment : _segments)
+            unmap(segment._buffer);
+        _segments.clear();
+        _size = 0;
+    }
+
+    /**
+     * Releases a mapping right away rather than when the garbage collector finds it unreachable, so that its file
+     * can be deleted on every platform. The buffer must not be used afterwards. Where the JDK does not offer this,
+     * the mapping is left to the garbage collector.
+     *
+     * @param buffer The mapping to release.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        if (Unmapper.INVOKE_CLEANER == null) return;
+        try {
+            Unmapper.INVOKE_CLEANER.invoke(Unmapper.UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            // The mapping is released by the garbage collector instead.
+        }
+    }
+
+    /**
+     * Looks up the cleaner of direct buffers once, on first use.
+     */
+    private static final class Unmapper {
+        private static final Object UNSAFE;
+        private static final Method INVOKE_CLEANER;
+
+        static {
+            Object unsafe = null;
+            Method invokeCleaner = null;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                unsafe = field.get(null);
+                invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            } catch (ReflectiveOperationException | RuntimeException exception) {
+                invokeCleaner = null;
+            }
+            UNSAFE = unsafe;
+            INVOKE_CLEANER = invokeCleaner;
+        }
+    }
+
+    /**
+     * One segment file: a header holding the number of published records, the number of records the file was
+     * sized for and a magic number, followed by the records.
+     */
+    private static final class Segment {
+        private final long _number;
+        private final MappedByteBuffer _buffer;
+        private int _count;
+        private int _published;
+        private long _lastTime;
+
+        /**
+         * Constructs a Segment over a mapped file, reading how many records it already holds.
+         *
+         * @param number The number of the segment.
+         * @param buffer The mapping of the segment file.
+         */
+        Segment(long number, MappedByteBuffer buffer) {
+            this._number = number;
+            this._buffer = buffer;
+            this._count = (int) buffer.getLong(0);
+            this._published = _count;
+            if (_count > 0) _lastTime = timestamp(_count - 1);
+        }
+
+        /**
+         * Gets the number of records in use.
+         *
+         * @return The number of records.
+         */
+        int count() {
+            return _count;
+        }
+
+        /**
+         * Writes a record after the last one. The record is published by the next {@link #publish()}.
+         *
+         * @param timestamp The time of the sample.
+         * @param value     The value of the sample.
+         */
+        void append(long timestamp, double value) {
+            int offset = HEADER_BYTES + _count * RECORD_BYTES;
+            _buffer.putLong(offset, timestamp);
+            _buffer.putDouble(offset + Long.BYTES, value);
+            _count++;
+            _lastTime = timestamp;
+        }
+
+        /**
+         * Forces the records to the file and only then writes and forces their count, so that the count on disk
+         * never covers a record that is not there.
+         */
+        void publish() {
+            if (_published == _count) return;
+            _buffer.force();
+            _buffer.putLong(0, _count);
+            _buffer.force();
+            _published = _count;
+        }
+
+        /**
+         * Gets the timestamp of a record.
+         *
+         * @param record The position of the record.
+         * @return The timestamp of the record.
+         */
+        long timestamp(int record) {
+            return _buffer.getLong(HEADER_BYTES + record * RECORD_BYTES);
+        }
+
+        /**
+         * Gets the value of a record.
+         *
+         * @param record The position of the record.
+         * @return The value of the record.
+         */
+        double value(int record) {
+            return _buffer.getDouble(HEADER_BYTES + record * RECORD_BYTES + Long.BYTES);
+        }
+
+        /**
+         * Finds the first record taken at or after an instant.
+         *
+         * @param timestamp The instant.
+         * @return The position of the record, or the number of records if every record is older.
+         */
+        int ceilingRecord(long timestamp) {
+            int low = 0;
+            int high = _count;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (timestamp(middle) < timestamp) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package SmartHome.domain.sensors.history;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Sensor history split into time partitions, one segment per partition, each segment an independent
+ * {@link SensorHistory}. With the default width of a day on the nanosecond epoch clock, every day of readings
+ * lives in its own segment, so readings of different days never collide. The start of every partition is kept in
+ * a sorted array: a range query visits only the segments whose partition overlaps the range, and expiring old data
+ * drops whole segments without touching their samples.
+ *
+ * <p>Segments are created on demand by the supplied factory. Samples may arrive in any order across partitions;
+ * within a partition, the ordering rules are those of the segment type. A history may be capped to a number of
+ * partitions: opening a partition beyond the cap drops the oldest one, and a sample older than every partition of
+ * a full history is rejected, so the memory held stays within the cap times the size of a segment. This class is
+ * not thread-safe.</p>
+ *
+ * @param <S> The type of the segments.
+ */
+public class PartitionedHistory<S extends SensorHistory> implements SensorHistory {
+    /**
+     * The width of a one-day partition on the nanosecond epoch clock.
+     */
+    public static final long DAY = TimeUnit.DAYS.toNanos(1);
+
+    private final long _width;
+    private final Supplier<S> _segmentFactory;
+    private final int _maxPartitions;
+    private long[] _starts = new long[8];
+    private Object[] _segments = new Object[8];
+    private int _count;
+
+    /**
+     * Constructs an empty PartitionedHistory without a cap on the number of partitions.
+     *
+     * @param width          The width of a partition, in units of the history clock.
+     * @param segmentFactory Creates the segment of a new partition.
+     * @throws IllegalArgumentException if the width is not positive or the factory is null.
+     */
+    public PartitionedHistory(long width, Supplier<S> segmentFactory) {
+        this(width, segmentFactory, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs an empty PartitionedHistory that keeps at most a number of partitions.
+     *
+     * @param width          The width of a partition, in units of the history clock.
+     * @param segmentFactory Creates the segment of a new partition.
+     * @param maxPartitions  The largest number of partitions kept; the oldest is dropped to open a newer one.
+     * @throws IllegalArgumentException if the width or the cap is not positive or the factory is null.
+     */
+    public PartitionedHistory(long width, Supplier<S> segmentFactory, int maxPartitions) {
+        if (width < 1 || segmentFactory == null || maxPartitions < 1)
+            throw new IllegalArgumentException("Invalid arguments");
+        this._width = width;
+        this._segmentFactory = segmentFactory;
+        this._maxPartitions = maxPartitions;
+    }
+
+    /**
+     * Builds a history of one-day partitions, each compressed by a {@link CompressedHistory}.
+     *
+     * @return The partitioned history.
+     */
+    public static PartitionedHistory<CompressedHistory> daily() {
+        return new PartitionedHistory<>(DAY, CompressedHistory::new);
+    }
+
+    /**
+     * Stores a sample in the segment of its partition, creating the segment if needed. If the history already
+     * holds as many partitions as its cap, the oldest partition is dropped to make room.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     * @return true if the segment stored the sample, false if the segment rejected it or the sample is older than
+     * every partition of a full history.
+     */
+    @Override
+    public boolean append(long timestamp, double value) {
+        long start = Math.floorDiv(timestamp, _width) * _width;
+        int index;
+        if (_count > 0 && _starts[_count - 1] == start) {
+            index = _count - 1;
+        } else {
+            index = Arrays.binarySearch(_starts, 0, _count, start);
+            if (index < 0) {
+                index = -index - 1;
+                if (_count == _maxPartitions) {
+                    if (index == 0) return false;
+                    dropOldest(1);
+                    index--;
+                }
+                index = insertPartition(index, start);
+            }
+        }
+        return segment(index).append(timestamp, value);
+    }
+
+    /**
+     * Opens a partition at a position, moving the later partitions up by one.
+     *
+     * @param index The position of the new partition.
+     * @param start The start of the new partition.
+     * @return The position of the new partition.
+     */
+    private int insertPartition(int index, long start) {
+        if (_count == _starts.length) {
+            _starts = Arrays.copyOf(_starts, _count * 2);
+            _segments = Arrays.copyOf(_segments, _count * 2);
+        }
+        System.arraycopy(_starts, index, _starts, index + 1, _count - index);
+        System.arraycopy(_segments, index, _segments, index + 1, _count - index);
+        _starts[index] = start;
+        _segments[index] = _segmentFactory.get();
+        _count++;
+        return index;
+    }
+
+    /**
+     * Gets the segment at a position.
+     *
+     * @param index The position of the partition.
+     * @return The segment of the partition.
+     */
+    @SuppressWarnings("unchecked")
+    private S segment(int index) {
+        return (S) _segments[index];
+    }
+
+    /**
+     * Gets the number of samples held by all segments.
+     *
+     * @return The number of samples.
+     */
+    @Override
+    public long size() {
+        long size = 0;
+        for (int i = 0; i < _count; i++)
+            size += segment(i).size();
+        return size;
+    }
+
+    /**
+     * Gets the number of partitions.
+     *
+     * @return The number of partitions that hold a segment.
+     */
+    public int partitionCount() {
+        return _count;
+    }
+
+    /**
+     * Passes the samples of a time range to a consumer, visiting only the segments whose partition overlaps the
+     * range.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the samples.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    @Override
+    public void forEachInRange(long from, long to, SampleConsumer consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Invalid arguments");
+        for (int i = firstOverlapping(from); i < _count && _starts[i] < to; i++)
+            segment(i).forEachInRange(from, to, consumer);
+    }
+
+    /**
+     * Passes the segments whose partition overlaps a time range to a consumer, in increasing time order, so that
+     * callers can use the queries of the segment type directly.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the segments.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    public void forEachSegment(long from, long to, Consumer<S> consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Invalid arguments");
+        for (int i = firstOverlapping(from); i < _count && _starts[i] < to; i++)
+            consumer.accept(segment(i));
+    }
+
+    /**
+     * Finds the first partition that ends after an instant.
+     *
+     * @param timestamp The instant.
+     * @return The position of the partition, or the number of partitions if every partition ends before it.
+     */
+    private int firstOverlapping(long timestamp) {
+        if (timestamp < Long.MIN_VALUE + _width) return 0;
+        long start = Math.floorDiv(timestamp, _width) * _width;
+        int index = Arrays.binarySearch(_starts, 0, _count, start);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    /**
+     * Drops every partition that ends at or before an instant. The partition that contains the instant is kept
+     * whole.
+     *
+     * @param timestamp The instant before which samples are no longer needed.
+     */
+    @Override
+    public void removeBefore(long timestamp) {
+        dropOldest(firstOverlapping(timestamp));
+    }
+
+    /**
+     * Drops the oldest partitions, moving the others down.
+     *
+     * @param removed The number of partitions to drop.
+     */
+    private void dropOldest(int removed) {
+        if (removed == 0) return;
+        System.arraycopy(_starts, removed, _starts, 0, _count - removed);
+        System.arraycopy(_segments, removed, _segments, 0, _count - removed);
+        Arrays.fill(_segments, _count - removed, _count, null);
+        _count -= removed;
+    }
+
+    /**
+     * Closes the segment of every partition.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < _count; i++)
+            segment(i).close();
+    }
+}
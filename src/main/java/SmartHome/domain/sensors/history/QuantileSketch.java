@@ -0,0 +1,327 @@
+package SmartHome.domain.sensors.history;
+
+/**
+ * Mergeable streaming sketch of the distribution of a sensor's readings, from which quantiles such as the median
+ * or the 99th percentile can be estimated in fixed memory. Values are counted in logarithmic bins whose bounds grow
+ * by a factor of {@code (1 + a) / (1 - a)}, where {@code a} is the relative accuracy: every quantile estimate lies
+ * within {@code a} times the true value. Positive and negative values are kept in separate bin stores and values
+ * too close to zero to be binned are counted apart.
+ *
+ * <p>Each store holds at most a fixed number of bins. When a store would need more, its lowest bins are collapsed
+ * into one, so only the quantiles of the values closest to zero lose accuracy. Two sketches with the same relative
+ * accuracy merge by adding their bin counts, which gives the sketch of the combined readings: the distribution of
+ * a room or a house is built by merging the sketches of its sensors, without revisiting their readings. A sketch
+ * can be passed to {@link SensorHistory#forEachInRange(long, long, SampleConsumer)} to summarize a stored range.
+ * This class is not thread-safe.</p>
+ */
+public class QuantileSketch implements SampleConsumer {
+    private static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    private static final int DEFAULT_MAX_BINS = 2048;
+    private static final int INITIAL_BINS = 64;
+
+    private final double _relativeAccuracy;
+    private final int _maxBins;
+    private final double _gamma;
+    private final double _multiplier;
+    private final double _minIndexable;
+    private final Store _positive;
+    private final Store _negative;
+    private long _zeroCount;
+    private long _count;
+    private double _sum;
+    private double _min = Double.POSITIVE_INFINITY;
+    private double _max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Constructs a QuantileSketch with a relative accuracy of 1% and at most 2048 bins per sign.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_BINS);
+    }
+
+    /**
+     * Constructs a QuantileSketch.
+     *
+     * @param relativeAccuracy The largest relative error of a quantile estimate, between 0 and 1 exclusive.
+     * @param maxBins          The largest number of bins kept for positive values and for negative values.
+     * @throws IllegalArgumentException if the accuracy is not between 0 and 1 exclusive or the number of bins is
+     *                                  not positive.
+     */
+    public QuantileSketch(double relativeAccuracy, int maxBins) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1) || maxBins < 1)
+            throw new IllegalArgumentException("Invalid arguments");
+        this._relativeAccuracy = relativeAccuracy;
+        this._maxBins = maxBins;
+        this._gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this._multiplier = 1 / Math.log(_gamma);
+        this._minIndexable = Double.MIN_NORMAL * _gamma;
+        this._positive = new Store(maxBins);
+        this._negative = new Store(maxBins);
+    }
+
+    /**
+     * Counts a value in the sketch.
+     *
+     * @param value The value.
+     * @throws IllegalArgumentException if the value is not finite.
+     */
+    public void add(double value) {
+        if (!Double.isFinite(value)) throw new IllegalArgumentException("Invalid arguments");
+        if (value >= _minIndexable) _positive.add(index(value), 1);
+        else if (value <= -_minIndexable) _negative.add(index(-value), 1);
+        else _zeroCount++;
+        _count++;
+        _sum += value;
+        _min = Math.min(_min, value);
+        _max = Math.max(_max, value);
+    }
+
+    /**
+     * Counts the value of a sample in the sketch; the timestamp is ignored.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     * @throws IllegalArgumentException if the value is not finite.
+     */
+    @Override
+    public void accept(long timestamp, double value) {
+        add(value);
+    }
+
+    /**
+     * Adds the counts of another sketch to this one, so that this sketch describes the values of both.
+     *
+     * @param other The sketch to merge; it is left unchanged.
+     * @throws IllegalArgumentException if the other sketch is null or has a different relative accuracy.
+     */
+    public void merge(QuantileSketch other) {
+        if (other == null || other._gamma != _gamma) throw new IllegalArgumentException("Invalid arguments");
+        if (other._count == 0) return;
+        _positive.addAll(other._positive);
+        _negative.addAll(other._negative);
+        _zeroCount += other._zeroCount;
+        _count += other._count;
+        _sum += other._sum;
+        _min = Math.min(_min, other._min);
+        _max = Math.max(_max, other._max);
+    }
+
+    /**
+     * Creates an independent copy of the sketch.
+     *
+     * @return The copy.
+     */
+    public QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(_relativeAccuracy, _maxBins);
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Estimates the value below which a given fraction of the counted values fall.
+     *
+     * @param quantile The fraction, from 0 for the minimum to 1 for the maximum.
+     * @return The estimated value, within the relative accuracy of the true one; the exact minimum and maximum
+     * for the lowest and the highest rank.
+     * @throws IllegalArgumentException if the quantile is not between 0 and 1.
+     * @throws IllegalStateException    if the sketch is empty.
+     */
+    public double getQuantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) throw new IllegalArgumentException("Invalid arguments");
+        if (_count == 0) throw new IllegalStateException("The sketch is empty");
+        long rank = (long) (quantile * (_count - 1));
+        if (rank == 0) return _min;
+        if (rank == _count - 1) return _max;
+        double estimate;
+        if (rank < _negative._total) {
+            estimate = -value(_negative.indexAtRank(_negative._total - 1 - rank));
+        } else if (rank < _negative._total + _zeroCount) {
+            estimate = 0;
+        } else {
+            estimate = value(_positive.indexAtRank(rank - _negative._total - _zeroCount));
+        }
+        return Math.max(_min, Math.min(_max, estimate));
+    }
+
+    /**
+     * Gets the number of counted values.
+     *
+     * @return The number of values.
+     */
+    public long getCount() {
+        return _count;
+    }
+
+    /**
+     * Gets the exact mean of the counted values.
+     *
+     * @return The mean.
+     * @throws IllegalStateException if the sketch is empty.
+     */
+    public double getMean() {
+        if (_count == 0) throw new IllegalStateException("The sketch is empty");
+        return _sum / _count;
+    }
+
+    /**
+     * Gets the smallest counted value.
+     *
+     * @return The minimum.
+     * @throws IllegalStateException if the sketch is empty.
+     */
+    public double getMin() {
+        if (_count == 0) throw new IllegalStateException("The sketch is empty");
+        return _min;
+    }
+
+    /**
+     * Gets the largest counted value.
+     *
+     * @return The maximum.
+     * @throws IllegalStateException if the sketch is empty.
+     */
+    public double getMax() {
+        if (_count == 0) throw new IllegalStateException("The sketch is empty");
+        return _max;
+    }
+
+    /**
+     * Gets the relative accuracy of the quantile estimates.
+     *
+     * @return The relative accuracy.
+     */
+    public double getRelativeAccuracy() {
+        return _relativeAccuracy;
+    }
+
+    /**
+     * Gets the number of bins in use for positive and negative values.
+     *
+     * @return The number of bins.
+     */
+    int binCount() {
+        return _positive.binCount() + _negative.binCount();
+    }
+
+    /**
+     * Maps a positive value to the bin that counts it: bin {@code i} holds the values in
+     * {@code (gamma^(i-1), gamma^i]}.
+     *
+     * @param value The positive value.
+     * @return The index of its bin.
+     */
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) * _multiplier);
+    }
+
+    /**
+     * Gets the representative value of a bin, the one whose relative distance to both bin bounds is the relative
+     * accuracy.
+     *
+     * @param index The index of the bin.
+     * @return The representative value.
+     */
+    private double value(int index) {
+        return 2 * Math.pow(_gamma, index) / (_gamma + 1);
+    }
+
+    /**
+     * Counts per bin for the values of one sign, in an array that covers a contiguous range of bin indexes and
+     * grows on demand up to the largest number of bins.
+     */
+    private static final class Store {
+        private final int _maxBins;
+        private long[] _counts;
+        private int _offset;
+        private int _minIndex;
+        private int _maxIndex;
+        private long _total;
+
+        /**
+         * Constructs an empty Store.
+         *
+         * @param maxBins The largest number of bins.
+         */
+        Store(int maxBins) {
+            this._maxBins = maxBins;
+        }
+
+        /**
+         * Adds to the count of a bin. A bin more than the largest number of bins below the highest one is counted
+         * in the lowest bin kept.
+         *
+         * @param index The index of the bin.
+         * @param count The count to add.
+         */
+        void add(int index, long count) {
+            if (_total == 0) {
+                if (_counts == null) _counts = new long[Math.min(INITIAL_BINS, _maxBins)];
+                _offset = index;
+                _minIndex = index;
+                _maxIndex = index;
+            } else {
+                index = Math.max(index, _maxIndex - _maxBins + 1);
+                if (index < _offset || index >= _offset + _counts.length) extendTo(index);
+                _minIndex = Math.min(_minIndex, index);
+                _maxIndex = Math.max(_maxIndex, index);
+            }
+            _counts[index - _offset] += count;
+            _total += count;
+        }
+
+        /**
+         * Reallocates the counts to cover a bin outside the current array, collapsing the lowest bins if the range
+         * would exceed the largest number of bins.
+         *
+         * @param index The index of the bin to cover.
+         */
+        private void extendTo(int index) {
+            int high = Math.max(_maxIndex, index);
+            int low = Math.max(Math.min(_minIndex, index), high - _maxBins + 1);
+            int length = Math.min(_maxBins, Math.max(high - low + 1, 2 * _counts.length));
+            int offset = index < _minIndex ? high - length + 1 : low;
+            long[] counts = new long[length];
+            for (int i = _minIndex; i <= _maxIndex; i++)
+                counts[Math.max(i, low) - offset] += _counts[i - _offset];
+            _counts = counts;
+            _offset = offset;
+            _minIndex = Math.max(_minIndex, low);
+        }
+
+        /**
+         * Adds the counts of every bin of another store.
+         *
+         * @param other The other store.
+         */
+        void addAll(Store other) {
+            for (int i = other._minIndex; other._total > 0 && i <= other._maxIndex; i++) {
+                long count = other._counts[i - other._offset];
+                if (count > 0) add(i, count);
+            }
+        }
+
+        /**
+         * Finds the bin that holds the value of a given rank, counting from the lowest bin.
+         *
+         * @param rank The rank, from 0 to the total count exclusive.
+         * @return The index of the bin.
+         */
+        int indexAtRank(long rank) {
+            long seen = 0;
+            for (int i = _minIndex; i < _maxIndex; i++) {
+                seen += _counts[i - _offset];
+                if (seen > rank) return i;
+            }
+            return _maxIndex;
+        }
+
+        /**
+         * Gets the number of bins in use.
+         *
+         * @return The number of bins between the lowest and the highest non-empty one.
+         */
+        int binCount() {
+            return _total == 0 ? 0 : _maxIndex - _minIndex + 1;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package SmartHome.domain.sensors.history;
+
+import java.util.Arrays;
+
+/**
+ * Sensor history that accepts samples out of order, up to a configurable lateness, in front of a store that
+ * requires increasing timestamps. Incoming samples wait in a small buffer kept sorted by timestamp. The watermark
+ * trails the newest timestamp seen by the allowed lateness; whenever it advances, the buffered samples behind it
+ * are passed to the store in one sorted batch. Data behind the watermark is final: a sample that arrives behind
+ * it is rejected, so the store and any rollups it keeps never have to revisit a closed period.
+ *
+ * <p>A sample whose timestamp is already buffered replaces the buffered one. Range queries read the final samples
+ * from the store and the pending samples from the buffer, in time order. A buffered sample can still be rejected by
+ * the store when it is released, for instance a timestamp the store already holds after a {@link #flush()}, a
+ * sample of a full partition or a value the store does not accept; since {@link #append(long, double)} has already
+ * returned by then, such samples are counted in {@link #rejectedCount()}. This class is not thread-safe.</p>
+ */
+public class ReorderingHistory implements SensorHistory {
+    private final SensorHistory _store;
+    private final long _allowedLateness;
+    private long[] _timestamps = new long[16];
+    private double[] _values = new double[16];
+    private int _pending;
+    private long _newest = Long.MIN_VALUE;
+    private long _watermark = Long.MIN_VALUE;
+    private long _rejected;
+
+    /**
+     * Constructs a ReorderingHistory in front of a store.
+     *
+     * @param store           The history that receives the samples once they are final.
+     * @param allowedLateness How far behind the newest timestamp a sample may arrive, in units of the history clock.
+     * @throws IllegalArgumentException if the store is null or the lateness is negative.
+     */
+    public ReorderingHistory(SensorHistory store, long allowedLateness) {
+        if (store == null || allowedLateness < 0) throw new IllegalArgumentException("Invalid arguments");
+        this._store = store;
+        this._allowedLateness = allowedLateness;
+    }
+
+    /**
+     * Buffers a sample and moves the samples that fall behind the advanced watermark to the store.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     * @return true if the sample was buffered, false if it arrived behind the watermark.
+     */
+    @Override
+    public boolean append(long timestamp, double value) {
+        if (timestamp < _watermark) return false;
+        int index = Arrays.binarySearch(_timestamps, 0, _pending, timestamp);
+        if (index >= 0) {
+            _values[index] = value;
+        } else {
+            insert(-index - 1, timestamp, value);
+        }
+        if (timestamp > _newest) {
+            _newest = timestamp;
+            advanceWatermark(_newest < Long.MIN_VALUE + _allowedLateness ? Long.MIN_VALUE : _newest - _allowedLateness);
+        }
+        return true;
+    }
+
+    /**
+     * Opens a slot in the buffer, moving the later samples up by one.
+     *
+     * @param index     The position of the new sample.
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     */
+    private void insert(int index, long timestamp, double value) {
+        if (_pending == _timestamps.length) {
+            _timestamps = Arrays.copyOf(_timestamps, _pending * 2);
+            _values = Arrays.copyOf(_values, _pending * 2);
+        }
+        System.arraycopy(_timestamps, index, _timestamps, index + 1, _pending - index);
+        System.arraycopy(_values, index, _values, index + 1, _pending - index);
+        _timestamps[index] = timestamp;
+        _values[index] = value;
+        _pending++;
+    }
+
+    /**
+     * Moves the watermark forward and passes the buffered samples behind it to the store, oldest first.
+     *
+     * @param watermark The new watermark; a watermark behind the current one has no effect.
+     */
+    private void advanceWatermark(long watermark) {
+        if (watermark <= _watermark) return;
+        _watermark = watermark;
+        int count = 0;
+        while (count < _pending && _timestamps[count] < watermark)
+            count++;
+        release(count);
+    }
+
+    /**
+     * Passes the oldest buffered samples to the store in one sorted batch and removes them from the buffer,
+     * counting the samples the store rejects.
+     *
+     * @param count The number of samples to release.
+     */
+    private void release(int count) {
+        if (count == 0) return;
+        for (int i = 0; i < count; i++)
+            if (!_store.append(_timestamps[i], _values[i])) _rejected++;
+        discard(count);
+    }
+
+    /**
+     * Removes the oldest buffered samples, moving the others down.
+     *
+     * @param count The number of samples to remove.
+     */
+    private void discard(int count) {
+        System.arraycopy(_timestamps, count, _timestamps, 0, _pending - count);
+        System.arraycopy(_values, count, _values, 0, _pending - count);
+        _pending -= count;
+    }
+
+    /**
+     * Makes every buffered sample final, passing it to the store, and moves the watermark just past the newest of
+     * them. Samples older than that are rejected from then on.
+     */
+    public void flush() {
+        if (_pending == 0) return;
+        long newest = _timestamps[_pending - 1];
+        _watermark = newest == Long.MAX_VALUE ? Long.MAX_VALUE : newest + 1;
+        release(_pending);
+    }
+
+    /**
+     * Gets the watermark: every sample before it is final and held by the store.
+     *
+     * @return The watermark, or {@link Long#MIN_VALUE} before the first sample.
+     */
+    public long getWatermark() {
+        return _watermark;
+    }
+
+    /**
+     * Gets the number of buffered samples the store rejected when they became final. Such samples were accepted
+     * by {@link #append(long, double)} but are not held anywhere.
+     *
+     * @return The number of rejected samples.
+     */
+    public long rejectedCount() {
+        return _rejected;
+    }
+
+    /**
+     * Gets the number of samples waiting in the buffer.
+     *
+     * @return The number of pending samples.
+     */
+    public int pendingCount() {
+        return _pending;
+    }
+
+    /**
+     * Gets the number of samples held by the store and the buffer.
+     *
+     * @return The number of samples.
+     */
+    @Override
+    public long size() {
+        return _store.size() + _pending;
+    }
+
+    /**
+     * Passes the samples of a time range to a consumer in time order: the final samples from the store, followed by
+     * the pending samples from the buffer.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the samples.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    @Override
+    public void forEachInRange(long from, long to, SampleConsumer consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Invalid arguments");
+        _store.forEachInRange(from, Math.min(to, _watermark), consumer);
+        int index = Arrays.binarySearch(_timestamps, 0, _pending, from);
+        for (int i = index < 0 ? -index - 1 : index; i < _pending && _timestamps[i] < to; i++)
+            consumer.accept(_timestamps[i], _values[i]);
+    }
+
+    /**
+     * Passes the final samples of a time range, those behind the watermark, to a consumer. Results of this query
+     * do not change as more samples arrive, so they can be cached or rolled up.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the samples.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    public void forEachFinalInRange(long from, long to, SampleConsumer consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Invalid arguments");
+        _store.forEachInRange(from, Math.min(to, _watermark), consumer);
+    }
+
+    /**
+     * Removes the samples taken before an instant from the store and the buffer.
+     *
+     * @param timestamp The instant before which samples are no longer needed.
+     */
+    @Override
+    public void removeBefore(long timestamp) {
+        _store.removeBefore(timestamp);
+        int removed = Arrays.binarySearch(_timestamps, 0, _pending, timestamp);
+        discard(removed < 0 ? -removed - 1 : removed);
+    }
+
+    /**
+     * Makes every buffered sample final and closes the store.
+     */
+    @Override
+    public void close() {
+        flush();
+        _store.close();
+    }
+}
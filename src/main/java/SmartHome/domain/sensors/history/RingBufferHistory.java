@@ -0,0 +1,392 @@
+package SmartHome.domain.sensors.history;
+
+/**
+ * Bounded history of sensor samples stored in parallel primitive arrays, one of {@code long} timestamps and
+ * one of {@code double} values. The arrays are allocated once with the capacity of the history, so appending a
+ * sample does not allocate and the memory used by a history stays fixed under continuous ingestion. When the
+ * history is full, each new sample replaces the oldest one.
+ *
+ * <p>Samples are kept sorted by timestamp and indexed from the oldest ({@code 0}) to the newest
+ * ({@code size() - 1}), so the samples of a time range are found by binary search in {@code O(log n)}. A sample
+ * arriving out of order is moved into place, which costs one step per newer sample already stored; a sample with
+ * the timestamp of a stored one replaces it. This class is not thread-safe.</p>
+ *
+ * <p>Next to each sample the history keeps the running sum of the values and the running count of non-zero
+ * values up to and including that sample, so {@link #sum(int, int)} and {@link #countNonZero(int, int)} answer
+ * for any range of samples in constant time. The running totals are taken relative to a base that moves forward
+ * as samples are evicted; they are rebased once per capacity of evictions, which keeps them in the magnitude of
+ * the stored values and costs amortised constant time per sample.</p>
+ */
+public class RingBufferHistory implements SensorHistory {
+    private final long[] _timestamps;
+    private final double[] _values;
+    private final double[] _runningSums;
+    private final int[] _runningCounts;
+    private double _baseSum;
+    private int _baseCount;
+    private int _evictions;
+    private int _head;
+    private int _size;
+
+    /**
+     * Constructs an empty RingBufferHistory.
+     *
+     * @param capacity The largest number of samples kept by the history.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public RingBufferHistory(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Invalid arguments");
+        this._timestamps = new long[capacity];
+        this._values = new double[capacity];
+        this._runningSums = new double[capacity];
+        this._runningCounts = new int[capacity];
+    }
+
+    /**
+     * Adds a sample at its place in timestamp order. A sample with the timestamp of a stored sample replaces it.
+     * If the history is full, the oldest sample is evicted; a sample older than every stored sample of a full
+     * history is therefore not kept.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     * @return true if the sample was stored, false if it was older than every sample of a full history.
+     */
+    @Override
+    public boolean append(long timestamp, double value) {
+        int index = ceilingIndex(timestamp);
+        if (index < _size && _timestamps[physical(index)] == timestamp) {
+            int slot = physical(index);
+            double previous = _values[slot];
+            _values[slot] = value;
+            addToRunningTotals(index, value - previous, nonZero(value) - nonZero(previous));
+            return true;
+        }
+        if (index == _size) {
+            appendNewest(timestamp, value);
+            return true;
+        }
+        double sumBefore;
+        int countBefore;
+        if (_size < _timestamps.length) {
+            sumBefore = prefixSum(index);
+            countBefore = prefixCount(index);
+            for (int i = _size; i > index; i--)
+                move(i - 1, i);
+            _size++;
+        } else {
+            if (index == 0) return false;
+            sumBefore = prefixSum(index);
+            countBefore = prefixCount(index);
+            evictOldest();
+            index--;
+            for (int i = 0; i < index; i++)
+                move(i + 1, i);
+        }
+        store(physical(index), timestamp, value, sumBefore, countBefore);
+        addToRunningTotals(index + 1, value, nonZero(value));
+        rebaseIfDue();
+        return true;
+    }
+
+    /**
+     * Stores a sample newer than every stored sample, replacing the oldest one if the history is full.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     */
+    private void appendNewest(long timestamp, double value) {
+        double sumBefore = prefixSum(_size);
+        int countBefore = prefixCount(_size);
+        int slot;
+        if (_size < _timestamps.length) {
+            slot = physical(_size);
+            _size++;
+        } else {
+            evictOldest();
+            slot = _head;
+            _head = physical(1);
+        }
+        store(slot, timestamp, value, sumBefore, countBefore);
+        rebaseIfDue();
+    }
+
+    /**
+     * Writes a sample and its running totals to a position in the arrays.
+     *
+     * @param slot        The position in the arrays.
+     * @param timestamp   The time of the sample.
+     * @param value       The value of the sample.
+     * @param sumBefore   The running sum of the samples before this one.
+     * @param countBefore The running count of non-zero samples before this one.
+     */
+    private void store(int slot, long timestamp, double value, double sumBefore, int countBefore) {
+        _timestamps[slot] = timestamp;
+        _values[slot] = value;
+        _runningSums[slot] = sumBefore + value;
+        _runningCounts[slot] = countBefore + nonZero(value);
+    }
+
+    /**
+     * Moves the base of the running totals past the oldest sample, which is about to be overwritten.
+     */
+    private void evictOldest() {
+        _baseSum = _runningSums[_head];
+        _baseCount = _runningCounts[_head];
+        _evictions++;
+    }
+
+    /**
+     * Subtracts the base from every running total once a capacity of samples has been evicted since the last
+     * rebase, so the totals never grow beyond what the stored samples add up to.
+     */
+    private void rebaseIfDue() {
+        if (_evictions < _timestamps.length) return;
+        for (int i = 0; i < _size; i++) {
+            int slot = physical(i);
+            _runningSums[slot] -= _baseSum;
+            _runningCounts[slot] -= _baseCount;
+        }
+        _baseSum = 0;
+        _baseCount = 0;
+        _evictions = 0;
+    }
+
+    /**
+     * Adds a change to the running totals of the samples from a logical index to the newest one.
+     *
+     * @param from  The logical index of the first sample to update.
+     * @param sum   The change of the running sum.
+     * @param count The change of the running count of non-zero samples.
+     */
+    private void addToRunningTotals(int from, double sum, int count) {
+        if (sum == 0 && count == 0) return;
+        for (int i = from; i < _size; i++) {
+            int slot = physical(i);
+            _runningSums[slot] += sum;
+            _runningCounts[slot] += count;
+        }
+    }
+
+    /**
+     * Copies the sample at one logical index, with its running totals, to another.
+     *
+     * @param from The logical index of the sample to copy.
+     * @param to   The logical index to copy the sample to.
+     */
+    private void move(int from, int to) {
+        int source = physical(from);
+        int target = physical(to);
+        _timestamps[target] = _timestamps[source];
+        _values[target] = _values[source];
+        _runningSums[target] = _runningSums[source];
+        _runningCounts[target] = _runningCounts[source];
+    }
+
+    /**
+     * Gets the running sum of the samples before a logical index.
+     *
+     * @param index The logical index, from {@code 0} to {@code size()}.
+     * @return The running sum of the samples before the index.
+     */
+    private double prefixSum(int index) {
+        return index == 0 ? _baseSum : _runningSums[physical(index - 1)];
+    }
+
+    /**
+     * Gets the running count of non-zero samples before a logical index.
+     *
+     * @param index The logical index, from {@code 0} to {@code size()}.
+     * @return The running count of non-zero samples before the index.
+     */
+    private int prefixCount(int index) {
+        return index == 0 ? _baseCount : _runningCounts[physical(index - 1)];
+    }
+
+    /**
+     * Tells whether a value counts as a non-zero sample.
+     *
+     * @param value The value of the sample.
+     * @return 1 if the value is not zero, 0 otherwise.
+     */
+    private static int nonZero(double value) {
+        return value != 0.0 ? 1 : 0;
+    }
+
+    /**
+     * Adds up the values of a range of samples in constant time.
+     *
+     * @param from The index of the first sample of the range, inclusive.
+     * @param to   The index of the last sample of the range, exclusive.
+     * @return The sum of the values in the range, or {@code 0} if the range is empty.
+     * @throws IndexOutOfBoundsException if the range is outside the history.
+     */
+    public double sum(int from, int to) {
+        checkRange(from, to);
+        return from >= to ? 0 : prefixSum(to) - prefixSum(from);
+    }
+
+    /**
+     * Counts the samples of a range whose value is not zero, in constant time.
+     *
+     * @param from The index of the first sample of the range, inclusive.
+     * @param to   The index of the last sample of the range, exclusive.
+     * @return The number of non-zero samples in the range, or {@code 0} if the range is empty.
+     * @throws IndexOutOfBoundsException if the range is outside the history.
+     */
+    public int countNonZero(int from, int to) {
+        checkRange(from, to);
+        return from >= to ? 0 : prefixCount(to) - prefixCount(from);
+    }
+
+    /**
+     * Finds the first sample taken at or after a given time.
+     *
+     * @param timestamp The time to search for.
+     * @return The index of the first sample whose timestamp is not before the given time, or {@code size()} if
+     * there is none.
+     */
+    public int ceilingIndex(long timestamp) {
+        int low = 0;
+        int high = _size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (_timestamps[physical(middle)] < timestamp) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Finds the first sample taken strictly after a given time.
+     *
+     * @param timestamp The time to search for.
+     * @return The index of the first sample whose timestamp is after the given time, or {@code size()} if there
+     * is none.
+     */
+    public int higherIndex(long timestamp) {
+        return timestamp == Long.MAX_VALUE ? _size : ceilingIndex(timestamp + 1);
+    }
+
+    /**
+     * Finds the sample taken at a given time.
+     *
+     * @param timestamp The time of the sample.
+     * @return The index of the sample, or {@code -1} if no sample was taken at that time.
+     */
+    public int indexOf(long timestamp) {
+        int index = ceilingIndex(timestamp);
+        return index < _size && _timestamps[physical(index)] == timestamp ? index : -1;
+    }
+
+    /**
+     * Gets the number of samples in the history.
+     *
+     * @return The number of samples.
+     */
+    @Override
+    public long size() {
+        return _size;
+    }
+
+    /**
+     * Passes the samples of a time range to a consumer, in increasing time order.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the samples.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    @Override
+    public void forEachInRange(long from, long to, SampleConsumer consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Invalid arguments");
+        int end = ceilingIndex(to);
+        for (int i = ceilingIndex(from); i < end; i++) {
+            int slot = physical(i);
+            consumer.accept(_timestamps[slot], _values[slot]);
+        }
+    }
+
+    /**
+     * Removes the samples taken before an instant, keeping the running totals of the remaining samples valid.
+     *
+     * @param timestamp The instant before which samples are no longer needed.
+     */
+    @Override
+    public void removeBefore(long timestamp) {
+        int removed = ceilingIndex(timestamp);
+        if (removed == 0) return;
+        int last = physical(removed - 1);
+        _baseSum = _runningSums[last];
+        _baseCount = _runningCounts[last];
+        _evictions += removed;
+        _head = physical(removed);
+        _size -= removed;
+        rebaseIfDue();
+    }
+
+    /**
+     * Gets the largest number of samples kept by the history.
+     *
+     * @return The capacity of the history.
+     */
+    public int capacity() {
+        return _timestamps.length;
+    }
+
+    /**
+     * Gets the timestamp of a sample.
+     *
+     * @param index The index of the sample, from {@code 0} for the oldest to {@code size() - 1} for the newest.
+     * @return The timestamp of the sample.
+     * @throws IndexOutOfBoundsException if the index is outside the history.
+     */
+    public long getTimestamp(int index) {
+        return _timestamps[checkedPhysical(index)];
+    }
+
+    /**
+     * Gets the value of a sample.
+     *
+     * @param index The index of the sample, from {@code 0} for the oldest to {@code size() - 1} for the newest.
+     * @return The value of the sample.
+     * @throws IndexOutOfBoundsException if the index is outside the history.
+     */
+    public double getValue(int index) {
+        return _values[checkedPhysical(index)];
+    }
+
+    /**
+     * Maps a logical index, counted from the oldest sample, to a position in the arrays.
+     *
+     * @param index The logical index.
+     * @return The position in the arrays.
+     */
+    private int physical(int index) {
+        int position = _head + index;
+        return position < _timestamps.length ? position : position - _timestamps.length;
+    }
+
+    /**
+     * Maps a logical index to a position in the arrays after checking that it refers to a sample.
+     *
+     * @param index The logical index.
+     * @return The position in the arrays.
+     * @throws IndexOutOfBoundsException if the index is outside the history.
+     */
+    private int checkedPhysical(int index) {
+        if (index < 0 || index >= _size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + _size);
+        return physical(index);
+    }
+
+    /**
+     * Checks that both bounds of a range lie within the history.
+     *
+     * @param from The first bound of the range.
+     * @param to   The second bound of the range.
+     * @throws IndexOutOfBoundsException if a bound is outside the history.
+     */
+    private void checkRange(int from, int to) {
+        if (from < 0 || to < 0 || from > _size || to > _size)
+            throw new IndexOutOfBoundsException("Range: [" + from + ", " + to + "), Size: " + _size);
+    }
+}
@@ -0,0 +1,168 @@
+package SmartHome.domain.sensors.history;
+
+import java.util.Arrays;
+
+/**
+ * One level of downsampling of a sensor history. Samples are folded into buckets of a fixed width, aligned on
+ * multiples of that width, and each bucket keeps the minimum, maximum, sum and count of its samples in parallel
+ * primitive arrays sorted by bucket start. Buckets are added at the end in the common case; a sample falling in
+ * an older bucket updates it in place, found by binary search.
+ *
+ * <p>The retention of a tier is the span of time, back from the newest sample, for which its buckets are kept.
+ * This class is not thread-safe.</p>
+ */
+public class RollupTier {
+    private final long _width;
+    private final long _retention;
+    private long[] _starts = new long[16];
+    private double[] _mins = new double[16];
+    private double[] _maxs = new double[16];
+    private double[] _sums = new double[16];
+    private long[] _counts = new long[16];
+    private int _first;
+    private int _end;
+
+    /**
+     * Constructs an empty RollupTier.
+     *
+     * @param width     The width of a bucket, in units of the history clock.
+     * @param retention The span of time for which buckets are kept, in units of the history clock.
+     * @throws IllegalArgumentException if the width or the retention is not positive.
+     */
+    public RollupTier(long width, long retention) {
+        if (width < 1 || retention < 1) throw new IllegalArgumentException("Invalid arguments");
+        this._width = width;
+        this._retention = retention;
+    }
+
+    /**
+     * Gets the width of a bucket.
+     *
+     * @return The width of a bucket.
+     */
+    public long getWidth() {
+        return _width;
+    }
+
+    /**
+     * Gets the span of time for which buckets are kept.
+     *
+     * @return The retention of the tier.
+     */
+    public long getRetention() {
+        return _retention;
+    }
+
+    /**
+     * Gets the number of buckets held by the tier.
+     *
+     * @return The number of buckets.
+     */
+    public int size() {
+        return _end - _first;
+    }
+
+    /**
+     * Folds a sample into the bucket that covers its time.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     */
+    public void add(long timestamp, double value) {
+        long start = Math.floorDiv(timestamp, _width) * _width;
+        int index;
+        if (_end > _first && _starts[_end - 1] == start) {
+            index = _end - 1;
+        } else if (_end == _first || _starts[_end - 1] < start) {
+            index = insertAt(_end, start);
+        } else {
+            index = Arrays.binarySearch(_starts, _first, _end, start);
+            if (index < 0) index = insertAt(-index - 1, start);
+        }
+        if (_counts[index] == 0) {
+            _mins[index] = value;
+            _maxs[index] = value;
+        } else {
+            _mins[index] = Math.min(_mins[index], value);
+            _maxs[index] = Math.max(_maxs[index], value);
+        }
+        _sums[index] += value;
+        _counts[index]++;
+    }
+
+    /**
+     * Opens an empty bucket at a position, moving the later buckets up by one.
+     *
+     * @param index The position of the new bucket.
+     * @param start The start of the new bucket.
+     * @return The position of the new bucket, which moves down if the arrays were compacted.
+     */
+    private int insertAt(int index, long start) {
+        if (_end == _starts.length) {
+            int live = _end - _first;
+            int capacity = live * 2 <= _starts.length ? _starts.length : _starts.length * 2;
+            _starts = moveLive(_starts, new long[capacity], live);
+            _mins = moveLive(_mins, new double[capacity], live);
+            _maxs = moveLive(_maxs, new double[capacity], live);
+            _sums = moveLive(_sums, new double[capacity], live);
+            _counts = moveLive(_counts, new long[capacity], live);
+            index -= _first;
+            _first = 0;
+            _end = live;
+        }
+        int moved = _end - index;
+        System.arraycopy(_starts, index, _starts, index + 1, moved);
+        System.arraycopy(_mins, index, _mins, index + 1, moved);
+        System.arraycopy(_maxs, index, _maxs, index + 1, moved);
+        System.arraycopy(_sums, index, _sums, index + 1, moved);
+        System.arraycopy(_counts, index, _counts, index + 1, moved);
+        _end++;
+        _starts[index] = start;
+        _sums[index] = 0;
+        _counts[index] = 0;
+        return index;
+    }
+
+    /**
+     * Copies the live buckets of one array to the start of another.
+     *
+     * @param source The array holding the live buckets.
+     * @param target The array to copy them to.
+     * @param live   The number of live buckets.
+     * @param <T>    The type of the arrays.
+     * @return The target array.
+     */
+    private <T> T moveLive(T source, T target, int live) {
+        System.arraycopy(source, _first, target, 0, live);
+        return target;
+    }
+
+    /**
+     * Drops the buckets that end at or before an instant.
+     *
+     * @param timestamp The instant before which buckets are no longer needed.
+     */
+    public void removeBefore(long timestamp) {
+        while (_first < _end && _starts[_first] <= timestamp - _width) _first++;
+        if (_first == _end) {
+            _first = 0;
+            _end = 0;
+        }
+    }
+
+    /**
+     * Passes the buckets that start within a time range to a consumer, in increasing time order.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the bucket summaries.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    public void forEachInRange(long from, long to, SummaryConsumer consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Invalid arguments");
+        int index = Arrays.binarySearch(_starts, _first, _end, from);
+        if (index < 0) index = -index - 1;
+        for (; index < _end && _starts[index] < to; index++)
+            consumer.accept(_starts[index], _mins[index], _maxs[index], _sums[index], _counts[index]);
+    }
+}
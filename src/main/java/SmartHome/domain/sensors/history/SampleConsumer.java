@@ -0,0 +1,16 @@
+package SmartHome.domain.sensors.history;
+
+/**
+ * Receives the samples of a sensor history one at a time, without boxing the timestamp or the value.
+ */
+@FunctionalInterface
+public interface SampleConsumer {
+
+    /**
+     * Accepts a sample.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     */
+    void accept(long timestamp, double value);
+}
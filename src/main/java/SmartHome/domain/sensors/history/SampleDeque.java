@@ -0,0 +1,131 @@
+package SmartHome.domain.sensors.history;
+
+/**
+ * Double-ended queue of samples in parallel primitive arrays used as a growable ring, so that window operators can
+ * push and pop samples at both ends without boxing. This class is not thread-safe.
+ */
+final class SampleDeque {
+    private long[] _timestamps = new long[16];
+    private double[] _values = new double[16];
+    private int _head;
+    private int _size;
+
+    /**
+     * Checks whether the deque holds no samples.
+     *
+     * @return true if the deque is empty, false otherwise.
+     */
+    boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Gets the number of samples in the deque.
+     *
+     * @return The number of samples.
+     */
+    int size() {
+        return _size;
+    }
+
+    /**
+     * Adds a sample at the back of the deque, growing the arrays when they are full.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     */
+    void addLast(long timestamp, double value) {
+        if (_size == _timestamps.length) grow();
+        int slot = (_head + _size) & (_timestamps.length - 1);
+        _timestamps[slot] = timestamp;
+        _values[slot] = value;
+        _size++;
+    }
+
+    /**
+     * Doubles the capacity of the arrays, moving the samples so that the front is at the start.
+     */
+    private void grow() {
+        int capacity = _timestamps.length;
+        long[] timestamps = new long[capacity * 2];
+        double[] values = new double[capacity * 2];
+        int first = capacity - _head;
+        System.arraycopy(_timestamps, _head, timestamps, 0, first);
+        System.arraycopy(_timestamps, 0, timestamps, first, _head);
+        System.arraycopy(_values, _head, values, 0, first);
+        System.arraycopy(_values, 0, values, first, _head);
+        _timestamps = timestamps;
+        _values = values;
+        _head = 0;
+    }
+
+    /**
+     * Gets the time of the sample at the front of the deque.
+     *
+     * @return The time of the oldest sample.
+     */
+    long firstTimestamp() {
+        return _timestamps[_head];
+    }
+
+    /**
+     * Gets the value of the sample at the front of the deque.
+     *
+     * @return The value of the oldest sample.
+     */
+    double firstValue() {
+        return _values[_head];
+    }
+
+    /**
+     * Gets the time of a sample counted from the front of the deque.
+     *
+     * @param index The position of the sample, 0 for the oldest.
+     * @return The time of the sample.
+     */
+    long timestampAt(int index) {
+        return _timestamps[(_head + index) & (_timestamps.length - 1)];
+    }
+
+    /**
+     * Gets the value of a sample counted from the front of the deque.
+     *
+     * @param index The position of the sample, 0 for the oldest.
+     * @return The value of the sample.
+     */
+    double valueAt(int index) {
+        return _values[(_head + index) & (_values.length - 1)];
+    }
+
+    /**
+     * Gets the value of the sample at the back of the deque.
+     *
+     * @return The value of the newest sample.
+     */
+    double lastValue() {
+        return _values[(_head + _size - 1) & (_values.length - 1)];
+    }
+
+    /**
+     * Removes the sample at the front of the deque.
+     */
+    void removeFirst() {
+        _head = (_head + 1) & (_timestamps.length - 1);
+        _size--;
+    }
+
+    /**
+     * Removes the sample at the back of the deque.
+     */
+    void removeLast() {
+        _size--;
+    }
+
+    /**
+     * Removes every sample, keeping the arrays for reuse.
+     */
+    void clear() {
+        _head = 0;
+        _size = 0;
+    }
+}
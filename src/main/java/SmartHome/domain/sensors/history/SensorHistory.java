@@ -0,0 +1,51 @@
+package SmartHome.domain.sensors.history;
+
+/**
+ * A store of timestamped sensor samples. Timestamps are plain {@code long} values on a clock chosen by the
+ * caller, and ranges are half-open: a range from {@code from} to {@code to} covers the samples taken at or after
+ * {@code from} and strictly before {@code to}. A history is closed when its sensor is retired, which releases the
+ * files of a persistent history; histories on the heap have nothing to release.
+ */
+public interface SensorHistory extends AutoCloseable {
+
+    /**
+     * Adds a sample to the history.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     * @return true if the sample was stored, false if the history rejected it.
+     */
+    boolean append(long timestamp, double value);
+
+    /**
+     * Gets the number of samples in the history.
+     *
+     * @return The number of samples.
+     */
+    long size();
+
+    /**
+     * Passes the samples of a time range to a consumer, in increasing time order.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the samples.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    void forEachInRange(long from, long to, SampleConsumer consumer);
+
+    /**
+     * Removes the samples taken before an instant. Implementations may release storage in whole blocks, in which
+     * case some samples older than the instant can remain until the block they share with newer samples expires.
+     *
+     * @param timestamp The instant before which samples are no longer needed.
+     */
+    void removeBefore(long timestamp);
+
+    /**
+     * Releases the resources held by the history. The history must not be used afterwards.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,124 @@
+package SmartHome.domain.sensors.history;
+
+/**
+ * Streaming operator that keeps the minimum, maximum, sum and count of the samples of a window sliding with the
+ * newest sample, and passes them to a {@link SummaryConsumer} after every sample. The window ending at a sample
+ * taken at {@code t} holds the samples taken after {@code t - width}, up to and including {@code t}.
+ *
+ * <p>The sum and the count are kept as running totals. The minimum and the maximum are the front of two monotonic
+ * deques: each new sample removes the samples it dominates from the back, and samples leave the front as the window
+ * slides past them, so every sample is pushed and popped at most once and the cost per sample is {@code O(1)}
+ * amortized whatever the width. Samples must arrive in time order: a sample older than the newest one is rejected,
+ * so out-of-order sources should be put behind a {@link ReorderingHistory}. A sample taken at the time of the newest
+ * one replaces it, as the histories do, so a corrected reading is counted once; the deques are then rebuilt from the
+ * samples of the window, which costs {@code O(n)} in the samples held. This class is not thread-safe.</p>
+ */
+public class SlidingWindow implements SampleConsumer {
+    private final long _width;
+    private final SummaryConsumer _downstream;
+    private final SampleDeque _samples = new SampleDeque();
+    private final SampleDeque _minima = new SampleDeque();
+    private final SampleDeque _maxima = new SampleDeque();
+    private double _sum;
+    private long _newest = Long.MIN_VALUE;
+
+    /**
+     * Constructs a SlidingWindow.
+     *
+     * @param width      The span of time covered by the window.
+     * @param downstream The consumer of the summary of the window after each sample.
+     * @throws IllegalArgumentException if the width is not positive or the consumer is null.
+     */
+    public SlidingWindow(long width, SummaryConsumer downstream) {
+        if (width < 1 || downstream == null) throw new IllegalArgumentException("Invalid arguments");
+        this._width = width;
+        this._downstream = downstream;
+    }
+
+    /**
+     * Slides the window to a sample, drops the samples that fall out of it and emits the summary of the window. A
+     * sample taken at the time of the newest one replaces it.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     * @return true if the sample was added, false if it is older than the newest sample.
+     */
+    public boolean add(long timestamp, double value) {
+        if (timestamp < _newest) return false;
+        if (timestamp == _newest && !_samples.isEmpty()) removeNewest();
+        _newest = timestamp;
+        pushExtremes(timestamp, value);
+        _samples.addLast(timestamp, value);
+        _sum += value;
+        long start = timestamp < Long.MIN_VALUE + _width ? Long.MIN_VALUE : timestamp - _width + 1;
+        evictBefore(start);
+        _downstream.accept(start, _minima.firstValue(), _maxima.firstValue(), _sum, _samples.size());
+        return true;
+    }
+
+    /**
+     * Pushes a sample onto the back of the deques of minima and maxima, removing the samples it dominates.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     */
+    private void pushExtremes(long timestamp, double value) {
+        while (!_maxima.isEmpty() && _maxima.lastValue() <= value)
+            _maxima.removeLast();
+        _maxima.addLast(timestamp, value);
+        while (!_minima.isEmpty() && _minima.lastValue() >= value)
+            _minima.removeLast();
+        _minima.addLast(timestamp, value);
+    }
+
+    /**
+     * Removes the newest sample from the window. The samples it dominated were already popped from the deques, so
+     * these are rebuilt from the samples left.
+     */
+    private void removeNewest() {
+        _sum -= _samples.lastValue();
+        _samples.removeLast();
+        if (_samples.isEmpty()) _sum = 0;
+        _minima.clear();
+        _maxima.clear();
+        for (int i = 0; i < _samples.size(); i++)
+            pushExtremes(_samples.timestampAt(i), _samples.valueAt(i));
+    }
+
+    /**
+     * Removes the samples taken before the start of the window from the running totals and the deques.
+     *
+     * @param start The earliest time still in the window.
+     */
+    private void evictBefore(long start) {
+        while (_samples.firstTimestamp() < start) {
+            _sum -= _samples.firstValue();
+            _samples.removeFirst();
+        }
+        if (_samples.size() == 1) _sum = _samples.firstValue();
+        while (_minima.firstTimestamp() < start)
+            _minima.removeFirst();
+        while (_maxima.firstTimestamp() < start)
+            _maxima.removeFirst();
+    }
+
+    /**
+     * Adds a sample to the window; a sample older than the newest one is ignored and one at its time replaces it.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     */
+    @Override
+    public void accept(long timestamp, double value) {
+        add(timestamp, value);
+    }
+
+    /**
+     * Gets the span of time covered by the window.
+     *
+     * @return The width of the window.
+     */
+    public long getWidth() {
+        return _width;
+    }
+}
@@ -0,0 +1,19 @@
+package SmartHome.domain.sensors.history;
+
+/**
+ * Receives the summaries of a rolled-up sensor history one bucket at a time, without boxing.
+ */
+@FunctionalInterface
+public interface SummaryConsumer {
+
+    /**
+     * Accepts the summary of a bucket.
+     *
+     * @param start The start of the bucket.
+     * @param min   The smallest value in the bucket.
+     * @param max   The largest value in the bucket.
+     * @param sum   The sum of the values in the bucket.
+     * @param count The number of values in the bucket.
+     */
+    void accept(long start, double min, double max, double sum, long count);
+}
@@ -0,0 +1,208 @@
+package SmartHome.domain.sensors.history;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sensor history that keeps raw samples for a limited time and rolls them up into coarser {@link RollupTier}s as
+ * they arrive. Every accepted sample is stored in the raw history and folded into each tier; after each sample,
+ * the raw history and every tier drop what falls outside their own retention, measured back from the newest
+ * sample. A sample at the time of a raw sample already held is rejected rather than replacing it, so the buckets
+ * never count a value the raw history no longer holds. A summary query reads the coarsest tier whose buckets are no wider than the requested resolution, so a
+ * report spanning months reads day buckets and never touches raw samples. A tier cannot answer for the part of a
+ * range that lies beyond its retention, so a summary query is clipped to the retained part and reports where that
+ * part starts.
+ *
+ * <p>{@link #withDefaultTiers(SensorHistory)} builds the usual layout for a nanosecond clock: raw samples for a
+ * day, one-minute buckets for a week, one-hour buckets for 90 days and one-day buckets for ten years. This class is
+ * not thread-safe.</p>
+ */
+public class TieredHistory implements SensorHistory {
+    private static final long RAW_RETENTION = TimeUnit.DAYS.toNanos(1);
+    private static final long MINUTE_RETENTION = TimeUnit.DAYS.toNanos(7);
+    private static final long HOUR_RETENTION = TimeUnit.DAYS.toNanos(90);
+    private static final long DAY_RETENTION = TimeUnit.DAYS.toNanos(3650);
+
+    private final SensorHistory _raw;
+    private final long _rawRetention;
+    private final RollupTier[] _tiers;
+    private long _newest = Long.MIN_VALUE;
+
+    /**
+     * Constructs a TieredHistory.
+     *
+     * @param raw          The history that holds the raw samples.
+     * @param rawRetention The span of time for which raw samples are kept.
+     * @param tiers        The rollup tiers fed by the samples.
+     * @throws IllegalArgumentException if the raw history or a tier is null, the raw retention is not positive, or
+     *                                  two tiers have the same width.
+     */
+    public TieredHistory(SensorHistory raw, long rawRetention, RollupTier... tiers) {
+        if (raw == null || rawRetention < 1 || tiers == null) throw new IllegalArgumentException("Invalid arguments");
+        RollupTier[] sorted = tiers.clone();
+        for (RollupTier tier : sorted)
+            if (tier == null) throw new IllegalArgumentException("Invalid arguments");
+        Arrays.sort(sorted, Comparator.comparingLong(RollupTier::getWidth));
+        for (int i = 1; i < sorted.length; i++)
+            if (sorted[i].getWidth() == sorted[i - 1].getWidth()) throw new IllegalArgumentException("Invalid arguments");
+        this._raw = raw;
+        this._rawRetention = rawRetention;
+        this._tiers = sorted;
+    }
+
+    /**
+     * Builds a TieredHistory with one-minute, one-hour and one-day tiers for a history whose timestamps are in
+     * nanoseconds.
+     *
+     * @param raw The history that holds the raw samples.
+     * @return The tiered history.
+     * @throws IllegalArgumentException if the raw history is null.
+     */
+    public static TieredHistory withDefaultTiers(SensorHistory raw) {
+        return new TieredHistory(raw, RAW_RETENTION,
+                new RollupTier(TimeUnit.MINUTES.toNanos(1), MINUTE_RETENTION),
+                new RollupTier(TimeUnit.HOURS.toNanos(1), HOUR_RETENTION),
+                new RollupTier(TimeUnit.DAYS.toNanos(1), DAY_RETENTION));
+    }
+
+    /**
+     * Stores a sample in the raw history and, if it is accepted, folds it into every tier that still covers its
+     * time. Expired raw samples and buckets are then dropped. A sample at the time of a raw sample still held is
+     * rejected before it reaches the raw history, even if that history would replace the sample, as a
+     * {@link RingBufferHistory} does: the buckets already hold the old value and cannot take it back.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     * @return true if the raw history accepted the sample, false if it rejected it or already holds a sample at
+     * that time.
+     */
+    @Override
+    public boolean append(long timestamp, double value) {
+        if (timestamp <= _newest && holdsRawSampleAt(timestamp)) return false;
+        if (!_raw.append(timestamp, value)) return false;
+        _newest = Math.max(_newest, timestamp);
+        for (RollupTier tier : _tiers) {
+            long cutoff = cutoff(tier.getRetention());
+            if (timestamp >= cutoff) tier.add(timestamp, value);
+            tier.removeBefore(cutoff);
+        }
+        _raw.removeBefore(cutoff(_rawRetention));
+        return true;
+    }
+
+    /**
+     * Checks whether the raw history holds a sample at a time. Only a sample that is not newer than every sample
+     * seen can collide with one, so the check is skipped for samples arriving in order.
+     *
+     * @param timestamp The time.
+     * @return true if a raw sample has that time, false otherwise.
+     */
+    private boolean holdsRawSampleAt(long timestamp) {
+        boolean[] held = new boolean[1];
+        long to = timestamp == Long.MAX_VALUE ? timestamp : timestamp + 1;
+        _raw.forEachInRange(timestamp, to, (time, value) -> held[0] |= time == timestamp);
+        return held[0];
+    }
+
+    /**
+     * Gets the instant a retention reaches back to from the newest sample.
+     *
+     * @param retention The retention.
+     * @return The oldest instant still retained, or {@link Long#MIN_VALUE} if the retention reaches past the start
+     * of the clock.
+     */
+    private long cutoff(long retention) {
+        return _newest < Long.MIN_VALUE + retention ? Long.MIN_VALUE : _newest - retention;
+    }
+
+    /**
+     * Gets the number of raw samples still held.
+     *
+     * @return The number of raw samples.
+     */
+    @Override
+    public long size() {
+        return _raw.size();
+    }
+
+    /**
+     * Passes the raw samples of a time range to a consumer. Samples older than the raw retention are no longer
+     * available; use {@link #forEachSummary(long, long, long, SummaryConsumer)} for longer ranges.
+     *
+     * @param from     The start of the range, inclusive.
+     * @param to       The end of the range, exclusive.
+     * @param consumer The consumer of the samples.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    @Override
+    public void forEachInRange(long from, long to, SampleConsumer consumer) {
+        _raw.forEachInRange(from, to, consumer);
+    }
+
+    /**
+     * Drops the raw samples and the buckets of every tier that lie before an instant.
+     *
+     * @param timestamp The instant before which data is no longer needed.
+     */
+    @Override
+    public void removeBefore(long timestamp) {
+        _raw.removeBefore(timestamp);
+        for (RollupTier tier : _tiers)
+            tier.removeBefore(timestamp);
+    }
+
+    /**
+     * Passes summaries of a time range to a consumer at the coarsest available resolution that is not coarser than
+     * requested. The summaries come from the widest tier whose buckets are no wider than the resolution, one per
+     * bucket starting in the range; if every tier is wider, each raw sample is passed as a summary of its own.
+     *
+     * <p>The range is clipped to the data the chosen level still retains: the buckets from the one that holds the
+     * retention cutoff of the tier, or the raw samples within the raw retention. The returned instant tells the
+     * caller where the answered part starts, so a range reaching further back can be completed at a coarser
+     * resolution.</p>
+     *
+     * @param from       The start of the range, inclusive.
+     * @param to         The end of the range, exclusive.
+     * @param resolution The widest bucket the caller accepts.
+     * @param consumer   The consumer of the summaries.
+     * @return The start of the part of the range that was answered, which is {@code from} unless the range reaches
+     * beyond the retention; a value at or after {@code to} means that no part of the range is retained.
+     * @throws IllegalArgumentException if the consumer is null.
+     */
+    public long forEachSummary(long from, long to, long resolution, SummaryConsumer consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Invalid arguments");
+        RollupTier tier = tierFor(resolution);
+        if (tier != null) {
+            long cutoff = cutoff(tier.getRetention());
+            long retained = cutoff == Long.MIN_VALUE ? cutoff : Math.floorDiv(cutoff, tier.getWidth()) * tier.getWidth();
+            long start = Math.max(from, retained);
+            tier.forEachInRange(start, to, consumer);
+            return start;
+        }
+        long start = Math.max(from, cutoff(_rawRetention));
+        _raw.forEachInRange(start, to, (timestamp, value) -> consumer.accept(timestamp, value, value, value, 1));
+        return start;
+    }
+
+    /**
+     * Finds the widest tier whose buckets are no wider than a resolution.
+     *
+     * @param resolution The widest bucket accepted.
+     * @return The tier, or {@code null} if every tier is wider than the resolution.
+     */
+    RollupTier tierFor(long resolution) {
+        RollupTier chosen = null;
+        for (RollupTier tier : _tiers)
+            if (tier.getWidth() <= resolution) chosen = tier;
+        return chosen;
+    }
+
+    /**
+     * Closes the raw history. The tiers live on the heap and have nothing to release.
+     */
+    @Override
+    public void close() {
+        _raw.close();
+    }
+}
@@ -0,0 +1,92 @@
+package SmartHome.domain.sensors.history;
+
+/**
+ * Streaming operator that summarizes samples in consecutive, non-overlapping windows aligned to multiples of their
+ * width, and passes the minimum, maximum, sum and count of each window to a {@link SummaryConsumer} as soon as a
+ * sample of a later window arrives. Only the totals of the open window are kept, so the cost per sample is
+ * {@code O(1)} and the memory is constant. Windows without samples are not emitted.
+ *
+ * <p>Samples must arrive in time order: a sample of a window that was already emitted is rejected, so out-of-order
+ * sources should be put behind a {@link ReorderingHistory}. This class is not thread-safe.</p>
+ */
+public class TumblingWindow implements SampleConsumer {
+    private final long _width;
+    private final SummaryConsumer _downstream;
+    private boolean _open;
+    private long _start;
+    private long _closedBefore = Long.MIN_VALUE;
+    private double _min;
+    private double _max;
+    private double _sum;
+    private long _count;
+
+    /**
+     * Constructs a TumblingWindow.
+     *
+     * @param width      The span of time covered by each window.
+     * @param downstream The consumer of the summary of each window.
+     * @throws IllegalArgumentException if the width is not positive or the consumer is null.
+     */
+    public TumblingWindow(long width, SummaryConsumer downstream) {
+        if (width < 1 || downstream == null) throw new IllegalArgumentException("Invalid arguments");
+        this._width = width;
+        this._downstream = downstream;
+    }
+
+    /**
+     * Adds a sample to its window, first emitting the open window if the sample belongs to a later one.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     * @return true if the sample was added, false if its window was already emitted.
+     */
+    public boolean add(long timestamp, double value) {
+        if (timestamp < _closedBefore) return false;
+        long start = Math.floorDiv(timestamp, _width) * _width;
+        if (_open && start != _start) flush();
+        if (!_open) {
+            _open = true;
+            _start = start;
+            _min = value;
+            _max = value;
+            _sum = 0;
+            _count = 0;
+        }
+        _min = Math.min(_min, value);
+        _max = Math.max(_max, value);
+        _sum += value;
+        _count++;
+        return true;
+    }
+
+    /**
+     * Adds a sample to its window; a sample of a window that was already emitted is ignored.
+     *
+     * @param timestamp The time of the sample.
+     * @param value     The value of the sample.
+     */
+    @Override
+    public void accept(long timestamp, double value) {
+        add(timestamp, value);
+    }
+
+    /**
+     * Emits the open window, if any, without waiting for a sample of a later window. Samples of that window are
+     * rejected from then on.
+     */
+    public void flush() {
+        if (!_open) return;
+        _open = false;
+        _closedBefore = _start + _width;
+        _downstream.accept(_start, _min, _max, _sum, _count);
+    }
+
+    /**
+     * Gets the span of time covered by each window.
+     *
+     * @return The width of the windows.
+     */
+    public long getWidth() {
+        return _width;
+    }
+}
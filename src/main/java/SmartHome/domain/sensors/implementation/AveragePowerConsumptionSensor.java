@@ -1,25 +1,61 @@
 package SmartHome.domain.sensors.implementation;
 
+import SmartHome.domain.constants.Constants;
 import SmartHome.domain.sensors.Sensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
+import SmartHome.domain.sensors.SensorReadings;
+import SmartHome.domain.sensors.history.EpochNanos;
+import SmartHome.domain.sensors.history.HistoryBackend;
+import SmartHome.domain.sensors.history.IndexedHistory;
+import SmartHome.domain.sensors.history.PartitionedHistory;
+import SmartHome.domain.sensors.history.QuantileSketch;
+import SmartHome.domain.sensors.history.SampleConsumer;
+import SmartHome.domain.sensors.history.SensorHistory;
+import SmartHome.domain.sensors.history.SlidingWindow;
+import SmartHome.domain.sensors.history.TumblingWindow;
+import SmartHome.domain.sensors.history.RingBufferHistory;
 import SmartHome.domain.values.ValueFactory;
 import SmartHome.domain.values.implementation.WValue;
 
+import java.time.Instant;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 
 
 /**
- * Represents a sensor for measuring average power consumption over a period of time.
+ * Represents a sensor for measuring average power consumption over a period of time. Readings are keyed by epoch
+ * time and kept in a {@link PartitionedHistory} with one {@link RingBufferHistory} per day, for the
+ * {@link Constants#POWER_HISTORY_DAYS} newest days; opening a newer day drops the oldest one. The ring of a day is
+ * sized when the day opens, from the shortest interval seen so far between consecutive readings, to hold a whole
+ * day at that cadence: at least {@link Constants#POWER_HISTORY_CAPACITY} readings, the day of a sensor read every
+ * minute, and at most {@link Constants#POWER_HISTORY_MAX_CAPACITY}. Memory stays bounded by the number of days
+ * times the largest ring. Once a day is full, each new reading of that day replaces its oldest one, which only
+ * happens on the first day of a sensor faster than a minute or above the largest ring. A period query visits only the days it overlaps, finds its bounds in each by binary
+ * search and reads the sum and the count of non-zero readings from the running totals of the day, so its cost does
+ * not depend on how many readings fall inside the period.
+ *
+ * <p>The {@link Instant} methods record and query readings on their real date. The {@link LocalTime} methods
+ * have no date and use the reference day of {@link EpochNanos#of(LocalTime)}.</p>
+ *
+ * <p>Percentiles of every reading ingested come from the {@link QuantileSketch} kept by {@link SensorReadings}, which
+ * can be merged with the sketches of other sensors into device, room and house percentiles. Every accepted reading
+ * is also passed to the registered reading listeners.</p>
+ *
+ * <p>Once the device accepts the sensor, the readings are also written to the history its {@link HistoryBackend}
+ * creates, through an {@link IndexedHistory}: the backend holds the readings, on disk for a mapped backend, and the
+ * days above stay on the heap as the index whose running totals answer the period queries. Readings the backend
+ * already held for the sensor are loaded into the days when it is opened.</p>
  */
+@SensorModel(functionality = SensorFunctionality.Power_Consumption, valueType = WValue.class)
 public class AveragePowerConsumptionSensor implements Sensor {
     private String _name;
     private SensorFunctionality _sensorFunctionality = SensorFunctionality.Power_Consumption;
-    private Map<LocalTime, WValue> _data = new LinkedHashMap<>();
+    private PartitionedHistory<RingBufferHistory> _history = newDays();
+    private long _lastTime = Long.MIN_VALUE;
+    private long _shortestInterval = Long.MAX_VALUE;
+    private final SensorReadings _readings = new SensorReadings(_history);
+    private final String _measurementUnit = new WValue().getMeasurementUnit();
 
     /**
      * Constructs an AveragePowerConsumptionSensor with the provided parameters.
@@ -37,93 +73,195 @@ public class AveragePowerConsumptionSensor implements Sensor {
     }
 
     /**
-     * Gets the average power consumption reading over a specified period of time.
+     * Gets the average power consumption reading over a specified period of time. Readings of zero are not
+     * taken into account.
      *
-     * @param start The start time of the period.
-     * @param end   The end time of the period.
+     * @param start The start time of the period, exclusive.
+     * @param end   The end time of the period, exclusive.
      * @return The average power consumption reading, or "No readings to show" if no data is available.
      */
     public String getReading(LocalTime start, LocalTime end) {
-        List<WValue> readingsInAGivenPeriod = getReadingsInAPeriodOfTime(start, end);
-        if (readingsInAGivenPeriod.isEmpty()) return "No readings to show";
-        return getAveragePowerConsumption(readingsInAGivenPeriod);
+        return getAverage(EpochNanos.of(start), EpochNanos.of(end));
     }
 
-
     /**
-     * Calculates the average power consumption from a list of readings.
+     * Gets the average power consumption reading between two instants. Readings of zero are not taken into
+     * account.
      *
-     * @param readings The list of power consumption readings.
-     * @return The average power consumption value.
+     * @param start The start of the period, exclusive.
+     * @param end   The end of the period, exclusive.
+     * @return The average power consumption reading, or "No readings to show" if no data is available.
      */
-    private String getAveragePowerConsumption(List<WValue> readings) {
-        double totalPower = 0;
-        String unit = "";
-        for (WValue reading : readings) {
-            String value = removeMeasurementUnit(reading);
-            double numericValue = Double.parseDouble(value);
-            totalPower += numericValue;
-            unit = reading.getMeasurementUnit();
-        }
-
-        double averageReading = totalPower / readings.size();
-        return averageReading + unit;
+    public String getReading(Instant start, Instant end) {
+        return getAverage(EpochNanos.of(start), EpochNanos.of(end));
     }
 
     /**
-     * Retrieves the readings recorded during a specified period of time.
+     * Computes the average of the non-zero readings strictly between two epoch times, adding up the running totals
+     * of every day the period overlaps.
      *
-     * @param start The start time of the period.
-     * @param end   The end time of the period.
-     * @return A list of power consumption readings within the specified time period.
+     * @param start The start of the period in epoch nanoseconds, exclusive.
+     * @param end   The end of the period in epoch nanoseconds, exclusive.
+     * @return The average power consumption reading, or "No readings to show" if no data is available.
      */
-    private List<WValue> getReadingsInAPeriodOfTime(LocalTime start, LocalTime end) {
-        List<WValue> readingsInAGivenPeriod = new ArrayList<>();
-        for (Map.Entry<LocalTime, WValue> set : _data.entrySet()) {
-            if (set.getKey().isAfter(start) && set.getKey().isBefore(end)) {
-                addReadingToList(set.getValue(), readingsInAGivenPeriod);
-            }
+    private String getAverage(long start, long end) {
+        double[] totalPower = new double[1];
+        int[] readings = new int[1];
+        if (start < end) {
+            _history.forEachSegment(start, end, day -> {
+                int from = day.higherIndex(start);
+                int to = Math.max(from, day.ceilingIndex(end));
+                totalPower[0] += day.sum(from, to);
+                readings[0] += day.countNonZero(from, to);
+            });
         }
-        return readingsInAGivenPeriod;
+        if (readings[0] == 0) return "No readings to show";
+        return totalPower[0] / readings[0] + _measurementUnit;
     }
 
     /**
-     * Adds a reading to the list if it meets certain conditions.
+     * Adds a power consumption reading to the sensor's data. The value of the reading is copied into the history,
+     * so later changes to the reading object do not affect the stored data. A reading taken at the time of an
+     * earlier one replaces it.
      *
-     * @param instantValue The reading value to add.
-     * @param readings     The list of readings.
+     * @param reading The power consumption reading.
+     * @param time    The time at which the reading was recorded.
+     * @return true if the reading was added successfully, false otherwise.
      */
-    private void addReadingToList(WValue instantValue, List<WValue> readings) {
-        if(Double.parseDouble(removeMeasurementUnit(instantValue)) != 0.0
-                && instantValue.toString() != null) {
-            readings.add(instantValue);
-        }
+    public boolean addReading(WValue reading, LocalTime time) {
+        if (reading == null || time == null) return false;
+        return addReading(reading, EpochNanos.of(time));
     }
 
     /**
-     * Removes the measurement unit from a reading.
+     * Adds a power consumption reading taken at an instant. The value of the reading is copied into the history,
+     * and a reading taken at the instant of an earlier one replaces it.
      *
-     * @param reading The reading value.
-     * @return The reading value without the measurement unit.
+     * @param reading The power consumption reading.
+     * @param time    The instant at which the reading was recorded.
+     * @return true if the reading was added successfully, false otherwise.
      */
-    private String removeMeasurementUnit(WValue reading) {
-        String value = reading.toString();
-        String unit = reading.getMeasurementUnit();
-        return value.trim().replace(unit, "");
+    public boolean addReading(WValue reading, Instant time) {
+        if (reading == null || time == null) return false;
+        return addReading(reading, EpochNanos.of(time));
     }
 
     /**
-     * Adds a power consumption reading to the sensor's data.
+     * Stores a reading in the history. The interval since the
+     * previous reading is measured first, so that a day opened by this reading is already sized for the cadence.
      *
      * @param reading The power consumption reading.
-     * @param time    The time at which the reading was recorded.
+     * @param time    The time of the reading in epoch nanoseconds.
      * @return true if the reading was added successfully, false otherwise.
      */
-    public boolean addReading(WValue reading, LocalTime time) {
-        if(Double.parseDouble(removeMeasurementUnit(reading)) == 0.0
-                && reading.toString() == null) return false;
-        _data.put(time, reading);
-        return  true;
+    private boolean addReading(WValue reading, long time) {
+        if (_lastTime != Long.MIN_VALUE && time > _lastTime)
+            _shortestInterval = Math.min(_shortestInterval, time - _lastTime);
+        _lastTime = time;
+        return _readings.record(time, reading.getDouble());
+    }
+
+    /**
+     * Creates the days in which the readings are indexed.
+     *
+     * @return An empty history of {@link Constants#POWER_HISTORY_DAYS} days.
+     */
+    private PartitionedHistory<RingBufferHistory> newDays() {
+        return new PartitionedHistory<>(PartitionedHistory.DAY, () -> new RingBufferHistory(dayCapacity()),
+                Constants.POWER_HISTORY_DAYS);
+    }
+
+    /**
+     * Gets the capacity of the ring of a new day: the number of readings in a day at the shortest interval seen,
+     * within the bounds of the constants.
+     *
+     * @return The capacity of the ring.
+     */
+    private int dayCapacity() {
+        long readingsPerDay = PartitionedHistory.DAY / _shortestInterval
+                + (PartitionedHistory.DAY % _shortestInterval == 0 ? 0 : 1);
+        return (int) Math.max(Constants.POWER_HISTORY_CAPACITY,
+                Math.min(Constants.POWER_HISTORY_MAX_CAPACITY, readingsPerDay));
+    }
+
+    /**
+     * Registers a listener to be passed every reading accepted from now on, with its time in epoch nanoseconds,
+     * such as a {@link SlidingWindow} or a {@link TumblingWindow} feeding an alert.
+     *
+     * @param listener The listener to register.
+     * @throws IllegalArgumentException if the listener is null.
+     */
+    public void addReadingListener(SampleConsumer listener) {
+        _readings.addListener(listener);
+    }
+
+    /**
+     * Opens the history of the readings with a backend. The store of the backend is put behind new days of
+     * readings, which are loaded with the readings the store holds and then with those recorded so far.
+     *
+     * @param backend The backend that creates the store of the readings.
+     * @param path    The names that identify the sensor, outermost first.
+     * @throws IllegalArgumentException if the backend is null.
+     * @throws IllegalStateException    if the history was already opened, or the backend cannot open it.
+     */
+    @Override
+    public void openHistory(HistoryBackend backend, String... path) {
+        if (backend == null) throw new IllegalArgumentException("Invalid arguments");
+        PartitionedHistory<RingBufferHistory> days = newDays();
+        _readings.open(new IndexedHistory(backend.create(path), days));
+        _history = days;
+    }
+
+    /**
+     * Closes the history of the readings, releasing the store of the backend.
+     */
+    @Override
+    public void closeHistory() {
+        _readings.close();
+    }
+
+    /**
+     * Gets the days in which the readings of the sensor are indexed.
+     *
+     * @return The history of the readings.
+     */
+    @Override
+    public SensorHistory getHistory() {
+        return _history;
+    }
+
+    /**
+     * Gets a percentile of the readings ingested, estimated within 1% of the true value.
+     *
+     * @param quantile The fraction of readings at or below the percentile, from 0 to 1.
+     * @return The percentile reading, or "No readings to show" if no data is available.
+     * @throws IllegalArgumentException if the quantile is not between 0 and 1.
+     */
+    public String getPercentileReading(double quantile) {
+        double percentile = _readings.getPercentile(quantile);
+        if (Double.isNaN(percentile)) return "No readings to show";
+        return percentile + _measurementUnit;
+    }
+
+    /**
+     * Merges the sketch of the readings ingested into another sketch.
+     *
+     * @param sketch The sketch to merge into.
+     * @throws IllegalArgumentException if the sketch is null.
+     */
+    @Override
+    public void mergeReadingsInto(QuantileSketch sketch) {
+        _readings.mergeInto(sketch);
+    }
+
+    /**
+     * Drops the days of readings that ended at or before an instant. Days older than the
+     * {@link Constants#POWER_HISTORY_DAYS} newest ones are dropped without being asked.
+     *
+     * @param time The instant before which readings are no longer needed.
+     */
+    public void removeReadingsBefore(Instant time) {
+        _readings.removeBefore(EpochNanos.of(time));
     }
 
     /**
@@ -4,12 +4,14 @@ import SmartHome.domain.actuators.implementation.SwitchOnOffActuator;
 import SmartHome.domain.sensors.Sensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
 import SmartHome.domain.values.ValueFactory;
 
 /**
  * Represents a binary switch sensor that reads the status of a SwitchOnOffActuator.
  */
 
+@SensorModel(functionality = SensorFunctionality.Binary_Switch)
 public class BinarySwitch implements Sensor {
     private final SensorFunctionality _sensorFunctionality = SensorFunctionality.Binary_Switch;
     private String _name;
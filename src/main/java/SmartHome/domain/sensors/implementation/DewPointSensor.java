@@ -3,12 +3,15 @@ package SmartHome.domain.sensors.implementation;
 import SmartHome.domain.sensors.Sensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
 import SmartHome.domain.values.Value;
 import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.CelsiusValue;
 
 /**
  * Represents a sensor that measures the dew point.
  */
+@SensorModel(functionality = SensorFunctionality.DewPoint, valueType = CelsiusValue.class)
 public class DewPointSensor implements Sensor {
     private final String _name;
     private final SensorFunctionality _sensorFunctionality = SensorFunctionality.DewPoint;
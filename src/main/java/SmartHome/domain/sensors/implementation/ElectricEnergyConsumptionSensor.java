@@ -3,22 +3,46 @@ package SmartHome.domain.sensors.implementation;
 import SmartHome.domain.sensors.Sensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
+import SmartHome.domain.sensors.SensorReadings;
+import SmartHome.domain.sensors.history.EnergyMeterHistory;
+import SmartHome.domain.sensors.history.EpochNanos;
+import SmartHome.domain.sensors.history.HistoryBackend;
+import SmartHome.domain.sensors.history.IndexedHistory;
+import SmartHome.domain.sensors.history.SampleConsumer;
+import SmartHome.domain.sensors.history.SensorHistory;
+import SmartHome.domain.sensors.history.SlidingWindow;
+import SmartHome.domain.sensors.history.TumblingWindow;
 import SmartHome.domain.values.Value;
 import SmartHome.domain.values.ValueFactory;
 import SmartHome.domain.values.implementation.WhValue;
 
+import java.time.Instant;
 import java.time.LocalTime;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 /**
- * Represents a sensor that measures electric energy consumption.
+ * Represents a sensor that measures electric energy consumption. The sensor behaves as a cumulative meter: each
+ * reading is the total energy counted so far, and readings are kept in a delta-encoded {@link EnergyMeterHistory}
+ * keyed by epoch time. The consumption between any two instants covered by the readings is found in
+ * {@code O(log n)}, interpolating linearly between readings.
+ *
+ * <p>The meter is a single counter whose consumption is interpolated across midnight, so its readings stay in one
+ * history spanning as many days as needed rather than in day partitions. The {@link Instant} methods record and
+ * query readings on their real date; the {@link LocalTime} methods have no date and use the reference day of
+ * {@link EpochNanos#of(LocalTime)}, so the two should not be mixed on one sensor.</p>
+ *
+ * <p>Once the device accepts the sensor, the meter readings are also written to the history its
+ * {@link HistoryBackend} creates, through an {@link IndexedHistory}. The backend holds the readings and the
+ * {@link EnergyMeterHistory} stays on the heap as the index that interpolates the consumption; readings the backend
+ * already held for the sensor are loaded into it when it is opened.</p>
  */
+@SensorModel(functionality = SensorFunctionality.Energy_Consumption, valueType = WhValue.class)
 public class ElectricEnergyConsumptionSensor implements Sensor {
     private final String _name;
     private final SensorFunctionality _sensorFunctionality = SensorFunctionality.Energy_Consumption;
     private Value _currentValue;
-    private Map<LocalTime, WhValue> _data = new LinkedHashMap<>();
+    private EnergyMeterHistory _history = new EnergyMeterHistory();
+    private final SensorReadings _readings = new SensorReadings(_history);
 
     /**
      * Constructs an ElectricEnergyConsumptionSensor with the provided parameters.
@@ -37,85 +61,144 @@ public class ElectricEnergyConsumptionSensor implements Sensor {
     }
 
     /**
-     * Gets the reading at a given time.
+     * Gets the energy consumed over a specified time period, interpolating between readings when the period does
+     * not start or end exactly at a reading.
      *
-     * @param time The time at which the reading is requested.
-     * @return The reading value at the specified time.
+     * @param start The start time of the period.
+     * @param end   The end time of the period.
+     * @return The energy consumption over the specified time period, or a message explaining why it cannot be
+     * computed.
      */
-    private double getReadingInAGivenTime(LocalTime time) {
-        double readingValue = 0;
-        for (Map.Entry<LocalTime, WhValue> entry : _data.entrySet()) {
-            if (entry.getKey().equals(time)) {
-                WhValue value = entry.getValue();
-                String startnumericvalue = removeMeasurementUnit(value);
-                readingValue = Double.parseDouble(startnumericvalue);
-            }
+    public String getReading(LocalTime start, LocalTime end) {
+        if (_history.size() < 2) {
+            return "There should be at least two readings";
+        }
+        if (start == null || end == null) {
+            return "Invalid time period";
         }
-        return readingValue;
+        return getConsumption(EpochNanos.of(start), EpochNanos.of(end));
     }
 
     /**
-     * Gets the reading of the sensor over a specified time period.
+     * Gets the energy consumed between two instants, interpolating between readings when the period does not start
+     * or end exactly at a reading.
      *
-     * @param start The start time of the period.
-     * @param end   The end time of the period.
-     * @return The energy consumption reading over the specified time period.
+     * @param start The start of the period.
+     * @param end   The end of the period.
+     * @return The energy consumption over the specified period, or a message explaining why it cannot be computed.
      */
-    public String getReading(LocalTime start, LocalTime end) {
-        if (_data.size() != 2) {
-            return "There should be exactly two readings";
+    public String getReading(Instant start, Instant end) {
+        if (_history.size() < 2) {
+            return "There should be at least two readings";
         }
-        if (start == null || end == null || start.isAfter(end)) {
+        if (start == null || end == null) {
             return "Invalid time period";
         }
-        return getEnergyConsumptionOverAPeriod(start, end);
+        return getConsumption(EpochNanos.of(start), EpochNanos.of(end));
     }
 
     /**
-     * Gets the total energy consumption over a period of time.
+     * Gets the energy consumed between two epoch times covered by the readings.
      *
-     * @param startTime The start time of the period.
-     * @param endTime   The end time of the period.
-     * @return The total energy consumption over the specified period.
+     * @param start The start of the period in epoch nanoseconds.
+     * @param end   The end of the period in epoch nanoseconds.
+     * @return The energy consumption over the period, or "Invalid time period" if the period is reversed or not
+     * covered by the readings.
      */
-    private String getEnergyConsumptionOverAPeriod(LocalTime startTime, LocalTime endTime) {
-        String unit = " Wh";
+    private String getConsumption(long start, long end) {
+        if (start > end || start < _history.getFirstTimestamp() || end > _history.getLastTimestamp()) {
+            return "Invalid time period";
+        }
+        return _history.consumption(start, end) + " Wh";
+    }
 
-        double startReadingValue = getReadingInAGivenTime(startTime);
-        double endReadingValue = getReadingInAGivenTime(endTime);
+    /**
+     * Adds a meter reading to the sensor's data. The value of the reading is copied into the history. Readings
+     * must arrive in time order and must not be below the previous reading.
+     *
+     * @param reading The cumulative energy reading to be added.
+     * @param time    The time at which the reading was recorded.
+     * @return True if the reading is successfully added, false if it is null, zero, out of order or below the
+     * previous reading.
+     */
+    public boolean addReading(WhValue reading, LocalTime time) {
+        if (time == null) return false;
+        return addReading(reading, EpochNanos.of(time));
+    }
 
-        double totalConsumption = endReadingValue - startReadingValue;
-        return totalConsumption + unit;
+    /**
+     * Adds a meter reading taken at an instant. Readings must arrive in time order and must not be below the
+     * previous reading.
+     *
+     * @param reading The cumulative energy reading to be added.
+     * @param time    The instant at which the reading was recorded.
+     * @return True if the reading is successfully added, false if it is null, zero, out of order or below the
+     * previous reading.
+     */
+    public boolean addReading(WhValue reading, Instant time) {
+        if (time == null) return false;
+        return addReading(reading, EpochNanos.of(time));
     }
 
     /**
-     * Adds a reading to the sensor's data.
+     * Adds a meter reading taken at an epoch time.
      *
-     * @param reading The energy consumption reading to be added.
-     * @param time    The time at which the reading was recorded.
+     * @param reading The cumulative energy reading to be added.
+     * @param time    The time of the reading in epoch nanoseconds.
      * @return True if the reading is successfully added, false otherwise.
      */
-    public boolean addReading(WhValue reading, LocalTime time) {
-        try {
-            if (Double.parseDouble(removeMeasurementUnit(reading)) == 0.0) return false;
-            _data.put(time, reading);
+    private boolean addReading(WhValue reading, long time) {
+        if (reading == null) return false;
+        double value = reading.getDouble();
+        if (value == 0.0) return false;
+        return _readings.record(time, value);
+    }
 
-        } catch (NullPointerException e) {
-            return false;
-        }
-        return _data.containsValue(reading);
+    /**
+     * Registers a listener to be passed every meter reading accepted from now on: the cumulative counter in Wh,
+     * at its time in epoch nanoseconds. A {@link TumblingWindow} over the readings gives the counter range of each
+     * window, and a {@link SlidingWindow} the readings of a rolling period.
+     *
+     * @param listener The listener to register.
+     * @throws IllegalArgumentException if the listener is null.
+     */
+    public void addReadingListener(SampleConsumer listener) {
+        _readings.addListener(listener);
     }
 
     /**
-     * Removes the measurement unit from the reading.
+     * Opens the history of the meter readings with a backend, putting its store behind a new meter history that is
+     * loaded with the readings the store holds and then with those recorded so far.
      *
-     * @param reading The reading with the measurement unit.
-     * @return The reading without the measurement unit.
+     * @param backend The backend that creates the store of the readings.
+     * @param path    The names that identify the sensor, outermost first.
+     * @throws IllegalArgumentException if the backend is null.
+     * @throws IllegalStateException    if the history was already opened, or the backend cannot open it.
      */
-    private String removeMeasurementUnit(WhValue reading) {
-        String value = reading.toString();
-        String unit = reading.getMeasurementUnit();
-        return value.trim().replace(unit, "");
+    @Override
+    public void openHistory(HistoryBackend backend, String... path) {
+        if (backend == null) throw new IllegalArgumentException("Invalid arguments");
+        EnergyMeterHistory meter = new EnergyMeterHistory();
+        _readings.open(new IndexedHistory(backend.create(path), meter));
+        _history = meter;
+    }
+
+    /**
+     * Closes the history of the meter readings, releasing the store of the backend.
+     */
+    @Override
+    public void closeHistory() {
+        _readings.close();
+    }
+
+    /**
+     * Gets the meter history in which the readings of the sensor are indexed.
+     *
+     * @return The history of the readings.
+     */
+    @Override
+    public SensorHistory getHistory() {
+        return _history;
     }
 
     /**
@@ -1,15 +1,18 @@
 package SmartHome.domain.sensors.implementation;
 
-import SmartHome.domain.sensors.Sensor;
+import SmartHome.domain.sensors.RecordingSensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
 import SmartHome.domain.values.Value;
 import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.PercentageValue;
 
 /**
  * This class represents a humidity sensor.
  */
-public class HumiditySensor implements Sensor {
+@SensorModel(functionality = SensorFunctionality.Humidity, valueType = PercentageValue.class)
+public class HumiditySensor extends RecordingSensor<PercentageValue> {
     private String _name;
     private final SensorFunctionality _sensorFunctionality = SensorFunctionality.Humidity;
     private Value _currentValue;
@@ -24,6 +27,7 @@ public class HumiditySensor implements Sensor {
      * @throws IllegalArgumentException if the catalogue, name, or valueFactory is null or empty.
      */
     public HumiditySensor(SensorCatalogue catalogue, String name, ValueFactory valueFactory) {
+        super(new PercentageValue().getMeasurementUnit());
         if (catalogue == null) throw new IllegalArgumentException("Catalogue cannot be null");
         if (name == null || name.trim().isEmpty()) throw new IllegalArgumentException("Name cannot be null or empty");
         if (valueFactory == null) throw new IllegalArgumentException("ValueFactory cannot be null");
@@ -70,5 +74,14 @@ public class HumiditySensor implements Sensor {
     public SensorFunctionality getSensorFunctionality() {
         return this._sensorFunctionality;
     }
-}
 
+    /**
+     * Makes a recorded humidity reading the current reading of the sensor.
+     *
+     * @param reading The humidity reading with the latest time.
+     */
+    @Override
+    protected void currentReadingChanged(PercentageValue reading) {
+        this._currentValue = reading;
+    }
+}
@@ -1,17 +1,20 @@
 package SmartHome.domain.sensors.implementation;
 
-import SmartHome.domain.sensors.Sensor;
+import SmartHome.domain.sensors.RecordingSensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
 import SmartHome.domain.values.Value;
 import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.WValue;
 
 /**
  * Represents an instant power consumption sensor within a smart home system.
  * This sensor is capable of measuring the instantaneous power consumption and provides
  * functionality to retrieve current readings in watts.
  */
-public class InstantPowerConsumptionSensor implements Sensor {
+@SensorModel(functionality = SensorFunctionality.Power_Consumption, valueType = WValue.class)
+public class InstantPowerConsumptionSensor extends RecordingSensor<WValue> {
     private String _name;
     private Value _currentValue;
     private final SensorFunctionality _sensorFunctionality = SensorFunctionality.Power_Consumption;
@@ -28,6 +31,7 @@ public class InstantPowerConsumptionSensor implements Sensor {
      * @throws IllegalArgumentException if any of the parameters are null or, in the case of name, empty.
      */
     public InstantPowerConsumptionSensor(SensorCatalogue catalogue, String name, ValueFactory valueFactory) {
+        super(new WValue().getMeasurementUnit());
         if (catalogue == null) throw new IllegalArgumentException("Catalogue cannot be null");
         if (name == null || name.trim().isEmpty()) throw new IllegalArgumentException("Name cannot be null or empty");
         this._name = name;
@@ -77,4 +81,14 @@ public class InstantPowerConsumptionSensor implements Sensor {
     public SensorFunctionality getSensorFunctionality() {
         return this._sensorFunctionality;
     }
+
+    /**
+     * Makes a recorded instant power reading the current reading of the sensor.
+     *
+     * @param reading The instant power reading with the latest time.
+     */
+    @Override
+    protected void currentReadingChanged(WValue reading) {
+        this._currentValue = reading;
+    }
 }
@@ -3,12 +3,15 @@ package SmartHome.domain.sensors.implementation;
 import SmartHome.domain.sensors.Sensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
 import SmartHome.domain.values.Value;
 import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.PercentageValue;
 
 /**
  * Represents a scale sensor.
  */
+@SensorModel(functionality = SensorFunctionality.Scale, valueType = PercentageValue.class)
 public class ScaleSensor implements Sensor {
     private String _name;
     private final SensorFunctionality _sensorFunctionality = SensorFunctionality.Scale;
@@ -1,15 +1,18 @@
 package SmartHome.domain.sensors.implementation;
 
-import SmartHome.domain.sensors.Sensor;
+import SmartHome.domain.sensors.RecordingSensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
 import SmartHome.domain.values.Value;
 import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.Wm2Value;
 
 /**
  * Represents a solar irradiance sensor.
  */
-public class SolarIrradianceSensor implements Sensor {
+@SensorModel(functionality = SensorFunctionality.SolarIrradiance, valueType = Wm2Value.class)
+public class SolarIrradianceSensor extends RecordingSensor<Wm2Value> {
     private String _name;
     private final SensorFunctionality _sensorFunctionality = SensorFunctionality.SolarIrradiance;
     private Value _currentValue;
@@ -24,6 +27,7 @@ public class SolarIrradianceSensor implements Sensor {
      * @throws IllegalArgumentException if the catalogue, name, or valueFactory is null or empty.
      */
     public SolarIrradianceSensor(SensorCatalogue catalogue, String name, ValueFactory valueFactory) {
+        super(new Wm2Value().getMeasurementUnit());
         if (catalogue == null)
             throw new IllegalArgumentException("Catalogue cannot be null");
         if (name == null || name.trim().isEmpty()) throw new IllegalArgumentException("Name cannot be null or empty");
@@ -73,4 +77,14 @@ public class SolarIrradianceSensor implements Sensor {
     public SensorFunctionality getSensorFunctionality() {
         return this._sensorFunctionality;
     }
+
+    /**
+     * Makes a recorded solar irradiance reading the current reading of the sensor.
+     *
+     * @param reading The solar irradiance reading with the latest time.
+     */
+    @Override
+    protected void currentReadingChanged(Wm2Value reading) {
+        this._currentValue = reading;
+    }
 }
@@ -3,6 +3,7 @@ package SmartHome.domain.sensors.implementation;
 import SmartHome.domain.sensors.Sensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
 import SmartHome.domain.values.ValueFactory;
 import org.shredzone.commons.suncalc.SunTimes;
 
@@ -17,6 +18,7 @@ import java.time.ZonedDateTime;
  * Instances of this class maintain information about the sensor's name, functionality, and current time.</p>
  */
 
+@SensorModel(functionality = SensorFunctionality.Sunrise)
 public class SunriseSensor implements Sensor {
     private final String _name;
     private final SensorFunctionality _sensorFunctionality = SensorFunctionality.Sunrise;
@@ -3,6 +3,7 @@ package SmartHome.domain.sensors.implementation;
 import SmartHome.domain.sensors.Sensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
 import SmartHome.domain.values.ValueFactory;
 import org.shredzone.commons.suncalc.SunTimes;
 import java.time.LocalDate;
@@ -15,6 +16,7 @@ import java.time.ZonedDateTime;
  * <p>The SunsetSensor class implements the Sensor interface and provides functionality for calculating sunset times.</p>
  */
 
+@SensorModel(functionality = SensorFunctionality.Sunset)
 public class SunsetSensor implements Sensor {
     private String _name;
     private final SensorFunctionality _sensorFunctionality = SensorFunctionality.Sunset;
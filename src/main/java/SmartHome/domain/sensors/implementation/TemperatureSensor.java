@@ -1,15 +1,18 @@
 package SmartHome.domain.sensors.implementation;
 
-import SmartHome.domain.sensors.Sensor;
+import SmartHome.domain.sensors.RecordingSensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
 import SmartHome.domain.values.Value;
 import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.CelsiusValue;
 
 /**
  * Represents a temperature sensor.
  */
-public class TemperatureSensor implements Sensor {
+@SensorModel(functionality = SensorFunctionality.Temperature, valueType = CelsiusValue.class)
+public class TemperatureSensor extends RecordingSensor<CelsiusValue> {
     private String _name;
     private final SensorFunctionality _sensorFunctionality = SensorFunctionality.Temperature;
     private Value _currentValue;
@@ -24,6 +27,7 @@ public class TemperatureSensor implements Sensor {
      * @throws IllegalArgumentException if the catalogue, name, or valueFactory is null or empty.
      */
     public TemperatureSensor(SensorCatalogue catalogue, String name, ValueFactory valueFactory) {
+        super(new CelsiusValue().getMeasurementUnit());
         if (catalogue == null)
             throw new IllegalArgumentException("Catalogue cannot be null");
         if (name == null || name.trim().isEmpty()) throw new IllegalArgumentException("Name cannot be null or empty");
@@ -84,4 +88,14 @@ public class TemperatureSensor implements Sensor {
     public SensorFunctionality getSensorFunctionality() {
         return this._sensorFunctionality;
     }
+
+    /**
+     * Makes a recorded temperature reading the current reading of the sensor.
+     *
+     * @param reading The temperature reading with the latest time.
+     */
+    @Override
+    protected void currentReadingChanged(CelsiusValue reading) {
+        this._currentValue = reading;
+    }
 }
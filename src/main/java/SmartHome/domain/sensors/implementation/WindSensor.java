@@ -1,22 +1,24 @@
 package SmartHome.domain.sensors.implementation;
 
-import SmartHome.domain.sensors.Sensor;
+import SmartHome.domain.sensors.RecordingSensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.SensorModel;
 import SmartHome.domain.values.Value;
 import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.KmhCardinalValue;
 
 /**
  * Represents a wind sensor that captures wind speed and direction.
  * This sensor is part of a larger sensor catalogue and utilizes a value factory for creating its measurement values.
  */
-public class WindSensor implements Sensor {
+@SensorModel(functionality = SensorFunctionality.Wind, valueType = KmhCardinalValue.class)
+public class WindSensor extends RecordingSensor<KmhCardinalValue> {
     private String _name;
     private final SensorFunctionality _sensorFunctionality = SensorFunctionality.Wind;
     private Value _currentValue;
     private final ValueFactory _valueFactory;
 
-
     /**
      * Constructs a new WindSensor with the specified name and value factory.
      * @param catalogue    The sensor catalogue this sensor is associated with.
@@ -25,6 +27,7 @@ public class WindSensor implements Sensor {
      * @throws IllegalArgumentException if any argument is null or if the name is empty.
      */
     public WindSensor(SensorCatalogue catalogue, String name, ValueFactory valueFactory) {
+        super(new KmhCardinalValue().getMeasurementUnit());
         if (catalogue == null) throw new IllegalArgumentException("Catalogue cannot be null");
         if (name == null || name.trim().isEmpty()) throw new IllegalArgumentException("Name cannot be null or empty");
         this._name = name;
@@ -72,4 +75,15 @@ public class WindSensor implements Sensor {
         if (_currentValue == null) _currentValue = _valueFactory.createKmhCardinalValue();
         return _currentValue.toString();
     }
+
+    /**
+     * Makes a recorded wind reading the current reading of the sensor. The history keeps only the speed of a
+     * reading; the current reading keeps its direction as well.
+     *
+     * @param reading The wind reading with the latest time.
+     */
+    @Override
+    protected void currentReadingChanged(KmhCardinalValue reading) {
+        this._currentValue = reading;
+    }
 }
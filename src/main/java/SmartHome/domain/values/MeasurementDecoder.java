@@ -0,0 +1,228 @@
+package SmartHome.domain.values;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes the numbers of incoming measurement payloads straight from a slice of a {@link CharSequence} or of a
+ * {@link ByteBuffer} of ASCII text, and writes them into a {@link Value} through {@link Value#setDouble(double)},
+ * which applies the validation of the value type. No {@code String} is created for the slice and nothing is
+ * allocated for the numbers gateways send, such as {@code 1234.5} or {@code -3.25}.
+ *
+ * <p>A number is an optional sign, digits with an optional fraction, and an optional exponent. The surrounding
+ * whitespace and control characters that {@link Double#parseDouble(String)} trims are skipped, but a value that only
+ * accepts whole numbers rejects them, as {@link Integer#parseInt(String)} does, so each value type accepts the same
+ * text as the parsing it replaces. Up to 18 significant digits, which cannot overflow, are collected in a {@code long}; when they
+ * fit in 53 bits and the decimal exponent is at most 22 in magnitude, a single exact multiplication or division by
+ * a power of ten gives the correctly rounded result. Longer or more extreme numbers fall back to {@link Double#parseDouble(String)},
+ * which allocates but returns the same value. Values that only accept whole numbers reject fractions and
+ * exponents, as {@link Integer#parseInt(String)} does.</p>
+ */
+public final class MeasurementDecoder {
+    private static final int MAX_DIGITS = 18;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private MeasurementDecoder() {
+    }
+
+    /**
+     * Decodes a number from text and writes it into a value.
+     *
+     * @param text   The text holding only the number.
+     * @param target The value to write.
+     * @return true if the text holds a number that the value accepts, false otherwise.
+     */
+    public static boolean decode(CharSequence text, Value target) {
+        if (text == null) return false;
+        return decode(text, 0, text.length(), target);
+    }
+
+    /**
+     * Decodes a number from a slice of text and writes it into a value.
+     *
+     * @param text   The text.
+     * @param start  The start of the number in the text, inclusive.
+     * @param end    The end of the number in the text, exclusive.
+     * @param target The value to write.
+     * @return true if the slice holds a number that the value accepts, false otherwise.
+     * @throws IllegalArgumentException if the text or the value is null, or the slice is outside the text.
+     */
+    public static boolean decode(CharSequence text, int start, int end, Value target) {
+        if (text == null || target == null || start < 0 || end > text.length() || start > end)
+            throw new IllegalArgumentException("Invalid arguments");
+        double value = parse(text, null, start, end, target.isIntegral());
+        return !Double.isNaN(value) && target.setDouble(value);
+    }
+
+    /**
+     * Decodes a number from a slice of a buffer of ASCII text and writes it into a value. The position and limit
+     * of the buffer are left unchanged.
+     *
+     * @param buffer The buffer.
+     * @param start  The index of the first byte of the number, inclusive.
+     * @param end    The index after the last byte of the number, exclusive.
+     * @param target The value to write.
+     * @return true if the slice holds a number that the value accepts, false otherwise.
+     * @throws IllegalArgumentException if the buffer or the value is null, or the slice is outside the limit.
+     */
+    public static boolean decode(ByteBuffer buffer, int start, int end, Value target) {
+        if (buffer == null || target == null || start < 0 || end > buffer.limit() || start > end)
+            throw new IllegalArgumentException("Invalid arguments");
+        double value = parse(null, buffer, start, end, target.isIntegral());
+        return !Double.isNaN(value) && target.setDouble(value);
+    }
+
+    /**
+     * Parses a number from a slice of text.
+     *
+     * @param text  The text.
+     * @param start The start of the number in the text, inclusive.
+     * @param end   The end of the number in the text, exclusive.
+     * @return The number, or {@link Double#NaN} if the slice does not hold one.
+     * @throws IllegalArgumentException if the text is null or the slice is outside the text.
+     */
+    public static double parseDouble(CharSequence text, int start, int end) {
+        if (text == null || start < 0 || end > text.length() || start > end)
+            throw new IllegalArgumentException("Invalid arguments");
+        return parse(text, null, start, end, false);
+    }
+
+    /**
+     * Parses a number from a slice of a buffer of ASCII text, leaving its position and limit unchanged.
+     *
+     * @param buffer The buffer.
+     * @param start  The index of the first byte of the number, inclusive.
+     * @param end    The index after the last byte of the number, exclusive.
+     * @return The number, or {@link Double#NaN} if the slice does not hold one.
+     * @throws IllegalArgumentException if the buffer is null or the slice is outside the limit.
+     */
+    public static double parseDouble(ByteBuffer buffer, int start, int end) {
+        if (buffer == null || start < 0 || end > buffer.limit() || start > end)
+            throw new IllegalArgumentException("Invalid arguments");
+        return parse(null, buffer, start, end, false);
+    }
+
+    /**
+     * Parses a number from a slice of either text or bytes.
+     *
+     * @param text     The text, or {@code null} to read the bytes.
+     * @param bytes    The bytes, read when the text is {@code null}.
+     * @param start    The start of the slice, inclusive.
+     * @param end      The end of the slice, exclusive.
+     * @param integral Whether only a whole number that fits in an {@code int} is accepted.
+     * @return The number, or {@link Double#NaN} if the slice does not hold an accepted one.
+     */
+    private static double parse(CharSequence text, ByteBuffer bytes, int start, int end, boolean integral) {
+        if (!integral) {
+            while (start < end && charAt(text, bytes, start) <= ' ')
+                start++;
+            while (end > start && charAt(text, bytes, end - 1) <= ' ')
+                end--;
+        }
+        int i = start;
+        boolean negative = false;
+        if (i < end && (charAt(text, bytes, i) == '-' || charAt(text, bytes, i) == '+'))
+            negative = charAt(text, bytes, i++) == '-';
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean truncated = false;
+        for (; i < end && isDigit(charAt(text, bytes, i)); i++) {
+            anyDigit = true;
+            if (digits < MAX_DIGITS) {
+                mantissa = mantissa * 10 + (charAt(text, bytes, i) - '0');
+                if (mantissa != 0) digits++;
+            } else {
+                exponent++;
+                truncated |= charAt(text, bytes, i) != '0';
+            }
+        }
+        if (i < end && charAt(text, bytes, i) == '.') {
+            if (integral) return Double.NaN;
+            for (i++; i < end && isDigit(charAt(text, bytes, i)); i++) {
+                anyDigit = true;
+                if (digits < MAX_DIGITS) {
+                    mantissa = mantissa * 10 + (charAt(text, bytes, i) - '0');
+                    if (mantissa != 0) digits++;
+                    exponent--;
+                } else {
+                    truncated |= charAt(text, bytes, i) != '0';
+                }
+            }
+        }
+        if (!anyDigit) return Double.NaN;
+        if (i < end && (charAt(text, bytes, i) == 'e' || charAt(text, bytes, i) == 'E')) {
+            if (integral) return Double.NaN;
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (charAt(text, bytes, i) == '-' || charAt(text, bytes, i) == '+'))
+                negativeExponent = charAt(text, bytes, i++) == '-';
+            int written = 0;
+            int magnitude = 0;
+            for (; i < end && isDigit(charAt(text, bytes, i)); i++, written++)
+                if (magnitude < 100_000) magnitude = magnitude * 10 + (charAt(text, bytes, i) - '0');
+            if (written == 0) return Double.NaN;
+            exponent += negativeExponent ? -magnitude : magnitude;
+        }
+        if (i != end) return Double.NaN;
+
+        if (integral) {
+            if (exponent != 0 || mantissa > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE))
+                return Double.NaN;
+            return negative ? -mantissa : mantissa;
+        }
+        if (!truncated && mantissa < MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(slice(text, bytes, start, end));
+    }
+
+    /**
+     * Reads one character of a slice of either text or bytes.
+     *
+     * @param text  The text, or {@code null} to read the bytes.
+     * @param bytes The bytes, read when the text is {@code null}.
+     * @param index The index of the character.
+     * @return The character.
+     */
+    private static char charAt(CharSequence text, ByteBuffer bytes, int index) {
+        return text != null ? text.charAt(index) : (char) (bytes.get(index) & 0xFF);
+    }
+
+    /**
+     * Checks whether a character is an ASCII digit.
+     *
+     * @param c The character.
+     * @return true if the character is a digit, false otherwise.
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Copies a slice of either text or bytes into a string, for the rare numbers the exact fast path cannot
+     * handle.
+     *
+     * @param text  The text, or {@code null} to read the bytes.
+     * @param bytes The bytes, read when the text is {@code null}.
+     * @param start The start of the slice, inclusive.
+     * @param end   The end of the slice, exclusive.
+     * @return The slice as a string.
+     */
+    private static String slice(CharSequence text, ByteBuffer bytes, int start, int end) {
+        if (text != null) return text.subSequence(start, end).toString();
+        byte[] copy = new byte[end - start];
+        for (int i = start; i < end; i++)
+            copy[i - start] = bytes.get(i);
+        return new String(copy, StandardCharsets.US_ASCII);
+    }
+}
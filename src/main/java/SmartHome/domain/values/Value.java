@@ -30,4 +30,31 @@ public interface Value {
      * @return A string representing the measurement unit of the value.
      */
     String getMeasurementUnit();
-}
\ No newline at end of file
+
+    /**
+     * Returns the numeric part of the value, without formatting it as text. Aggregations over many readings
+     * should use this rather than parsing {@link #toString()}.
+     *
+     * @return The numeric value.
+     */
+    double getDouble();
+
+    /**
+     * Sets the value from a number, without parsing text. Implementations apply the same validation as
+     * {@link #setValue(String)}.
+     *
+     * @param measured The measured value to be set.
+     * @return True if the value was successfully set; false otherwise.
+     */
+    boolean setDouble(double measured);
+
+    /**
+     * Tells whether the value only accepts whole numbers written without a fraction or an exponent, as its
+     * {@link #setValue(String)} parses integers.
+     *
+     * @return True if only whole numbers are accepted; false otherwise.
+     */
+    default boolean isIntegral() {
+        return false;
+    }
+}
@@ -48,4 +48,27 @@ public class CelsiusValue implements Value {
     public String getMeasurementUnit() {
         return this._measurementUnit;
     }
+
+    /**
+     * Returns the current value as a number.
+     *
+     * @return the current value
+     */
+    @Override
+    public double getDouble() {
+        return _currentValue;
+    }
+
+    /**
+     * Sets the current value to a finite number of degrees Celsius.
+     *
+     * @param measured the value to be set
+     * @return true if the value was set, false otherwise
+     */
+    @Override
+    public boolean setDouble(double measured) {
+        if (!(Double.isFinite(measured))) return false;
+        this._currentValue = measured;
+        return true;
+    }
 }
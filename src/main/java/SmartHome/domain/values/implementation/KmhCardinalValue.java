@@ -9,6 +9,7 @@ import SmartHome.domain.values.Value;
  */
 public class KmhCardinalValue implements Value {
     private String _speed = "";
+    private double _speedValue;
     private WindDirection _direction;
     private final String _measurementUnit;
 
@@ -25,7 +26,17 @@ public class KmhCardinalValue implements Value {
      * @return a string in the format of "{speed} km/h".
      */
     public String getWindSpeed() {
-        return _speed + " " + _measurementUnit;
+        return speedText() + " " + _measurementUnit;
+    }
+
+    /**
+     * Returns the wind speed as text: as it was given to {@link #setValue(String)}, or formatted only now if it was
+     * set with {@link #setDouble(double)}.
+     *
+     * @return the wind speed without its measurement unit.
+     */
+    private String speedText() {
+        return _speed != null ? _speed : String.valueOf(_speedValue);
     }
     /**
      * Returns the wind direction.
@@ -44,8 +55,10 @@ public class KmhCardinalValue implements Value {
      */
     public boolean setValue(String measured) {
         try {
-            if (Double.parseDouble(measured) >= 0.0){
+            double speed = Double.parseDouble(measured);
+            if (speed >= 0.0){
             this._speed = measured;
+            this._speedValue = speed;
             } else {
                 return false;
             }
@@ -82,8 +95,31 @@ public class KmhCardinalValue implements Value {
      */
     @Override
     public String toString() {
-        if (_speed == null || _direction == null) return null;
-        return _speed + " " + _measurementUnit + " pointing to: " + _direction;
+        if (_direction == null) return null;
+        return speedText() + " " + _measurementUnit + " pointing to: " + _direction;
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns the wind speed as a number, without its measurement unit or direction.
+     *
+     * @return the wind speed in km/h, or 0 if it was never set.
+     */
+    @Override
+    public double getDouble() {
+        return _speedValue;
+    }
+
+    /**
+     * Sets the wind speed if it is a finite number greater than or equal to 0. The direction is left unchanged.
+     *
+     * @param measured the wind speed in km/h.
+     * @return true if the speed was set, false otherwise.
+     */
+    @Override
+    public boolean setDouble(double measured) {
+        if (!(measured >= 0.0 && measured < Double.POSITIVE_INFINITY)) return false;
+        this._speed = null;
+        this._speedValue = measured;
+        return true;
+    }
+}
@@ -56,4 +56,36 @@ public class PercentageValue implements Value {
         return this._currentValue + " " + this._measurementUnit;
     }
 
+    /**
+     * Returns the current value as a number.
+     *
+     * @return the current value
+     */
+    @Override
+    public double getDouble() {
+        return _currentValue;
+    }
+
+    /**
+     * Sets the current value if it is a whole percentage between 0 and 100, as {@link #setValue(String)} requires.
+     *
+     * @param measured the value to be set
+     * @return true if the value was set, false otherwise
+     */
+    @Override
+    public boolean setDouble(double measured) {
+        if (!(measured == Math.rint(measured) && isValidPercentage((int) measured))) return false;
+        this._currentValue = (int) measured;
+        return true;
+    }
+
+    /**
+     * Percentages are parsed as integers, so only whole numbers are accepted.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isIntegral() {
+        return true;
+    }
 }
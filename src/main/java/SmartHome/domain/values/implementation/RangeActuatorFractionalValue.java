@@ -53,4 +53,27 @@ public class RangeActuatorFractionalValue implements Value {
     public String getMeasurementUnit() {
         return _measurementUnit;
     }
+
+    /**
+     * Returns the current value as a number.
+     *
+     * @return the current value
+     */
+    @Override
+    public double getDouble() {
+        return _measurement;
+    }
+
+    /**
+     * Sets the current value if it is within the specified range.
+     *
+     * @param measured the value to be set
+     * @return true if the value was set, false otherwise
+     */
+    @Override
+    public boolean setDouble(double measured) {
+        if (!(measured >= _lowerLimit && measured <= _upperLimit)) return false;
+        _measurement = measured;
+        return true;
+    }
 }
@@ -53,4 +53,37 @@ public class RangeActuatorIntValue implements Value {
     public String getMeasurementUnit() {
         return _measurementUnits;
     }
+
+    /**
+     * Returns the current value as a number.
+     *
+     * @return the current value
+     */
+    @Override
+    public double getDouble() {
+        return _measurement;
+    }
+
+    /**
+     * Sets the current value if it is a whole number within the specified range.
+     *
+     * @param measured the value to be set
+     * @return true if the value was set, false otherwise
+     */
+    @Override
+    public boolean setDouble(double measured) {
+        if (!(measured == Math.rint(measured) && measured >= _lowerLimit && measured <= _upperLimit)) return false;
+        _measurement = (int) measured;
+        return true;
+    }
+
+    /**
+     * The value is parsed as an integer, so only whole numbers are accepted.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isIntegral() {
+        return true;
+    }
 }
@@ -50,4 +50,27 @@ public class WValue implements Value {
     public String getMeasurementUnit() {
         return this._measurementUnit;
     }
+
+    /**
+     * Returns the current value as a number.
+     *
+     * @return the current value
+     */
+    @Override
+    public double getDouble() {
+        return _currentValue;
+    }
+
+    /**
+     * Sets the current value to a finite, non-negative power.
+     *
+     * @param measured the value to be set
+     * @return true if the value was set, false otherwise
+     */
+    @Override
+    public boolean setDouble(double measured) {
+        if (!(measured >= 0 && measured < Double.POSITIVE_INFINITY)) return false;
+        this._currentValue = measured;
+        return true;
+    }
 }
@@ -61,4 +61,27 @@ public class WhValue implements Value {
     public String getMeasurementUnit() {
         return this._measurementUnit;
     }
+
+    /**
+     * Returns the current value as a number.
+     *
+     * @return the current value
+     */
+    @Override
+    public double getDouble() {
+        return _currentValue;
+    }
+
+    /**
+     * Sets the current value if it is a valid, finite energy consumption.
+     *
+     * @param measured the value to be set
+     * @return true if the value was set, false otherwise
+     */
+    @Override
+    public boolean setDouble(double measured) {
+        if (!(isValidEnergyConsumption(measured) && measured < Double.POSITIVE_INFINITY)) return false;
+        this._currentValue = measured;
+        return true;
+    }
 }
@@ -47,4 +47,27 @@ public class Wm2Value implements Value {
     public String getMeasurementUnit() {
         return this._measurementUnit;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the current value as a number.
+     *
+     * @return the current value
+     */
+    @Override
+    public double getDouble() {
+        return _currentValue;
+    }
+
+    /**
+     * Sets the current value to a finite irradiance.
+     *
+     * @param measured the value to be set
+     * @return true if the value was set, false otherwise
+     */
+    @Override
+    public boolean setDouble(double measured) {
+        if (!(Double.isFinite(measured))) return false;
+        this._currentValue = measured;
+        return true;
+    }
+}
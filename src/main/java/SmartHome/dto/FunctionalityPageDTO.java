@@ -0,0 +1,56 @@
+package SmartHome.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents one page of the devices grouped by sensor functionality, as emitted by the streaming variant of
+ * the grouping. A functionality with more devices than the page size is split over consecutive pages that share
+ * the same functionality name.
+ */
+public class FunctionalityPageDTO {
+    public final String functionality;
+    public final List<DeviceRoomDTO> devices;
+
+    /**
+     * Constructs a new FunctionalityPageDTO with the specified functionality and devices.
+     *
+     * @param functionality The name of the functionality, or "Without functionality" for devices without sensors.
+     * @param devices       The devices of this page and their rooms.
+     */
+    public FunctionalityPageDTO(String functionality, List<DeviceRoomDTO> devices) {
+        this.functionality = functionality;
+        this.devices = Collections.unmodifiableList(devices);
+    }
+
+    /**
+     * Retrieves the name of the functionality.
+     *
+     * @return The name of the functionality.
+     */
+    public String getFunctionality() {
+        return functionality;
+    }
+
+    /**
+     * Retrieves the devices of this page.
+     *
+     * @return An unmodifiable list of the devices and their rooms.
+     */
+    public List<DeviceRoomDTO> getDevices() {
+        return devices;
+    }
+
+    /**
+     * Provides a string representation of the FunctionalityPageDTO, including the functionality and its devices.
+     *
+     * @return A string representation of this DTO.
+     */
+    @Override
+    public String toString() {
+        return "FunctionalityPageDTO{" +
+                "_functionality='" + functionality + '\'' +
+                ", _devices=" + devices +
+                '}';
+    }
+}
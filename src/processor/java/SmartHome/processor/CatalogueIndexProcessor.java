@@ -0,0 +1,258 @@
+package SmartHome.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Annotation processor that generates the static sensor and actuator indexes. Every class annotated with
+ * {@code @SensorModel} or {@code @ActuatorModel} is validated and recorded, together with its functionality,
+ * value type and a constructor reference, in {@code SmartHome.domain.sensors.SensorIndex} and
+ * {@code SmartHome.domain.actuators.ActuatorIndex}. The catalogues use these indexes instead of loading
+ * classes by name, which also lets the domain run as a native image without reflection configuration.
+ *
+ * <p>This class only depends on the annotation processing API, so it is compiled before the domain.</p>
+ */
+@SupportedAnnotationTypes({CatalogueIndexProcessor.SENSOR_MODEL, CatalogueIndexProcessor.ACTUATOR_MODEL})
+public class CatalogueIndexProcessor extends AbstractProcessor {
+    static final String SENSOR_MODEL = "SmartHome.domain.sensors.SensorModel";
+    static final String ACTUATOR_MODEL = "SmartHome.domain.actuators.ActuatorModel";
+
+    private static final IndexKind SENSOR_INDEX = new IndexKind("SmartHome.domain.sensors", "Sensor", SENSOR_MODEL);
+    private static final IndexKind ACTUATOR_INDEX = new IndexKind("SmartHome.domain.actuators", "Actuator", ACTUATOR_MODEL);
+
+    private boolean _generated;
+
+    /**
+     * Supports the latest source version, as the processor does not depend on version-specific language features.
+     *
+     * @return The latest supported source version.
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * Collects the annotated models and writes both indexes the first time any model is found.
+     *
+     * @param annotations The annotation types requested to be processed.
+     * @param roundEnv    The environment for information about the current round.
+     * @return {@code true}, as the model annotations are claimed by this processor.
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (_generated || annotations.isEmpty()) return true;
+
+        Map<String, String> sensorEntries = collectEntries(roundEnv, SENSOR_INDEX);
+        Map<String, String> actuatorEntries = collectEntries(roundEnv, ACTUATOR_INDEX);
+        writeIndex(SENSOR_INDEX, sensorEntries);
+        writeIndex(ACTUATOR_INDEX, actuatorEntries);
+        _generated = true;
+        return true;
+    }
+
+    /**
+     * Validates the classes annotated with the model annotation of an index and builds their index entries.
+     *
+     * @param roundEnv The environment for information about the current round.
+     * @param kind     The index being built.
+     * @return The source of each descriptor, keyed and sorted by model name.
+     */
+    private Map<String, String> collectEntries(RoundEnvironment roundEnv, IndexKind kind) {
+        Map<String, String> entries = new TreeMap<>();
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(kind._annotation);
+        if (annotation == null) return entries;
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (!isValidModel(element, kind)) continue;
+            TypeElement model = (TypeElement) element;
+            AnnotationMirror mirror = getAnnotationMirror(model, kind._annotation);
+            String functionality = ((VariableElement) getAnnotationValue(mirror, "functionality").getValue())
+                    .getSimpleName().toString();
+            AnnotationValue valueType = getAnnotationValue(mirror, "valueType");
+            String valueTypeName = valueType == null ? "SmartHome.domain.values.Value"
+                    : processingEnv.getTypeUtils().erasure((TypeMirror) valueType.getValue()).toString();
+
+            String modelName = model.getSimpleName().toString();
+            entries.put(modelName, "new " + kind._type + "Descriptor(\"" + modelName + "\", "
+                    + kind._type + "Functionality." + functionality + ", "
+                    + valueTypeName + ".class, "
+                    + model.getQualifiedName() + "::new)");
+        }
+        return entries;
+    }
+
+    /**
+     * Checks that an annotated element is a public, concrete implementation of the index type with the
+     * constructor expected by the catalogue, reporting a compilation error otherwise.
+     *
+     * @param element The annotated element.
+     * @param kind    The index the element belongs to.
+     * @return true if the element can be recorded in the index, false otherwise.
+     */
+    private boolean isValidModel(Element element, IndexKind kind) {
+        if (element.getKind() != ElementKind.CLASS || !element.getModifiers().contains(Modifier.PUBLIC)
+                || element.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(element, "@" + kind._type + "Model must annotate a public concrete class");
+            return false;
+        }
+        TypeMirror type = processingEnv.getElementUtils().getTypeElement(kind.qualified(kind._type)).asType();
+        if (!processingEnv.getTypeUtils().isAssignable(element.asType(), type)) {
+            error(element, "@" + kind._type + "Model must annotate an implementation of " + kind._type);
+            return false;
+        }
+        if (!hasCatalogueConstructor((TypeElement) element, kind)) {
+            error(element, "@" + kind._type + "Model requires a public constructor ("
+                    + kind._type + "Catalogue, String, ValueFactory)");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a class declares the public constructor used by the catalogue.
+     *
+     * @param model The annotated class.
+     * @param kind  The index the class belongs to.
+     * @return true if the constructor exists, false otherwise.
+     */
+    private boolean hasCatalogueConstructor(TypeElement model, IndexKind kind) {
+        List<String> expected = List.of(kind.qualified(kind._type + "Catalogue"), "java.lang.String",
+                "SmartHome.domain.values.ValueFactory");
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(model.getEnclosedElements())) {
+            if (!constructor.getModifiers().contains(Modifier.PUBLIC)) continue;
+            List<String> parameters = new ArrayList<>();
+            for (VariableElement parameter : constructor.getParameters())
+                parameters.add(processingEnv.getTypeUtils().erasure(parameter.asType()).toString());
+            if (parameters.equals(expected)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the mirror of the given annotation on a class.
+     *
+     * @param model          The annotated class.
+     * @param annotationName The qualified name of the annotation.
+     * @return The annotation mirror, or null if the class is not annotated with it.
+     */
+    private AnnotationMirror getAnnotationMirror(TypeElement model, String annotationName) {
+        for (AnnotationMirror mirror : model.getAnnotationMirrors())
+            if (mirror.getAnnotationType().toString().equals(annotationName)) return mirror;
+        return null;
+    }
+
+    /**
+     * Retrieves an explicitly set element value of an annotation.
+     *
+     * @param mirror The annotation mirror.
+     * @param name   The name of the annotation element.
+     * @return The value of the element, or null if the element uses its default value.
+     */
+    private AnnotationValue getAnnotationValue(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet())
+            if (entry.getKey().getSimpleName().contentEquals(name)) return entry.getValue();
+        return null;
+    }
+
+    /**
+     * Writes the source file of an index.
+     *
+     * @param kind    The index to write.
+     * @param entries The descriptor sources keyed by model name.
+     */
+    private void writeIndex(IndexKind kind, Map<String, String> entries) {
+        String className = kind._type + "Index";
+        String descriptor = kind._type + "Descriptor";
+        StringBuilder source = new StringBuilder()
+                .append("package ").append(kind._package).append(";\n\n")
+                .append("import java.util.Collection;\n")
+                .append("import java.util.Map;\n\n")
+                .append("/**\n")
+                .append(" * Static index of the ").append(kind._type.toLowerCase())
+                .append(" models annotated with {@link ").append(kind._type).append("Model}.\n")
+                .append(" * Generated by {@code ").append(getClass().getName()).append("}; do not edit.\n")
+                .append(" */\n")
+                .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(className).append(" {\n")
+                .append("    private static final Map<String, ").append(descriptor).append("> DESCRIPTORS = Map.ofEntries(");
+        String separator = "\n";
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            source.append(separator).append("            Map.entry(\"").append(entry.getKey()).append("\", ")
+                    .append(entry.getValue()).append(")");
+            separator = ",\n";
+        }
+        source.append(");\n\n")
+                .append("    private ").append(className).append("() {\n    }\n\n")
+                .append("    /**\n")
+                .append("     * Gets the descriptor of a model by its exact name.\n     *\n")
+                .append("     * @param model The model name.\n")
+                .append("     * @return The descriptor of the model, or null if the model is not indexed.\n")
+                .append("     */\n")
+                .append("    public static ").append(descriptor).append(" get(String model) {\n")
+                .append("        return model == null ? null : DESCRIPTORS.get(model);\n    }\n\n")
+                .append("    /**\n")
+                .append("     * Gets the descriptors of every indexed model.\n     *\n")
+                .append("     * @return An unmodifiable collection of descriptors.\n")
+                .append("     */\n")
+                .append("    public static Collection<").append(descriptor).append("> getAll() {\n")
+                .append("        return DESCRIPTORS.values();\n    }\n")
+                .append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(kind.qualified(className)).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException exception) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + kind.qualified(className) + ": " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Reports a compilation error on an element.
+     *
+     * @param element The element the error refers to.
+     * @param message The error message.
+     */
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * Names of the types involved in one of the generated indexes.
+     */
+    private static final class IndexKind {
+        private final String _package;
+        private final String _type;
+        private final String _annotation;
+
+        private IndexKind(String packageName, String type, String annotation) {
+            this._package = packageName;
+            this._type = type;
+            this._annotation = annotation;
+        }
+
+        private String qualified(String simpleName) {
+            return _package + "." + simpleName;
+        }
+    }
+}
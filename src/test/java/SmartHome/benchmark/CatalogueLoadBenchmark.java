@@ -0,0 +1,45 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.catalogue.BinaryCatalogueLoader;
+import SmartHome.domain.catalogue.CatalogueSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static SmartHome.domain.constants.Constants.ACTUATOR_CONFIG;
+import static SmartHome.domain.constants.Constants.CATALOGUE_BINARY;
+import static SmartHome.domain.constants.Constants.SENSOR_CONFIG;
+
+/**
+ * Compares the cold-start cost of loading the catalogues from the text configuration files with loading
+ * them from the binary descriptor compiled by the build. Every measurement runs once in a fresh JVM, so the
+ * score includes class loading and initialization of each loader.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class CatalogueLoadBenchmark {
+
+    /**
+     * Loads the catalogues by parsing the text configuration files.
+     *
+     * @return The loaded snapshot.
+     */
+    @Benchmark
+    public CatalogueSnapshot textLoader() {
+        return CatalogueSnapshot.load(SENSOR_CONFIG, ACTUATOR_CONFIG);
+    }
+
+    /**
+     * Loads the catalogues by memory-mapping the compiled binary descriptor.
+     *
+     * @return The loaded snapshot.
+     */
+    @Benchmark
+    public CatalogueSnapshot binaryLoader() {
+        return BinaryCatalogueLoader.loadResourceIfCurrent(CATALOGUE_BINARY, SENSOR_CONFIG, ACTUATOR_CONFIG);
+    }
+}
@@ -0,0 +1,82 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.sensors.history.CompressedHistory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures range queries and ingestion on a {@link CompressedHistory} holding a year of temperature readings taken
+ * every minute. The one-day query decompresses only the chunks it overlaps; the full scan decompresses them all.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressedHistoryBenchmark {
+    private static final long MINUTE = 60_000_000_000L;
+    private static final int YEAR = 365 * 1440;
+
+    private CompressedHistory _history;
+    private long _day;
+
+    /**
+     * Fills a history with a year of readings rounded to a tenth of a degree.
+     */
+    @Setup
+    public void setup() {
+        _history = new CompressedHistory();
+        for (int i = 0; i < YEAR; i++)
+            _history.append(i * MINUTE, temperature(i));
+    }
+
+    /**
+     * Computes the reading of a simulated temperature sensor.
+     *
+     * @param minute The minute of the year.
+     * @return The temperature, rounded to a tenth of a degree.
+     */
+    private static double temperature(int minute) {
+        return Math.round(150 + 80 * Math.sin(minute * Math.PI / 720) + 60 * Math.sin(minute * Math.PI / 262_800)) / 10.0;
+    }
+
+    /**
+     * Visits the readings of one day, a different day at each call.
+     *
+     * @param blackhole Consumes the visited values.
+     */
+    @Benchmark
+    public void queryDay(Blackhole blackhole) {
+        _day = (_day + 1) % 364;
+        long start = _day * 1440 * MINUTE;
+        _history.forEachInRange(start, start + 1440 * MINUTE, (timestamp, value) -> blackhole.consume(value));
+    }
+
+    /**
+     * Visits every reading of the year.
+     *
+     * @param blackhole Consumes the visited values.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void scanYear(Blackhole blackhole) {
+        _history.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, value) -> blackhole.consume(value));
+    }
+
+    /**
+     * Compresses a year of readings.
+     *
+     * @return The filled history.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CompressedHistory ingestYear() {
+        CompressedHistory history = new CompressedHistory();
+        for (int i = 0; i < YEAR; i++)
+            history.append(i * MINUTE, temperature(i));
+        return history;
+    }
+}
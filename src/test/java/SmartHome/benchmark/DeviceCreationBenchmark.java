@@ -0,0 +1,64 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.actuators.ActuatorCatalogue;
+import SmartHome.domain.catalogue.CatalogueRegistry;
+import SmartHome.domain.device.Device;
+import SmartHome.domain.device.DeviceFactory;
+import SmartHome.domain.sensors.SensorCatalogue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static SmartHome.domain.constants.Constants.ACTUATOR_CONFIG;
+import static SmartHome.domain.constants.Constants.SENSOR_CONFIG;
+
+/**
+ * Measures device creation throughput when devices share the catalogues published by the
+ * {@link CatalogueRegistry}, compared with parsing both configuration files for every device
+ * as each {@link Device} used to do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeviceCreationBenchmark {
+    private final DeviceFactory _deviceFactory = new DeviceFactory();
+
+    /**
+     * Loads the shared catalogues once, so the first benchmark iteration does not pay for it.
+     */
+    @Setup
+    public void setup() {
+        CatalogueRegistry.getSnapshot();
+    }
+
+    /**
+     * Creates a device that uses the shared catalogues.
+     *
+     * @param blackhole Consumes the created device.
+     */
+    @Benchmark
+    public void sharedCatalogues(Blackhole blackhole) {
+        Device device = _deviceFactory.createDevice("Heater", "Xiaomi");
+        blackhole.consume(device);
+        blackhole.consume(device.getSensorFunctionalities());
+    }
+
+    /**
+     * Creates a device and parses both configuration files for it, reproducing the per-device cost.
+     *
+     * @param blackhole Consumes the created device and catalogues.
+     */
+    @Benchmark
+    public void perDeviceCatalogues(Blackhole blackhole) {
+        Device device = _deviceFactory.createDevice("Heater", "Xiaomi");
+        SensorCatalogue sensorCatalogue = new SensorCatalogue(SENSOR_CONFIG);
+        ActuatorCatalogue actuatorCatalogue = new ActuatorCatalogue(ACTUATOR_CONFIG);
+        blackhole.consume(device);
+        blackhole.consume(sensorCatalogue.getSensorFunctionalities());
+        blackhole.consume(actuatorCatalogue);
+    }
+}
@@ -0,0 +1,68 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.sensors.history.EnergyMeterHistory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures consumption queries over an {@link EnergyMeterHistory} holding a year of one-second meter readings,
+ * and the cost of ingesting a day of readings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnergyMeterBenchmark {
+    private static final long SECOND = 1_000_000_000L;
+    private static final int YEAR = 365 * 86_400;
+    private static final int DAY = 86_400;
+
+    private EnergyMeterHistory _history;
+    private long _query;
+
+    /**
+     * Fills a history with a year of readings from a meter whose load changes every second.
+     */
+    @Setup
+    public void setup() {
+        _history = new EnergyMeterHistory();
+        double counter = 0;
+        for (int i = 0; i < YEAR; i++) {
+            counter += 0.1 + (i % 11) * 0.03;
+            _history.append(i * SECOND, counter);
+        }
+    }
+
+    /**
+     * Gets the consumption of a one-hour period starting half a second into a different second at each call,
+     * so both bounds are interpolated.
+     *
+     * @return The consumption of the period.
+     */
+    @Benchmark
+    public double consumptionOverAnHour() {
+        _query = (_query + 7_919) % (YEAR - 7_200);
+        long start = _query * SECOND + SECOND / 2;
+        return _history.consumption(start, start + 3_600 * SECOND);
+    }
+
+    /**
+     * Ingests a day of one-second readings.
+     *
+     * @return The filled history.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public EnergyMeterHistory ingestDay() {
+        EnergyMeterHistory history = new EnergyMeterHistory();
+        double counter = 0;
+        for (int i = 0; i < DAY; i++) {
+            counter += 0.1 + (i % 11) * 0.03;
+            history.append(i * SECOND, counter);
+        }
+        return history;
+    }
+}
@@ -0,0 +1,115 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.sensors.history.RingBufferHistory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a one-hour period query over a {@link RingBufferHistory} of one million readings taken every second,
+ * comparing a scan of the whole history, a binary-search lookup that sums the readings of the period, and the
+ * prefix-sum lookup used by the power sensors, whose cost does not depend on the length of the period. A second
+ * pair of benchmarks measures ingestion in order and with every tenth reading arriving late.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistoryRangeQueryBenchmark {
+    private static final int READINGS = 1_000_000;
+    private static final long SECOND = 1_000_000_000L;
+
+    private RingBufferHistory _history;
+    private long _start;
+    private long _end;
+
+    /**
+     * Fills a history with one reading per second and picks a one-hour period in its middle.
+     */
+    @Setup
+    public void setup() {
+        _history = new RingBufferHistory(READINGS);
+        for (int i = 0; i < READINGS; i++)
+            _history.append(i * SECOND, i % 100);
+        _start = (READINGS / 2) * SECOND;
+        _end = _start + 3600 * SECOND;
+    }
+
+    /**
+     * Sums the readings of the period after locating its bounds by binary search.
+     *
+     * @return The sum of the readings in the period.
+     */
+    @Benchmark
+    public double binarySearchRange() {
+        int to = _history.ceilingIndex(_end);
+        double total = 0;
+        for (int i = _history.higherIndex(_start); i < to; i++)
+            total += _history.getValue(i);
+        return total;
+    }
+
+    /**
+     * Sums the readings of the period from the running totals of the history after locating its bounds by binary
+     * search.
+     *
+     * @return The sum of the readings in the period.
+     */
+    @Benchmark
+    public double prefixSumRange() {
+        return _history.sum(_history.higherIndex(_start), _history.ceilingIndex(_end));
+    }
+
+    /**
+     * Sums the readings of the period by checking the time of every reading in the history.
+     *
+     * @return The sum of the readings in the period.
+     */
+    @Benchmark
+    public double linearScanRange() {
+        double total = 0;
+        for (int i = 0; i < _history.size(); i++) {
+            long time = _history.getTimestamp(i);
+            if (time > _start && time < _end) total += _history.getValue(i);
+        }
+        return total;
+    }
+
+    /**
+     * Ingests one million readings in timestamp order.
+     *
+     * @return The filled history.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public RingBufferHistory ingestInOrder() {
+        RingBufferHistory history = new RingBufferHistory(READINGS);
+        for (int i = 0; i < READINGS; i++)
+            history.append(i * SECOND, i);
+        return history;
+    }
+
+    /**
+     * Ingests one million readings where every tenth reading arrives five seconds late.
+     *
+     * @return The filled history.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public RingBufferHistory ingestOutOfOrder() {
+        RingBufferHistory history = new RingBufferHistory(READINGS);
+        for (int i = 0; i < READINGS; i++) {
+            long time = i % 10 == 9 ? (i - 5) * SECOND + 1 : i * SECOND;
+            history.append(time, i);
+        }
+        return history;
+    }
+}
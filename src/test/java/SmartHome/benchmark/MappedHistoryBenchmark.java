@@ -0,0 +1,82 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.sensors.history.MappedHistory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures a one-hour range query and appends on a {@link MappedHistory} holding a million one-second readings in
+ * segment files under a temporary directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappedHistoryBenchmark {
+    private static final long SECOND = 1_000_000_000L;
+    private static final int READINGS = 1_000_000;
+
+    private Path _directory;
+    private MappedHistory _history;
+    private long _next;
+    private long _query;
+
+    /**
+     * Writes a million readings to a fresh directory.
+     *
+     * @throws IOException if the temporary directory cannot be created.
+     */
+    @Setup
+    public void setup() throws IOException {
+        _directory = Files.createTempDirectory("mapped-history");
+        _history = new MappedHistory(_directory);
+        for (int i = 0; i < READINGS; i++)
+            _history.append(i * SECOND, i % 500);
+        _next = READINGS;
+    }
+
+    /**
+     * Closes the history and deletes its directory.
+     *
+     * @throws IOException if the directory cannot be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        _history.close();
+        try (Stream<Path> files = Files.walk(_directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    /**
+     * Visits the readings of one hour, a different hour at each call.
+     *
+     * @param blackhole Consumes the visited values.
+     */
+    @Benchmark
+    public void queryHour(Blackhole blackhole) {
+        _query = (_query + 3_607) % (READINGS - 3_600);
+        long start = _query * SECOND;
+        _history.forEachInRange(start, start + 3_600 * SECOND, (timestamp, value) -> blackhole.consume(value));
+    }
+
+    /**
+     * Appends a reading after the newest one.
+     *
+     * @return Whether the reading was stored.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean append() {
+        return _history.append(_next++ * SECOND, 1.0);
+    }
+}
@@ -0,0 +1,57 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.values.MeasurementDecoder;
+import SmartHome.domain.values.implementation.WValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a power reading from an ASCII payload with {@link MeasurementDecoder} against copying the
+ * number into a {@code String} and passing it to {@link WValue#setValue(String)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MeasurementDecoderBenchmark {
+    private static final int START = 6;
+    private static final int END = 12;
+
+    private ByteBuffer _payload;
+    private WValue _value;
+
+    /**
+     * Creates the payload and the value written by the benchmarks.
+     */
+    @Setup
+    public void setup() {
+        _payload = ByteBuffer.wrap("power=1234.5;unit=W".getBytes(StandardCharsets.US_ASCII));
+        _value = new WValue();
+    }
+
+    /**
+     * Decodes the reading straight from the payload.
+     *
+     * @return Whether the reading was accepted.
+     */
+    @Benchmark
+    public boolean decoder() {
+        return MeasurementDecoder.decode(_payload, START, END, _value);
+    }
+
+    /**
+     * Copies the reading into a string and parses it.
+     *
+     * @return Whether the reading was accepted.
+     */
+    @Benchmark
+    public boolean setValue() {
+        String text = new String(_payload.array(), START, END - START, StandardCharsets.US_ASCII);
+        return _value.setValue(text);
+    }
+}
@@ -0,0 +1,91 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.sensors.history.CompressedHistory;
+import SmartHome.domain.sensors.history.QuantileSketch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the 95th percentile of the power readings of a house of 50 sensors, each holding a month of one-minute
+ * readings, computed by merging their {@link QuantileSketch}es with the same percentile computed by sorting their
+ * raw samples from {@link CompressedHistory}s. Also measures the cost of counting one reading in a sketch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuantileSketchBenchmark {
+    private static final int SENSORS = 50;
+    private static final int MONTH = 30 * 1440;
+
+    private QuantileSketch[] _sketches;
+    private CompressedHistory[] _histories;
+    private QuantileSketch _target;
+    private double _next;
+
+    /**
+     * Fills the sketch and the history of every sensor with the same month of readings.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(11);
+        _sketches = new QuantileSketch[SENSORS];
+        _histories = new CompressedHistory[SENSORS];
+        for (int s = 0; s < SENSORS; s++) {
+            _sketches[s] = new QuantileSketch();
+            _histories[s] = new CompressedHistory();
+            for (int i = 0; i < MONTH; i++) {
+                double value = Math.round(Math.exp(random.nextGaussian()) * 1000) / 10.0;
+                _sketches[s].add(value);
+                _histories[s].append(i, value);
+            }
+        }
+        _target = new QuantileSketch();
+    }
+
+    /**
+     * Computes the house percentile by merging the sensor sketches.
+     *
+     * @return The percentile.
+     */
+    @Benchmark
+    public double houseP95FromSketches() {
+        QuantileSketch house = new QuantileSketch();
+        for (QuantileSketch sketch : _sketches)
+            house.merge(sketch);
+        return house.getQuantile(0.95);
+    }
+
+    /**
+     * Computes the house percentile by decoding and sorting every raw sample.
+     *
+     * @return The percentile.
+     */
+    @Benchmark
+    public double houseP95FromRaw() {
+        double[] values = new double[SENSORS * MONTH];
+        int[] position = new int[1];
+        for (CompressedHistory history : _histories)
+            history.forEachInRange(0, MONTH, (timestamp, value) -> values[position[0]++] = value);
+        Arrays.sort(values);
+        return values[(int) (0.95 * (values.length - 1))];
+    }
+
+    /**
+     * Counts one reading in a sketch.
+     *
+     * @return The number of values counted.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long addReading() {
+        _next = _next > 5000 ? 0.1 : _next * 1.37 + 0.1;
+        _target.add(_next);
+        return _target.getCount();
+    }
+}
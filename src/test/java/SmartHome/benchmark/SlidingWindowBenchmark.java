@@ -0,0 +1,78 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.sensors.history.CompressedHistory;
+import SmartHome.domain.sensors.history.SlidingWindow;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares keeping the one-hour maximum of one-second readings up to date with a {@link SlidingWindow} against
+ * re-querying the last hour of a {@link CompressedHistory} after every reading. Each invocation ingests one reading
+ * after a day of readings has been stored.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlidingWindowBenchmark {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+    private static final int DAY = 86_400;
+
+    private SlidingWindow _window;
+    private CompressedHistory _history;
+    private double _max;
+    private long _next;
+
+    /**
+     * Feeds a day of readings to the window and the history.
+     */
+    @Setup
+    public void setup() {
+        _window = new SlidingWindow(HOUR, (start, min, max, sum, count) -> _max = max);
+        _history = new CompressedHistory();
+        for (_next = 0; _next < DAY; _next++) {
+            _window.add(_next * SECOND, reading(_next));
+            _history.append(_next * SECOND, reading(_next));
+        }
+    }
+
+    /**
+     * Gets the reading of a given second.
+     *
+     * @param second The second.
+     * @return The reading.
+     */
+    private static double reading(long second) {
+        return Math.round(2000 + 1500 * Math.sin(second / 700.0)) / 10.0;
+    }
+
+    /**
+     * Adds a reading to the sliding window, which emits the maximum of the last hour.
+     *
+     * @return The maximum of the last hour.
+     */
+    @Benchmark
+    public double slidingWindow() {
+        long time = _next++ * SECOND;
+        _window.add(time, reading(_next));
+        return _max;
+    }
+
+    /**
+     * Adds a reading to the history and scans the last hour for its maximum.
+     *
+     * @return The maximum of the last hour.
+     */
+    @Benchmark
+    public double requeryHistory() {
+        long time = _next++ * SECOND;
+        _history.append(time, reading(_next));
+        double[] max = {Double.NEGATIVE_INFINITY};
+        _history.forEachInRange(time - HOUR + 1, time + 1, (timestamp, value) -> max[0] = Math.max(max[0], value));
+        return max[0];
+    }
+}
@@ -0,0 +1,75 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.catalogue.CatalogueRegistry;
+import SmartHome.domain.device.Device;
+import SmartHome.domain.device.DeviceFactory;
+import SmartHome.domain.house.DevicesByFunctionality;
+import SmartHome.domain.house.House;
+import SmartHome.domain.house.LocationFactory;
+import SmartHome.domain.room.DimensionsFactory;
+import SmartHome.domain.room.Room;
+import SmartHome.domain.room.RoomFactory;
+import SmartHome.domain.sensors.Sensor;
+import SmartHome.domain.sensors.SensorCatalogue;
+import SmartHome.domain.values.ValueFactoryImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of walking a house through {@link House#getRooms()}, {@link Room#getDevices()} and
+ * {@link Device#getSensors()}, as the controllers and the room-walking {@link DevicesByFunctionality} do.
+ * Run it with the GC profiler ({@code -prof gc}) to compare allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotViewBenchmark {
+    private House _house;
+
+    /**
+     * Builds a house of 50 rooms with 20 devices each, every device holding two sensors.
+     */
+    @Setup
+    public void setup() {
+        SensorCatalogue catalogue = CatalogueRegistry.getSensorCatalogue();
+        _house = new House(new LocationFactory(), new RoomFactory());
+        for (int r = 0; r < 50; r++) {
+            _house.addRoom("Room " + r, "1", 3, 3, 3, new DeviceFactory(), new DimensionsFactory());
+            Room room = _house.getRoom("Room " + r);
+            for (int d = 0; d < 20; d++) {
+                room.addDevice("Device " + d, "Model");
+                Device device = room.getDevice("Device " + d);
+                device.addSensor("TemperatureSensor", "Temperature", catalogue, new ValueFactoryImpl());
+                device.addSensor("HumiditySensor", "Humidity", catalogue, new ValueFactoryImpl());
+            }
+        }
+    }
+
+    /**
+     * Walks every sensor of the house.
+     *
+     * @param blackhole Consumes the visited sensors.
+     */
+    @Benchmark
+    public void walkHouse(Blackhole blackhole) {
+        for (Room room : _house.getRooms())
+            for (Device device : room.getDevices())
+                for (Sensor sensor : device.getSensors())
+                    blackhole.consume(sensor);
+    }
+
+    /**
+     * Groups the devices by functionality by walking the rooms.
+     *
+     * @return The grouped devices.
+     */
+    @Benchmark
+    public Object groupByWalkingRooms() {
+        return new DevicesByFunctionality(_house.getRooms()).getGroupedResult();
+    }
+}
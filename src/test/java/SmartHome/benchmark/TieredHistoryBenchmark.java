@@ -0,0 +1,72 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.sensors.history.CompressedHistory;
+import SmartHome.domain.sensors.history.TieredHistory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a year-long daily report read from the one-day tier of a {@link TieredHistory} with the same report
+ * computed from the raw samples of a {@link CompressedHistory}. Both hold a year of one-minute readings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TieredHistoryBenchmark {
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final long DAY = TimeUnit.DAYS.toNanos(1);
+    private static final int YEAR = 365 * 1440;
+
+    private TieredHistory _tiered;
+    private CompressedHistory _raw;
+
+    /**
+     * Fills both histories with the same year of readings.
+     */
+    @Setup
+    public void setup() {
+        _tiered = TieredHistory.withDefaultTiers(new CompressedHistory());
+        _raw = new CompressedHistory();
+        for (int i = 0; i < YEAR; i++) {
+            double value = Math.round(200 + 50 * Math.sin(i / 300.0)) / 10.0;
+            _tiered.append(i * MINUTE, value);
+            _raw.append(i * MINUTE, value);
+        }
+    }
+
+    /**
+     * Computes the daily averages of the year from the one-day tier.
+     *
+     * @return The daily averages.
+     */
+    @Benchmark
+    public double[] dailyAveragesFromTier() {
+        double[] averages = new double[365];
+        _tiered.forEachSummary(0, 365 * DAY, DAY,
+                (start, min, max, sum, count) -> averages[(int) (start / DAY)] = sum / count);
+        return averages;
+    }
+
+    /**
+     * Computes the daily averages of the year by decoding every raw sample.
+     *
+     * @return The daily averages.
+     */
+    @Benchmark
+    public double[] dailyAveragesFromRaw() {
+        double[] sums = new double[365];
+        int[] counts = new int[365];
+        _raw.forEachInRange(0, 365 * DAY, (timestamp, value) -> {
+            int day = (int) (timestamp / DAY);
+            sums[day] += value;
+            counts[day]++;
+        });
+        for (int d = 0; d < 365; d++)
+            sums[d] /= counts[d];
+        return sums;
+    }
+}
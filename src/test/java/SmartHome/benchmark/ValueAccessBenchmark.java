@@ -0,0 +1,50 @@
+package SmartHome.benchmark;
+
+import SmartHome.domain.values.implementation.WValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the number held by a {@link WValue} through {@link WValue#getDouble()} with formatting it as text
+ * and parsing it back without the measurement unit, as the power sensors used to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValueAccessBenchmark {
+    private WValue _value;
+
+    /**
+     * Creates the value read by the benchmarks.
+     */
+    @Setup
+    public void setup() {
+        _value = new WValue();
+        _value.setDouble(1234.5);
+    }
+
+    /**
+     * Reads the number directly.
+     *
+     * @return The number.
+     */
+    @Benchmark
+    public double getDouble() {
+        return _value.getDouble();
+    }
+
+    /**
+     * Formats the value as text, removes the unit and parses the number.
+     *
+     * @return The number.
+     */
+    @Benchmark
+    public double parseText() {
+        String text = _value.toString().trim().replace(_value.getMeasurementUnit(), "");
+        return Double.parseDouble(text);
+    }
+}
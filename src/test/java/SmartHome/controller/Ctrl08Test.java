@@ -132,4 +132,27 @@ public class Ctrl08Test {
         //Assert
         assertTrue(isEmpty);
     }
+
+    /**
+     * Test case to verify that the devices of every room are retrieved, not only those of the last room.
+     * It verifies whether the returned map contains the devices of two different rooms.
+     */
+    @Test
+    void getDevicesFromHouseWithSeveralRooms() {
+        //Arrange
+        Ctrl08 ctrl08 = new Ctrl08(house);
+        house.addRoom("Kitchen", "0", 2.4, 3, 2, new DeviceFactory(), new DimensionsFactory());
+        bedroom.addDevice("Heater", "GATX");
+        house.getRoom("Kitchen").addDevice("Fridge", "F1");
+
+        //Act
+        Map<DeviceDTO, Device> devicesMap = ctrl08.getDevicesFromHouse();
+
+        //Assert
+        assertAll(
+              () -> assertEquals(2, devicesMap.size()),
+              () -> assertTrue(devicesMap.containsValue(bedroom.getDevice("Heater"))),
+              () -> assertTrue(devicesMap.containsValue(house.getRoom("Kitchen").getDevice("Fridge")))
+        );
+    }
 }
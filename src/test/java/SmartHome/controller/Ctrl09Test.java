@@ -7,8 +7,13 @@ import SmartHome.domain.house.House;
 import SmartHome.domain.house.LocationFactory;
 import SmartHome.domain.room.RoomFactory;
 import SmartHome.domain.sensors.SensorCatalogue;
+import SmartHome.dto.FunctionalityPageDTO;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
 import static SmartHome.domain.constants.Constants.SENSOR_CONFIG;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -129,4 +134,97 @@ class Ctrl09Test {
         // Assert
         assertEquals(expected, result);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test case to verify that sensors added out of room order are still grouped by room and device order.
+     * It verifies whether the returned map lists the devices of the first room before those of the second room.
+     */
+    @Test
+    void getDevicesByRoomAndFunctionalitySensorsAddedOutOfOrder() {
+        // Arrange
+        House house = new House(new LocationFactory(), new RoomFactory());
+        house.addRoom("r1", "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+        house.addRoom("r2", "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+
+        house.getRoom("r1").addDevice("d1", "m1");
+        house.getRoom("r2").addDevice("d2", "m2");
+
+        house.getRoom("r2").getDevice("d2").addSensor("HumiditySensor", "Humidity 2", new SensorCatalogue(SENSOR_CONFIG), new ValueFactoryImpl());
+        house.getRoom("r1").getDevice("d1").addSensor("HumiditySensor", "Humidity 1", new SensorCatalogue(SENSOR_CONFIG), new ValueFactoryImpl());
+
+        String expected = "{Humidity=[DeviceRoomDTO{_device='d1', _room='r1'}, DeviceRoomDTO{_device='d2', _room='r2'}]}";
+
+        // Act
+        String result = new Ctrl09(house).getDevicesByRoomAndFunctionality().toString();
+
+        // Assert
+        assertEquals(expected, result);
+    }
+
+    /**
+     * Test case to verify that the parallel grouping returns the same map as the sequential one.
+     * It verifies whether the map returned with a threshold of one room matches the expected map.
+     */
+    @Test
+    void getDevicesByRoomAndFunctionalityInParallel() {
+        // Arrange
+        House house = new House(new LocationFactory(), new RoomFactory());
+        house.addRoom("r1", "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+        house.addRoom("r2", "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+        house.addRoom("r3", "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+
+        house.getRoom("r1").addDevice("d1", "m1");
+        house.getRoom("r1").addDevice("d2", "m2");
+        house.getRoom("r2").addDevice("d3", "m3");
+        house.getRoom("r3").addDevice("d4", "m4");
+
+        house.getRoom("r1").getDevice("d1").addSensor("TemperatureSensor", "Temperature", new SensorCatalogue(SENSOR_CONFIG), new ValueFactoryImpl());
+        house.getRoom("r1").getDevice("d2").addSensor("HumiditySensor", "Humidity 1", new SensorCatalogue(SENSOR_CONFIG), new ValueFactoryImpl());
+        house.getRoom("r2").getDevice("d3").addSensor("HumiditySensor", "Humidity 2", new SensorCatalogue(SENSOR_CONFIG), new ValueFactoryImpl());
+
+        String expected = "{Temperature=[DeviceRoomDTO{_device='d1', _room='r1'}], " +
+                "Humidity=[DeviceRoomDTO{_device='d2', _room='r1'}, DeviceRoomDTO{_device='d3', _room='r2'}], " +
+                "Without functionality=[DeviceRoomDTO{_device='d4', _room='r3'}]}";
+
+        // Act
+        String result = new Ctrl09(house).getDevicesByRoomAndFunctionality(1).toString();
+
+        // Assert
+        assertEquals(expected, result);
+    }
+
+    /**
+     * Test case to verify that devices grouped by functionality can be streamed page by page.
+     * It verifies whether the published pages hold the expected functionalities and devices.
+     */
+    @Test
+    void getDevicesByRoomAndFunctionalityPages() {
+        // Arrange
+        House house = new House(new LocationFactory(), new RoomFactory());
+        house.addRoom("r1", "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+        house.addRoom("r2", "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+
+        house.getRoom("r1").addDevice("d1", "m1");
+        house.getRoom("r1").addDevice("d2", "m2");
+        house.getRoom("r2").addDevice("d3", "m3");
+
+        house.getRoom("r1").getDevice("d1").addSensor("HumiditySensor", "Humidity 1", new SensorCatalogue(SENSOR_CONFIG), new ValueFactoryImpl());
+        house.getRoom("r2").getDevice("d3").addSensor("HumiditySensor", "Humidity 2", new SensorCatalogue(SENSOR_CONFIG), new ValueFactoryImpl());
+
+        List<FunctionalityPageDTO> pages = new ArrayList<>();
+        String expected = "[FunctionalityPageDTO{_functionality='Humidity', _devices=[DeviceRoomDTO{_device='d1', _room='r1'}]}, " +
+                "FunctionalityPageDTO{_functionality='Humidity', _devices=[DeviceRoomDTO{_device='d3', _room='r2'}]}, " +
+                "FunctionalityPageDTO{_functionality='Without functionality', _devices=[DeviceRoomDTO{_device='d2', _room='r1'}]}]";
+
+        // Act
+        new Ctrl09(house).getDevicesByRoomAndFunctionalityPages(1).subscribe(new Flow.Subscriber<>() {
+            public void onSubscribe(Flow.Subscription subscription) { subscription.request(Long.MAX_VALUE); }
+            public void onNext(FunctionalityPageDTO item) { pages.add(item); }
+            public void onError(Throwable throwable) { }
+            public void onComplete() { }
+        });
+
+        // Assert
+        assertEquals(expected, pages.toString());
+    }
+}
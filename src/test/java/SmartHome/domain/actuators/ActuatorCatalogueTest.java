@@ -8,6 +8,7 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.plist.PropertyListConfiguration;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static SmartHome.domain.constants.Constants.*;
@@ -312,4 +313,70 @@ class ActuatorCatalogueTest {
         // Assert
         assertNull(actualFunctionality, "Expected functionality to be null when non-existent functionality is requested");
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that models are matched by their exact name, so a partial model name is not found.
+     */
+    @Test
+    void partialModelNameIsNotFound() {
+        // Arrange
+        ActuatorCatalogue actuatorCatalogue = new ActuatorCatalogue(ACTUATOR_CONFIG);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+
+        // Act
+        Actuator actuator = actuatorCatalogue.getActuator("BlindRoller", ACTUATOR_PATH, "bra1", valueFactoryDouble);
+
+        // Assert
+        assertNull(actuator);
+    }
+
+    /**
+     * Verifies that repeated requests for the same model create distinct actuators with their own names.
+     */
+    @Test
+    void repeatedRequestsCreateDistinctActuators() {
+        // Arrange
+        ActuatorCatalogue actuatorCatalogue = new ActuatorCatalogue(ACTUATOR_CONFIG);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+
+        // Act
+        Actuator first = actuatorCatalogue.getActuator("SwitchOnOffActuator", ACTUATOR_PATH, "switch1", valueFactoryDouble);
+        Actuator second = actuatorCatalogue.getActuator("SwitchOnOffActuator", ACTUATOR_PATH, "switch2", valueFactoryDouble);
+
+        // Assert
+        assertAll(
+                () -> assertNotSame(first, second),
+                () -> assertEquals("switch1", first.getName()),
+                () -> assertEquals("switch2", second.getName()));
+    }
+
+    /**
+     * Verifies that a catalogue can be built from an already parsed list of actuator names.
+     */
+    @Test
+    void initializeCatalogueFromList() {
+        // Arrange
+        ActuatorCatalogue actuatorCatalogue = new ActuatorCatalogue(List.of("SwitchOnOffActuator"));
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+
+        // Act
+        Actuator actuator = actuatorCatalogue.getActuator("SwitchOnOffActuator", ACTUATOR_PATH, "switch", valueFactoryDouble);
+
+        // Assert
+        assertEquals(List.of("SwitchOnOffActuator"), actuatorCatalogue.getActuators());
+        assertNotNull(actuator);
+    }
+
+    /**
+     * Verifies that a list containing a null actuator name is rejected.
+     */
+    @Test
+    void listWithNullNameThrowsException() {
+        // Arrange
+        List<String> actuators = new ArrayList<>();
+        actuators.add(null);
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> new ActuatorCatalogue(actuators));
+    }
+}
@@ -0,0 +1,208 @@
+package SmartHome.domain.catalogue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static SmartHome.domain.constants.Constants.ACTUATOR_CONFIG;
+import static SmartHome.domain.constants.Constants.CATALOGUE_BINARY;
+import static SmartHome.domain.constants.Constants.SENSOR_CONFIG;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link BinaryCatalogueCompiler} and {@link BinaryCatalogueLoader} classes, verifying that
+ * a compiled descriptor loads the same catalogues as the text files and is ignored once they change.
+ */
+class BinaryCatalogueLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    private Path sensorConfig;
+    private Path actuatorConfig;
+    private Path binary;
+
+    /**
+     * Writes a pair of text configuration files and compiles them.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        sensorConfig = directory.resolve("sensors.properties");
+        actuatorConfig = directory.resolve("actuators.properties");
+        binary = directory.resolve("catalogue.bin");
+        Files.writeString(sensorConfig, "sensor = TemperatureSensor\nsensor = HumiditySensor\n");
+        Files.writeString(actuatorConfig, "actuator = SwitchOnOffActuator\n");
+        BinaryCatalogueCompiler.compile(sensorConfig.toString(), actuatorConfig.toString(), binary.toString());
+    }
+
+    /**
+     * Tests that the default configuration loads the same models from both formats.
+     */
+    @Test
+    void compiledDefaultConfigurationMatchesTextFormat() throws IOException {
+        // Arrange
+        Path defaultBinary = directory.resolve("default.bin");
+        BinaryCatalogueCompiler.compile(SENSOR_CONFIG, ACTUATOR_CONFIG, defaultBinary.toString());
+        CatalogueSnapshot text = CatalogueSnapshot.load(SENSOR_CONFIG, ACTUATOR_CONFIG);
+
+        // Act
+        CatalogueSnapshot compiled = BinaryCatalogueLoader.load(defaultBinary.toString());
+
+        // Assert
+        assertEquals(text.getSensorCatalogue().getSensors(), compiled.getSensorCatalogue().getSensors());
+        assertEquals(text.getActuatorCatalogue().getActuators(), compiled.getActuatorCatalogue().getActuators());
+    }
+
+    /**
+     * Tests that a descriptor compiled from the current files is loaded.
+     */
+    @Test
+    void loadIfCurrentReturnsSnapshotForUnchangedFiles() {
+        // Act
+        CatalogueSnapshot snapshot = BinaryCatalogueLoader.loadIfCurrent(binary.toString(),
+                sensorConfig.toString(), actuatorConfig.toString());
+
+        // Assert
+        assertNotNull(snapshot);
+        assertEquals(List.of("TemperatureSensor", "HumiditySensor"), snapshot.getSensorCatalogue().getSensors());
+        assertEquals(List.of("SwitchOnOffActuator"), snapshot.getActuatorCatalogue().getActuators());
+    }
+
+    /**
+     * Tests that a descriptor is ignored once one of its text files changed.
+     */
+    @Test
+    void loadIfCurrentIgnoresOutdatedDescriptor() throws IOException {
+        // Arrange
+        Files.writeString(actuatorConfig, "actuator = SwitchOnOffActuator\nactuator = RangeActuatorInt\n");
+        Files.setLastModifiedTime(actuatorConfig, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+        // Act
+        CatalogueSnapshot snapshot = BinaryCatalogueLoader.loadIfCurrent(binary.toString(),
+                sensorConfig.toString(), actuatorConfig.toString());
+
+        // Assert
+        assertNull(snapshot);
+    }
+
+    /**
+     * Tests that an edit keeping both the size and the modification time of a text file still outdates the
+     * descriptor, since the descriptor records the content of the files.
+     */
+    @Test
+    void loadIfCurrentDetectsSameSizeEditWithSameTimestamp() throws IOException {
+        // Arrange
+        FileTime lastModified = Files.getLastModifiedTime(sensorConfig);
+        Files.writeString(sensorConfig, "sensor = TemperatureSensor\nsensor = HumiditySensoR\n");
+        Files.setLastModifiedTime(sensorConfig, lastModified);
+
+        // Act
+        CatalogueSnapshot snapshot = BinaryCatalogueLoader.loadIfCurrent(binary.toString(),
+                sensorConfig.toString(), actuatorConfig.toString());
+
+        // Assert
+        assertNull(snapshot);
+    }
+
+    /**
+     * Tests that a descriptor is used on its own when the text files it was compiled from are not present.
+     */
+    @Test
+    void loadIfCurrentUsesDescriptorWithoutTextFiles() throws IOException {
+        // Arrange
+        Files.delete(sensorConfig);
+        Files.delete(actuatorConfig);
+
+        // Act
+        CatalogueSnapshot snapshot = BinaryCatalogueLoader.loadIfCurrent(binary.toString(),
+                sensorConfig.toString(), actuatorConfig.toString());
+
+        // Assert
+        assertNotNull(snapshot);
+        assertEquals(List.of("SwitchOnOffActuator"), snapshot.getActuatorCatalogue().getActuators());
+    }
+
+    /**
+     * Tests that the descriptor packaged with the classes by the build is found on the classpath.
+     */
+    @Test
+    void loadResourceIfCurrentReadsPackagedDescriptor() {
+        // Act
+        CatalogueSnapshot snapshot = BinaryCatalogueLoader.loadResourceIfCurrent(CATALOGUE_BINARY,
+                SENSOR_CONFIG, ACTUATOR_CONFIG);
+
+        // Assert
+        assertNotNull(snapshot);
+        assertEquals(CatalogueSnapshot.load(SENSOR_CONFIG, ACTUATOR_CONFIG).getSensorCatalogue().getSensors(),
+                snapshot.getSensorCatalogue().getSensors());
+    }
+
+    /**
+     * Tests that a resource that is not on the classpath is ignored.
+     */
+    @Test
+    void loadResourceIfCurrentIgnoresMissingResource() {
+        // Act
+        CatalogueSnapshot snapshot = BinaryCatalogueLoader.loadResourceIfCurrent("missing.bin",
+                sensorConfig.toString(), actuatorConfig.toString());
+
+        // Assert
+        assertNull(snapshot);
+    }
+
+    /**
+     * Tests that a missing descriptor is ignored when loading conditionally.
+     */
+    @Test
+    void loadIfCurrentIgnoresMissingDescriptor() {
+        // Act
+        CatalogueSnapshot snapshot = BinaryCatalogueLoader.loadIfCurrent(directory.resolve("missing.bin").toString(),
+                sensorConfig.toString(), actuatorConfig.toString());
+
+        // Assert
+        assertNull(snapshot);
+    }
+
+    /**
+     * Tests that a file that is not a descriptor is rejected.
+     */
+    @Test
+    void loadRejectsInvalidDescriptor() throws IOException {
+        // Arrange
+        Files.writeString(binary, "sensor = TemperatureSensor\n");
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> BinaryCatalogueLoader.load(binary.toString()));
+        assertNull(BinaryCatalogueLoader.loadIfCurrent(binary.toString(), sensorConfig.toString(), actuatorConfig.toString()));
+    }
+
+    /**
+     * Tests that a truncated descriptor is rejected.
+     */
+    @Test
+    void loadRejectsTruncatedDescriptor() throws IOException {
+        // Arrange
+        byte[] bytes = Files.readAllBytes(binary);
+        Files.write(binary, Arrays.copyOf(bytes, bytes.length - 3));
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> BinaryCatalogueLoader.load(binary.toString()));
+    }
+
+    /**
+     * Tests that compiling a missing configuration file is rejected.
+     */
+    @Test
+    void compileMissingConfigurationThrowsException() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> BinaryCatalogueCompiler.compile("config.error",
+                actuatorConfig.toString(), binary.toString()));
+    }
+}
@@ -0,0 +1,128 @@
+package SmartHome.domain.catalogue;
+
+import SmartHome.domain.actuators.ActuatorCatalogue;
+import SmartHome.domain.device.Device;
+import SmartHome.domain.sensors.SensorCatalogue;
+import org.apache.commons.configuration2.plist.PropertyListConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static SmartHome.domain.constants.Constants.ACTUATOR_CONFIG;
+import static SmartHome.domain.constants.Constants.SENSOR_CONFIG;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link CatalogueRegistry} and {@link CatalogueSnapshot} classes, verifying that the
+ * catalogues are loaded once, shared, and replaced atomically.
+ */
+class CatalogueRegistryTest {
+
+    /**
+     * Restores the default catalogues so other tests are not affected by a swapped snapshot.
+     */
+    @AfterEach
+    void tearDown() {
+        CatalogueRegistry.reloadDefault();
+    }
+
+    /**
+     * Tests that consecutive calls return the same shared snapshot instead of reading the files again.
+     */
+    @Test
+    void getSnapshotReturnsSharedInstance() {
+        // Act
+        CatalogueSnapshot first = CatalogueRegistry.getSnapshot();
+        CatalogueSnapshot second = CatalogueRegistry.getSnapshot();
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first.getSensorCatalogue(), CatalogueRegistry.getSensorCatalogue());
+        assertSame(first.getActuatorCatalogue(), CatalogueRegistry.getActuatorCatalogue());
+    }
+
+    /**
+     * Tests that the default snapshot holds the catalogues described by the configuration files.
+     */
+    @Test
+    void defaultSnapshotReadsConfigurationFiles() {
+        // Act
+        CatalogueSnapshot snapshot = CatalogueRegistry.getSnapshot();
+
+        // Assert
+        assertAll(
+                () -> assertTrue(snapshot.getSensorCatalogue().getSensors().contains("TemperatureSensor")),
+                () -> assertTrue(snapshot.getActuatorCatalogue().getActuators().contains("SwitchOnOffActuator")));
+    }
+
+    /**
+     * Tests that swapping publishes the new snapshot and returns the replaced one.
+     */
+    @Test
+    void swapPublishesNewSnapshot() {
+        // Arrange
+        CatalogueSnapshot previous = CatalogueRegistry.getSnapshot();
+        CatalogueSnapshot empty = new CatalogueSnapshot(new SensorCatalogue(new PropertyListConfiguration()),
+                new ActuatorCatalogue(new PropertyListConfiguration()));
+
+        // Act
+        CatalogueSnapshot replaced = CatalogueRegistry.swap(empty);
+
+        // Assert
+        assertSame(previous, replaced);
+        assertSame(empty, CatalogueRegistry.getSnapshot());
+        assertTrue(CatalogueRegistry.getSensorCatalogue().getSensors().isEmpty());
+    }
+
+    /**
+     * Tests that swapping a null snapshot is rejected.
+     */
+    @Test
+    void swapNullSnapshotThrowsException() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> CatalogueRegistry.swap(null));
+    }
+
+    /**
+     * Tests that reloading replaces the current snapshot with a freshly loaded one.
+     */
+    @Test
+    void reloadPublishesFreshSnapshot() {
+        // Arrange
+        CatalogueSnapshot previous = CatalogueRegistry.getSnapshot();
+
+        // Act
+        CatalogueSnapshot reloaded = CatalogueRegistry.reload();
+
+        // Assert
+        assertNotSame(previous, reloaded);
+        assertSame(reloaded, CatalogueRegistry.getSnapshot());
+    }
+
+    /**
+     * Tests that devices report the functionalities of the shared catalogues.
+     */
+    @Test
+    void devicesUseSharedCatalogues() {
+        // Arrange
+        Device device = new Device("Heater", "Xiaomi");
+
+        // Act + Assert
+        assertEquals(CatalogueRegistry.getSensorCatalogue().getSensorFunctionalities(), device.getSensorFunctionalities());
+        assertEquals(CatalogueRegistry.getActuatorCatalogue().getActuatorModels(), device.getActuatorFunctionalities());
+    }
+
+    /**
+     * Tests that a snapshot cannot be built from missing catalogues.
+     */
+    @Test
+    void snapshotWithNullCataloguesThrowsException() {
+        // Arrange
+        SensorCatalogue sensorCatalogue = new SensorCatalogue(SENSOR_CONFIG);
+        ActuatorCatalogue actuatorCatalogue = new ActuatorCatalogue(ACTUATOR_CONFIG);
+
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new CatalogueSnapshot(null, actuatorCatalogue)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new CatalogueSnapshot(sensorCatalogue, null)));
+    }
+}
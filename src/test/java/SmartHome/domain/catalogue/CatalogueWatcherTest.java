@@ -0,0 +1,190 @@
+package SmartHome.domain.catalogue;
+
+import SmartHome.domain.sensors.SensorCatalogue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link CatalogueWatcher} class, verifying that configuration changes are published
+ * as new catalogue snapshots and that unreadable files keep the previous snapshot.
+ */
+class CatalogueWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private Path sensorConfig;
+    private Path actuatorConfig;
+    private CatalogueWatcher watcher;
+
+    /**
+     * Writes a minimal pair of configuration files and creates a watcher for them.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        sensorConfig = directory.resolve("sensors.properties");
+        actuatorConfig = directory.resolve("actuators.properties");
+        Files.writeString(sensorConfig, "sensor = TemperatureSensor\n");
+        Files.writeString(actuatorConfig, "actuator = SwitchOnOffActuator\n");
+        watcher = new CatalogueWatcher(sensorConfig.toString(), actuatorConfig.toString());
+    }
+
+    /**
+     * Stops the watcher and restores the default catalogues.
+     */
+    @AfterEach
+    void tearDown() {
+        watcher.close();
+        CatalogueRegistry.reloadDefault();
+    }
+
+    /**
+     * Tests that refreshing publishes the catalogues described by the watched files.
+     */
+    @Test
+    void refreshPublishesWatchedFiles() {
+        // Act
+        boolean refreshed = watcher.refresh();
+
+        // Assert
+        assertTrue(refreshed);
+        assertEquals(List.of("TemperatureSensor"), CatalogueRegistry.getSensorCatalogue().getSensors());
+        assertEquals(List.of("SwitchOnOffActuator"), CatalogueRegistry.getActuatorCatalogue().getActuators());
+    }
+
+    /**
+     * Tests that an unreadable configuration keeps the previously published snapshot.
+     */
+    @Test
+    void refreshWithMissingFileKeepsPreviousSnapshot() throws IOException {
+        // Arrange
+        watcher.refresh();
+        CatalogueSnapshot previous = CatalogueRegistry.getSnapshot();
+        Files.delete(sensorConfig);
+
+        // Act
+        boolean refreshed = watcher.refresh();
+
+        // Assert
+        assertFalse(refreshed);
+        assertSame(previous, CatalogueRegistry.getSnapshot());
+    }
+
+    /**
+     * Tests that a catalogue obtained before a refresh keeps its own view of the models.
+     */
+    @Test
+    void catalogueHeldByCallerIsNotAffectedByRefresh() throws IOException {
+        // Arrange
+        watcher.refresh();
+        SensorCatalogue inFlight = CatalogueRegistry.getSensorCatalogue();
+        Files.writeString(sensorConfig, "sensor = HumiditySensor\n");
+
+        // Act
+        watcher.refresh();
+
+        // Assert
+        assertEquals(List.of("TemperatureSensor"), inFlight.getSensors());
+        assertEquals(List.of("HumiditySensor"), CatalogueRegistry.getSensorCatalogue().getSensors());
+    }
+
+    /**
+     * Tests that a running watcher republishes the catalogues after a configuration file changes.
+     */
+    @Test
+    void startedWatcherPublishesChangedFile() throws Exception {
+        // Arrange
+        watcher.refresh();
+        watcher.start();
+
+        // Act
+        Files.writeString(sensorConfig, "sensor = TemperatureSensor\nsensor = WindSensor\n");
+
+        // Assert
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!CatalogueRegistry.getSensorCatalogue().getSensors().contains("WindSensor")
+                && System.currentTimeMillis() < deadline)
+            Thread.sleep(20);
+        assertTrue(CatalogueRegistry.getSensorCatalogue().getSensors().contains("WindSensor"));
+    }
+
+    /**
+     * Tests that a file rewritten in two steps is only published once the rewrite is complete, even though the
+     * intermediate content parses.
+     */
+    @Test
+    void startedWatcherWaitsForRewriteToFinish() throws Exception {
+        // Arrange
+        CatalogueWatcher debounced = new CatalogueWatcher(sensorConfig.toString(), actuatorConfig.toString(),
+                Duration.ofMillis(500));
+        debounced.refresh();
+        debounced.start();
+        boolean sawPartialContent = false;
+
+        try {
+            // Act
+            Files.writeString(sensorConfig, "sensor = TemperatureSensor\nsensor = Wi");
+            Thread.sleep(50);
+            Files.writeString(sensorConfig, "sensor = TemperatureSensor\nsensor = WindSensor\n");
+
+            // Assert
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!CatalogueRegistry.getSensorCatalogue().getSensors().contains("WindSensor")
+                    && System.currentTimeMillis() < deadline) {
+                sawPartialContent |= CatalogueRegistry.getSensorCatalogue().getSensors().contains("Wi");
+                Thread.sleep(5);
+            }
+        } finally {
+            debounced.close();
+        }
+        assertFalse(sawPartialContent);
+        assertTrue(CatalogueRegistry.getSensorCatalogue().getSensors().contains("WindSensor"));
+    }
+
+    /**
+     * Tests that reloading the registry after a refresh reads the watched files rather than the default ones.
+     */
+    @Test
+    void reloadKeepsWatchedFiles() throws IOException {
+        // Arrange
+        watcher.refresh();
+        Files.writeString(sensorConfig, "sensor = HumiditySensor\n");
+
+        // Act
+        CatalogueRegistry.reload();
+
+        // Assert
+        assertEquals(List.of("HumiditySensor"), CatalogueRegistry.getSensorCatalogue().getSensors());
+    }
+
+    /**
+     * Tests that a negative quiet period is rejected.
+     */
+    @Test
+    void negativeQuietPeriodThrowsException() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new CatalogueWatcher("s", "a", Duration.ofMillis(-1)));
+    }
+
+    /**
+     * Tests that invalid file names are rejected.
+     */
+    @Test
+    void invalidFileNamesThrowException() {
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new CatalogueWatcher(null, "a")),
+                () -> assertThrows(IllegalArgumentException.class, () -> new CatalogueWatcher("s", " ")));
+    }
+}
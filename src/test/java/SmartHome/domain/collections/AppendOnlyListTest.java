@@ -0,0 +1,123 @@
+package SmartHome.domain.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link AppendOnlyList} class, verifying that snapshots are read-only, stable and shared.
+ */
+class AppendOnlyListTest {
+
+    /**
+     * Tests that appended elements are kept in insertion order across several growths of the backing array.
+     */
+    @Test
+    void addKeepsInsertionOrder() {
+        // Arrange
+        AppendOnlyList<Integer> list = new AppendOnlyList<>();
+        List<Integer> expected = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+
+        // Assert
+        assertEquals(100, list.size());
+        assertEquals(expected, list.snapshot());
+        assertEquals(42, list.get(42));
+    }
+
+    /**
+     * Tests that a snapshot is not affected by elements appended after it was taken, whether or not the backing
+     * array grows.
+     */
+    @Test
+    void snapshotIsStable() {
+        // Arrange
+        AppendOnlyList<String> list = new AppendOnlyList<>();
+        list.add("a");
+        List<String> snapshot = list.snapshot();
+
+        // Act
+        for (int i = 0; i < 10; i++)
+            list.add("b" + i);
+
+        // Assert
+        assertEquals(List.of("a"), snapshot);
+        assertEquals(11, list.snapshot().size());
+    }
+
+    /**
+     * Tests that repeated snapshots without appends are the same instance, and that an append publishes a new one.
+     */
+    @Test
+    void snapshotIsSharedUntilNextAdd() {
+        // Arrange
+        AppendOnlyList<String> list = new AppendOnlyList<>();
+        list.add("a");
+        List<String> first = list.snapshot();
+
+        // Act
+        List<String> second = list.snapshot();
+        list.add("b");
+        List<String> third = list.snapshot();
+
+        // Assert
+        assertSame(first, second);
+        assertNotSame(first, third);
+    }
+
+    /**
+     * Tests that snapshots cannot be modified.
+     */
+    @Test
+    void snapshotIsReadOnly() {
+        // Arrange
+        AppendOnlyList<String> list = new AppendOnlyList<>();
+        list.add("a");
+        List<String> snapshot = list.snapshot();
+
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(UnsupportedOperationException.class, () -> snapshot.add("b")),
+                () -> assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, "b")));
+    }
+
+    /**
+     * Tests that positions outside the list are rejected.
+     */
+    @Test
+    void getOutsideListThrowsException() {
+        // Arrange
+        AppendOnlyList<String> list = new AppendOnlyList<>();
+        list.add("a");
+
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> list.get(1)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> list.snapshot().get(1)));
+    }
+
+    /**
+     * Tests that the string representation matches the one of an ArrayList.
+     */
+    @Test
+    void toStringMatchesArrayList() {
+        // Arrange
+        AppendOnlyList<String> list = new AppendOnlyList<>();
+        list.add("a");
+        list.add("b");
+
+        // Act + Assert
+        assertEquals(List.of("a", "b").toString(), list.toString());
+        assertEquals("[]", new AppendOnlyList<String>().toString());
+    }
+}
@@ -0,0 +1,22 @@
+package SmartHome.domain.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link NameKeys} class, verifying the case folding of index keys.
+ */
+class NameKeysTest {
+
+    /**
+     * Tests that names differing only in case share a key and that a null name has a null key.
+     */
+    @Test
+    void namesDifferingInCaseShareKey() {
+        // Act + Assert
+        assertEquals(NameKeys.of("Living Room"), NameKeys.of("LIVING room"));
+        assertEquals("title", NameKeys.of("TITLE"));
+        assertNull(NameKeys.of(null));
+    }
+}
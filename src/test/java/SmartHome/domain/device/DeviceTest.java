@@ -7,10 +7,16 @@ import SmartHome.domain.device.Device;
 import SmartHome.domain.sensors.Sensor;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.history.HistoryBackend;
+import SmartHome.domain.sensors.history.QuantileSketch;
+import SmartHome.domain.sensors.history.RingBufferHistory;
+import SmartHome.domain.sensors.implementation.TemperatureSensor;
 import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.CelsiusValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.List;
 
 import static SmartHome.domain.constants.Constants.ACTUATOR_PATH;
@@ -318,6 +324,177 @@ class DeviceTest {
         assertEquals(sensorName, sensor.getName());
     }
 
+    /**
+     * Test method to verify that registered sensor listeners are notified of added sensors.
+     *
+     * <p>This test ensures that a listener receives each sensor added to the device and is not notified
+     * of a duplicated sensor that is rejected.</p>
+     */
+    @Test
+    void addSensorNotifiesListeners() {
+
+        // Arrange
+        String sensorName = "TemperatureSensor";
+        Sensor sensorDouble = mock(Sensor.class);
+        when(sensorDouble.getName()).thenReturn(sensorName);
+        SensorCatalogue sensorCatalogueDouble = mock(SensorCatalogue.class);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+        when(sensorCatalogueDouble.getSensor(sensorName, SENSOR_PATH, sensorName, valueFactoryDouble)).thenReturn(sensorDouble);
+        SensorListener listenerDouble = mock(SensorListener.class);
+        myDevice.addSensorListener(listenerDouble);
+
+        // Act
+        myDevice.addSensor(sensorName, sensorName, sensorCatalogueDouble, valueFactoryDouble);
+        myDevice.addSensor(sensorName, sensorName, sensorCatalogueDouble, valueFactoryDouble);
+
+        // Assert
+        verify(listenerDouble, times(1)).sensorAdded(myDevice, sensorDouble);
+    }
+
+    /**
+     * Test method to verify that the sketch of a device merges the readings of its sensors of one functionality
+     * only.
+     */
+    @Test
+    void getSketchMergesSensorsOfFunctionality() {
+
+        // Arrange
+        SensorCatalogue sensorCatalogueDouble = mock(SensorCatalogue.class);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+        Sensor temperatureDouble = mock(Sensor.class);
+        when(temperatureDouble.getName()).thenReturn("Temperature");
+        when(temperatureDouble.getSensorFunctionality()).thenReturn(SensorFunctionality.Temperature);
+        doAnswer(invocation -> {
+            ((QuantileSketch) invocation.getArgument(0)).add(21.5);
+            return null;
+        }).when(temperatureDouble).mergeReadingsInto(any(QuantileSketch.class));
+        Sensor humidityDouble = mock(Sensor.class);
+        when(humidityDouble.getName()).thenReturn("Humidity");
+        when(humidityDouble.getSensorFunctionality()).thenReturn(SensorFunctionality.Humidity);
+        when(sensorCatalogueDouble.getSensor("T", SENSOR_PATH, "Temperature", valueFactoryDouble)).thenReturn(temperatureDouble);
+        when(sensorCatalogueDouble.getSensor("H", SENSOR_PATH, "Humidity", valueFactoryDouble)).thenReturn(humidityDouble);
+        myDevice.addSensor("T", "Temperature", sensorCatalogueDouble, valueFactoryDouble);
+        myDevice.addSensor("H", "Humidity", sensorCatalogueDouble, valueFactoryDouble);
+
+        // Act
+        QuantileSketch sketch = myDevice.getSketch(SensorFunctionality.Temperature);
+
+        // Assert
+        assertEquals(1, sketch.getCount());
+        assertEquals(21.5, sketch.getMax());
+        verify(humidityDouble, never()).mergeReadingsInto(any(QuantileSketch.class));
+        assertThrows(IllegalArgumentException.class, () -> myDevice.getSketch(null));
+    }
+
+    /**
+     * Test method to verify that the history of a sensor is opened with the backend of the device, under the
+     * names of the room, the device and the sensor, and only once the sensor is accepted.
+     */
+    @Test
+    void addSensorOpensHistoryOfAcceptedSensorOnly() {
+
+        // Arrange
+        HistoryBackend backend = HistoryBackend.compressed();
+        Device device = new Device("Heater", "Xiaomi", backend);
+        Sensor sensorDouble = mock(Sensor.class);
+        when(sensorDouble.getName()).thenReturn("Temperature");
+        Sensor duplicateDouble = mock(Sensor.class);
+        SensorCatalogue sensorCatalogueDouble = mock(SensorCatalogue.class);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+        when(sensorCatalogueDouble.getSensor("T", SENSOR_PATH, "Temperature", valueFactoryDouble))
+                .thenReturn(sensorDouble, duplicateDouble);
+        device.setRoomName("Kitchen");
+
+        // Act
+        device.addSensor("T", "Temperature", sensorCatalogueDouble, valueFactoryDouble);
+        device.addSensor("T", "Temperature", sensorCatalogueDouble, valueFactoryDouble);
+
+        // Assert
+        verify(sensorDouble).openHistory(backend, "Kitchen", "Heater", "Temperature");
+        verify(duplicateDouble, never()).openHistory(any(), any(), any(), any());
+        assertThrows(IllegalArgumentException.class, () -> device.setRoomName(" "));
+        assertThrows(IllegalArgumentException.class, () -> new Device("Heater", "Xiaomi", null));
+    }
+
+    /**
+     * Test method to verify that devices created by a factory open the histories of their sensors with the backend
+     * of the factory, and that readings a sensor recorded before it was added move into the opened history.
+     */
+    @Test
+    void addSensorMovesEarlierReadingsIntoBackendOfFactory() {
+
+        // Arrange
+        Device device = new DeviceFactory(HistoryBackend.inMemory(4)).createDevice("Heater", "Xiaomi");
+        TemperatureSensor sensor = new TemperatureSensor(mock(SensorCatalogue.class), "Temperature", mock(ValueFactory.class));
+        CelsiusValue reading = new CelsiusValue();
+        reading.setValue("21");
+        sensor.addReading(reading, Instant.parse("2024-03-04T08:00:00Z"));
+        SensorCatalogue sensorCatalogueDouble = mock(SensorCatalogue.class);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+        when(sensorCatalogueDouble.getSensor("T", SENSOR_PATH, "Temperature", valueFactoryDouble)).thenReturn(sensor);
+
+        // Act
+        Sensor result = device.addSensor("T", "Temperature", sensorCatalogueDouble, valueFactoryDouble);
+
+        // Assert
+        assertSame(sensor, result);
+        assertInstanceOf(RingBufferHistory.class, sensor.getHistory());
+        assertEquals(1, sensor.getHistory().size());
+        assertThrows(IllegalArgumentException.class, () -> new DeviceFactory(null));
+    }
+
+    /**
+     * Test method to verify that a sensor whose history cannot be opened is not added and the failure reaches the
+     * caller.
+     */
+    @Test
+    void addSensorWithUnopenableHistoryThrowsException() {
+
+        // Arrange
+        Sensor sensorDouble = mock(Sensor.class);
+        when(sensorDouble.getName()).thenReturn("Temperature");
+        doThrow(new IllegalStateException("locked")).when(sensorDouble).openHistory(any(), any(), any());
+        SensorCatalogue sensorCatalogueDouble = mock(SensorCatalogue.class);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+        when(sensorCatalogueDouble.getSensor("T", SENSOR_PATH, "Temperature", valueFactoryDouble)).thenReturn(sensorDouble);
+
+        // Act + Assert
+        assertThrows(IllegalStateException.class,
+                () -> myDevice.addSensor("T", "Temperature", sensorCatalogueDouble, valueFactoryDouble));
+        assertTrue(myDevice.getSensors().isEmpty());
+    }
+
+    /**
+     * Test method to verify that closing a device closes the history of each of its sensors.
+     */
+    @Test
+    void closeClosesSensorHistories() {
+
+        // Arrange
+        Sensor sensorDouble = mock(Sensor.class);
+        when(sensorDouble.getName()).thenReturn("Temperature");
+        SensorCatalogue sensorCatalogueDouble = mock(SensorCatalogue.class);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+        when(sensorCatalogueDouble.getSensor("T", SENSOR_PATH, "Temperature", valueFactoryDouble)).thenReturn(sensorDouble);
+        myDevice.addSensor("T", "Temperature", sensorCatalogueDouble, valueFactoryDouble);
+
+        // Act
+        myDevice.close();
+
+        // Assert
+        verify(sensorDouble).closeHistory();
+    }
+
+    /**
+     * Test method to verify that registering a null sensor listener throws an IllegalArgumentException.
+     */
+    @Test
+    void addNullSensorListener() {
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> myDevice.addSensorListener(null));
+    }
+
     /**
      * Test method to verify the addSensor() functionality of the Device class when adding a duplicated sensor.
      *
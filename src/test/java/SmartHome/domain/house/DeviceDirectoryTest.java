@@ -0,0 +1,128 @@
+package SmartHome.domain.house;
+
+import SmartHome.domain.device.Device;
+import SmartHome.domain.device.DeviceFactory;
+import SmartHome.domain.room.DimensionsFactory;
+import SmartHome.domain.room.RoomFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link DeviceDirectory} class, verifying that the directory of a house follows the devices
+ * added to its rooms.
+ */
+class DeviceDirectoryTest {
+    private House house;
+
+    /**
+     * Creates a house with two rooms.
+     */
+    @BeforeEach
+    void setUp() {
+        house = new House(new LocationFactory(), new RoomFactory());
+        house.addRoom("Bedroom", "1", 2.4, 2, 1.4, new DeviceFactory(), new DimensionsFactory());
+        house.addRoom("Kitchen", "0", 2.4, 3, 2, new DeviceFactory(), new DimensionsFactory());
+    }
+
+    /**
+     * Tests that a device added to a room can be resolved by room and device name, ignoring case.
+     */
+    @Test
+    void getDeviceResolvesAddedDevice() {
+        // Arrange
+        house.getRoom("Bedroom").addDevice("Heater", "GATX");
+
+        // Act
+        DeviceLocation location = house.getDeviceDirectory().getDevice("bedroom", "HEATER");
+
+        // Assert
+        assertNotNull(location);
+        assertSame(house.getRoom("Bedroom"), location.getRoom());
+        assertSame(house.getRoom("Bedroom").getDevice("Heater"), location.getDevice());
+    }
+
+    /**
+     * Tests that unknown rooms, unknown devices and null names are not resolved.
+     */
+    @Test
+    void getDeviceWithUnknownNamesReturnsNull() {
+        // Arrange
+        house.getRoom("Bedroom").addDevice("Heater", "GATX");
+        DeviceDirectory directory = house.getDeviceDirectory();
+
+        // Act + Assert
+        assertAll(
+                () -> assertNull(directory.getDevice("Kitchen", "Heater")),
+                () -> assertNull(directory.getDevice("Bedroom", "Lamp")),
+                () -> assertNull(directory.getDevice(null, "Heater")),
+                () -> assertNull(directory.getDevice("Bedroom", null)));
+    }
+
+    /**
+     * Tests that devices with the same name in different rooms are all found.
+     */
+    @Test
+    void findDevicesAcrossRooms() {
+        // Arrange
+        house.getRoom("Bedroom").addDevice("Lamp", "L1");
+        house.getRoom("Kitchen").addDevice("Lamp", "L2");
+
+        // Act
+        List<DeviceLocation> locations = house.getDeviceDirectory().findDevices("lamp");
+
+        // Assert
+        assertEquals(2, locations.size());
+        assertEquals("Bedroom", locations.get(0).getRoom().getName());
+        assertEquals("Kitchen", locations.get(1).getRoom().getName());
+    }
+
+    /**
+     * Tests that the directory lists every device of the house in insertion order and ignores rejected duplicates.
+     */
+    @Test
+    void getDevicesListsEveryRoom() {
+        // Arrange
+        house.getRoom("Bedroom").addDevice("Heater", "GATX");
+        house.getRoom("Kitchen").addDevice("Fridge", "F1");
+        house.getRoom("Kitchen").addDevice("fridge", "F2");
+
+        // Act
+        List<Device> devices = house.getDeviceDirectory().getDevices();
+
+        // Assert
+        assertEquals(2, house.getDeviceDirectory().size());
+        assertEquals("Heater", devices.get(0).getName());
+        assertEquals("Fridge", devices.get(1).getName());
+    }
+
+    /**
+     * Tests that a room added to a standalone directory contributes the devices it already holds.
+     */
+    @Test
+    void addRoomRecordsExistingDevices() {
+        // Arrange
+        DeviceDirectory directory = new DeviceDirectory();
+        house.getRoom("Bedroom").addDevice("Heater", "GATX");
+
+        // Act
+        directory.addRoom(house.getRoom("Bedroom"));
+        house.getRoom("Bedroom").addDevice("Lamp", "L1");
+
+        // Assert
+        assertEquals(2, directory.size());
+        assertNotNull(directory.getDevice("Bedroom", "Lamp"));
+    }
+
+    /**
+     * Tests that a null room is rejected.
+     */
+    @Test
+    void addNullRoomThrowsException() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> new DeviceDirectory().addRoom(null));
+    }
+}
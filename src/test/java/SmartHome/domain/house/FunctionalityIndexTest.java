@@ -0,0 +1,123 @@
+package SmartHome.domain.house;
+
+import SmartHome.domain.catalogue.CatalogueRegistry;
+import SmartHome.domain.device.DeviceFactory;
+import SmartHome.domain.room.DimensionsFactory;
+import SmartHome.domain.room.RoomFactory;
+import SmartHome.domain.sensors.SensorCatalogue;
+import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.values.ValueFactoryImpl;
+import SmartHome.dto.DeviceRoomDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link FunctionalityIndex} class, verifying that the index follows the devices and sensors
+ * added to a house and groups them as {@link DevicesByFunctionality} does.
+ */
+class FunctionalityIndexTest {
+    private House house;
+    private SensorCatalogue catalogue;
+
+    /**
+     * Creates a house with two rooms.
+     */
+    @BeforeEach
+    void setUp() {
+        house = new House(new LocationFactory(), new RoomFactory());
+        house.addRoom("r1", "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+        house.addRoom("r2", "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+        catalogue = CatalogueRegistry.getSensorCatalogue();
+    }
+
+    /**
+     * Tests that the grouping follows room, device and sensor order even when the sensors are added out of order,
+     * and that it matches the grouping computed by walking the rooms.
+     */
+    @Test
+    void groupedResultMatchesRoomWalk() {
+        // Arrange
+        house.getRoom("r1").addDevice("d1", "m1");
+        house.getRoom("r2").addDevice("d2", "m2");
+        house.getRoom("r1").addDevice("d3", "m3");
+        house.getRoom("r2").getDevice("d2").addSensor("TemperatureSensor", "t2", catalogue, new ValueFactoryImpl());
+        house.getRoom("r1").getDevice("d3").addSensor("TemperatureSensor", "t3", catalogue, new ValueFactoryImpl());
+        house.getRoom("r1").getDevice("d1").addSensor("TemperatureSensor", "t1", catalogue, new ValueFactoryImpl());
+        house.getRoom("r1").getDevice("d1").addSensor("HumiditySensor", "h1", catalogue, new ValueFactoryImpl());
+        String expected = new DevicesByFunctionality(house.getRooms()).getGroupedResult().toString();
+
+        // Act
+        String result = house.getFunctionalityIndex().getGroupedResult().toString();
+
+        // Assert
+        assertEquals(expected, result);
+        assertEquals("{Temperature=[DeviceRoomDTO{_device='d1', _room='r1'}, DeviceRoomDTO{_device='d3', _room='r1'}, "
+                + "DeviceRoomDTO{_device='d2', _room='r2'}], Humidity=[DeviceRoomDTO{_device='d1', _room='r1'}]}", result);
+    }
+
+    /**
+     * Tests that a device leaves the group of devices without functionality once it gets its first sensor.
+     */
+    @Test
+    void deviceWithoutSensorsMovesToFunctionality() {
+        // Arrange
+        house.getRoom("r1").addDevice("d1", "m1");
+        house.getRoom("r2").addDevice("d2", "m2");
+        FunctionalityIndex index = house.getFunctionalityIndex();
+        List<DeviceRoomDTO> before = index.getDevicesWithoutFunctionality();
+
+        // Act
+        house.getRoom("r2").getDevice("d2").addSensor("HumiditySensor", "h2", catalogue, new ValueFactoryImpl());
+
+        // Assert
+        assertEquals(2, before.size());
+        assertEquals(1, index.getDevicesWithoutFunctionality().size());
+        assertEquals("d1", index.getDevicesWithoutFunctionality().get(0).getDevice());
+        assertEquals("d2", index.getDevices(SensorFunctionality.Humidity).get(0).getDevice());
+        assertTrue(index.getDevices(SensorFunctionality.Wind).isEmpty());
+    }
+
+    /**
+     * Tests that the grouping is null when the house has no rooms or when a room has no devices.
+     */
+    @Test
+    void groupedResultIsNullForEmptyRooms() {
+        // Arrange
+        House emptyHouse = new House(new LocationFactory(), new RoomFactory());
+        house.getRoom("r1").addDevice("d1", "m1");
+
+        // Act + Assert
+        assertAll(
+                () -> assertNull(emptyHouse.getFunctionalityIndex().getGroupedResult()),
+                () -> assertNull(house.getFunctionalityIndex().getGroupedResult()));
+    }
+
+    /**
+     * Tests that rejected sensors, such as duplicates, are not indexed.
+     */
+    @Test
+    void duplicateSensorIsNotIndexed() {
+        // Arrange
+        house.getRoom("r1").addDevice("d1", "m1");
+        house.getRoom("r1").getDevice("d1").addSensor("TemperatureSensor", "t1", catalogue, new ValueFactoryImpl());
+
+        // Act
+        house.getRoom("r1").getDevice("d1").addSensor("TemperatureSensor", "T1", catalogue, new ValueFactoryImpl());
+
+        // Assert
+        assertEquals(1, house.getFunctionalityIndex().getDevices(SensorFunctionality.Temperature).size());
+    }
+
+    /**
+     * Tests that a null room is rejected.
+     */
+    @Test
+    void addNullRoomThrowsException() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> new FunctionalityIndex().addRoom(null));
+    }
+}
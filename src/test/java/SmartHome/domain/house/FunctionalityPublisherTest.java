@@ -0,0 +1,185 @@
+package SmartHome.domain.house;
+
+import SmartHome.domain.catalogue.CatalogueRegistry;
+import SmartHome.domain.device.DeviceFactory;
+import SmartHome.domain.room.DimensionsFactory;
+import SmartHome.domain.room.Room;
+import SmartHome.domain.room.RoomFactory;
+import SmartHome.domain.sensors.SensorCatalogue;
+import SmartHome.domain.values.ValueFactoryImpl;
+import SmartHome.dto.DeviceRoomDTO;
+import SmartHome.dto.FunctionalityPageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the publisher returned by {@link FunctionalityIndex#publish(int)}, verifying that the grouping is
+ * streamed page by page under subscriber demand.
+ */
+class FunctionalityPublisherTest {
+    private House house;
+    private SensorCatalogue catalogue;
+
+    /**
+     * Creates a house of five rooms with three devices each: one temperature device, one humidity device on even
+     * rooms, and devices without sensors.
+     */
+    @BeforeEach
+    void setUp() {
+        catalogue = CatalogueRegistry.getSensorCatalogue();
+        house = new House(new LocationFactory(), new RoomFactory());
+        for (int r = 0; r < 5; r++) {
+            house.addRoom("r" + r, "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+            Room room = house.getRoom("r" + r);
+            for (int d = 0; d < 3; d++)
+                room.addDevice("d" + d, "m");
+            room.getDevice("d0").addSensor("TemperatureSensor", "t", catalogue, new ValueFactoryImpl());
+            if (r % 2 == 0)
+                room.getDevice("d1").addSensor("HumiditySensor", "h", catalogue, new ValueFactoryImpl());
+        }
+    }
+
+    /**
+     * Tests that the pages, joined by functionality, hold the same devices as the grouped result, and that no page
+     * is larger than the page size.
+     */
+    @Test
+    void pagesMatchGroupedResult() {
+        // Arrange
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        Map<String, List<DeviceRoomDTO>> expected = house.getFunctionalityIndex().getGroupedResult();
+
+        // Act
+        house.getFunctionalityIndex().publish(2).subscribe(subscriber);
+
+        // Assert
+        Map<String, List<DeviceRoomDTO>> joined = new LinkedHashMap<>();
+        for (FunctionalityPageDTO page : subscriber.pages) {
+            assertTrue(page.getDevices().size() <= 2);
+            joined.computeIfAbsent(page.getFunctionality(), key -> new ArrayList<>()).addAll(page.getDevices());
+        }
+        assertTrue(subscriber.completed);
+        assertEquals(expected, joined);
+        assertEquals(List.of("Temperature", "Humidity", "Without functionality"), new ArrayList<>(joined.keySet()));
+        assertEquals(9, subscriber.pages.size());
+    }
+
+    /**
+     * Tests that pages are only produced when requested, and that devices added between requests are streamed
+     * after the cursor.
+     */
+    @Test
+    void pagesFollowDemand() {
+        // Arrange
+        CollectingSubscriber subscriber = new CollectingSubscriber(1);
+        house.getFunctionalityIndex().publish(5).subscribe(subscriber);
+        house.getRoom("r4").addDevice("d3", "m");
+        house.getRoom("r4").getDevice("d3").addSensor("TemperatureSensor", "t", catalogue, new ValueFactoryImpl());
+
+        // Act
+        subscriber.subscription.request(1);
+
+        // Assert
+        assertEquals(2, subscriber.pages.size());
+        assertEquals(5, subscriber.pages.get(0).getDevices().size());
+        assertEquals(List.of("d3"), List.of(subscriber.pages.get(1).getDevices().get(0).getDevice()));
+        assertFalse(subscriber.completed);
+    }
+
+    /**
+     * Tests that a cancelled subscription emits nothing more.
+     */
+    @Test
+    void cancelStopsPublishing() {
+        // Arrange
+        CollectingSubscriber subscriber = new CollectingSubscriber(1);
+        house.getFunctionalityIndex().publish(1).subscribe(subscriber);
+
+        // Act
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(10);
+
+        // Assert
+        assertEquals(1, subscriber.pages.size());
+        assertFalse(subscriber.completed);
+    }
+
+    /**
+     * Tests that a non-positive request is signalled as an error.
+     */
+    @Test
+    void invalidRequestSignalsError() {
+        // Arrange
+        CollectingSubscriber subscriber = new CollectingSubscriber(0);
+        house.getFunctionalityIndex().publish(1).subscribe(subscriber);
+
+        // Act
+        subscriber.subscription.request(0);
+
+        // Assert
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.pages.isEmpty());
+    }
+
+    /**
+     * Tests that a house without a grouping completes without pages, and that invalid page sizes are rejected.
+     */
+    @Test
+    void emptyHouseCompletesWithoutPages() {
+        // Arrange
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        House emptyHouse = new House(new LocationFactory(), new RoomFactory());
+
+        // Act
+        emptyHouse.getFunctionalityIndex().publish(10).subscribe(subscriber);
+
+        // Assert
+        assertTrue(subscriber.completed);
+        assertTrue(subscriber.pages.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> emptyHouse.getFunctionalityIndex().publish(0));
+    }
+
+    /**
+     * Subscriber that records the pages it receives and requests an initial number of pages.
+     */
+    private static final class CollectingSubscriber implements Flow.Subscriber<FunctionalityPageDTO> {
+        private final long _initialRequest;
+        private final List<FunctionalityPageDTO> pages = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        private CollectingSubscriber(long initialRequest) {
+            this._initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (_initialRequest > 0) subscription.request(_initialRequest);
+        }
+
+        @Override
+        public void onNext(FunctionalityPageDTO item) {
+            pages.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
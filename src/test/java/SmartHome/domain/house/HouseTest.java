@@ -5,6 +5,7 @@ import SmartHome.domain.device.DeviceFactory;
 import SmartHome.domain.room.DimensionsFactory;
 import SmartHome.domain.room.Room;
 import SmartHome.domain.room.RoomFactory;
+import SmartHome.domain.sensors.history.QuantileSketch;
 import SmartHome.dto.DeviceRoomDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -621,4 +622,125 @@ class HouseTest {
         // Assert
         assertNull(result);
     }
+
+    /**
+     * Test method to verify that room names are matched case-insensitively, both when looking a room up and when
+     * rejecting a duplicate.
+     *
+     * <p>Scenario:
+     * <ul>
+     *   <li>Arrange: Add a room named "Living Room" to the house.</li>
+     *   <li>Act: Retrieve the room using a different case and try to add a room whose name differs only in case.</li>
+     *   <li>Assert: Verify that the room is found and that the duplicate is rejected.</li>
+     * </ul>
+     */
+    @Test
+    void getRoom_CaseInsensitiveName() {
+
+        // Arrange
+        deviceFactoryMock = mock(DeviceFactory.class);
+        dimensionsFactoryMock = mock(DimensionsFactory.class);
+        roomMock = mock(Room.class);
+        when(roomFactoryMock.createRoom("Living Room", "1A", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock)).thenReturn(roomMock);
+        when(roomFactoryMock.createRoom("LIVING ROOM", "1A", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock)).thenReturn(mock(Room.class));
+        house.addRoom("Living Room", "1A", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock);
+
+        // Act
+        Room result = house.getRoom("living room");
+        boolean added = house.addRoom("LIVING ROOM", "1A", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock);
+
+        // Assert
+        assertEquals(roomMock, result);
+        assertFalse(added);
+        assertEquals(1, house.getRooms().size());
+    }
+
+    /**
+     * Test method to verify that retrieving a room with a null name returns null.
+     *
+     * <p>Scenario:
+     * <ul>
+     *   <li>Act: Call the getRoom method of the House class with a null name.</li>
+     *   <li>Assert: Verify that the method returns null.</li>
+     * </ul>
+     */
+    @Test
+    void getRoom_NullName() {
+
+        // Act
+        Room result = house.getRoom(null);
+
+        // Assert
+        assertNull(result);
+    }
+
+    /**
+     * Test method to verify that the rooms on a floor are returned in the order they were added.
+     *
+     * <p>Scenario:
+     * <ul>
+     *   <li>Arrange: Add two rooms on floor "1A" and one room on floor "0".</li>
+     *   <li>Act: Retrieve the rooms on each floor and on a floor without rooms.</li>
+     *   <li>Assert: Verify that each floor returns its own rooms in insertion order and that an unknown floor returns an
+     *       empty list.</li>
+     * </ul>
+     */
+    @Test
+    void getRoomsOnFloor() {
+
+        // Arrange
+        deviceFactoryMock = mock(DeviceFactory.class);
+        dimensionsFactoryMock = mock(DimensionsFactory.class);
+        Room livingRoom = mock(Room.class);
+        Room bedroom = mock(Room.class);
+        Room kitchen = mock(Room.class);
+        when(roomFactoryMock.createRoom("Living Room", "1A", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock)).thenReturn(livingRoom);
+        when(roomFactoryMock.createRoom("Kitchen", "0", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock)).thenReturn(kitchen);
+        when(roomFactoryMock.createRoom("Bedroom", "1A", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock)).thenReturn(bedroom);
+        house.addRoom("Living Room", "1A", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock);
+        house.addRoom("Kitchen", "0", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock);
+        house.addRoom("Bedroom", "1A", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock);
+
+        // Act
+        List<Room> firstFloor = house.getRoomsOnFloor("1A");
+        List<Room> groundFloor = house.getRoomsOnFloor("0");
+        List<Room> unknownFloor = house.getRoomsOnFloor("2");
+
+        // Assert
+        assertEquals(List.of(livingRoom, bedroom), firstFloor);
+        assertEquals(List.of(kitchen), groundFloor);
+        assertTrue(unknownFloor.isEmpty());
+    }
+
+    /**
+     * Test that the power sketch of the house merges the power sketches of its rooms.
+     */
+    @Test
+    void getPowerSketchMergesRoomSketches() {
+
+        // Arrange
+        deviceFactoryMock = mock(DeviceFactory.class);
+        dimensionsFactoryMock = mock(DimensionsFactory.class);
+        Room kitchen = mock(Room.class);
+        Room bedroom = mock(Room.class);
+        QuantileSketch kitchenSketch = new QuantileSketch();
+        kitchenSketch.add(1000);
+        QuantileSketch bedroomSketch = new QuantileSketch();
+        bedroomSketch.add(50);
+        bedroomSketch.add(60);
+        when(kitchen.getPowerSketch()).thenReturn(kitchenSketch);
+        when(bedroom.getPowerSketch()).thenReturn(bedroomSketch);
+        when(roomFactoryMock.createRoom("Kitchen", "0", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock)).thenReturn(kitchen);
+        when(roomFactoryMock.createRoom("Bedroom", "1A", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock)).thenReturn(bedroom);
+        house.addRoom("Kitchen", "0", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock);
+        house.addRoom("Bedroom", "1A", 10, 10, 10, deviceFactoryMock, dimensionsFactoryMock);
+
+        // Act
+        QuantileSketch result = house.getPowerSketch();
+
+        // Assert
+        assertEquals(3, result.getCount());
+        assertEquals(50, result.getMin());
+        assertEquals(1000, result.getMax());
+    }
 }
@@ -0,0 +1,130 @@
+package SmartHome.domain.house;
+
+import SmartHome.domain.catalogue.CatalogueRegistry;
+import SmartHome.domain.device.DeviceFactory;
+import SmartHome.domain.room.DimensionsFactory;
+import SmartHome.domain.room.Room;
+import SmartHome.domain.room.RoomFactory;
+import SmartHome.domain.sensors.SensorCatalogue;
+import SmartHome.domain.values.ValueFactoryImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link ParallelDevicesByFunctionality} class, verifying that the parallel grouping produces
+ * the same result as the sequential one.
+ */
+class ParallelDevicesByFunctionalityTest {
+
+    /**
+     * Builds a house where every room holds devices with different sensors, and some devices without sensors.
+     *
+     * @param rooms The number of rooms.
+     * @return The house.
+     */
+    private House buildHouse(int rooms) {
+        SensorCatalogue catalogue = CatalogueRegistry.getSensorCatalogue();
+        House house = new House(new LocationFactory(), new RoomFactory());
+        for (int r = 0; r < rooms; r++) {
+            house.addRoom("r" + r, "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+            Room room = house.getRoom("r" + r);
+            for (int d = 0; d < 3; d++)
+                room.addDevice("d" + d, "m");
+            room.getDevice("d0").addSensor("TemperatureSensor", "t", catalogue, new ValueFactoryImpl());
+            if (r % 2 == 0)
+                room.getDevice("d1").addSensor("HumiditySensor", "h", catalogue, new ValueFactoryImpl());
+        }
+        return house;
+    }
+
+    /**
+     * Tests that the parallel grouping matches the sequential grouping for thresholds that split the rooms into
+     * many tasks, a few tasks, or none.
+     *
+     * @param threshold The threshold of the grouping.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 7, 1000})
+    void groupedResultMatchesSequentialGrouping(int threshold) {
+        // Arrange
+        House house = buildHouse(50);
+        String expected = new DevicesByFunctionality(house.getRooms()).getGroupedResult().toString();
+
+        // Act
+        String result = new ParallelDevicesByFunctionality(house.getRooms(), threshold).getGroupedResult().toString();
+
+        // Assert
+        assertEquals(expected, result);
+    }
+
+    /**
+     * Tests that the grouping runs on the given pool.
+     */
+    @Test
+    void groupedResultOnCustomPool() {
+        // Arrange
+        House house = buildHouse(20);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        String expected = new DevicesByFunctionality(house.getRooms()).getGroupedResult().toString();
+
+        // Act
+        String result = new ParallelDevicesByFunctionality(house.getRooms(), 2, pool).getGroupedResult().toString();
+        pool.shutdown();
+
+        // Assert
+        assertEquals(expected, result);
+    }
+
+    /**
+     * Tests that a list of exactly as many rooms as the threshold is grouped on the calling thread, without
+     * submitting anything to the pool, which is shut down here.
+     */
+    @Test
+    void groupedResultAtThresholdDoesNotUsePool() {
+        // Arrange
+        House house = buildHouse(10);
+        ForkJoinPool pool = new ForkJoinPool(1);
+        pool.shutdown();
+        String expected = new DevicesByFunctionality(house.getRooms()).getGroupedResult().toString();
+
+        // Act
+        String result = new ParallelDevicesByFunctionality(house.getRooms(), 10, pool).getGroupedResult().toString();
+
+        // Assert
+        assertEquals(expected, result);
+    }
+
+    /**
+     * Tests that the grouping is null when there are no rooms or when any room has no devices.
+     */
+    @Test
+    void groupedResultIsNullForEmptyRooms() {
+        // Arrange
+        House house = buildHouse(10);
+        house.addRoom("empty", "1", 1, 1, 1, new DeviceFactory(), new DimensionsFactory());
+
+        // Act + Assert
+        assertAll(
+                () -> assertNull(new ParallelDevicesByFunctionality(List.of(), 1).getGroupedResult()),
+                () -> assertNull(new ParallelDevicesByFunctionality(house.getRooms(), 1).getGroupedResult()),
+                () -> assertNull(new ParallelDevicesByFunctionality(house.getRooms(), 100).getGroupedResult()));
+    }
+
+    /**
+     * Tests that invalid arguments are rejected.
+     */
+    @Test
+    void invalidArgumentsThrowException() {
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new ParallelDevicesByFunctionality(null)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new ParallelDevicesByFunctionality(List.of(), 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new ParallelDevicesByFunctionality(List.of(), 1, null)));
+    }
+}
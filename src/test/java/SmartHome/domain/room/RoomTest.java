@@ -2,6 +2,8 @@ package SmartHome.domain.room;
 
 import SmartHome.domain.device.Device;
 import SmartHome.domain.device.DeviceFactory;
+import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.history.QuantileSketch;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
@@ -13,7 +15,11 @@ import java.util.List;
 
 import static java.lang.Float.NaN;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class RoomTest {
@@ -757,4 +763,143 @@ class RoomTest {
         // Assert
         assertEquals(expected, result);
     }
+
+
+    /**
+     * Test that a registered device listener is notified of each device added to the room, and not of rejected
+     * duplicates.
+     */
+    @Test
+    void addDeviceNotifiesListeners() {
+
+        // Arrange
+        DeviceFactory deviceFactoryDouble = mock(DeviceFactory.class);
+        DimensionsFactory dimensionsFactoryDouble = mock(DimensionsFactory.class);
+        Device deviceDouble = mock(Device.class);
+        when(dimensionsFactoryDouble.createDimensions(4, 5, 6)).thenReturn(mock(Dimensions.class));
+        when(deviceFactoryDouble.createDevice("D1", "M1")).thenReturn(deviceDouble);
+        Room room1 = new Room("Room1", "1A", 4, 5, 6, deviceFactoryDouble, dimensionsFactoryDouble);
+        List<Device> notified = new ArrayList<>();
+        room1.addDeviceListener((room, device) -> notified.add(device));
+
+        // Act
+        room1.addDevice("D1", "M1");
+        room1.addDevice("d1", "M1");
+
+        // Assert
+        assertEquals(List.of(deviceDouble), notified);
+    }
+
+    /**
+     * Test that devices are found by name regardless of case.
+     */
+    @Test
+    void getDeviceByNameIgnoresCase() {
+
+        // Arrange
+        DeviceFactory deviceFactoryDouble = mock(DeviceFactory.class);
+        DimensionsFactory dimensionsFactoryDouble = mock(DimensionsFactory.class);
+        Device deviceDouble = mock(Device.class);
+        when(dimensionsFactoryDouble.createDimensions(4, 5, 6)).thenReturn(mock(Dimensions.class));
+        when(deviceFactoryDouble.createDevice("Heater", "M1")).thenReturn(deviceDouble);
+        Room room1 = new Room("Room1", "1A", 4, 5, 6, deviceFactoryDouble, dimensionsFactoryDouble);
+        room1.addDevice("Heater", "M1");
+
+        // Act
+        Device result = room1.getDevice("HEATER");
+
+        // Assert
+        assertEquals(deviceDouble, result);
+    }
+
+    /**
+     * Test that registering a null device listener throws an IllegalArgumentException.
+     */
+    @Test
+    void addNullDeviceListener() {
+
+        // Arrange
+        DimensionsFactory dimensionsFactoryDouble = mock(DimensionsFactory.class);
+        Room room1 = new Room("Room1", "1A", 4, 5, 6, mock(DeviceFactory.class), dimensionsFactoryDouble);
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> room1.addDeviceListener(null));
+    }
+
+    /**
+     * Test that the power sketch of a room merges the power readings of its devices, each device merging into the
+     * sketch of the room directly.
+     */
+    @Test
+    void getPowerSketchMergesDeviceReadings() {
+
+        // Arrange
+        DeviceFactory deviceFactoryDouble = mock(DeviceFactory.class);
+        DimensionsFactory dimensionsFactoryDouble = mock(DimensionsFactory.class);
+        Device deviceDouble = mock(Device.class);
+        doAnswer(invocation -> {
+            QuantileSketch sketch = invocation.getArgument(1);
+            sketch.add(100);
+            sketch.add(300);
+            return null;
+        }).when(deviceDouble).mergeReadingsInto(eq(SensorFunctionality.Power_Consumption), any(QuantileSketch.class));
+        when(dimensionsFactoryDouble.createDimensions(4, 5, 6)).thenReturn(mock(Dimensions.class));
+        when(deviceFactoryDouble.createDevice("Heater", "M1")).thenReturn(deviceDouble);
+        Room room1 = new Room("Room1", "1A", 4, 5, 6, deviceFactoryDouble, dimensionsFactoryDouble);
+        room1.addDevice("Heater", "M1");
+
+        // Act
+        QuantileSketch result = room1.getPowerSketch();
+        QuantileSketch temperature = room1.getSketch(SensorFunctionality.Temperature);
+
+        // Assert
+        assertEquals(2, result.getCount());
+        assertEquals(300, result.getMax());
+        assertEquals(0, temperature.getCount());
+        assertThrows(IllegalArgumentException.class, () -> room1.getSketch(null));
+    }
+
+    /**
+     * Test that a device added to a room is told the name of the room, and that closing the room closes its
+     * devices.
+     */
+    @Test
+    void closeClosesDevicesPlacedInRoom() {
+
+        // Arrange
+        DeviceFactory deviceFactoryDouble = mock(DeviceFactory.class);
+        DimensionsFactory dimensionsFactoryDouble = mock(DimensionsFactory.class);
+        Device deviceDouble = mock(Device.class);
+        when(dimensionsFactoryDouble.createDimensions(4, 5, 6)).thenReturn(mock(Dimensions.class));
+        when(deviceFactoryDouble.createDevice("Heater", "M1")).thenReturn(deviceDouble);
+        Room room1 = new Room("Room1", "1A", 4, 5, 6, deviceFactoryDouble, dimensionsFactoryDouble);
+        room1.addDevice("Heater", "M1");
+
+        // Act
+        room1.close();
+
+        // Assert
+        verify(deviceDouble).setRoomName("Room1");
+        verify(deviceDouble).close();
+    }
+
+    /**
+     * Test that a device the factory does not create is not added to the room.
+     */
+    @Test
+    void addDeviceNotCreatedReturnsFalse() {
+
+        // Arrange
+        DimensionsFactory dimensionsFactoryDouble = mock(DimensionsFactory.class);
+        when(dimensionsFactoryDouble.createDimensions(4, 5, 6)).thenReturn(mock(Dimensions.class));
+        Room room1 = new Room("Room1", "1A", 4, 5, 6, mock(DeviceFactory.class), dimensionsFactoryDouble);
+
+        // Act
+        boolean result = room1.addDevice("Heater", "M1");
+
+        // Assert
+        assertFalse(result);
+        assertTrue(room1.getDevices().isEmpty());
+        assertNull(room1.getDevice("Heater"));
+    }
 }
@@ -5,6 +5,8 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.plist.PropertyListConfiguration;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static SmartHome.domain.constants.Constants.SENSOR_CONFIG;
 import static SmartHome.domain.constants.Constants.SENSOR_PATH;
 import static org.junit.jupiter.api.Assertions.*;
@@ -326,4 +328,100 @@ class SensorCatalogueTest {
         // Assert
         assertNull(sensor);
     }
+
+    /**
+     * Verifies that models are matched by their exact name, so a partial model name is not found.
+     */
+    @Test
+    void partialModelNameIsNotFound() {
+        // Arrange
+        SensorCatalogue sensorCatalogue = new SensorCatalogue(SENSOR_CONFIG);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+
+        // Act
+        Sensor sensor = sensorCatalogue.getSensor("Temperature", SENSOR_PATH, "Temperature", valueFactoryDouble);
+
+        // Assert
+        assertNull(sensor);
+    }
+
+    /**
+     * Verifies that repeated requests for the same model create distinct sensors with their own names.
+     */
+    @Test
+    void repeatedRequestsCreateDistinctSensors() {
+        // Arrange
+        SensorCatalogue sensorCatalogue = new SensorCatalogue(SENSOR_CONFIG);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+
+        // Act
+        Sensor first = sensorCatalogue.getSensor("HumiditySensor", SENSOR_PATH, "Humidity 1", valueFactoryDouble);
+        Sensor second = sensorCatalogue.getSensor("HumiditySensor", SENSOR_PATH, "Humidity 2", valueFactoryDouble);
+
+        // Assert
+        assertAll(
+              () -> assertNotSame(first, second),
+              () -> assertEquals("Humidity 1", first.getName()),
+              () -> assertEquals("Humidity 2", second.getName()));
+    }
+
+    /**
+     * Verifies that a sensor rejecting its arguments results in a null response instead of an exception.
+     */
+    @Test
+    void sensorRejectingArgumentsReturnsNull() {
+        // Arrange
+        SensorCatalogue sensorCatalogue = new SensorCatalogue(SENSOR_CONFIG);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+
+        // Act
+        Sensor sensor = sensorCatalogue.getSensor("HumiditySensor", SENSOR_PATH, " ", valueFactoryDouble);
+
+        // Assert
+        assertNull(sensor);
+    }
+
+    /**
+     * Verifies that a model that was resolved from a wrong path can still be found from the right one.
+     */
+    @Test
+    void modelResolvedFromWrongPathIsFoundFromRightPath() {
+        // Arrange
+        SensorCatalogue sensorCatalogue = new SensorCatalogue(SENSOR_CONFIG);
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+
+        // Act
+        Sensor wrongPath = sensorCatalogue.getSensor("DewPointSensor", "grupo3.domain.", "Dew", valueFactoryDouble);
+        Sensor rightPath = sensorCatalogue.getSensor("DewPointSensor", SENSOR_PATH, "Dew", valueFactoryDouble);
+
+        // Assert
+        assertNull(wrongPath);
+        assertNotNull(rightPath);
+    }
+
+    /**
+     * Verifies that a catalogue can be built from an already parsed list of sensor names.
+     */
+    @Test
+    void initializeCatalogueFromList() {
+        // Arrange
+        SensorCatalogue sensorCatalogue = new SensorCatalogue(List.of("TemperatureSensor"));
+        ValueFactory valueFactoryDouble = mock(ValueFactory.class);
+
+        // Act
+        Sensor sensor = sensorCatalogue.getSensor("TemperatureSensor", SENSOR_PATH, "Temperature", valueFactoryDouble);
+
+        // Assert
+        assertEquals(List.of("TemperatureSensor"), sensorCatalogue.getSensors());
+        assertNotNull(sensor);
+    }
+
+    /**
+     * Verifies that a null list of sensor names is rejected.
+     */
+    @Test
+    void nullListCatalogueThrowsException() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> new SensorCatalogue((List<String>) null));
+    }
 }
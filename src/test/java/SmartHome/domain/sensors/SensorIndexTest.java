@@ -0,0 +1,91 @@
+package SmartHome.domain.sensors;
+
+import SmartHome.domain.sensors.implementation.TemperatureSensor;
+import SmartHome.domain.values.Value;
+import SmartHome.domain.values.ValueFactory;
+import SmartHome.domain.values.implementation.CelsiusValue;
+import org.apache.commons.configuration2.plist.PropertyListConfiguration;
+import org.junit.jupiter.api.Test;
+
+import static SmartHome.domain.constants.Constants.SENSOR_CONFIG;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test suite for the generated {@link SensorIndex}, verifying that every configured sensor model is indexed
+ * with its functionality, value type and constructor.
+ */
+class SensorIndexTest {
+
+    /**
+     * Tests that every sensor model of the default configuration, except the wind direction enum, is indexed.
+     */
+    @Test
+    void everyConfiguredSensorIsIndexed() {
+        // Arrange
+        SensorCatalogue sensorCatalogue = new SensorCatalogue(SENSOR_CONFIG);
+
+        // Act + Assert
+        for (String model : sensorCatalogue.getSensors()) {
+            if (model.equals("WindDirection")) assertNull(SensorIndex.get(model));
+            else assertNotNull(SensorIndex.get(model), model);
+        }
+    }
+
+    /**
+     * Tests that a descriptor holds the functionality, value type and constructor of its model.
+     */
+    @Test
+    void descriptorDescribesModel() {
+        // Arrange
+        SensorCatalogue sensorCatalogue = new SensorCatalogue(SENSOR_CONFIG);
+        ValueFactory valueFactory = mock(ValueFactory.class);
+
+        // Act
+        SensorDescriptor descriptor = SensorIndex.get("TemperatureSensor");
+        Sensor sensor = descriptor.getConstructor().create(sensorCatalogue, "Temperature", valueFactory);
+
+        // Assert
+        assertAll(
+                () -> assertEquals("TemperatureSensor", descriptor.getModel()),
+                () -> assertEquals(SensorFunctionality.Temperature, descriptor.getFunctionality()),
+                () -> assertEquals(CelsiusValue.class, descriptor.getValueType()),
+                () -> assertInstanceOf(TemperatureSensor.class, sensor));
+    }
+
+    /**
+     * Tests that sensors without a measured value are indexed with the Value interface as value type.
+     */
+    @Test
+    void sensorWithoutValueUsesValueInterface() {
+        // Act
+        SensorDescriptor descriptor = SensorIndex.get("SunriseSensor");
+
+        // Assert
+        assertEquals(Value.class, descriptor.getValueType());
+    }
+
+    /**
+     * Tests that unknown or null models are not indexed.
+     */
+    @Test
+    void unknownModelIsNotIndexed() {
+        // Act + Assert
+        assertNull(SensorIndex.get("Location"));
+        assertNull(SensorIndex.get(null));
+    }
+
+    /**
+     * Tests that the catalogue only exposes descriptors of the models it was configured with.
+     */
+    @Test
+    void catalogueDescriptorRequiresConfiguredModel() {
+        // Arrange
+        SensorCatalogue sensorCatalogue = new SensorCatalogue(SENSOR_CONFIG);
+        SensorCatalogue emptyCatalogue = new SensorCatalogue(new PropertyListConfiguration());
+
+        // Act + Assert
+        assertSame(SensorIndex.get("WindSensor"), sensorCatalogue.getSensorDescriptor("WindSensor"));
+        assertNull(emptyCatalogue.getSensorDescriptor("WindSensor"));
+    }
+}
@@ -0,0 +1,276 @@
+package SmartHome.domain.sensors;
+
+import SmartHome.domain.sensors.history.CompressedHistory;
+import SmartHome.domain.sensors.history.EpochNanos;
+import SmartHome.domain.sensors.history.HistoryBackend;
+import SmartHome.domain.sensors.history.MappedHistory;
+import SmartHome.domain.sensors.history.QuantileSketch;
+import SmartHome.domain.sensors.history.ReorderingHistory;
+import SmartHome.domain.sensors.history.RingBufferHistory;
+import SmartHome.domain.sensors.history.SensorHistory;
+import SmartHome.domain.sensors.history.TieredHistory;
+import SmartHome.domain.values.Value;
+import SmartHome.domain.values.implementation.PercentageValue;
+import SmartHome.domain.values.implementation.Wm2Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test suite for the {@link SensorReadings} class and the {@link HistoryBackend}s it is built on, verifying that
+ * readings of every value type are recorded the same way.
+ */
+class SensorReadingsTest {
+
+    /**
+     * Tests that the numeric part of a reading is recorded at the epoch time of its instant and passed to the
+     * listeners.
+     */
+    @Test
+    void recordsNumericPartOfReading() {
+        // Arrange
+        SensorReadings readings = new SensorReadings(new CompressedHistory());
+        List<Long> heard = new ArrayList<>();
+        readings.addListener((time, value) -> heard.add(time));
+        PercentageValue humidity = new PercentageValue();
+        humidity.setValue("45");
+        Wm2Value irradiance = new Wm2Value();
+        irradiance.setValue("812.5");
+        Instant noon = Instant.parse("2024-06-21T12:00:00Z");
+        List<Double> stored = new ArrayList<>();
+
+        // Act
+        readings.record(humidity, noon);
+        readings.record(irradiance, noon.plusSeconds(1));
+        readings.getHistory().forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, (time, value) -> stored.add(value));
+
+        // Assert
+        assertEquals(List.of(45.0, 812.5), stored);
+        assertEquals(List.of(EpochNanos.of(noon), EpochNanos.of(noon.plusSeconds(1))), heard);
+    }
+
+    /**
+     * Tests that null readings and instants are rejected, as are readings the history does not accept.
+     */
+    @Test
+    void rejectsInvalidReadings() {
+        // Arrange
+        SensorReadings readings = new SensorReadings(new CompressedHistory());
+        Wm2Value irradiance = new Wm2Value();
+        readings.record(irradiance, Instant.EPOCH.plusSeconds(10));
+
+        // Act + Assert
+        assertFalse(readings.record(null, Instant.EPOCH));
+        assertFalse(readings.record(irradiance, null));
+        assertFalse(readings.record(irradiance, Instant.EPOCH));
+        assertThrows(IllegalArgumentException.class, () -> readings.addListener(null));
+        assertThrows(IllegalArgumentException.class, () -> new SensorReadings(null));
+        assertEquals(1, readings.getHistory().size());
+    }
+
+    /**
+     * Tests that opened readings are kept in the history the backend creates for the path of the sensor, that
+     * readings recorded before opening are moved into it, and that a history is opened only once.
+     */
+    @Test
+    void openUsesBackendOnce() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(8);
+        List<List<String>> paths = new ArrayList<>();
+        HistoryBackend backend = path -> {
+            paths.add(List.of(path));
+            return history;
+        };
+        SensorReadings kitchen = new SensorReadings();
+        kitchen.record(1, 1.0);
+        kitchen.record(2, 3.0);
+        SensorHistory heap = kitchen.getHistory();
+        SensorReadings other = new SensorReadings();
+
+        // Act
+        kitchen.open(backend, "Kitchen", "Heater", "Temperature");
+        kitchen.record(3, 5.0);
+        other.record(1, 1.0);
+
+        // Assert
+        assertInstanceOf(CompressedHistory.class, heap);
+        assertSame(history, kitchen.getHistory());
+        assertEquals(3, history.size());
+        assertEquals(3.0, kitchen.getPercentile(0.5), 0.05);
+        assertEquals(List.of(List.of("Kitchen", "Heater", "Temperature")), paths);
+        assertInstanceOf(CompressedHistory.class, other.getHistory());
+        assertThrows(IllegalStateException.class, () -> kitchen.open(backend, "Kitchen", "Heater", "Temperature"));
+        assertThrows(IllegalArgumentException.class, () -> new SensorReadings().open(null, "Other"));
+    }
+
+    /**
+     * Tests that the reading with the latest time is kept as the latest reading, whatever order readings arrive in.
+     */
+    @Test
+    void latestReadingFollowsTime() {
+        // Arrange
+        SensorReadings readings = new SensorReadings();
+        PercentageValue first = new PercentageValue();
+        first.setValue("40");
+        PercentageValue late = new PercentageValue();
+        late.setValue("45");
+        Instant noon = Instant.parse("2024-03-04T12:00:00Z");
+        Value before = readings.getLatest();
+
+        // Act
+        readings.record(first, noon);
+        readings.record(late, noon.minusSeconds(60));
+
+        // Assert
+        assertNull(before);
+        assertSame(first, readings.getLatest());
+    }
+
+    /**
+     * Tests that the memory-mapped backend gives each sensor its own nested directory, named so that distinct names
+     * never share a directory and no name reaches outside the base directory.
+     */
+    @Test
+    void mappedBackendUsesDirectoryPerSensor(@TempDir Path directory) {
+        // Arrange
+        HistoryBackend backend = HistoryBackend.mapped(directory);
+
+        // Act
+        MappedHistory kitchen = (MappedHistory) backend.create("Kitchen", "Heater", "Temperature");
+        MappedHistory spaced = (MappedHistory) backend.create("Kitchen", "a b");
+        MappedHistory underscored = (MappedHistory) backend.create("Kitchen", "a_b");
+        MappedHistory escaping = (MappedHistory) backend.create("..", "x");
+        kitchen.close();
+        spaced.close();
+        underscored.close();
+        escaping.close();
+
+        // Assert
+        assertTrue(Files.isDirectory(directory.resolve("Kitchen").resolve("Heater").resolve("Temperature")));
+        assertTrue(Files.isDirectory(directory.resolve("Kitchen").resolve("a_0020b")));
+        assertTrue(Files.isDirectory(directory.resolve("Kitchen").resolve("a_005fb")));
+        assertTrue(Files.isDirectory(directory.resolve("_002e_002e").resolve("x")));
+        assertThrows(IllegalArgumentException.class, () -> backend.create());
+        assertThrows(IllegalArgumentException.class, () -> backend.create("Kitchen", ""));
+        assertThrows(IllegalArgumentException.class, () -> HistoryBackend.mapped(null));
+        assertThrows(IllegalArgumentException.class, () -> HistoryBackend.inMemory(0));
+    }
+
+    /**
+     * Tests that the tiered backend wraps the history of the raw backend and rolls the readings up.
+     */
+    @Test
+    void tieredBackendRollsUpReadings() {
+        // Arrange
+        HistoryBackend backend = HistoryBackend.tiered(HistoryBackend.compressed());
+        SensorReadings readings = new SensorReadings(backend.create("Kitchen"));
+        long[] count = new long[1];
+
+        // Act
+        readings.record(EpochNanos.of(Instant.parse("2024-01-01T10:00:00Z")), 1.0);
+        readings.record(EpochNanos.of(Instant.parse("2024-01-01T10:30:00Z")), 3.0);
+        ((TieredHistory) readings.getHistory()).forEachSummary(Long.MIN_VALUE, Long.MAX_VALUE,
+                TimeUnit.HOURS.toNanos(1), (start, min, max, sum, total) -> count[0] += total);
+
+        // Assert
+        assertEquals(2, count[0]);
+        assertThrows(IllegalArgumentException.class, () -> HistoryBackend.tiered(null));
+    }
+
+    /**
+     * Tests that the reordering backend puts a reordering buffer in front of the history of the store backend, so
+     * late readings reach the store in time order.
+     */
+    @Test
+    void reorderingBackendSortsLateReadings() {
+        // Arrange
+        HistoryBackend backend = HistoryBackend.reordering(HistoryBackend.compressed(), 10);
+        SensorReadings readings = new SensorReadings(backend.create("Kitchen"));
+        List<Long> times = new ArrayList<>();
+
+        // Act
+        readings.record(20, 1.0);
+        readings.record(15, 2.0);
+        ((ReorderingHistory) readings.getHistory()).flush();
+        readings.getHistory().forEachInRange(0, 100, (time, value) -> times.add(time));
+
+        // Assert
+        assertEquals(List.of(15L, 20L), times);
+        assertEquals(0, ((ReorderingHistory) readings.getHistory()).rejectedCount());
+        assertThrows(IllegalArgumentException.class, () -> HistoryBackend.reordering(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> HistoryBackend.reordering(HistoryBackend.compressed(), -1));
+    }
+
+    /**
+     * Tests that percentiles cover every reading ingested, including those pushed out of a full ring, replaced at
+     * the same time or removed, and that neither evictions nor queries read the history again.
+     */
+    @Test
+    void percentilesCoverIngestedReadingsWithoutRescan() {
+        // Arrange
+        RingBufferHistory history = spy(new RingBufferHistory(2));
+        SensorReadings readings = new SensorReadings(history);
+        readings.record(1, 10.0);
+        readings.record(2, 20.0);
+        double before = readings.getPercentile(0);
+
+        // Act
+        readings.record(3, 30.0);
+        double evicted = readings.getPercentile(0);
+        readings.record(3, 5.0);
+        double replaced = readings.getPercentile(0);
+        readings.removeBefore(3);
+        QuantileSketch sketch = new QuantileSketch();
+        readings.mergeInto(sketch);
+
+        // Assert
+        assertEquals(10.0, before);
+        assertEquals(10.0, evicted);
+        assertEquals(5.0, replaced);
+        assertEquals(4, sketch.getCount());
+        assertEquals(30.0, readings.getPercentile(1), 0.3);
+        verify(history, times(1)).forEachInRange(anyLong(), anyLong(), any());
+        assertTrue(Double.isNaN(new SensorReadings(new CompressedHistory()).getPercentile(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> readings.getPercentile(2));
+        assertThrows(IllegalArgumentException.class, () -> readings.mergeInto(null));
+    }
+
+    /**
+     * Tests that the readings a history holds when it is handed over or opened are counted in the sketch once.
+     */
+    @Test
+    void heldReadingsAreCountedOnce() {
+        // Arrange
+        CompressedHistory held = new CompressedHistory();
+        held.append(1, 10.0);
+        CompressedHistory reopened = new CompressedHistory();
+        reopened.append(1, 40.0);
+        SensorReadings readings = new SensorReadings();
+        readings.record(2, 20.0);
+
+        // Act
+        SensorReadings handedOver = new SensorReadings(held);
+        readings.open(path -> reopened, "Kitchen");
+
+        // Assert
+        assertEquals(10.0, handedOver.getPercentile(0.5), 0.1);
+        assertEquals(2, reopened.size());
+        QuantileSketch sketch = new QuantileSketch();
+        readings.mergeInto(sketch);
+        assertEquals(2, sketch.getCount());
+        assertEquals(40.0, readings.getPercentile(1), 0.4);
+    }
+}
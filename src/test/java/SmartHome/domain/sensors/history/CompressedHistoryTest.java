@@ -0,0 +1,147 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link CompressedHistory} class, verifying that samples survive compression unchanged,
+ * that range queries return exactly the samples of the range and that steady series compress well.
+ */
+class CompressedHistoryTest {
+
+    /**
+     * Tests that irregular timestamps and arbitrary doubles are returned exactly as they were appended.
+     */
+    @Test
+    void samplesRoundTripExactly() {
+        // Arrange
+        CompressedHistory history = new CompressedHistory();
+        Random random = new Random(7);
+        List<long[]> expected = new ArrayList<>();
+        double[] specials = {0.0, -0.0, Double.NaN, Double.MAX_VALUE, Double.MIN_VALUE, -1.5, Double.NEGATIVE_INFINITY};
+        long time = -5_000;
+        for (int i = 0; i < CompressedHistory.CHUNK_SIZE * 3 + 11; i++) {
+            time += random.nextInt(4) == 0 ? 1 + random.nextInt(Integer.MAX_VALUE) * 3L : 1000;
+            double value = i % 50 == 0 ? specials[i / 50 % specials.length] : random.nextGaussian() * 100;
+            history.append(time, value);
+            expected.add(new long[]{time, Double.doubleToRawLongBits(value)});
+        }
+        List<long[]> actual = new ArrayList<>();
+
+        // Act
+        history.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE,
+                (timestamp, value) -> actual.add(new long[]{timestamp, Double.doubleToRawLongBits(value)}));
+
+        // Assert
+        assertEquals(expected.size(), history.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+            assertArrayEquals(expected.get(i), actual.get(i));
+    }
+
+    /**
+     * Tests that a range covers the samples at or after its start and before its end, across chunks.
+     */
+    @Test
+    void rangeIsHalfOpenAcrossChunks() {
+        // Arrange
+        CompressedHistory history = new CompressedHistory();
+        for (int i = 0; i < CompressedHistory.CHUNK_SIZE * 4; i++)
+            history.append(i * 10L, i);
+        List<Double> values = new ArrayList<>();
+
+        // Act
+        history.forEachInRange(5_000, 5_120, (timestamp, value) -> values.add(value));
+
+        // Assert
+        assertEquals(List.of(500.0, 501.0, 502.0, 503.0, 504.0, 505.0, 506.0, 507.0, 508.0, 509.0, 510.0, 511.0),
+                values);
+    }
+
+    /**
+     * Tests that samples that are not newer than the last one are rejected.
+     */
+    @Test
+    void appendRejectsOutOfOrderSamples() {
+        // Arrange
+        CompressedHistory history = new CompressedHistory();
+        history.append(100, 1.0);
+
+        // Act + Assert
+        assertFalse(history.append(100, 2.0));
+        assertFalse(history.append(99, 2.0));
+        assertEquals(1, history.size());
+    }
+
+    /**
+     * Tests that a temperature series read every minute compresses to a few bytes per sample.
+     */
+    @Test
+    void steadySeriesCompressesWell() {
+        // Arrange
+        CompressedHistory history = new CompressedHistory();
+        int samples = 10_000;
+
+        // Act
+        for (int i = 0; i < samples; i++)
+            history.append(i * 60_000_000_000L, Math.round(200 + 30 * Math.sin(i / 100.0)) / 10.0);
+
+        // Assert
+        assertTrue(history.encodedBytes() < samples * 4L);
+    }
+
+    /**
+     * Tests that a null consumer is rejected.
+     */
+    @Test
+    void nullConsumerThrowsException() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> new CompressedHistory().forEachInRange(0, 1, null));
+    }
+
+    /**
+     * Tests that removing old samples releases whole chunks only and keeps the chunk holding the instant.
+     */
+    @Test
+    void removeBeforeReleasesWholeChunks() {
+        // Arrange
+        CompressedHistory history = new CompressedHistory();
+        for (int i = 0; i < CompressedHistory.CHUNK_SIZE * 3; i++)
+            history.append(i, i);
+        long[] first = {-1};
+
+        // Act
+        history.removeBefore(CompressedHistory.CHUNK_SIZE + 5);
+        history.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, value) -> {
+            if (first[0] < 0) first[0] = timestamp;
+        });
+
+        // Assert
+        assertEquals(CompressedHistory.CHUNK_SIZE * 2, history.size());
+        assertEquals(CompressedHistory.CHUNK_SIZE, first[0]);
+    }
+
+    /**
+     * Tests that removing every sample empties the history and that it accepts samples again.
+     */
+    @Test
+    void removeBeforeEverySampleEmptiesHistory() {
+        // Arrange
+        CompressedHistory history = new CompressedHistory();
+        for (int i = 0; i < CompressedHistory.CHUNK_SIZE * 20; i++)
+            history.append(i, i);
+
+        // Act
+        history.removeBefore(Long.MAX_VALUE);
+        boolean stored = history.append(5, 1.0);
+
+        // Assert
+        assertTrue(stored);
+        assertEquals(1, history.size());
+    }
+}
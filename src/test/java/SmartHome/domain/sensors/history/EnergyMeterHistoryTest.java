@@ -0,0 +1,156 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link EnergyMeterHistory} class, verifying monotonic appends, interpolated lookups across
+ * blocks and the size of the encoding.
+ */
+class EnergyMeterHistoryTest {
+
+    /**
+     * Tests that the counter is returned exactly at samples and interpolated between them.
+     */
+    @Test
+    void counterAtInterpolatesBetweenSamples() {
+        // Arrange
+        EnergyMeterHistory history = new EnergyMeterHistory();
+        history.append(0, 10.0);
+        history.append(100, 20.0);
+        history.append(300, 20.5);
+
+        // Act + Assert
+        assertAll(
+                () -> assertEquals(10.0, history.counterAt(0)),
+                () -> assertEquals(15.0, history.counterAt(50)),
+                () -> assertEquals(20.0, history.counterAt(100)),
+                () -> assertEquals(20.25, history.counterAt(200)),
+                () -> assertEquals(20.5, history.counterAt(300)),
+                () -> assertEquals(5.25, history.consumption(50, 200)));
+    }
+
+    /**
+     * Tests that lookups are correct on both sides of block boundaries with an irregular cadence.
+     */
+    @Test
+    void counterAtAcrossBlocks() {
+        // Arrange
+        EnergyMeterHistory history = new EnergyMeterHistory();
+        int samples = EnergyMeterHistory.BLOCK_SIZE * 3 + 17;
+        for (int i = 0; i < samples; i++)
+            history.append(i * 10L + (i % 3), i * 0.5);
+
+        // Act + Assert
+        assertEquals(samples, history.size());
+        for (int i = 0; i < samples; i++)
+            assertEquals(i * 0.5, history.counterAt(i * 10L + (i % 3)), 1e-9);
+        int boundary = EnergyMeterHistory.BLOCK_SIZE - 1;
+        long middle = (boundary * 10L + (boundary % 3) + (boundary + 1) * 10L + ((boundary + 1) % 3)) / 2;
+        assertTrue(history.counterAt(middle) > boundary * 0.5 && history.counterAt(middle) < (boundary + 1) * 0.5);
+    }
+
+    /**
+     * Tests that samples out of time order or lowering the counter are rejected.
+     */
+    @Test
+    void appendRejectsNonMonotonicSamples() {
+        // Arrange
+        EnergyMeterHistory history = new EnergyMeterHistory();
+        history.append(100, 5.0);
+
+        // Act + Assert
+        assertAll(
+                () -> assertFalse(history.append(100, 6.0)),
+                () -> assertFalse(history.append(50, 6.0)),
+                () -> assertFalse(history.append(200, 4.0)),
+                () -> assertFalse(history.append(200, Double.NaN)),
+                () -> assertTrue(history.append(200, 5.0)),
+                () -> assertEquals(2, history.size()));
+    }
+
+    /**
+     * Tests that instants outside the stored samples are rejected.
+     */
+    @Test
+    void counterOutsideHistoryThrowsException() {
+        // Arrange
+        EnergyMeterHistory history = new EnergyMeterHistory();
+        history.append(100, 5.0);
+        history.append(200, 6.0);
+
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> history.counterAt(99)),
+                () -> assertThrows(IllegalArgumentException.class, () -> history.counterAt(201)),
+                () -> assertThrows(IllegalArgumentException.class, () -> history.consumption(200, 100)),
+                () -> assertThrows(IllegalStateException.class, () -> new EnergyMeterHistory().getFirstTimestamp()));
+    }
+
+    /**
+     * Tests that a day of one-second samples from a steadily loaded meter takes a few bytes per sample.
+     */
+    @Test
+    void steadyCadenceEncodesCompactly() {
+        // Arrange
+        EnergyMeterHistory history = new EnergyMeterHistory();
+        long second = 1_000_000_000L;
+        int samples = 86_400;
+
+        // Act
+        for (int i = 0; i < samples; i++)
+            history.append(i * second, i * 0.3 + (i % 7) * 0.01);
+
+        // Assert
+        assertTrue(history.encodedBytes() < samples * 7L / 2);
+        assertEquals(3600 * 0.3, history.consumption(3600 * second, 7200 * second), 0.1);
+    }
+
+    /**
+     * Tests that a range query decodes the samples of the range across blocks with their counter readings.
+     */
+    @Test
+    void forEachInRangeAcrossBlocks() {
+        // Arrange
+        EnergyMeterHistory history = new EnergyMeterHistory();
+        for (int i = 0; i < 1000; i++)
+            history.append(i * 10L, i * 0.5);
+        List<Long> timestamps = new ArrayList<>();
+        List<Double> counters = new ArrayList<>();
+
+        // Act
+        history.forEachInRange(2550, 2600, (timestamp, counter) -> {
+            timestamps.add(timestamp);
+            counters.add(counter);
+        });
+
+        // Assert
+        assertEquals(List.of(2550L, 2560L, 2570L, 2580L, 2590L), timestamps);
+        assertEquals(List.of(127.5, 128.0, 128.5, 129.0, 129.5), counters);
+        assertThrows(IllegalArgumentException.class, () -> history.forEachInRange(0, 1, null));
+    }
+
+    /**
+     * Tests that removing old samples drops whole sealed blocks and keeps the block holding the instant.
+     */
+    @Test
+    void removeBeforeDropsWholeBlocks() {
+        // Arrange
+        EnergyMeterHistory history = new EnergyMeterHistory();
+        for (int i = 0; i < 1000; i++)
+            history.append(i, i);
+
+        // Act
+        history.removeBefore(600);
+
+        // Assert
+        assertEquals(1000 - 2 * EnergyMeterHistory.BLOCK_SIZE, history.size());
+        assertEquals(2 * EnergyMeterHistory.BLOCK_SIZE, history.getFirstTimestamp());
+        assertEquals(100.0, history.consumption(600, 700));
+        assertTrue(history.append(1000, 1000));
+    }
+}
@@ -0,0 +1,98 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test suite for the {@link IndexedHistory} class, verifying that samples reach both the index and the store, that
+ * the store loads the index and that queries are answered by the index.
+ */
+class IndexedHistoryTest {
+
+    /**
+     * Tests that the samples the store already holds are loaded into the index.
+     */
+    @Test
+    void storedSamplesAreLoadedIntoIndex() {
+        // Arrange
+        CompressedHistory store = new CompressedHistory();
+        store.append(10, 1.0);
+        store.append(20, 2.0);
+        RingBufferHistory index = new RingBufferHistory(8);
+
+        // Act
+        IndexedHistory history = new IndexedHistory(store, index);
+
+        // Assert
+        assertEquals(2, index.size());
+        assertEquals(2, history.size());
+        assertEquals(3.0, index.sum(0, 2));
+    }
+
+    /**
+     * Tests that a sample reaches the store only once the index accepts it, and that a store rejection leaves the
+     * sample in the index.
+     */
+    @Test
+    void appendsReachIndexThenStore() {
+        // Arrange
+        CompressedHistory store = new CompressedHistory();
+        EnergyMeterHistory index = new EnergyMeterHistory();
+        IndexedHistory history = new IndexedHistory(store, index);
+        List<Double> values = new ArrayList<>();
+
+        // Act
+        boolean first = history.append(10, 5.0);
+        boolean decreasing = history.append(20, 4.0);
+        boolean second = history.append(30, 7.0);
+        history.forEachInRange(0, 100, (time, value) -> values.add(value));
+
+        // Assert
+        assertTrue(first);
+        assertFalse(decreasing);
+        assertTrue(second);
+        assertEquals(2, store.size());
+        assertEquals(List.of(5.0, 7.0), values);
+    }
+
+    /**
+     * Tests that removing samples reaches both histories and that closing closes both.
+     */
+    @Test
+    void removeAndCloseReachBothHistories() {
+        // Arrange
+        SensorHistory store = mock(SensorHistory.class);
+        SensorHistory index = mock(SensorHistory.class);
+        IndexedHistory history = new IndexedHistory(store, index);
+
+        // Act
+        history.removeBefore(50);
+        history.close();
+
+        // Assert
+        verify(index).removeBefore(50);
+        verify(store).removeBefore(50);
+        verify(index).close();
+        verify(store).close();
+    }
+
+    /**
+     * Tests that the constructor rejects missing or shared histories.
+     */
+    @Test
+    void constructorRejectsInvalidArguments() {
+        // Arrange
+        CompressedHistory history = new CompressedHistory();
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> new IndexedHistory(null, history));
+        assertThrows(IllegalArgumentException.class, () -> new IndexedHistory(history, null));
+        assertThrows(IllegalArgumentException.class, () -> new IndexedHistory(history, history));
+    }
+}
@@ -0,0 +1,154 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link MappedHistory} class, verifying appends and range queries across segment files,
+ * persistence across reopening and expiry of whole segments.
+ */
+class MappedHistoryTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Counts the segment files in the test directory.
+     *
+     * @return The number of segment files.
+     * @throws IOException if the directory cannot be listed.
+     */
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).count();
+        }
+    }
+
+    /**
+     * Tests that a range query returns the samples of the range across segment files.
+     */
+    @Test
+    void rangeQuerySpansSegments() {
+        // Arrange
+        List<Double> values = new ArrayList<>();
+        try (MappedHistory history = new MappedHistory(directory, 4)) {
+            for (int i = 0; i < 10; i++)
+                history.append(i * 10L, i);
+
+            // Act
+            history.forEachInRange(25, 75, (timestamp, value) -> values.add(value));
+
+            // Assert
+            assertEquals(10, history.size());
+            assertEquals(3, history.segmentCount());
+        }
+        assertEquals(List.of(3.0, 4.0, 5.0, 6.0, 7.0), values);
+    }
+
+    /**
+     * Tests that a history reopened on the same directory finds the samples written before and continues after
+     * them.
+     */
+    @Test
+    void reopenedHistoryKeepsSamples() {
+        // Arrange
+        try (MappedHistory history = new MappedHistory(directory, 4)) {
+            for (int i = 0; i < 6; i++)
+                history.append(i, i * 1.5);
+        }
+        List<Double> values = new ArrayList<>();
+
+        // Act
+        try (MappedHistory reopened = new MappedHistory(directory, 4)) {
+            boolean older = reopened.append(5, 0.0);
+            boolean newer = reopened.append(6, 9.0);
+            reopened.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, value) -> values.add(value));
+
+            // Assert
+            assertFalse(older);
+            assertTrue(newer);
+            assertEquals(7, reopened.size());
+        }
+        assertEquals(List.of(0.0, 1.5, 3.0, 4.5, 6.0, 7.5, 9.0), values);
+    }
+
+    /**
+     * Tests that expiring old samples deletes the segment files that end before the instant.
+     */
+    @Test
+    void removeBeforeDeletesWholeSegments() throws IOException {
+        // Arrange
+        try (MappedHistory history = new MappedHistory(directory, 4)) {
+            for (int i = 0; i < 12; i++)
+                history.append(i, i);
+
+            // Act
+            history.removeBefore(9);
+
+            // Assert
+            assertEquals(4, history.size());
+            assertEquals(1, segmentFiles());
+        }
+    }
+
+    /**
+     * Tests that the count of a segment on disk only covers the appended samples once they have been flushed.
+     */
+    @Test
+    void countOnDiskIsPublishedByFlush() throws IOException {
+        // Arrange
+        try (MappedHistory history = new MappedHistory(directory, 8)) {
+            for (int i = 0; i < 3; i++)
+                history.append(i, i);
+            long beforeFlush = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("segment-0.dat"))).getLong(0);
+
+            // Act
+            history.flush();
+            long afterFlush = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("segment-0.dat"))).getLong(0);
+
+            // Assert
+            assertEquals(0, beforeFlush);
+            assertEquals(3, afterFlush);
+        }
+    }
+
+    /**
+     * Tests that segments written with one segment size are not reopened with another.
+     */
+    @Test
+    void reopeningWithAnotherSegmentSizeThrowsException() {
+        // Arrange
+        try (MappedHistory history = new MappedHistory(directory, 4)) {
+            for (int i = 0; i < 6; i++)
+                history.append(i, i);
+        }
+
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IllegalStateException.class, () -> new MappedHistory(directory, 8)),
+                () -> assertThrows(IllegalStateException.class, () -> new MappedHistory(directory, 2)));
+    }
+
+    /**
+     * Tests that invalid arguments are rejected.
+     */
+    @Test
+    void invalidArgumentsThrowException() {
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new MappedHistory(null)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new MappedHistory(directory, 0)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> new MappedHistory(directory, 4).forEachInRange(0, 1, null)));
+    }
+}
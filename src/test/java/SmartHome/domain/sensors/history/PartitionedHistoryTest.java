@@ -0,0 +1,118 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link PartitionedHistory} class, verifying partition placement, pruning of range queries and
+ * expiry of whole partitions.
+ */
+class PartitionedHistoryTest {
+
+    /**
+     * Tests that samples of the same time of day on different days land in different partitions.
+     */
+    @Test
+    void samplesOfDifferentDaysDoNotCollide() {
+        // Arrange
+        PartitionedHistory<CompressedHistory> history = PartitionedHistory.daily();
+        long noon = PartitionedHistory.DAY / 2;
+
+        // Act
+        history.append(noon, 1.0);
+        history.append(PartitionedHistory.DAY + noon, 2.0);
+        history.append(-PartitionedHistory.DAY + noon, 0.5);
+
+        // Assert
+        assertEquals(3, history.size());
+        assertEquals(3, history.partitionCount());
+        List<Double> values = new ArrayList<>();
+        history.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, value) -> values.add(value));
+        assertEquals(List.of(0.5, 1.0, 2.0), values);
+    }
+
+    /**
+     * Tests that a range query only visits the partitions it overlaps and returns the samples of the range.
+     */
+    @Test
+    void rangeQueryVisitsOverlappingPartitionsOnly() {
+        // Arrange
+        PartitionedHistory<RingBufferHistory> history = new PartitionedHistory<>(10, () -> new RingBufferHistory(10));
+        for (int i = 0; i < 100; i++)
+            history.append(i, i);
+        List<Long> segments = new ArrayList<>();
+        List<Long> timestamps = new ArrayList<>();
+
+        // Act
+        history.forEachSegment(25, 41, segment -> segments.add(segment.getTimestamp(0)));
+        history.forEachInRange(25, 41, (timestamp, value) -> timestamps.add(timestamp));
+
+        // Assert
+        assertEquals(List.of(20L, 30L, 40L), segments);
+        assertEquals(16, timestamps.size());
+        assertEquals(25L, timestamps.get(0));
+        assertEquals(40L, timestamps.get(15));
+    }
+
+    /**
+     * Tests that expiring data drops whole partitions and keeps the partition holding the instant.
+     */
+    @Test
+    void removeBeforeDropsWholePartitions() {
+        // Arrange
+        PartitionedHistory<RingBufferHistory> history = new PartitionedHistory<>(10, () -> new RingBufferHistory(10));
+        for (int i = 0; i < 50; i++)
+            history.append(i, i);
+
+        // Act
+        history.removeBefore(25);
+
+        // Assert
+        assertEquals(3, history.partitionCount());
+        assertEquals(30, history.size());
+        assertTrue(history.append(3, 3.0));
+        assertEquals(4, history.partitionCount());
+    }
+
+    /**
+     * Tests that a capped history drops its oldest partition to open a newer one, and rejects samples older than
+     * every partition once it is full.
+     */
+    @Test
+    void cappedHistoryDropsOldestPartition() {
+        // Arrange
+        PartitionedHistory<RingBufferHistory> history = new PartitionedHistory<>(10, () -> new RingBufferHistory(10), 3);
+        for (int i = 0; i < 30; i++)
+            history.append(i, i);
+
+        // Act
+        boolean newer = history.append(35, 35.0);
+        boolean older = history.append(5, 5.0);
+
+        // Assert
+        assertTrue(newer);
+        assertFalse(older);
+        assertEquals(3, history.partitionCount());
+        assertEquals(21, history.size());
+        List<Long> timestamps = new ArrayList<>();
+        history.forEachInRange(0, 100, (timestamp, value) -> timestamps.add(timestamp));
+        assertEquals(10L, timestamps.get(0));
+    }
+
+    /**
+     * Tests that invalid arguments are rejected.
+     */
+    @Test
+    void invalidArgumentsThrowException() {
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new PartitionedHistory<>(0, CompressedHistory::new)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new PartitionedHistory<CompressedHistory>(10, null)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new PartitionedHistory<>(10, CompressedHistory::new, 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> PartitionedHistory.daily().forEachInRange(0, 1, null)));
+    }
+}
@@ -0,0 +1,151 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link QuantileSketch} class, verifying the accuracy of its quantile estimates, merging and
+ * the bound on its memory.
+ */
+class QuantileSketchTest {
+
+    /**
+     * Tests that the constructor rejects an accuracy outside (0, 1) and a non-positive number of bins.
+     */
+    @Test
+    void constructorRejectsInvalidArguments() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(1, 100));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(Double.NaN, 100));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0.01, 0));
+    }
+
+    /**
+     * Tests that quantiles of a skewed distribution are estimated within the relative accuracy.
+     */
+    @Test
+    void quantilesWithinRelativeAccuracy() {
+        // Arrange
+        QuantileSketch sketch = new QuantileSketch();
+        Random random = new Random(3);
+        double[] values = new double[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 2) * 100;
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        // Act + Assert
+        for (double quantile : new double[]{0, 0.01, 0.25, 0.5, 0.75, 0.95, 0.99, 0.999, 1}) {
+            double expected = values[(int) (quantile * (values.length - 1))];
+            assertEquals(expected, sketch.getQuantile(quantile), expected * 0.01, "quantile " + quantile);
+        }
+        assertEquals(values.length, sketch.getCount());
+    }
+
+    /**
+     * Tests that negative values, zeros and positive values are ordered correctly.
+     */
+    @Test
+    void negativeZeroAndPositiveValues() {
+        // Arrange
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = -50; i <= 50; i++)
+            sketch.add(i);
+
+        // Act + Assert
+        assertEquals(-50, sketch.getQuantile(0));
+        assertEquals(-25, sketch.getQuantile(0.25), 0.25);
+        assertEquals(0, sketch.getQuantile(0.5));
+        assertEquals(25, sketch.getQuantile(0.75), 0.25);
+        assertEquals(50, sketch.getQuantile(1));
+        assertEquals(0, sketch.getMean(), 1e-12);
+    }
+
+    /**
+     * Tests that merging two sketches gives the same estimates as a sketch of all the values.
+     */
+    @Test
+    void mergeMatchesSingleSketch() {
+        // Arrange
+        QuantileSketch kitchen = new QuantileSketch();
+        QuantileSketch bedroom = new QuantileSketch();
+        QuantileSketch house = new QuantileSketch();
+        for (int i = 1; i <= 1000; i++) {
+            (i % 3 == 0 ? kitchen : bedroom).add(i * 7.5);
+            house.add(i * 7.5);
+        }
+
+        // Act
+        QuantileSketch merged = kitchen.copy();
+        merged.merge(bedroom);
+
+        // Assert
+        assertEquals(house.getCount(), merged.getCount());
+        for (double quantile : new double[]{0.1, 0.5, 0.9, 0.99})
+            assertEquals(house.getQuantile(quantile), merged.getQuantile(quantile));
+        assertEquals(333, kitchen.getCount());
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(new QuantileSketch(0.05, 100)));
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(null));
+    }
+
+    /**
+     * Tests that the number of bins stays bounded and only the lowest quantiles lose accuracy.
+     */
+    @Test
+    void binsStayBounded() {
+        // Arrange
+        QuantileSketch sketch = new QuantileSketch(0.01, 100);
+
+        // Act
+        for (int i = 0; i < 10_000; i++)
+            sketch.add(Math.pow(10, i % 12 - 6));
+
+        // Assert
+        assertTrue(sketch.binCount() <= 100);
+        assertEquals(1e5, sketch.getQuantile(1), 0);
+        assertEquals(1e5, sketch.getQuantile(0.99), 1e5 * 0.01);
+    }
+
+    /**
+     * Tests that an empty sketch has no quantiles and that invalid values and quantiles are rejected.
+     */
+    @Test
+    void emptySketchAndInvalidArguments() {
+        // Arrange
+        QuantileSketch sketch = new QuantileSketch();
+
+        // Act + Assert
+        assertThrows(IllegalStateException.class, () -> sketch.getQuantile(0.5));
+        assertThrows(IllegalStateException.class, sketch::getMean);
+        assertThrows(IllegalArgumentException.class, () -> sketch.add(Double.NaN));
+        sketch.add(1);
+        assertThrows(IllegalArgumentException.class, () -> sketch.getQuantile(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> sketch.getQuantile(Double.NaN));
+    }
+
+    /**
+     * Tests that a sketch summarizes a stored range when passed to a history as a consumer.
+     */
+    @Test
+    void summarizesHistoryRange() {
+        // Arrange
+        CompressedHistory history = new CompressedHistory();
+        for (long t = 0; t < 1000; t++)
+            history.append(t, t);
+        QuantileSketch sketch = new QuantileSketch();
+
+        // Act
+        history.forEachInRange(100, 200, sketch);
+
+        // Assert
+        assertEquals(100, sketch.getCount());
+        assertEquals(100, sketch.getMin());
+        assertEquals(149, sketch.getQuantile(0.5), 1.5);
+    }
+}
@@ -0,0 +1,235 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test suite for the {@link ReorderingHistory} class, verifying that late samples are reordered, that the watermark
+ * releases sorted batches to the store and that samples behind the watermark are rejected.
+ */
+class ReorderingHistoryTest {
+
+    /**
+     * Tests that the constructor rejects a null store and a negative lateness.
+     */
+    @Test
+    void constructorRejectsInvalidArguments() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> new ReorderingHistory(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ReorderingHistory(new CompressedHistory(), -1));
+    }
+
+    /**
+     * Tests that samples shuffled within the allowed lateness reach a store that requires increasing timestamps, in
+     * order and without losses.
+     */
+    @Test
+    void shuffledSamplesReachStoreInOrder() {
+        // Arrange
+        CompressedHistory store = new CompressedHistory();
+        ReorderingHistory history = new ReorderingHistory(store, 50);
+        List<Long> timestamps = new ArrayList<>();
+        for (long t = 0; t < 10_000; t++)
+            timestamps.add(t);
+        Random random = new Random(7);
+        for (int start = 0; start < timestamps.size(); start += 40)
+            Collections.shuffle(timestamps.subList(start, Math.min(start + 40, timestamps.size())), random);
+
+        // Act
+        for (long t : timestamps)
+            assertTrue(history.append(t, t * 0.5));
+        history.flush();
+        List<Long> stored = new ArrayList<>();
+        store.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, (timestamp, value) -> stored.add(timestamp));
+
+        // Assert
+        assertEquals(10_000, stored.size());
+        for (int i = 0; i < stored.size(); i++)
+            assertEquals(i, stored.get(i));
+        assertEquals(0, history.pendingCount());
+    }
+
+    /**
+     * Tests that the watermark trails the newest timestamp by the allowed lateness and that only the samples behind
+     * it are released to the store.
+     */
+    @Test
+    void watermarkReleasesSamplesBehindIt() {
+        // Arrange
+        CompressedHistory store = new CompressedHistory();
+        ReorderingHistory history = new ReorderingHistory(store, 10);
+
+        // Act
+        history.append(100, 1.0);
+        history.append(105, 2.0);
+        history.append(112, 3.0);
+
+        // Assert
+        assertEquals(102, history.getWatermark());
+        assertEquals(1, store.size());
+        assertEquals(2, history.pendingCount());
+        assertEquals(3, history.size());
+    }
+
+    /**
+     * Tests that a sample behind the watermark is rejected and a sample for a buffered timestamp replaces it.
+     */
+    @Test
+    void lateSampleRejectedAndBufferedSampleReplaced() {
+        // Arrange
+        ReorderingHistory history = new ReorderingHistory(new CompressedHistory(), 10);
+        history.append(100, 1.0);
+        history.append(120, 2.0);
+        List<Double> values = new ArrayList<>();
+
+        // Act
+        boolean late = history.append(105, 9.0);
+        boolean replaced = history.append(120, 5.0);
+        history.forEachInRange(0, 200, (timestamp, value) -> values.add(value));
+
+        // Assert
+        assertFalse(late);
+        assertTrue(replaced);
+        assertEquals(List.of(1.0, 5.0), values);
+    }
+
+    /**
+     * Tests that a range query passes final and pending samples in time order, while a final-only query stops at
+     * the watermark.
+     */
+    @Test
+    void queriesSeparateFinalAndPendingSamples() {
+        // Arrange
+        ReorderingHistory history = new ReorderingHistory(new CompressedHistory(), 5);
+        for (long t = 0; t < 20; t += 2)
+            history.append(t, t);
+        history.append(19, 19);
+        List<Long> all = new ArrayList<>();
+        List<Long> settled = new ArrayList<>();
+
+        // Act
+        history.forEachInRange(4, 20, (timestamp, value) -> all.add(timestamp));
+        history.forEachFinalInRange(4, 20, (timestamp, value) -> settled.add(timestamp));
+
+        // Assert
+        assertEquals(14, history.getWatermark());
+        assertEquals(List.of(4L, 6L, 8L, 10L, 12L, 14L, 16L, 18L, 19L), all);
+        assertEquals(List.of(4L, 6L, 8L, 10L, 12L), settled);
+        assertThrows(IllegalArgumentException.class, () -> history.forEachInRange(0, 1, null));
+    }
+
+    /**
+     * Tests that flushing makes every buffered sample final and rejects samples older than the newest one.
+     */
+    @Test
+    void flushReleasesEverySample() {
+        // Arrange
+        CompressedHistory store = new CompressedHistory();
+        ReorderingHistory history = new ReorderingHistory(store, 1000);
+        history.append(10, 1.0);
+        history.append(5, 2.0);
+
+        // Act
+        history.flush();
+
+        // Assert
+        assertEquals(2, store.size());
+        assertEquals(11, history.getWatermark());
+        assertFalse(history.append(10, 3.0));
+        assertTrue(history.append(11, 3.0));
+    }
+
+    /**
+     * Tests that samples the store rejects when they become final are counted, since their append has already
+     * succeeded.
+     */
+    @Test
+    void storeRejectionsAreCounted() {
+        // Arrange
+        CompressedHistory store = new CompressedHistory();
+        store.append(5, 1.0);
+        ReorderingHistory history = new ReorderingHistory(store, 0);
+
+        // Act
+        boolean buffered = history.append(5, 2.0);
+        history.append(6, 3.0);
+        history.flush();
+
+        // Assert
+        assertTrue(buffered);
+        assertEquals(1, history.rejectedCount());
+        assertEquals(2, store.size());
+        assertEquals(2, history.size());
+    }
+
+    /**
+     * Tests that rollups behind a reordering buffer only ever see each bucket's samples once, in order.
+     */
+    @Test
+    void rollupsSeeOnlyFinalSamples() {
+        // Arrange
+        TieredHistory tiered = new TieredHistory(new CompressedHistory(), 1000, new RollupTier(10, 1000));
+        ReorderingHistory history = new ReorderingHistory(tiered, 10);
+        long[] order = {3, 1, 2, 0, 9, 5, 12, 7, 8, 6, 4, 11, 10, 25};
+        List<Long> counts = new ArrayList<>();
+
+        // Act
+        for (long t : order)
+            history.append(t, 1.0);
+        tiered.forEachSummary(0, 100, 10, (start, min, max, sum, count) -> counts.add(count));
+
+        // Assert
+        assertEquals(15, history.getWatermark());
+        assertEquals(List.of(10L, 3L), counts);
+    }
+
+    /**
+     * Tests that removing old samples drops them from both the store and the buffer.
+     */
+    @Test
+    void removeBeforeDropsPendingSamples() {
+        // Arrange
+        ReorderingHistory history = new ReorderingHistory(new RingBufferHistory(100), 100);
+        for (long t = 0; t < 50; t++)
+            history.append(t, 1.0);
+
+        // Act
+        history.removeBefore(30);
+
+        // Assert
+        assertEquals(20, history.size());
+        assertEquals(20, history.pendingCount());
+    }
+
+    /**
+     * Tests that closing makes the buffered samples final before the store is closed.
+     */
+    @Test
+    void closeFlushesThenClosesStore() {
+        // Arrange
+        SensorHistory store = mock(SensorHistory.class);
+        when(store.append(anyLong(), anyDouble())).thenReturn(true);
+        ReorderingHistory history = new ReorderingHistory(store, 100);
+        history.append(10, 1.0);
+
+        // Act
+        history.close();
+
+        // Assert
+        InOrder order = inOrder(store);
+        order.verify(store).append(10, 1.0);
+        order.verify(store).close();
+    }
+}
@@ -0,0 +1,304 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link RingBufferHistory} class, verifying ordering, out-of-order inserts, eviction of the
+ * oldest samples, time lookups, range aggregates and bounds checking.
+ */
+class RingBufferHistoryTest {
+
+    /**
+     * Tests that samples are returned from the oldest to the newest.
+     */
+    @Test
+    void appendKeepsInsertionOrder() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(4);
+
+        // Act
+        history.append(10, 1.5);
+        history.append(20, 2.5);
+
+        // Assert
+        assertEquals(2, history.size());
+        assertEquals(10, history.getTimestamp(0));
+        assertEquals(2.5, history.getValue(1));
+    }
+
+    /**
+     * Tests that a full history replaces its oldest samples and keeps its capacity.
+     */
+    @Test
+    void appendToFullHistoryEvictsOldest() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(3);
+
+        // Act
+        for (int i = 0; i < 7; i++)
+            history.append(i, i * 10.0);
+
+        // Assert
+        assertEquals(3, history.size());
+        assertEquals(3, history.capacity());
+        assertEquals(4, history.getTimestamp(0));
+        assertEquals(5, history.getTimestamp(1));
+        assertEquals(60.0, history.getValue(2));
+    }
+
+    /**
+     * Tests that indexes outside the stored samples are rejected.
+     */
+    @Test
+    void getOutsideHistoryThrowsException() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(3);
+        history.append(1, 1.0);
+
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> history.getTimestamp(1)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> history.getValue(-1)));
+    }
+
+    /**
+     * Tests that a history must be able to hold at least one sample.
+     */
+    @Test
+    void invalidCapacityThrowsException() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferHistory(0));
+    }
+
+    /**
+     * Tests that a sample arriving out of order is moved to its place in timestamp order.
+     */
+    @Test
+    void appendOutOfOrderKeepsTimestampOrder() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(5);
+        history.append(10, 1.0);
+        history.append(30, 3.0);
+        history.append(40, 4.0);
+
+        // Act
+        boolean stored = history.append(20, 2.0);
+
+        // Assert
+        assertTrue(stored);
+        assertEquals(4, history.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals((i + 1) * 10, history.getTimestamp(i));
+            assertEquals(i + 1.0, history.getValue(i));
+        }
+    }
+
+    /**
+     * Tests that a sample with the timestamp of a stored sample replaces it.
+     */
+    @Test
+    void appendSameTimestampReplacesValue() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(3);
+        history.append(10, 1.0);
+        history.append(20, 2.0);
+
+        // Act
+        history.append(10, 5.0);
+
+        // Assert
+        assertEquals(2, history.size());
+        assertEquals(5.0, history.getValue(0));
+    }
+
+    /**
+     * Tests that a late sample inserted into a full, wrapped history evicts the oldest sample.
+     */
+    @Test
+    void appendOutOfOrderToFullHistoryEvictsOldest() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(4);
+        for (int i = 1; i <= 6; i++)
+            history.append(i * 10L, i);
+
+        // Act
+        boolean stored = history.append(45, 4.5);
+
+        // Assert
+        assertTrue(stored);
+        assertEquals(4, history.size());
+        assertEquals(40, history.getTimestamp(0));
+        assertEquals(45, history.getTimestamp(1));
+        assertEquals(50, history.getTimestamp(2));
+        assertEquals(60, history.getTimestamp(3));
+    }
+
+    /**
+     * Tests that a full history does not keep a sample older than all of its samples.
+     */
+    @Test
+    void appendOlderThanFullHistoryIsRejected() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(2);
+        history.append(10, 1.0);
+        history.append(20, 2.0);
+
+        // Act
+        boolean stored = history.append(5, 0.5);
+
+        // Assert
+        assertFalse(stored);
+        assertEquals(10, history.getTimestamp(0));
+    }
+
+    /**
+     * Tests the binary-search lookups of the history.
+     */
+    @Test
+    void timeLookupsFindSampleIndexes() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(3);
+        for (int i = 1; i <= 5; i++)
+            history.append(i * 10L, i);
+
+        // Act + Assert
+        assertAll(
+                () -> assertEquals(0, history.ceilingIndex(5)),
+                () -> assertEquals(1, history.ceilingIndex(40)),
+                () -> assertEquals(2, history.higherIndex(40)),
+                () -> assertEquals(3, history.higherIndex(50)),
+                () -> assertEquals(3, history.higherIndex(Long.MAX_VALUE)),
+                () -> assertEquals(2, history.indexOf(50)),
+                () -> assertEquals(-1, history.indexOf(20)));
+    }
+
+    /**
+     * Tests that range sums and non-zero counts cover exactly the samples of the range.
+     */
+    @Test
+    void rangeAggregatesCoverRange() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(5);
+        history.append(10, 2.0);
+        history.append(20, 0.0);
+        history.append(40, 6.0);
+        history.append(30, 4.0);
+
+        // Act + Assert
+        assertAll(
+                () -> assertEquals(12.0, history.sum(0, 4)),
+                () -> assertEquals(3, history.countNonZero(0, 4)),
+                () -> assertEquals(4.0, history.sum(1, 3)),
+                () -> assertEquals(1, history.countNonZero(1, 3)),
+                () -> assertEquals(0.0, history.sum(2, 2)),
+                () -> assertEquals(0, history.countNonZero(3, 1)));
+    }
+
+    /**
+     * Tests that replacing a sample updates the aggregates of the ranges that contain it.
+     */
+    @Test
+    void replacingSampleUpdatesAggregates() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(3);
+        history.append(10, 2.0);
+        history.append(20, 3.0);
+        history.append(30, 4.0);
+
+        // Act
+        history.append(20, 0.0);
+
+        // Assert
+        assertEquals(6.0, history.sum(0, 3));
+        assertEquals(2, history.countNonZero(0, 3));
+        assertEquals(4.0, history.sum(1, 3));
+    }
+
+    /**
+     * Tests that the aggregates match a direct computation while samples arrive out of order and the history
+     * wraps around many times.
+     */
+    @Test
+    void aggregatesMatchDirectComputationUnderEviction() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(16);
+        Random random = new Random(42);
+
+        for (int step = 0; step < 2000; step++) {
+            // Act
+            long time = step * 10L - random.nextInt(60);
+            history.append(time, random.nextInt(4));
+
+            // Assert
+            int size = (int) history.size();
+            int from = random.nextInt(size + 1);
+            int to = from + random.nextInt(size - from + 1);
+            double expectedSum = 0;
+            int expectedCount = 0;
+            for (int i = from; i < to; i++) {
+                expectedSum += history.getValue(i);
+                if (history.getValue(i) != 0.0) expectedCount++;
+            }
+            assertEquals(expectedSum, history.sum(from, to));
+            assertEquals(expectedCount, history.countNonZero(from, to));
+        }
+    }
+
+    /**
+     * Tests that ranges outside the history are rejected.
+     */
+    @Test
+    void aggregateOutsideHistoryThrowsException() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(3);
+        history.append(1, 1.0);
+
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> history.sum(0, 2)),
+                () -> assertThrows(IndexOutOfBoundsException.class, () -> history.countNonZero(-1, 1)));
+    }
+
+    /**
+     * Tests that a range visit passes the samples at or after its start and before its end.
+     */
+    @Test
+    void forEachInRangeIsHalfOpen() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(8);
+        for (int i = 1; i <= 6; i++)
+            history.append(i * 10L, i);
+        StringBuilder visited = new StringBuilder();
+
+        // Act
+        history.forEachInRange(20, 50, (timestamp, value) -> visited.append(timestamp).append(' '));
+
+        // Assert
+        assertEquals("20 30 40 ", visited.toString());
+    }
+
+    /**
+     * Tests that removing old samples keeps the newer samples and their range aggregates.
+     */
+    @Test
+    void removeBeforeKeepsNewerSamples() {
+        // Arrange
+        RingBufferHistory history = new RingBufferHistory(4);
+        for (int i = 1; i <= 6; i++)
+            history.append(i * 10L, i);
+
+        // Act
+        history.removeBefore(45);
+        history.append(70, 7.0);
+
+        // Assert
+        assertEquals(3, history.size());
+        assertEquals(50, history.getTimestamp(0));
+        assertEquals(18.0, history.sum(0, 3));
+        assertEquals(3, history.countNonZero(0, 3));
+    }
+}
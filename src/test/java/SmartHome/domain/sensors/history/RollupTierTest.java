@@ -0,0 +1,99 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link RollupTier} class, verifying bucket summaries, late samples and retention.
+ */
+class RollupTierTest {
+
+    /**
+     * Collects the summaries passed by a tier as readable strings.
+     *
+     * @param tier The tier to read.
+     * @param from The start of the range, inclusive.
+     * @param to   The end of the range, exclusive.
+     * @return One string per bucket, holding its start, minimum, maximum, sum and count.
+     */
+    private static List<String> read(RollupTier tier, long from, long to) {
+        List<String> buckets = new ArrayList<>();
+        tier.forEachInRange(from, to, (start, min, max, sum, count) ->
+                buckets.add(start + ":" + min + "/" + max + "/" + sum + "/" + count));
+        return buckets;
+    }
+
+    /**
+     * Tests that samples are folded into aligned buckets holding their minimum, maximum, sum and count.
+     */
+    @Test
+    void addFoldsSamplesIntoAlignedBuckets() {
+        // Arrange
+        RollupTier tier = new RollupTier(10, 1000);
+
+        // Act
+        tier.add(3, 2.0);
+        tier.add(7, -1.0);
+        tier.add(12, 5.0);
+        tier.add(-4, 1.0);
+
+        // Assert
+        assertEquals(List.of("-10:1.0/1.0/1.0/1", "0:-1.0/2.0/1.0/2", "10:5.0/5.0/5.0/1"), read(tier, -100, 100));
+    }
+
+    /**
+     * Tests that a late sample updates or creates its bucket in time order.
+     */
+    @Test
+    void lateSampleLandsInItsBucket() {
+        // Arrange
+        RollupTier tier = new RollupTier(10, 1000);
+        tier.add(5, 1.0);
+        tier.add(35, 4.0);
+
+        // Act
+        tier.add(21, 3.0);
+        tier.add(8, 2.0);
+
+        // Assert
+        assertEquals(List.of("0:1.0/2.0/3.0/2", "20:3.0/3.0/3.0/1", "30:4.0/4.0/4.0/1"), read(tier, 0, 100));
+    }
+
+    /**
+     * Tests that removing old data drops only the buckets that end at or before the instant, and that the tier
+     * keeps working as buckets are added and dropped many times.
+     */
+    @Test
+    void removeBeforeDropsExpiredBuckets() {
+        // Arrange
+        RollupTier tier = new RollupTier(10, 1000);
+        for (int i = 0; i < 500; i++) {
+            tier.add(i * 10L, i);
+            tier.removeBefore(i * 10L - 45);
+        }
+
+        // Act
+        tier.removeBefore(4960);
+
+        // Assert
+        assertEquals(List.of("4960:496.0/496.0/496.0/1",
+                "4970:497.0/497.0/497.0/1", "4980:498.0/498.0/498.0/1", "4990:499.0/499.0/499.0/1"),
+                read(tier, 0, 10_000));
+    }
+
+    /**
+     * Tests that invalid widths and retentions are rejected.
+     */
+    @Test
+    void invalidArgumentsThrowException() {
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new RollupTier(0, 10)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new RollupTier(10, 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new RollupTier(10, 10).forEachInRange(0, 1, null)));
+    }
+}
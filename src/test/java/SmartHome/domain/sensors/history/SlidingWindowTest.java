@@ -0,0 +1,133 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link SlidingWindow} class, verifying the summaries it emits against a brute-force scan of
+ * the window.
+ */
+class SlidingWindowTest {
+
+    /**
+     * Tests that the constructor rejects a non-positive width and a null consumer.
+     */
+    @Test
+    void constructorRejectsInvalidArguments() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindow(0, (start, min, max, sum, count) -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindow(10, null));
+    }
+
+    /**
+     * Tests that each emitted summary covers the samples after the newest time minus the width.
+     */
+    @Test
+    void emitsSummaryOfWindowAfterEachSample() {
+        // Arrange
+        List<double[]> emitted = new ArrayList<>();
+        SlidingWindow window = new SlidingWindow(10,
+                (start, min, max, sum, count) -> emitted.add(new double[]{start, min, max, sum, count}));
+
+        // Act
+        window.add(0, 5);
+        window.add(4, 1);
+        window.add(9, 3);
+        window.add(10, 2);
+        window.add(14, 7);
+
+        // Assert
+        assertEquals(5, emitted.size());
+        assertArrayEquals(new double[]{1, 1, 3, 6, 3}, emitted.get(3));
+        assertArrayEquals(new double[]{5, 2, 7, 12, 3}, emitted.get(4));
+    }
+
+    /**
+     * Tests that a sample older than the newest one is rejected and not emitted.
+     */
+    @Test
+    void rejectsSamplesOutOfOrder() {
+        // Arrange
+        List<Long> counts = new ArrayList<>();
+        SlidingWindow window = new SlidingWindow(10, (start, min, max, sum, count) -> counts.add(count));
+        window.add(5, 1);
+
+        // Act
+        boolean late = window.add(4, 1);
+
+        // Assert
+        assertFalse(late);
+        assertEquals(List.of(1L), counts);
+    }
+
+    /**
+     * Tests that a sample taken at the time of the newest one replaces it, so the minimum, maximum, sum and count
+     * no longer include the replaced value, including a maximum that hid an earlier sample.
+     */
+    @Test
+    void sampleAtTimeOfNewestReplacesIt() {
+        // Arrange
+        List<double[]> summaries = new ArrayList<>();
+        SlidingWindow window = new SlidingWindow(10,
+                (start, min, max, sum, count) -> summaries.add(new double[]{min, max, sum, count}));
+        window.add(3, 3);
+        window.add(5, 9);
+
+        // Act
+        boolean replaced = window.add(5, 1);
+        window.add(6, 2);
+
+        // Assert
+        assertTrue(replaced);
+        assertArrayEquals(new double[]{1, 3, 4, 2}, summaries.get(2));
+        assertArrayEquals(new double[]{1, 3, 6, 3}, summaries.get(3));
+    }
+
+    /**
+     * Tests the emitted minimum, maximum, sum and count against a scan of the window for random samples, some of
+     * which replace a sample taken at the same time.
+     */
+    @Test
+    void matchesBruteForce() {
+        // Arrange
+        Random random = new Random(5);
+        long[] timestamps = new long[5000];
+        double[] values = new double[5000];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = (i == 0 ? 0 : timestamps[i - 1]) + random.nextInt(20);
+            values[i] = random.nextInt(1000) / 10.0;
+        }
+        List<double[]> emitted = new ArrayList<>();
+        SlidingWindow window = new SlidingWindow(300,
+                (start, min, max, sum, count) -> emitted.add(new double[]{min, max, sum, count}));
+
+        // Act
+        for (int i = 0; i < timestamps.length; i++)
+            window.accept(timestamps[i], values[i]);
+
+        // Assert
+        for (int i = 0; i < timestamps.length; i++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double sum = 0;
+            int count = 0;
+            for (int j = 0; j <= i; j++) {
+                boolean replaced = j < i && timestamps[j + 1] == timestamps[j];
+                if (replaced || timestamps[j] <= timestamps[i] - 300) continue;
+                min = Math.min(min, values[j]);
+                max = Math.max(max, values[j]);
+                sum += values[j];
+                count++;
+            }
+            assertEquals(min, emitted.get(i)[0]);
+            assertEquals(max, emitted.get(i)[1]);
+            assertEquals(sum, emitted.get(i)[2], 1e-6);
+            assertEquals(count, emitted.get(i)[3]);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link TieredHistory} class, verifying tier selection and the retention of raw samples and
+ * buckets.
+ */
+class TieredHistoryTest {
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+    private static final long DAY = TimeUnit.DAYS.toNanos(1);
+
+    /**
+     * Tests that a summary query reads the coarsest tier no wider than the requested resolution.
+     */
+    @Test
+    void summaryReadsCoarsestMatchingTier() {
+        // Arrange
+        TieredHistory history = TieredHistory.withDefaultTiers(new CompressedHistory());
+        for (int i = 0; i < 2 * 24 * 60; i++)
+            history.append(i * MINUTE, i % 60);
+        List<Long> counts = new ArrayList<>();
+
+        // Act
+        history.forEachSummary(0, 2 * DAY, DAY, (start, min, max, sum, count) -> counts.add(count));
+        history.forEachSummary(0, 2 * DAY, 6 * HOUR, (start, min, max, sum, count) -> counts.add(count));
+
+        // Assert
+        assertEquals(2 + 48, counts.size());
+        assertEquals(1440L, counts.get(0));
+        assertEquals(60L, counts.get(2));
+    }
+
+    /**
+     * Tests that raw samples older than the raw retention are released while the tiers keep their summaries.
+     */
+    @Test
+    void rawSamplesExpireButSummariesRemain() {
+        // Arrange
+        TieredHistory history = new TieredHistory(new CompressedHistory(), 100,
+                new RollupTier(10, 1000), new RollupTier(100, 10_000));
+
+        // Act
+        for (int i = 0; i < 5000; i++)
+            history.append(i, 1.0);
+        List<Long> fine = new ArrayList<>();
+        history.forEachSummary(0, 5000, 10, (start, min, max, sum, count) -> fine.add(start));
+        double[] total = new double[1];
+        history.forEachSummary(0, 5000, 500, (start, min, max, sum, count) -> total[0] += sum);
+
+        // Assert
+        assertTrue(history.size() <= 100 + CompressedHistory.CHUNK_SIZE);
+        assertTrue(history.size() >= 100);
+        assertEquals(3990L, fine.get(0));
+        assertEquals(5000.0, total[0]);
+    }
+
+    /**
+     * Tests that a summary query reaching beyond the retention of the chosen level is clipped to the retained part,
+     * and that the start of that part is reported.
+     */
+    @Test
+    void summaryBeyondRetentionIsClipped() {
+        // Arrange
+        TieredHistory history = new TieredHistory(new CompressedHistory(), 100,
+                new RollupTier(10, 1000), new RollupTier(100, 10_000));
+        for (int i = 0; i < 5000; i++)
+            history.append(i, 1.0);
+        List<Long> fine = new ArrayList<>();
+        List<Long> raw = new ArrayList<>();
+
+        // Act
+        long fineStart = history.forEachSummary(0, 5000, 10, (start, min, max, sum, count) -> fine.add(start));
+        long rawStart = history.forEachSummary(0, 5000, 1, (start, min, max, sum, count) -> raw.add(start));
+        long coarseStart = history.forEachSummary(0, 5000, 100, (start, min, max, sum, count) -> { });
+        long expiredStart = history.forEachSummary(0, 1000, 10, (start, min, max, sum, count) -> fine.add(start));
+
+        // Assert
+        assertEquals(3990L, fineStart);
+        assertEquals(3990L, fine.get(0));
+        assertEquals(101, fine.size());
+        assertEquals(4899L, rawStart);
+        assertEquals(4899L, raw.get(0));
+        assertEquals(0L, coarseStart);
+        assertTrue(expiredStart >= 1000);
+    }
+
+    /**
+     * Tests that a resolution finer than every tier reads the raw samples.
+     */
+    @Test
+    void fineResolutionReadsRawSamples() {
+        // Arrange
+        TieredHistory history = new TieredHistory(new CompressedHistory(), 1000, new RollupTier(10, 1000));
+        history.append(1, 2.0);
+        history.append(2, 3.0);
+        List<String> summaries = new ArrayList<>();
+
+        // Act
+        history.forEachSummary(0, 10, 5, (start, min, max, sum, count) -> summaries.add(start + ":" + sum + "/" + count));
+
+        // Assert
+        assertEquals(List.of("1:2.0/1", "2:3.0/1"), summaries);
+    }
+
+    /**
+     * Tests that samples rejected by the raw history are not folded into the tiers.
+     */
+    @Test
+    void rejectedSampleIsNotRolledUp() {
+        // Arrange
+        TieredHistory history = new TieredHistory(new CompressedHistory(), 1000, new RollupTier(10, 1000));
+        history.append(5, 1.0);
+
+        // Act
+        boolean stored = history.append(5, 9.0);
+        double[] max = new double[1];
+        history.forEachSummary(0, 10, 10, (start, min, maximum, sum, count) -> max[0] = maximum);
+
+        // Assert
+        assertFalse(stored);
+        assertEquals(1.0, max[0]);
+    }
+
+    /**
+     * Tests that a sample at the time of a held raw sample is rejected even over a ring buffer, which would replace
+     * the sample, so the raw history and the buckets keep the earlier value and count it once.
+     */
+    @Test
+    void sampleReplacingHeldSampleIsRejected() {
+        // Arrange
+        RingBufferHistory raw = new RingBufferHistory(8);
+        TieredHistory history = new TieredHistory(raw, 1000, new RollupTier(10, 1000));
+        history.append(5, 1.0);
+        history.append(7, 2.0);
+
+        // Act
+        boolean stored = history.append(5, 9.0);
+        double[] summary = new double[4];
+        history.forEachSummary(0, 10, 10, (start, min, max, sum, count) -> {
+            summary[0] = min;
+            summary[1] = max;
+            summary[2] = sum;
+            summary[3] = count;
+        });
+        List<Double> rawValues = new ArrayList<>();
+        raw.forEachInRange(0, 10, (time, value) -> rawValues.add(value));
+
+        // Assert
+        assertFalse(stored);
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0, 2.0}, summary);
+        assertEquals(List.of(1.0, 2.0), rawValues);
+    }
+
+    /**
+     * Tests that invalid configurations are rejected.
+     */
+    @Test
+    void invalidArgumentsThrowException() {
+        // Act + Assert
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new TieredHistory(null, 10)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new TieredHistory(new CompressedHistory(), 0)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> new TieredHistory(new CompressedHistory(), 10, new RollupTier(5, 5), new RollupTier(5, 50))),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> new TieredHistory(new CompressedHistory(), 10, (RollupTier) null)));
+    }
+}
@@ -0,0 +1,69 @@
+package SmartHome.domain.sensors.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link TumblingWindow} class, verifying window alignment, emission and the rejection of
+ * samples of emitted windows.
+ */
+class TumblingWindowTest {
+
+    /**
+     * Tests that the constructor rejects a non-positive width and a null consumer.
+     */
+    @Test
+    void constructorRejectsInvalidArguments() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> new TumblingWindow(-1, (start, min, max, sum, count) -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new TumblingWindow(10, null));
+    }
+
+    /**
+     * Tests that a window is emitted when a sample of a later window arrives, and that empty windows are skipped.
+     */
+    @Test
+    void emitsWindowWhenNextOneStarts() {
+        // Arrange
+        List<double[]> emitted = new ArrayList<>();
+        TumblingWindow window = new TumblingWindow(10,
+                (start, min, max, sum, count) -> emitted.add(new double[]{start, min, max, sum, count}));
+
+        // Act
+        window.add(3, 4);
+        window.add(7, 2);
+        window.add(9, 6);
+        window.add(35, 1);
+
+        // Assert
+        assertEquals(1, emitted.size());
+        assertArrayEquals(new double[]{0, 2, 6, 12, 3}, emitted.get(0));
+    }
+
+    /**
+     * Tests that flushing emits the open window and that samples of emitted windows are rejected.
+     */
+    @Test
+    void flushEmitsOpenWindowAndClosesIt() {
+        // Arrange
+        List<Long> starts = new ArrayList<>();
+        TumblingWindow window = new TumblingWindow(10, (start, min, max, sum, count) -> starts.add(start));
+        window.add(-5, 1);
+        window.add(12, 1);
+
+        // Act
+        window.flush();
+        window.flush();
+        boolean late = window.add(15, 1);
+        boolean next = window.add(25, 1);
+
+        // Assert
+        assertEquals(List.of(-10L, 10L), starts);
+        assertFalse(late);
+        assertTrue(next);
+    }
+}
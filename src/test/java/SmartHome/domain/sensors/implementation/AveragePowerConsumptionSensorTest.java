@@ -1,14 +1,23 @@
 package SmartHome.domain.sensors.implementation;
 
+import SmartHome.domain.constants.Constants;
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.history.CompressedHistory;
+import SmartHome.domain.sensors.history.EpochNanos;
+import SmartHome.domain.sensors.history.QuantileSketch;
+import SmartHome.domain.sensors.history.SlidingWindow;
 import SmartHome.domain.sensors.implementation.AveragePowerConsumptionSensor;
 import SmartHome.domain.values.ValueFactory;
 import SmartHome.domain.values.implementation.WValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -240,4 +249,312 @@ class AveragePowerConsumptionSensorTest {
         //Assert
         assertEquals("No readings to show", average);
     }
+
+    /**
+     * Tests that once the history is full the oldest readings are replaced by the newest ones.
+     * It verifies that the average only covers the readings that are still kept.
+     */
+    @Test
+    void validGetAverageAfterHistoryWrapsAround() {
+        //Arrange
+        WValue oldReading = new WValue();
+        oldReading.setValue("1000");
+        WValue reading = new WValue();
+        reading.setValue("10");
+        averagePowerConsumptionSensorMock.addReading(oldReading, LocalTime.of(0, 0, 1));
+        for (int i = 0; i < Constants.POWER_HISTORY_CAPACITY; i++)
+            averagePowerConsumptionSensorMock.addReading(reading, LocalTime.of(1, 0).plusSeconds(i));
+
+        //Act
+        String average = averagePowerConsumptionSensorMock.getReading(LocalTime.MIN, LocalTime.MAX);
+
+        //Assert
+        assertEquals("10.0W", average);
+    }
+
+    /**
+     * Tests that the value of a reading is copied when it is added.
+     * It verifies that changing the reading object afterwards does not change the average.
+     */
+    @Test
+    void readingValueIsCopiedWhenAdded() {
+        //Arrange
+        WValue reading = new WValue();
+        reading.setValue("20");
+        averagePowerConsumptionSensorMock.addReading(reading, LocalTime.of(11, 0));
+
+        //Act
+        reading.setValue("80");
+        String average = averagePowerConsumptionSensorMock.getReading(LocalTime.of(10, 0), LocalTime.of(12, 0));
+
+        //Assert
+        assertEquals("20.0W", average);
+    }
+
+    /**
+     * Tests the addReading method of the AveragePowerConsumptionSensor class with a null reading or time.
+     * It verifies that the method returns false.
+     */
+    @Test
+    void invalidAddNullReading() {
+        //Act + Assert
+        assertFalse(averagePowerConsumptionSensorMock.addReading(null, LocalTime.of(11, 0)));
+        assertFalse(averagePowerConsumptionSensorMock.addReading(new WValue(), (LocalTime) null));
+    }
+
+    /**
+     * Tests the getReading method of the AveragePowerConsumptionSensor class with readings added out of order.
+     * It verifies that only the readings inside the period are averaged.
+     */
+    @Test
+    void validGetAverageReadingsOutOfOrder() {
+        //Arrange
+        String[] values = {"40", "10", "30", "20"};
+        int[] hours = {14, 9, 13, 11};
+        for (int i = 0; i < values.length; i++) {
+            WValue reading = new WValue();
+            reading.setValue(values[i]);
+            averagePowerConsumptionSensorMock.addReading(reading, LocalTime.of(hours[i], 0));
+        }
+
+        //Act
+        String average = averagePowerConsumptionSensorMock.getReading(LocalTime.of(10, 0), LocalTime.of(14, 0));
+
+        //Assert
+        assertEquals("25.0W", average);
+    }
+
+    /**
+     * Tests that a reading taken at the time of an earlier reading replaces it.
+     */
+    @Test
+    void validAddReadingAtSameTimeReplacesReading() {
+        //Arrange
+        WValue reading1 = new WValue();
+        reading1.setValue("20");
+        WValue reading2 = new WValue();
+        reading2.setValue("60");
+        averagePowerConsumptionSensorMock.addReading(reading1, LocalTime.of(11, 0));
+
+        //Act
+        averagePowerConsumptionSensorMock.addReading(reading2, LocalTime.of(11, 0));
+        String average = averagePowerConsumptionSensorMock.getReading(LocalTime.of(10, 0), LocalTime.of(12, 0));
+
+        //Assert
+        assertEquals("60.0W", average);
+    }
+
+    /**
+     * Tests that readings taken at the same time of day on different days are all kept and averaged.
+     */
+    @Test
+    void validGetAverageOverSeveralDays() {
+        //Arrange
+        Instant monday = Instant.parse("2024-03-04T12:00:00Z");
+        String[] values = {"10", "20", "60"};
+        for (int day = 0; day < values.length; day++) {
+            WValue reading = new WValue();
+            reading.setValue(values[day]);
+            averagePowerConsumptionSensorMock.addReading(reading, monday.plusSeconds(day * 86_400L));
+        }
+
+        //Act
+        String average = averagePowerConsumptionSensorMock.getReading(monday.minusSeconds(1), monday.plusSeconds(2 * 86_400L));
+        String allDays = averagePowerConsumptionSensorMock.getReading(monday.minusSeconds(1), monday.plusSeconds(3 * 86_400L));
+
+        //Assert
+        assertEquals("15.0W", average);
+        assertEquals("30.0W", allDays);
+    }
+
+    /**
+     * Tests that removing old readings drops the days that ended before the instant.
+     */
+    @Test
+    void removeReadingsBeforeDropsOldDays() {
+        //Arrange
+        Instant monday = Instant.parse("2024-03-04T12:00:00Z");
+        WValue reading1 = new WValue();
+        reading1.setValue("10");
+        WValue reading2 = new WValue();
+        reading2.setValue("30");
+        averagePowerConsumptionSensorMock.addReading(reading1, monday);
+        averagePowerConsumptionSensorMock.addReading(reading2, monday.plusSeconds(86_400L));
+
+        //Act
+        averagePowerConsumptionSensorMock.removeReadingsBefore(Instant.parse("2024-03-05T06:00:00Z"));
+        String average = averagePowerConsumptionSensorMock.getReading(Instant.EPOCH, monday.plusSeconds(2 * 86_400L));
+
+        //Assert
+        assertEquals("30.0W", average);
+    }
+
+    /**
+     * Tests that only the newest days of readings are kept, so the memory of the sensor stays bounded however long
+     * it runs.
+     */
+    @Test
+    void onlyNewestDaysAreKept() {
+        //Arrange
+        Instant monday = Instant.parse("2024-03-04T12:00:00Z");
+        for (int day = 0; day < Constants.POWER_HISTORY_DAYS + 3; day++) {
+            WValue reading = new WValue();
+            reading.setValue(Integer.toString(day + 1));
+            averagePowerConsumptionSensorMock.addReading(reading, monday.plusSeconds(day * 86_400L));
+        }
+
+        //Act
+        String average = averagePowerConsumptionSensorMock.getReading(Instant.EPOCH, monday.plusSeconds(30 * 86_400L));
+
+        //Assert
+        assertEquals(Constants.POWER_HISTORY_DAYS, averagePowerConsumptionSensorMock.getHistory().size());
+        assertEquals("7.0W", average);
+    }
+
+    /**
+     * Tests that a day opened after readings every ten seconds holds the whole day, while the first day, sized
+     * before the cadence was known, keeps only its newest readings.
+     */
+    @Test
+    void daysAreSizedFromCadence() {
+        //Arrange
+        Instant start = Instant.parse("2024-03-04T00:00:00Z");
+        WValue reading = new WValue();
+        reading.setValue("10");
+        int readingsPerDay = 8640;
+
+        //Act
+        for (int i = 0; i < 2 * readingsPerDay; i++)
+            averagePowerConsumptionSensorMock.addReading(reading, start.plusSeconds(10L * i));
+
+        //Assert
+        assertEquals(Constants.POWER_HISTORY_CAPACITY + readingsPerDay,
+                averagePowerConsumptionSensorMock.getHistory().size());
+    }
+
+    /**
+     * Tests that percentiles are estimated from every accepted reading within the accuracy of the sketch.
+     */
+    @Test
+    void getPercentileReadingEstimatesPercentiles() {
+        //Arrange
+        Instant start = Instant.parse("2024-03-04T00:00:00Z");
+        for (int i = 1; i <= 100; i++) {
+            WValue reading = new WValue();
+            reading.setValue(Integer.toString(i * 10));
+            averagePowerConsumptionSensorMock.addReading(reading, start.plusSeconds(60L * i));
+        }
+
+        //Act
+        double median = Double.parseDouble(averagePowerConsumptionSensorMock.getPercentileReading(0.5).replace("W", ""));
+        double p99 = Double.parseDouble(averagePowerConsumptionSensorMock.getPercentileReading(0.99).replace("W", ""));
+
+        //Assert
+        assertEquals(500, median, 500 * 0.01);
+        assertEquals(990, p99, 990 * 0.01);
+        QuantileSketch sketch = new QuantileSketch();
+        averagePowerConsumptionSensorMock.mergeReadingsInto(sketch);
+        assertEquals(100, sketch.getCount());
+    }
+
+    /**
+     * Tests that percentiles cover every reading ingested: a reading replaced at the same time and the readings of
+     * dropped days are still counted.
+     */
+    @Test
+    void getPercentileReadingCoversIngestedReadings() {
+        //Arrange
+        Instant monday = Instant.parse("2024-03-04T12:00:00Z");
+        WValue low = new WValue();
+        low.setValue("10");
+        WValue high = new WValue();
+        high.setValue("1000");
+        averagePowerConsumptionSensorMock.addReading(low, monday);
+
+        //Act
+        averagePowerConsumptionSensorMock.addReading(high, monday);
+        averagePowerConsumptionSensorMock.addReading(low, monday.plusSeconds(86_400L));
+        averagePowerConsumptionSensorMock.removeReadingsBefore(monday.plusSeconds(86_400L));
+        String highest = averagePowerConsumptionSensorMock.getPercentileReading(1);
+        String lowest = averagePowerConsumptionSensorMock.getPercentileReading(0);
+        QuantileSketch sketch = new QuantileSketch();
+        averagePowerConsumptionSensorMock.mergeReadingsInto(sketch);
+
+        //Assert
+        assertEquals("1000.0W", highest);
+        assertEquals("10.0W", lowest);
+        assertEquals(3, sketch.getCount());
+        assertEquals(1, averagePowerConsumptionSensorMock.getHistory().size());
+    }
+
+    /**
+     * Tests that a sensor without readings has no percentiles and rejects an invalid quantile.
+     */
+    @Test
+    void getPercentileReadingWithoutReadings() {
+        //Act
+        String reading = averagePowerConsumptionSensorMock.getPercentileReading(0.95);
+
+        //Assert
+        assertEquals("No readings to show", reading);
+        assertThrows(IllegalArgumentException.class, () -> averagePowerConsumptionSensorMock.getPercentileReading(1.5));
+    }
+
+    /**
+     * Tests that registered reading listeners receive every accepted reading at its epoch time, so a sliding window
+     * can keep a rolling average.
+     */
+    @Test
+    void readingListenersReceiveAcceptedReadings() {
+        //Arrange
+        Instant start = Instant.parse("2024-03-04T00:00:00Z");
+        double[] average = new double[1];
+        averagePowerConsumptionSensorMock.addReadingListener(new SlidingWindow(TimeUnit.MINUTES.toNanos(5),
+                (windowStart, min, max, sum, count) -> average[0] = sum / count));
+        List<Long> times = new ArrayList<>();
+        averagePowerConsumptionSensorMock.addReadingListener((time, value) -> times.add(time));
+
+        //Act
+        for (int i = 0; i < 10; i++) {
+            WValue reading = new WValue();
+            reading.setValue(Integer.toString(100 * i));
+            averagePowerConsumptionSensorMock.addReading(reading, start.plusSeconds(60L * i));
+        }
+        averagePowerConsumptionSensorMock.addReading(null, start);
+
+        //Assert
+        assertEquals(700.0, average[0]);
+        assertEquals(10, times.size());
+        assertEquals(EpochNanos.of(start), times.get(0));
+        assertThrows(IllegalArgumentException.class, () -> averagePowerConsumptionSensorMock.addReadingListener(null));
+    }
+
+    /**
+     * Tests that once opened, the readings are written to the store of the backend, that the readings the store
+     * already held and those recorded before opening are indexed, and that periods are averaged over all of them.
+     */
+    @Test
+    void openedHistoryWritesReadingsToBackendStore() {
+        // Arrange
+        Instant morning = Instant.parse("2024-03-04T08:00:00Z");
+        CompressedHistory store = new CompressedHistory();
+        store.append(EpochNanos.of(morning), 10);
+        WValue beforeOpen = new WValue();
+        beforeOpen.setValue("20");
+        averagePowerConsumptionSensorMock.addReading(beforeOpen, morning.plusSeconds(60));
+        WValue afterOpen = new WValue();
+        afterOpen.setValue("30");
+
+        // Act
+        averagePowerConsumptionSensorMock.openHistory(path -> store, "Kitchen", "Oven", SENSOR_NAME);
+        averagePowerConsumptionSensorMock.addReading(afterOpen, morning.plusSeconds(120));
+        String average = averagePowerConsumptionSensorMock.getReading(morning.minusSeconds(1), morning.plusSeconds(121));
+        averagePowerConsumptionSensorMock.closeHistory();
+
+        // Assert
+        assertEquals(3, store.size());
+        assertEquals(3, averagePowerConsumptionSensorMock.getHistory().size());
+        assertEquals("20.0W", average);
+        assertThrows(IllegalStateException.class, () -> averagePowerConsumptionSensorMock.openHistory(path -> store));
+    }
 }
@@ -2,6 +2,9 @@ package SmartHome.domain.sensors.implementation;
 
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.history.CompressedHistory;
+import SmartHome.domain.sensors.history.EpochNanos;
+import SmartHome.domain.sensors.history.TumblingWindow;
 import SmartHome.domain.sensors.implementation.ElectricEnergyConsumptionSensor;
 import SmartHome.domain.values.ValueFactory;
 import SmartHome.domain.values.ValueFactoryImpl;
@@ -9,7 +12,11 @@ import SmartHome.domain.values.implementation.WhValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -177,7 +184,7 @@ class ElectricEnergyConsumptionSensorTest {
         String totalConsumption = electricEnergyConsumptionSensorMock.getReading(start, end);
 
         // Assert
-        assertEquals("There should be exactly two readings", totalConsumption);
+        assertEquals("There should be at least two readings", totalConsumption);
     }
 
     /**
@@ -188,11 +195,11 @@ class ElectricEnergyConsumptionSensorTest {
         // Arrange
         WhValue reading1 = new WhValue();
         reading1.setValue("30");
-        LocalTime readingTime1 = LocalTime.of(14, 0, 0);
+        LocalTime readingTime1 = LocalTime.of(13, 0, 0);
 
         WhValue reading2 = new WhValue();
         reading2.setValue("60");
-        LocalTime readingTime2 = LocalTime.of(13, 0, 0);
+        LocalTime readingTime2 = LocalTime.of(14, 0, 0);
 
         LocalTime start = LocalTime.of(14, 0, 0);
         LocalTime end = LocalTime.of(13, 0, 0);
@@ -224,4 +231,139 @@ class ElectricEnergyConsumptionSensorTest {
         assertFalse(result);
 
     }
+
+    /**
+     * Verifies that the consumption is computed over any number of readings, interpolating at the bounds of the
+     * period.
+     */
+    @Test
+    void getEnergyConsumptionInterpolatesBetweenReadings() {
+        // Arrange
+        String[] values = {"100", "110", "130", "160"};
+        for (int i = 0; i < values.length; i++) {
+            WhValue reading = new WhValue();
+            reading.setValue(values[i]);
+            electricEnergyConsumptionSensorMock.addReading(reading, LocalTime.of(8 + i, 0));
+        }
+
+        // Act
+        String totalConsumption = electricEnergyConsumptionSensorMock.getReading(LocalTime.of(8, 30), LocalTime.of(10, 30));
+
+        // Assert
+        assertEquals("40.0 Wh", totalConsumption);
+    }
+
+    /**
+     * Verifies that a period outside the recorded readings is rejected.
+     */
+    @Test
+    void getEnergyConsumptionOutsideReadings() {
+        // Arrange
+        WhValue reading1 = new WhValue();
+        reading1.setValue("25");
+        WhValue reading2 = new WhValue();
+        reading2.setValue("60");
+        electricEnergyConsumptionSensorMock.addReading(reading1, LocalTime.of(8, 0));
+        electricEnergyConsumptionSensorMock.addReading(reading2, LocalTime.of(18, 0));
+
+        // Act
+        String totalConsumption = electricEnergyConsumptionSensorMock.getReading(LocalTime.of(7, 0), LocalTime.of(18, 0));
+
+        // Assert
+        assertEquals("Invalid time period", totalConsumption);
+    }
+
+    /**
+     * Verifies that readings out of time order or below the previous reading are rejected.
+     */
+    @Test
+    void addReadingRejectsNonMonotonicReadings() {
+        // Arrange
+        WhValue reading1 = new WhValue();
+        reading1.setValue("60");
+        WhValue reading2 = new WhValue();
+        reading2.setValue("25");
+        WhValue reading3 = new WhValue();
+        reading3.setValue("80");
+        electricEnergyConsumptionSensorMock.addReading(reading1, LocalTime.of(12, 0));
+
+        // Act
+        boolean lowerCounter = electricEnergyConsumptionSensorMock.addReading(reading2, LocalTime.of(13, 0));
+        boolean earlierTime = electricEnergyConsumptionSensorMock.addReading(reading3, LocalTime.of(11, 0));
+
+        // Assert
+        assertFalse(lowerCounter);
+        assertFalse(earlierTime);
+    }
+
+    /**
+     * Verifies that readings on different days are kept and that consumption is computed across midnight.
+     */
+    @Test
+    void getEnergyConsumptionAcrossMidnight() {
+        // Arrange
+        WhValue evening = new WhValue();
+        evening.setValue("1000");
+        WhValue morning = new WhValue();
+        morning.setValue("1120");
+        Instant start = Instant.parse("2024-03-04T22:00:00Z");
+        electricEnergyConsumptionSensorMock.addReading(evening, start);
+        electricEnergyConsumptionSensorMock.addReading(morning, Instant.parse("2024-03-05T10:00:00Z"));
+
+        // Act
+        String totalConsumption = electricEnergyConsumptionSensorMock.getReading(start, Instant.parse("2024-03-05T04:00:00Z"));
+
+        // Assert
+        assertEquals("60.0 Wh", totalConsumption);
+    }
+
+    /**
+     * Verifies that a tumbling window subscribed to the meter readings emits the counter range of each hour, and
+     * that rejected readings are not passed on.
+     */
+    @Test
+    void readingListenersFeedTumblingWindow() {
+        // Arrange
+        List<Double> hourly = new ArrayList<>();
+        electricEnergyConsumptionSensorMock.addReadingListener(new TumblingWindow(TimeUnit.HOURS.toNanos(1),
+                (start, min, max, sum, count) -> hourly.add(max - min)));
+        Instant start = Instant.parse("2024-03-04T10:00:00Z");
+
+        // Act
+        for (int i = 0; i < 9; i++) {
+            WhValue reading = new WhValue();
+            reading.setValue(Integer.toString(1000 + 10 * i));
+            electricEnergyConsumptionSensorMock.addReading(reading, start.plusSeconds(1200L * i));
+        }
+        WhValue lower = new WhValue();
+        lower.setValue("900");
+        electricEnergyConsumptionSensorMock.addReading(lower, start.plusSeconds(20_000L));
+
+        // Assert
+        assertEquals(List.of(20.0, 20.0), hourly);
+        assertThrows(IllegalArgumentException.class, () -> electricEnergyConsumptionSensorMock.addReadingListener(null));
+    }
+
+    /**
+     * Tests that once opened, the meter readings are written to the store of the backend and that the readings the
+     * store already held are interpolated together with the new ones.
+     */
+    @Test
+    void openedHistoryWritesMeterReadingsToBackendStore() {
+        // Arrange
+        Instant start = Instant.parse("2024-03-04T10:00:00Z");
+        CompressedHistory store = new CompressedHistory();
+        store.append(EpochNanos.of(start), 100);
+        WhValue reading = new WhValue();
+        reading.setValue("300");
+
+        // Act
+        electricEnergyConsumptionSensorMock.openHistory(path -> store, "Kitchen", "Oven", SENSOR_NAME);
+        electricEnergyConsumptionSensorMock.addReading(reading, start.plusSeconds(3600));
+        String consumption = electricEnergyConsumptionSensorMock.getReading(start, start.plusSeconds(1800));
+
+        // Assert
+        assertEquals(2, store.size());
+        assertEquals("100.0 Wh", consumption);
+    }
 }
@@ -8,6 +8,9 @@ import SmartHome.domain.values.ValueFactory;
 import SmartHome.domain.values.implementation.PercentageValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -217,4 +220,29 @@ public class HumiditySensorTest {
         // Assert
         assertEquals("50 %", result);
     }
+
+    /**
+     * Tests that readings recorded through the shared ingestion path update the current reading and answer
+     * percentiles with the unit of the sensor.
+     */
+    @Test
+    void recordedReadingsUpdateReadingAndPercentiles() {
+        // Arrange
+        HumiditySensor humiditySensor = new HumiditySensor(sensorCatalogueMock, SENSOR_NAME, valueFactoryMock);
+        Instant morning = Instant.parse("2024-03-04T08:00:00Z");
+        String noReadings = humiditySensor.getPercentileReading(0.5);
+
+        // Act
+        for (int i = 1; i <= 5; i++) {
+            PercentageValue reading = new PercentageValue();
+            reading.setValue(String.valueOf(10 * i));
+            humiditySensor.addReading(reading, morning.plusSeconds(60L * i));
+        }
+
+        // Assert
+        assertEquals("No readings to show", noReadings);
+        assertEquals("50 %", humiditySensor.getReading());
+        assertTrue(humiditySensor.getPercentileReading(1).endsWith(" %"));
+        assertEquals(50, Double.parseDouble(humiditySensor.getPercentileReading(1).split(" ")[0]), 0.5);
+    }
 }
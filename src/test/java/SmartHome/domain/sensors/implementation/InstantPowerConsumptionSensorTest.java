@@ -8,6 +8,8 @@ import SmartHome.domain.values.implementation.WValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -122,4 +124,26 @@ class InstantPowerConsumptionSensorTest {
         // Act + Assert
         assertEquals(SensorFunctionality.Power_Consumption, instantPowerConsumptionSensor.getSensorFunctionality());
     }
+
+    /**
+     * Tests that percentiles of the stored power readings are estimated from the readings the sensor holds.
+     */
+    @Test
+    void getPercentileReadingEstimatesStoredReadings() {
+        // Arrange
+        InstantPowerConsumptionSensor instantPowerConsumptionSensor =
+                new InstantPowerConsumptionSensor(mock(SensorCatalogue.class), SENSOR_NAME, valueFactoryDouble);
+        Instant start = Instant.parse("2024-03-04T00:00:00Z");
+        for (int i = 1; i <= 4; i++) {
+            WValue reading = new WValue();
+            reading.setValue(Integer.toString(100 * i));
+            instantPowerConsumptionSensor.addReading(reading, start.plusSeconds(i));
+        }
+
+        // Act
+        String max = instantPowerConsumptionSensor.getPercentileReading(1);
+
+        // Assert
+        assertEquals("400.0 W", max);
+    }
 }
@@ -2,12 +2,18 @@ package SmartHome.domain.sensors.implementation;
 
 import SmartHome.domain.sensors.SensorCatalogue;
 import SmartHome.domain.sensors.SensorFunctionality;
+import SmartHome.domain.sensors.history.EpochNanos;
+import SmartHome.domain.sensors.history.QuantileSketch;
 import SmartHome.domain.sensors.implementation.TemperatureSensor;
 import SmartHome.domain.values.ValueFactory;
 import SmartHome.domain.values.implementation.CelsiusValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -231,4 +237,86 @@ class TemperatureSensorTest {
         // Assert
         assertEquals("22ºC", reading);
     }
+
+    /**
+     * Tests that readings are recorded in the history of the sensor at their epoch time and passed to the
+     * listeners, and that readings rejected by the history are not.
+     */
+    @Test
+    void addReadingRecordsInHistory() {
+        // Arrange
+        TemperatureSensor sensor = new TemperatureSensor(mock(SensorCatalogue.class), "Temperature", valueFactoryDouble);
+        List<Double> heard = new ArrayList<>();
+        sensor.addReadingListener((time, value) -> heard.add(value));
+        CelsiusValue first = new CelsiusValue();
+        first.setValue("21.5");
+        CelsiusValue second = new CelsiusValue();
+        second.setValue("-3");
+        Instant morning = Instant.parse("2024-03-04T08:00:00Z");
+
+        // Act
+        boolean added = sensor.addReading(first, morning);
+        boolean later = sensor.addReading(second, morning.plusSeconds(60));
+        boolean earlier = sensor.addReading(second, morning.minusSeconds(60));
+        boolean nullReading = sensor.addReading(null, morning);
+        List<Double> stored = new ArrayList<>();
+        sensor.getHistory().forEachInRange(EpochNanos.of(morning), Long.MAX_VALUE, (time, value) -> stored.add(value));
+
+        // Assert
+        assertTrue(added);
+        assertTrue(later);
+        assertFalse(earlier);
+        assertFalse(nullReading);
+        assertEquals(List.of(21.5, -3.0), stored);
+        assertEquals(stored, heard);
+    }
+
+    /**
+     * Tests that percentiles of the stored temperature readings are estimated within the accuracy of the sketch,
+     * and merged into another sketch.
+     */
+    @Test
+    void getPercentileReadingEstimatesStoredReadings() {
+        // Arrange
+        TemperatureSensor sensor = new TemperatureSensor(mock(SensorCatalogue.class), "Temperature", valueFactoryDouble);
+        Instant start = Instant.parse("2024-03-04T00:00:00Z");
+        String empty = sensor.getPercentileReading(0.5);
+        for (int i = 1; i <= 100; i++) {
+            CelsiusValue reading = new CelsiusValue();
+            reading.setValue(Integer.toString(i));
+            sensor.addReading(reading, start.plusSeconds(60L * i));
+        }
+        QuantileSketch sketch = new QuantileSketch();
+
+        // Act
+        double median = Double.parseDouble(sensor.getPercentileReading(0.5).split(" ")[0]);
+        sensor.mergeReadingsInto(sketch);
+
+        // Assert
+        assertEquals("No readings to show", empty);
+        assertEquals(50, median, 50 * 0.01);
+        assertEquals(100, sketch.getCount());
+        assertThrows(IllegalArgumentException.class, () -> sensor.getPercentileReading(-0.1));
+    }
+
+    /**
+     * Tests that the current reading of the sensor is the recorded reading with the latest time.
+     */
+    @Test
+    void addReadingUpdatesCurrentReading() {
+        // Arrange
+        TemperatureSensor sensor = new TemperatureSensor(mock(SensorCatalogue.class), "Temperature", valueFactoryDouble);
+        CelsiusValue latest = new CelsiusValue();
+        latest.setValue("21.5");
+        CelsiusValue late = new CelsiusValue();
+        late.setValue("18");
+        Instant morning = Instant.parse("2024-03-04T08:00:00Z");
+
+        // Act
+        sensor.addReading(latest, morning);
+        sensor.addReading(late, morning.minusSeconds(60));
+
+        // Assert
+        assertEquals(latest.toString(), sensor.getReading());
+    }
 }
@@ -8,6 +8,10 @@ import SmartHome.domain.values.implementation.KmhCardinalValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -141,4 +145,29 @@ class WindSensorTest {
         // Assert
         assertEquals(NAME, name);
     }
+
+    /**
+     * Verifies that the speed of a wind reading is recorded in the history, whether or not it has a direction.
+     */
+    @Test
+    void addReadingRecordsWindSpeed() {
+        // Arrange
+        WindSensor windSensor = new WindSensor(mockCatalogue, NAME, mockFactory);
+        KmhCardinalValue complete = new KmhCardinalValue();
+        complete.setValue("14.5");
+        complete.setDirection(WindDirection.N);
+        KmhCardinalValue noDirection = new KmhCardinalValue();
+        noDirection.setDouble(20);
+        List<Double> stored = new ArrayList<>();
+
+        // Act
+        boolean first = windSensor.addReading(complete, Instant.EPOCH);
+        boolean second = windSensor.addReading(noDirection, Instant.EPOCH.plusSeconds(1));
+        windSensor.getHistory().forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, (time, value) -> stored.add(value));
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertEquals(List.of(14.5, 20.0), stored);
+    }
 }
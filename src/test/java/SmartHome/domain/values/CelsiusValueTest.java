@@ -139,4 +139,38 @@ class CelsiusValueTest {
         // Assert
         assertEquals("30.0 ºC", celsiusValue.toString());
     }
+
+    /**
+     * Verifies that a temperature set as a number is read back unchanged and shown in degrees Celsius.
+     */
+    @Test
+    void setDoubleAndGetDouble() {
+        // Arrange
+        CelsiusValue value = new CelsiusValue();
+
+        // Act
+        boolean result = value.setDouble(-4.5);
+
+        // Assert
+        assertTrue(result);
+        assertEquals(-4.5, value.getDouble());
+        assertEquals("-4.5 ºC", value.toString());
+    }
+
+    /**
+     * Verifies that a value that is not a number is rejected when set as a number, leaving the value unchanged.
+     */
+    @Test
+    void setDoubleRejectsInvalidNumber() {
+        // Arrange
+        CelsiusValue value = new CelsiusValue();
+        value.setDouble(-4.5);
+
+        // Act
+        boolean result = value.setDouble(Double.NaN);
+
+        // Assert
+        assertFalse(result);
+        assertEquals(-4.5, value.getDouble());
+    }
 }
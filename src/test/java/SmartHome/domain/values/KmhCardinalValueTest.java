@@ -119,4 +119,40 @@ class KmhCardinalValueTest {
         // Assert
         assertEquals(null, kmhCardinalValue.toString());
     }
+
+    /**
+     * Verifies that a wind speed set as a number is read back without parsing and shown in the text of the value.
+     */
+    @Test
+    void setDoubleAndGetDouble() {
+        // Arrange
+        KmhCardinalValue value = new KmhCardinalValue();
+        value.setDirection(WindDirection.SW);
+
+        // Act
+        boolean result = value.setDouble(22.5);
+        boolean negative = value.setDouble(-3);
+
+        // Assert
+        assertTrue(result);
+        assertFalse(negative);
+        assertEquals(22.5, value.getDouble());
+        assertEquals("22.5 km/h pointing to: SW", value.toString());
+    }
+
+    /**
+     * Verifies that a wind speed parsed from text is also available as a number.
+     */
+    @Test
+    void setValueUpdatesDouble() {
+        // Arrange
+        KmhCardinalValue value = new KmhCardinalValue();
+
+        // Act
+        value.setValue("14");
+
+        // Assert
+        assertEquals(14.0, value.getDouble());
+        assertEquals("14 km/h", value.getWindSpeed());
+    }
 }
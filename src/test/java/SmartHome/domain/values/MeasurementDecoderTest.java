@@ -0,0 +1,226 @@
+package SmartHome.domain.values;
+
+import SmartHome.domain.values.implementation.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link MeasurementDecoder} class, which parses readings from slices of text and bytes.
+ */
+class MeasurementDecoderTest {
+
+    /**
+     * Tests that a number in the middle of a payload is decoded into the value without the surrounding text.
+     */
+    @Test
+    void decodesSliceOfText() {
+        // Arrange
+        String payload = "power=1234.5;unit=W";
+        WValue value = new WValue();
+
+        // Act
+        boolean result = MeasurementDecoder.decode(payload, 6, 12, value);
+
+        // Assert
+        assertTrue(result);
+        assertEquals(1234.5, value.getDouble());
+    }
+
+    /**
+     * Tests that a number is decoded from a buffer of ASCII bytes without moving its position.
+     */
+    @Test
+    void decodesSliceOfBuffer() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.wrap("t=-3.25\n".getBytes(StandardCharsets.US_ASCII));
+        CelsiusValue value = new CelsiusValue();
+
+        // Act
+        boolean result = MeasurementDecoder.decode(buffer, 2, 7, value);
+
+        // Assert
+        assertTrue(result);
+        assertEquals(-3.25, value.getDouble());
+        assertEquals(0, buffer.position());
+    }
+
+    /**
+     * Tests that the decoder parses exactly what {@link Double#parseDouble(String)} does, for short readings on the
+     * fast path as well as long and extreme numbers on the fallback path.
+     */
+    @Test
+    void matchesDoubleParseDouble() {
+        // Arrange
+        Random random = new Random(42);
+        String[] fixed = {"0", "-0", "+7", "0.1", ".5", "5.", "1e3", "2.5E-4", "123456789012345678901234",
+                "0.000000000000000000000000123", "1.7976931348623157e308", "4.9e-324", "1e-400", "9007199254740993",
+                "  42.75  ", "\t-3.5\r\n"};
+
+        // Act + Assert
+        for (String text : fixed)
+            assertEquals(Double.parseDouble(text), MeasurementDecoder.parseDouble(text, 0, text.length()), text);
+        for (int i = 0; i < 10_000; i++) {
+            String text = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(20) - 10));
+            assertEquals(Double.parseDouble(text), MeasurementDecoder.parseDouble(text, 0, text.length()), text);
+            String reading = (random.nextInt(2_000_000) - 1_000_000) / 100.0 + "";
+            assertEquals(Double.parseDouble(reading), MeasurementDecoder.parseDouble(reading, 0, reading.length()));
+        }
+    }
+
+    /**
+     * Tests that integers of 19 and 20 digits, which do not fit the collected mantissa, keep their magnitude and
+     * sign instead of wrapping around.
+     */
+    @Test
+    void longIntegersDoNotOverflow() {
+        // Arrange
+        String[] integers = {"9999999999999999999", "-9999999999999999999", "+9223372036854775808",
+                "18446744073709551615", "-18446744073709551616", "99999999999999999999"};
+
+        // Act + Assert
+        for (String text : integers)
+            assertEquals(Double.parseDouble(text), MeasurementDecoder.parseDouble(text, 0, text.length()), text);
+    }
+
+    /**
+     * Tests that a negative integer too long for the mantissa is still rejected by non-negative values, and that
+     * integral values reject it as out of range.
+     */
+    @Test
+    void longNegativeIntegersAreRejected() {
+        // Arrange
+        WValue power = new WValue();
+        WhValue energy = new WhValue();
+        CelsiusValue temperature = new CelsiusValue();
+        RangeActuatorIntValue range = new RangeActuatorIntValue(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        // Act + Assert
+        assertFalse(MeasurementDecoder.decode("-9999999999999999999", power));
+        assertFalse(MeasurementDecoder.decode("-99999999999999999999", energy));
+        assertTrue(MeasurementDecoder.decode("9999999999999999999", temperature));
+        assertEquals(1e19, temperature.getDouble());
+        assertFalse(MeasurementDecoder.decode("9999999999999999999", range));
+        assertFalse(MeasurementDecoder.decode("-9999999999999999999", range));
+    }
+
+    /**
+     * Tests that surrounding whitespace is skipped for decimal values, as {@link Double#parseDouble(String)} trims
+     * it, and rejected for whole-number values, as {@link Integer#parseInt(String)} does.
+     */
+    @Test
+    void surroundingWhitespaceMatchesReplacedParsing() {
+        // Arrange
+        CelsiusValue temperature = new CelsiusValue();
+        PercentageValue humidity = new PercentageValue();
+        RangeActuatorIntValue range = new RangeActuatorIntValue(0, 100);
+
+        // Act + Assert
+        assertTrue(MeasurementDecoder.decode(" 21.5\n", temperature));
+        assertEquals(21.5, temperature.getDouble());
+        assertFalse(MeasurementDecoder.decode(" 42", humidity));
+        assertFalse(MeasurementDecoder.decode("42 ", humidity));
+        assertFalse(MeasurementDecoder.decode("\t42", range));
+        assertThrows(NumberFormatException.class, () -> Integer.parseInt(" 42"));
+    }
+
+    /**
+     * Tests that text that is not a number is reported as NaN.
+     */
+    @Test
+    void malformedTextIsNaN() {
+        // Arrange
+        String[] malformed = {"", " ", "-", ".", "e5", "1e", "1e+", "1.2.3", "12a", "0x10", "NaN", "Infinity", "1 2"};
+
+        // Act + Assert
+        for (String text : malformed)
+            assertTrue(Double.isNaN(MeasurementDecoder.parseDouble(text, 0, text.length())), text);
+    }
+
+    /**
+     * Tests that malformed text leaves the value unchanged.
+     */
+    @Test
+    void malformedTextIsRejected() {
+        // Arrange
+        WhValue value = new WhValue();
+        value.setDouble(10);
+
+        // Act
+        boolean result = MeasurementDecoder.decode("12,5", value);
+
+        // Assert
+        assertFalse(result);
+        assertEquals(10, value.getDouble());
+    }
+
+    /**
+     * Tests that the validation of the value type still applies, such as the non-negative energy consumption.
+     */
+    @Test
+    void negativeEnergyConsumptionIsRejected() {
+        // Arrange
+        WhValue value = new WhValue();
+
+        // Act
+        boolean result = MeasurementDecoder.decode("-10.0", value);
+
+        // Assert
+        assertFalse(result);
+    }
+
+    /**
+     * Tests that percentages are accepted only as whole numbers between 0 and 100, as they are parsed as integers.
+     */
+    @Test
+    void percentageAcceptsOnlyWholeNumbersInRange() {
+        // Arrange
+        PercentageValue value = new PercentageValue();
+
+        // Act + Assert
+        assertTrue(MeasurementDecoder.decode("100", value));
+        assertEquals(100, value.getDouble());
+        assertFalse(MeasurementDecoder.decode("101", value));
+        assertFalse(MeasurementDecoder.decode("50.0", value));
+        assertFalse(MeasurementDecoder.decode("5e1", value));
+        assertFalse(MeasurementDecoder.decode("99999999999", value));
+    }
+
+    /**
+     * Tests that the limits of range actuator values are applied to decoded numbers.
+     */
+    @Test
+    void rangeLimitsAreApplied() {
+        // Arrange
+        RangeActuatorIntValue intValue = new RangeActuatorIntValue(-5, 5);
+        RangeActuatorFractionalValue fractionalValue = new RangeActuatorFractionalValue(0.5, 1.5);
+
+        // Act + Assert
+        assertTrue(MeasurementDecoder.decode("-5", intValue));
+        assertFalse(MeasurementDecoder.decode("6", intValue));
+        assertTrue(MeasurementDecoder.decode("1.25", fractionalValue));
+        assertEquals(1.25, fractionalValue.getDouble());
+        assertFalse(MeasurementDecoder.decode("1.75", fractionalValue));
+    }
+
+    /**
+     * Tests that a slice outside the text or a null value is rejected as invalid arguments.
+     */
+    @Test
+    void invalidArgumentsThrow() {
+        // Arrange
+        WValue value = new WValue();
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> MeasurementDecoder.decode("12", 0, 3, value));
+        assertThrows(IllegalArgumentException.class, () -> MeasurementDecoder.decode("12", 2, 1, value));
+        assertThrows(IllegalArgumentException.class, () -> MeasurementDecoder.decode("12", 0, 2, null));
+        assertThrows(IllegalArgumentException.class, () -> MeasurementDecoder.decode(buffer, 0, 5, value));
+        assertFalse(MeasurementDecoder.decode((CharSequence) null, value));
+    }
+}
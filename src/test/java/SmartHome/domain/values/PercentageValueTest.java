@@ -192,4 +192,40 @@ class PercentageValueTest {
         // Assert
         assertEquals("%", result);
     }
+
+    /**
+     * Verifies that a whole percentage set without parsing is read back as a number.
+     */
+    @Test
+    void setDoubleAndGetDouble() {
+        // Arrange
+        PercentageValue value = new PercentageValue();
+
+        // Act
+        boolean result = value.setDouble(45);
+
+        // Assert
+        assertTrue(result);
+        assertEquals(45.0, value.getDouble());
+        assertEquals("45 %", value.toString());
+    }
+
+    /**
+     * Verifies that fractional, out-of-range and non-numeric percentages are rejected when set as numbers, as they
+     * are when parsed.
+     */
+    @Test
+    void setDoubleRejectsInvalidPercentages() {
+        // Arrange
+        PercentageValue value = new PercentageValue();
+        value.setDouble(45);
+
+        // Act + Assert
+        assertFalse(value.setDouble(45.5));
+        assertFalse(value.setDouble(101));
+        assertFalse(value.setDouble(-1));
+        assertFalse(value.setDouble(Double.NaN));
+        assertFalse(value.setDouble(1e20));
+        assertEquals(45.0, value.getDouble());
+    }
 }
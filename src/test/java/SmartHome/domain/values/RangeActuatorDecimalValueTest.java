@@ -137,4 +137,20 @@ class RangeActuatorDecimalValueTest {
         // Assert
         assertEquals(expected, result);
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that numbers within the range are set as numbers, and that out-of-range numbers and values that are
+     * not numbers are rejected.
+     */
+    @Test
+    void setDoubleWithinRange() {
+        // Arrange
+        RangeActuatorFractionalValue value = new RangeActuatorFractionalValue(lowerLimit, upperLimit);
+
+        // Act + Assert
+        assertTrue(value.setDouble(0.25));
+        assertFalse(value.setDouble(1.5));
+        assertFalse(value.setDouble(Double.NaN));
+        assertEquals(0.25, value.getDouble());
+    }
+}
@@ -137,4 +137,20 @@ class RangeActuatorIntValueTest {
         // Assert
         assertEquals(expected, result);
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that whole numbers within the range are set as numbers, and that fractional or out-of-range numbers
+     * are rejected.
+     */
+    @Test
+    void setDoubleWithinRange() {
+        // Arrange
+        RangeActuatorIntValue value = new RangeActuatorIntValue(lowerLimit, upperLimit);
+
+        // Act + Assert
+        assertTrue(value.setDouble(-1));
+        assertFalse(value.setDouble(0.5));
+        assertFalse(value.setDouble(2));
+        assertEquals(-1.0, value.getDouble());
+    }
+}
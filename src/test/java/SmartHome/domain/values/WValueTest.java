@@ -140,4 +140,38 @@ class WValueTest {
         // Assert
         assertFalse(result);
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifies that a power set as a number is read back unchanged and shown in watts.
+     */
+    @Test
+    void setDoubleAndGetDouble() {
+        // Arrange
+        WValue value = new WValue();
+
+        // Act
+        boolean result = value.setDouble(1250.0);
+
+        // Assert
+        assertTrue(result);
+        assertEquals(1250.0, value.getDouble());
+        assertEquals("1250.0 W", value.toString());
+    }
+
+    /**
+     * Verifies that a negative power is rejected when set as a number, leaving the value unchanged.
+     */
+    @Test
+    void setDoubleRejectsInvalidNumber() {
+        // Arrange
+        WValue value = new WValue();
+        value.setDouble(1250.0);
+
+        // Act
+        boolean result = value.setDouble(-1);
+
+        // Assert
+        assertFalse(result);
+        assertEquals(1250.0, value.getDouble());
+    }
+}
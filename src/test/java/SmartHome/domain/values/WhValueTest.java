@@ -117,4 +117,38 @@ class WhValueTest {
         // Assert
         assertTrue(result);
     }
+
+    /**
+     * Verifies that an energy reading set as a number is read back unchanged and shown in watt-hours.
+     */
+    @Test
+    void setDoubleAndGetDouble() {
+        // Arrange
+        WhValue value = new WhValue();
+
+        // Act
+        boolean result = value.setDouble(3.25);
+
+        // Assert
+        assertTrue(result);
+        assertEquals(3.25, value.getDouble());
+        assertEquals("3.25 Wh", value.toString());
+    }
+
+    /**
+     * Verifies that an infinite energy is rejected when set as a number, leaving the value unchanged.
+     */
+    @Test
+    void setDoubleRejectsInvalidNumber() {
+        // Arrange
+        WhValue value = new WhValue();
+        value.setDouble(3.25);
+
+        // Act
+        boolean result = value.setDouble(Double.POSITIVE_INFINITY);
+
+        // Assert
+        assertFalse(result);
+        assertEquals(3.25, value.getDouble());
+    }
 }
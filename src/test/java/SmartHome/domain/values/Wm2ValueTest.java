@@ -141,4 +141,38 @@ class Wm2ValueTest {
         // Assert
         assertEquals("30.0 W/m2", solarIrradianceValue.toString());
     }
+
+    /**
+     * Verifies that an irradiance set as a number is read back unchanged and shown in watts per square meter.
+     */
+    @Test
+    void setDoubleAndGetDouble() {
+        // Arrange
+        Wm2Value value = new Wm2Value();
+
+        // Act
+        boolean result = value.setDouble(812.5);
+
+        // Assert
+        assertTrue(result);
+        assertEquals(812.5, value.getDouble());
+        assertEquals("812.5 W/m2", value.toString());
+    }
+
+    /**
+     * Verifies that a value that is not a number is rejected when set as a number, leaving the value unchanged.
+     */
+    @Test
+    void setDoubleRejectsInvalidNumber() {
+        // Arrange
+        Wm2Value value = new Wm2Value();
+        value.setDouble(812.5);
+
+        // Act
+        boolean result = value.setDouble(Double.NaN);
+
+        // Assert
+        assertFalse(result);
+        assertEquals(812.5, value.getDouble());
+    }
 }
@@ -0,0 +1,46 @@
+package SmartHome.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * This class provides unit tests for the FunctionalityPageDTO class.
+ */
+class FunctionalityPageDTOTest {
+
+    /**
+     * Tests the creation of a valid FunctionalityPageDTO object.
+     */
+    @Test
+    void createValidFunctionalityPageDTO() {
+        // Arrange
+        List<DeviceRoomDTO> devices = List.of(new DeviceRoomDTO("d1", "r1"));
+        String expected = "FunctionalityPageDTO{_functionality='Temperature', " +
+                "_devices=[DeviceRoomDTO{_device='d1', _room='r1'}]}";
+
+        // Act
+        FunctionalityPageDTO page = new FunctionalityPageDTO("Temperature", devices);
+
+        // Assert
+        assertEquals(expected, page.toString());
+        assertEquals("Temperature", page.getFunctionality());
+        assertEquals(devices, page.getDevices());
+    }
+
+    /**
+     * Tests that the devices of a page cannot be modified.
+     */
+    @Test
+    void devicesAreUnmodifiable() {
+        // Arrange
+        FunctionalityPageDTO page = new FunctionalityPageDTO("Temperature", new ArrayList<>());
+
+        // Act + Assert
+        assertThrows(UnsupportedOperationException.class, () -> page.getDevices().add(new DeviceRoomDTO("d1", "r1")));
+    }
+}
@@ -0,0 +1,126 @@
+package SmartHome.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@code CatalogueIndexProcessor}, compiling small sources with the processor enabled
+ * and checking the generated index and the reported errors. The processor is built outside the main classes and
+ * is loaded by name from the test classpath.
+ */
+class CatalogueIndexProcessorTest {
+    private static final String PROCESSOR = "SmartHome.processor.CatalogueIndexProcessor";
+
+    @TempDir
+    Path output;
+
+    /**
+     * Compiles a single source file with the processor.
+     *
+     * @param className   The qualified name of the class in the source.
+     * @param source      The source code.
+     * @param diagnostics The collector receiving the compiler diagnostics.
+     * @return true if the compilation succeeded, false otherwise.
+     */
+    private boolean compile(String className, String source, DiagnosticCollector<JavaFileObject> diagnostics) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaFileObject file = new SimpleJavaFileObject(
+                URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = List.of("-d", output.toString(), "-s", output.toString(),
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", PROCESSOR);
+        return compiler.getTask(null, null, diagnostics, options, null, List.of(file)).call();
+    }
+
+    /**
+     * Tests that a valid sensor model is written to the generated sensor index.
+     */
+    @Test
+    void validModelIsIndexed() throws Exception {
+        // Arrange
+        String source = "package test;\n"
+                + "import SmartHome.domain.sensors.*;\n"
+                + "import SmartHome.domain.values.ValueFactory;\n"
+                + "@SensorModel(functionality = SensorFunctionality.Scale)\n"
+                + "public class TestSensor implements Sensor {\n"
+                + "    public TestSensor(SensorCatalogue catalogue, String name, ValueFactory valueFactory) {}\n"
+                + "    public String getName() { return \"test\"; }\n"
+                + "    public SensorFunctionality getSensorFunctionality() { return SensorFunctionality.Scale; }\n"
+                + "}\n";
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        // Act
+        boolean compiled = compile("test.TestSensor", source, diagnostics);
+        String index = Files.readString(output.resolve("SmartHome/domain/sensors/SensorIndex.java"));
+
+        // Assert
+        assertTrue(compiled, diagnostics.getDiagnostics().toString());
+        assertTrue(index.contains("Map.entry(\"TestSensor\", new SensorDescriptor(\"TestSensor\", "
+                + "SensorFunctionality.Scale, SmartHome.domain.values.Value.class, test.TestSensor::new))"));
+    }
+
+    /**
+     * Tests that annotating a class that does not implement Sensor is reported as a compilation error.
+     */
+    @Test
+    void modelNotImplementingSensorFails() {
+        // Arrange
+        String source = "package test;\n"
+                + "import SmartHome.domain.sensors.*;\n"
+                + "@SensorModel(functionality = SensorFunctionality.Scale)\n"
+                + "public class NotASensor {\n"
+                + "}\n";
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        // Act
+        boolean compiled = compile("test.NotASensor", source, diagnostics);
+
+        // Assert
+        assertFalse(compiled);
+        assertTrue(diagnostics.getDiagnostics().stream()
+                .anyMatch(d -> d.getKind() == Diagnostic.Kind.ERROR
+                        && d.getMessage(null).contains("must annotate an implementation of Sensor")));
+    }
+
+    /**
+     * Tests that a model without the catalogue constructor is reported as a compilation error.
+     */
+    @Test
+    void modelWithoutCatalogueConstructorFails() {
+        // Arrange
+        String source = "package test;\n"
+                + "import SmartHome.domain.actuators.*;\n"
+                + "@ActuatorModel(functionality = ActuatorFunctionality.On_Off)\n"
+                + "public class TestActuator implements Actuator {\n"
+                + "    public String getName() { return \"test\"; }\n"
+                + "    public ActuatorFunctionality getActuatorFunctionality() { return ActuatorFunctionality.On_Off; }\n"
+                + "}\n";
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        // Act
+        boolean compiled = compile("test.TestActuator", source, diagnostics);
+
+        // Assert
+        assertFalse(compiled);
+        assertTrue(diagnostics.getDiagnostics().stream()
+                .anyMatch(d -> d.getMessage(null).contains("requires a public constructor")));
+    }
+}